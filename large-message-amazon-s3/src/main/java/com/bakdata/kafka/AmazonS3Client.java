@@ -28,16 +28,29 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.SerializationException;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectVersionsRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectVersionsResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
@@ -45,19 +58,46 @@ import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.ObjectVersion;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.services.s3.paginators.ListObjectVersionsIterable;
 import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
 
 /**
- * Implementation of {@link BlobStorageClient} for Amazon S3.
+ * Implementation of {@link BlobStorageClient} for Amazon S3. If an {@link S3AsyncClient} is provided, asynchronous
+ * operations use it to avoid blocking the calling thread. Furthermore, large payloads are then uploaded using multipart
+ * uploads and downloaded using concurrent ranged requests.
  */
 @Slf4j
-@RequiredArgsConstructor
 class AmazonS3Client implements BlobStorageClient {
 
     static final String SCHEME = "s3";
+    private static final int NOT_FOUND = 404;
+    private static final int PRECONDITION_FAILED = 412;
     private final @NonNull S3Client s3;
+    private final S3AsyncClient s3Async;
+    private final AmazonS3ParallelTransfer parallelTransfer;
+    private final int multipartThreshold;
+    private final int parallelism;
+
+    AmazonS3Client(final @NonNull S3Client s3, final S3AsyncClient s3Async, final int multipartThreshold,
+            final int partSize, final int parallelism) {
+        this.s3 = s3;
+        this.s3Async = s3Async;
+        this.parallelTransfer =
+                s3Async == null ? null : new AmazonS3ParallelTransfer(s3, s3Async, partSize, parallelism);
+        this.multipartThreshold = multipartThreshold;
+        this.parallelism = parallelism;
+    }
+
+    AmazonS3Client(final S3Client s3, final S3AsyncClient s3Async) {
+        this(s3, s3Async, AmazonS3Config.S3_MULTIPART_THRESHOLD_DEFAULT, AmazonS3Config.S3_PART_SIZE_DEFAULT,
+                AmazonS3Config.S3_PARALLELISM_DEFAULT);
+    }
+
+    AmazonS3Client(final S3Client s3) {
+        this(s3, null);
+    }
 
     static ObjectIdentifier asIdentifier(final S3Object s3Object) {
         return ObjectIdentifier.builder()
@@ -76,6 +116,59 @@ class AmazonS3Client implements BlobStorageClient {
         return SCHEME + "://" + bucket + "/" + key;
     }
 
+    private static Throwable unwrap(final Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private static HeadObjectRequest createHeadRequest(final String bucket, final String key) {
+        return HeadObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+    }
+
+    private static PutObjectRequest createPutRequest(final String bucket, final String key) {
+        return PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+    }
+
+    private static PutObjectRequest createConditionalPutRequest(final String bucket, final String key) {
+        return PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .ifNoneMatch("*")
+                .build();
+    }
+
+    private static boolean isPreconditionFailed(final Throwable e) {
+        return e instanceof S3Exception && ((S3Exception) e).statusCode() == PRECONDITION_FAILED;
+    }
+
+    private static DeleteObjectsRequest createDeleteRequest(final String bucketName,
+            final Collection<ObjectIdentifier> keys) {
+        return DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(builder -> builder
+                        .objects(keys))
+                .build();
+    }
+
+    private static GetObjectRequest createGetRequest(final String bucket, final String key) {
+        return GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+    }
+
+    private static byte[] readObject(final ResponseInputStream<GetObjectResponse> s3Object) throws IOException {
+        final Long contentLength = s3Object.response().contentLength();
+        // avoid intermediate buffers if the size is known
+        return contentLength == null || contentLength > Integer.MAX_VALUE ? s3Object.readAllBytes()
+                : BufferPool.readExactly(s3Object, contentLength.intValue());
+    }
+
     private static List<ObjectIdentifier> asIdentifiers(final ListObjectsV2Response response) {
         return response.contents().stream()
                 .map(AmazonS3Client::asIdentifier)
@@ -95,37 +188,219 @@ class AmazonS3Client implements BlobStorageClient {
         this.deleteVersions(bucket, prefix);
     }
 
+    @Override
+    public List<String> listPrefixes(final String bucket, final String prefix) {
+        final ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .delimiter("/")
+                .build();
+        return this.s3.listObjectsV2Paginator(request).commonPrefixes().stream()
+                .map(CommonPrefix::prefix)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public String putObject(final byte[] bytes, final String bucket, final String key) {
         try {
-            final PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .build();
-            this.s3.putObject(request, RequestBody.fromBytes(bytes));
+            if (this.isMultipart(bytes)) {
+                this.parallelTransfer.upload(bytes, bucket, key);
+            } else {
+                final PutObjectRequest request = createPutRequest(bucket, key);
+                this.s3.putObject(request, RequestBody.fromBytes(bytes));
+            }
             return asURI(bucket, key);
         } catch (final SdkException e) {
             throw new SerializationException("Error backing message on S3", e);
         }
     }
 
+    /**
+     * Store a payload unless an object with the same key already exists. Payloads are stored using conditional
+     * requests. Because multipart uploads of large payloads are expensive, the existence of the object is checked
+     * before uploading them.
+     *
+     * @param bytes the payload
+     * @param bucket the bucket where the payload should be stored
+     * @param key the identifier for the payload within the bucket
+     * @return unique identifier to retrieve the payload
+     */
+    @Override
+    public String putObjectIfAbsent(final byte[] bytes, final String bucket, final String key) {
+        try {
+            if (this.isMultipart(bytes)) {
+                if (!this.exists(bucket, key)) {
+                    this.parallelTransfer.upload(bytes, bucket, key);
+                }
+            } else {
+                final PutObjectRequest request = createConditionalPutRequest(bucket, key);
+                this.s3.putObject(request, RequestBody.fromBytes(bytes));
+            }
+            return asURI(bucket, key);
+        } catch (final SdkException e) {
+            if (isPreconditionFailed(e)) {
+                log.debug("Object already exists on S3: {}", asURI(bucket, key));
+                return asURI(bucket, key);
+            }
+            throw new SerializationException("Error backing message on S3", e);
+        }
+    }
+
     @Override
     public byte[] getObject(final String bucket, final String key) {
         final String s3URI = asURI(bucket, key);
-        final GetObjectRequest request = GetObjectRequest.builder()
-                .bucket(bucket)
-                .key(key)
-                .build();
-        try (final InputStream s3Object = this.s3.getObject(request)) {
-            return s3Object.readAllBytes();
+        if (this.parallelTransfer != null) {
+            try {
+                return this.parallelTransfer.download(bucket, key);
+            } catch (final SdkException e) {
+                throw new SerializationException("Cannot handle S3 backed message: " + s3URI, e);
+            }
+        }
+        final GetObjectRequest request = createGetRequest(bucket, key);
+        try (final ResponseInputStream<GetObjectResponse> s3Object = this.s3.getObject(request)) {
+            return readObject(s3Object);
         } catch (final SdkException | IOException e) {
             throw new SerializationException("Cannot handle S3 backed message: " + s3URI, e);
         }
     }
 
+    @Override
+    public InputStream getObjectStream(final String bucket, final String key) {
+        final GetObjectRequest request = createGetRequest(bucket, key);
+        try {
+            return this.s3.getObject(request);
+        } catch (final SdkException e) {
+            throw new SerializationException("Cannot handle S3 backed message: " + asURI(bucket, key), e);
+        }
+    }
+
+    @Override
+    public BlobStorageOutputStream putObjectStream(final String bucket, final String key) {
+        if (this.parallelTransfer == null) {
+            return BlobStorageClient.super.putObjectStream(bucket, key);
+        }
+        return this.parallelTransfer.openUpload(bucket, key);
+    }
+
+    @Override
+    public CompletableFuture<String> putObjectAsync(final byte[] bytes, final String bucket, final String key) {
+        if (this.s3Async == null) {
+            return BlobStorageClient.super.putObjectAsync(bytes, bucket, key);
+        }
+        final CompletableFuture<?> upload = this.isMultipart(bytes)
+                ? this.parallelTransfer.uploadAsync(bytes, bucket, key)
+                : this.s3Async.putObject(createPutRequest(bucket, key), AsyncRequestBody.fromBytes(bytes));
+        return upload
+                .handle((response, e) -> {
+                    if (e != null) {
+                        throw new SerializationException("Error backing message on S3", unwrap(e));
+                    }
+                    return asURI(bucket, key);
+                });
+    }
+
+    @Override
+    public CompletableFuture<String> putObjectIfAbsentAsync(final byte[] bytes, final String bucket,
+            final String key) {
+        if (this.s3Async == null) {
+            return BlobStorageClient.super.putObjectIfAbsentAsync(bytes, bucket, key);
+        }
+        if (this.isMultipart(bytes)) {
+            return this.existsAsync(bucket, key)
+                    .thenCompose(exists -> exists ? CompletableFuture.<Void>completedFuture(null)
+                            : this.parallelTransfer.uploadAsync(bytes, bucket, key))
+                    .handle((response, e) -> {
+                        if (e != null) {
+                            throw new SerializationException("Error backing message on S3", unwrap(e));
+                        }
+                        return asURI(bucket, key);
+                    });
+        }
+        final PutObjectRequest request = createConditionalPutRequest(bucket, key);
+        return this.s3Async.putObject(request, AsyncRequestBody.fromBytes(bytes))
+                .handle((response, e) -> {
+                    if (e != null && !isPreconditionFailed(unwrap(e))) {
+                        throw new SerializationException("Error backing message on S3", unwrap(e));
+                    }
+                    return asURI(bucket, key);
+                });
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getObjectAsync(final String bucket, final String key) {
+        if (this.s3Async == null) {
+            return BlobStorageClient.super.getObjectAsync(bucket, key);
+        }
+        final GetObjectRequest request = createGetRequest(bucket, key);
+        return this.s3Async.getObject(request, AsyncResponseTransformer.toBytes())
+                .handle((response, e) -> {
+                    if (e != null) {
+                        throw new SerializationException("Cannot handle S3 backed message: " + asURI(bucket, key),
+                                unwrap(e));
+                    }
+                    return response.asByteArrayUnsafe();
+                });
+    }
+
+    @Override
+    public void warmUp(final String bucket, final int connections) {
+        final HeadBucketRequest request = HeadBucketRequest.builder()
+                .bucket(bucket)
+                .build();
+        BlobStorageWarmUp.runConcurrently(connections, () -> this.s3.headBucket(request));
+        if (this.s3Async != null) {
+            final CompletableFuture<?>[] futures = IntStream.range(0, connections)
+                    .mapToObj(i -> this.s3Async.headBucket(request))
+                    .toArray(CompletableFuture[]::new);
+            BlobStorageWarmUp.join(CompletableFuture.allOf(futures));
+        }
+    }
+
+    @Override
+    public boolean isPermanentFailure(final RuntimeException e) {
+        return BlobStorageErrors.findCause(e, SdkServiceException.class)
+                .map(serviceException -> BlobStorageErrors.isPermanentStatusCode(serviceException.statusCode()))
+                .orElse(false);
+    }
+
     @Override
     public void close() {
         this.s3.close();
+        if (this.s3Async != null) {
+            this.s3Async.close();
+        }
+    }
+
+    private boolean isMultipart(final byte[] bytes) {
+        // multipart uploads require at least one part
+        return this.parallelTransfer != null && bytes.length >= this.multipartThreshold && bytes.length > 0;
+    }
+
+    private CompletableFuture<Boolean> existsAsync(final String bucket, final String key) {
+        return this.s3Async.headObject(createHeadRequest(bucket, key))
+                .handle((response, e) -> {
+                    if (e == null) {
+                        return true;
+                    }
+                    final Throwable cause = unwrap(e);
+                    if (cause instanceof S3Exception && ((S3Exception) cause).statusCode() == NOT_FOUND) {
+                        return false;
+                    }
+                    throw new CompletionException(cause);
+                });
+    }
+
+    private boolean exists(final String bucket, final String key) {
+        final HeadObjectRequest request = createHeadRequest(bucket, key);
+        try {
+            this.s3.headObject(request);
+            return true;
+        } catch (final S3Exception e) {
+            if (e.statusCode() == NOT_FOUND) {
+                return false;
+            }
+            throw e;
+        }
     }
 
     private void deleteObjects(final String bucketName, final String prefix) {
@@ -134,9 +409,8 @@ class AmazonS3Client implements BlobStorageClient {
                 .prefix(prefix)
                 .build();
         final ListObjectsV2Iterable objectListing = this.s3.listObjectsV2Paginator(request);
-        objectListing.stream()
-                .map(AmazonS3Client::asIdentifiers)
-                .forEach(keys -> this.delete(bucketName, keys));
+        this.delete(bucketName, objectListing.stream()
+                .map(AmazonS3Client::asIdentifiers));
     }
 
     private void deleteVersions(final String bucketName, final String prefix) {
@@ -146,18 +420,30 @@ class AmazonS3Client implements BlobStorageClient {
                 .prefix(prefix)
                 .build();
         final ListObjectVersionsIterable versionListing = this.s3.listObjectVersionsPaginator(request);
-        versionListing.stream()
-                .map(AmazonS3Client::asIdentifiers)
-                .forEach(keys -> this.delete(bucketName, keys));
-    }
-
-    private void delete(final String bucketName, final Collection<ObjectIdentifier> keys) {
-        if (!keys.isEmpty()) {
-            this.s3.deleteObjects(DeleteObjectsRequest.builder()
-                    .bucket(bucketName)
-                    .delete(builder -> builder
-                            .objects(keys))
-                    .build());
+        this.delete(bucketName, versionListing.stream()
+                .map(AmazonS3Client::asIdentifiers));
+    }
+
+    /**
+     * Delete batches of up to 1000 objects, i.e., pages of a listing. If an {@link S3AsyncClient} is provided, batches
+     * are deleted concurrently while listing.
+     *
+     * @param bucketName bucket to delete from
+     * @param batches batches of objects to delete
+     */
+    private void delete(final String bucketName, final Stream<? extends Collection<ObjectIdentifier>> batches) {
+        final Stream<? extends Collection<ObjectIdentifier>> nonEmptyBatches = batches.filter(keys -> !keys.isEmpty());
+        if (this.s3Async == null) {
+            nonEmptyBatches.forEach(keys -> {
+                final DeleteObjectsResponse response = this.s3.deleteObjects(createDeleteRequest(bucketName, keys));
+                LargeMessageMetrics.recordDeletedObjects(SCHEME, response.deleted().size());
+            });
+            return;
         }
+        final ConcurrentDeletes deletes = new ConcurrentDeletes(SCHEME, this.parallelism);
+        nonEmptyBatches.forEach(keys -> deletes.submit(
+                () -> this.s3Async.deleteObjects(createDeleteRequest(bucketName, keys))
+                        .thenApply(response -> response.deleted().size())));
+        deletes.await();
     }
 }
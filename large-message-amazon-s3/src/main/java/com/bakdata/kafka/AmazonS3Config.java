@@ -26,6 +26,7 @@ package com.bakdata.kafka;
 
 import static com.bakdata.kafka.AbstractLargeMessageConfig.PREFIX;
 import static com.bakdata.kafka.AbstractLargeMessageConfig.isEmpty;
+import static org.apache.kafka.common.config.ConfigDef.Range.atLeast;
 
 import java.io.File;
 import java.net.URI;
@@ -43,7 +44,11 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.WebIdentityTokenFileCredentialsProvider;
 import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
 import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.S3BaseClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
 import software.amazon.awssdk.services.sts.StsClient;
@@ -60,6 +65,7 @@ import software.amazon.awssdk.services.sts.auth.StsAssumeRoleCredentialsProvider
  *     <li> AWS security token service
  *     <li> AWS OIDC token path
  *     <li> S3 request checksum calculation mode
+ *     <li> S3 multipart threshold, part size, and parallelism
  * </ul>
  */
 @Slf4j
@@ -85,6 +91,11 @@ public class AmazonS3Config extends AbstractConfig implements BlobStorageConfig
     public static final String S3_SDK_HTTP_CLIENT_BUILDER_CONFIG = S3_PREFIX + "sdk.http.client.builder";
     public static final String S3_SDK_HTTP_CLIENT_BUILDER_DOC = "The HTTP client to use for S3 client.";
     public static final Class<? extends SdkHttpClient.Builder> S3_SDK_HTTP_CLIENT_BUILDER_DEFAULT = null;
+    public static final String S3_SDK_ASYNC_HTTP_CLIENT_BUILDER_CONFIG = S3_PREFIX + "sdk.async.http.client.builder";
+    public static final String S3_SDK_ASYNC_HTTP_CLIENT_BUILDER_DOC = "The asynchronous HTTP client to use for S3 "
+            + "client. It is used for asynchronous requests, parallel transfers and deletes. If only "
+            + S3_SDK_HTTP_CLIENT_BUILDER_CONFIG + " is set, all requests use the synchronous HTTP client.";
+    public static final Class<? extends SdkAsyncHttpClient.Builder> S3_SDK_ASYNC_HTTP_CLIENT_BUILDER_DEFAULT = null;
     public static final String S3_REGION_DEFAULT = "";
     public static final String S3_ACCESS_KEY_DOC = "AWS access key to use for connecting to S3. Leave empty if AWS"
             + " credential provider chain or STS Assume Role provider should be used.";
@@ -108,6 +119,20 @@ public class AmazonS3Config extends AbstractConfig implements BlobStorageConfig
     public static final String S3_SECRET_KEY_DEFAULT = "";
     public static final String S3_REQUEST_CHECKSUM_CALCULATION_DOC =
             "AWS request checksum validation mode to use when uploading to S3. Leave empty to use the AWS SDK default.";
+    public static final String S3_MULTIPART_THRESHOLD_CONFIG = S3_PREFIX + "multipart.threshold";
+    public static final String S3_MULTIPART_THRESHOLD_DOC =
+            "Minimum payload size in bytes for uploading payloads to S3 using multipart uploads.";
+    public static final int S3_MULTIPART_THRESHOLD_DEFAULT = 16 * 1024 * 1024;
+    public static final String S3_PART_SIZE_CONFIG = S3_PREFIX + "part.size";
+    public static final String S3_PART_SIZE_DOC = "Size in bytes of each part of a multipart upload and of each range "
+            + "requested when downloading payloads from S3. Must be at least 5 MiB.";
+    public static final int S3_PART_SIZE_DEFAULT = 8 * 1024 * 1024;
+    public static final String S3_PARALLELISM_CONFIG = S3_PREFIX + "parallelism";
+    public static final String S3_PARALLELISM_DOC =
+            "Maximum number of parts or ranges of a single payload that are transferred to or from S3 concurrently. "
+                    + "Also limits the number of concurrent requests deleting batches of objects.";
+    public static final int S3_PARALLELISM_DEFAULT = 8;
+    private static final int S3_MIN_PART_SIZE = 5 * 1024 * 1024;
 
     private static final ConfigDef config = baseConfigDef();
 
@@ -127,6 +152,8 @@ public class AmazonS3Config extends AbstractConfig implements BlobStorageConfig
                         Importance.LOW, S3_ENABLE_PATH_STYLE_ACCESS_DOC)
                 .define(S3_SDK_HTTP_CLIENT_BUILDER_CONFIG, Type.CLASS, S3_SDK_HTTP_CLIENT_BUILDER_DEFAULT,
                         Importance.LOW, S3_SDK_HTTP_CLIENT_BUILDER_DOC)
+                .define(S3_SDK_ASYNC_HTTP_CLIENT_BUILDER_CONFIG, Type.CLASS, S3_SDK_ASYNC_HTTP_CLIENT_BUILDER_DEFAULT,
+                        Importance.LOW, S3_SDK_ASYNC_HTTP_CLIENT_BUILDER_DOC)
                 .define(S3_REGION_CONFIG, Type.STRING, S3_REGION_DEFAULT, Importance.LOW, S3_REGION_DOC)
                 .define(S3_ACCESS_KEY_CONFIG, Type.PASSWORD, S3_ACCESS_KEY_DEFAULT, Importance.LOW, S3_ACCESS_KEY_DOC)
                 .define(S3_SECRET_KEY_CONFIG, Type.PASSWORD, S3_SECRET_KEY_DEFAULT, Importance.LOW, S3_SECRET_KEY_DOC)
@@ -140,34 +167,68 @@ public class AmazonS3Config extends AbstractConfig implements BlobStorageConfig
                         S3_JWT_PATH_CONFIG_DOC)
                 .define(S3_REQUEST_CHECKSUM_CALCULATION_CONFIG, Type.STRING, null,
                         Importance.LOW, S3_REQUEST_CHECKSUM_CALCULATION_DOC)
+                .define(S3_MULTIPART_THRESHOLD_CONFIG, Type.INT, S3_MULTIPART_THRESHOLD_DEFAULT, atLeast(1),
+                        Importance.LOW, S3_MULTIPART_THRESHOLD_DOC)
+                .define(S3_PART_SIZE_CONFIG, Type.INT, S3_PART_SIZE_DEFAULT, atLeast(S3_MIN_PART_SIZE),
+                        Importance.LOW, S3_PART_SIZE_DOC)
+                .define(S3_PARALLELISM_CONFIG, Type.INT, S3_PARALLELISM_DEFAULT, atLeast(1), Importance.LOW,
+                        S3_PARALLELISM_DOC)
                 ;
     }
 
     @Override
     public BlobStorageClient createBlobStorageClient() {
-        final S3ClientBuilder clientBuilder = S3Client.builder();
+        // share credentials between both clients so that an assumed role session is only created once
+        final Optional<AwsCredentialsProvider> credentialsProvider = this.getAmazonCredentialsProvider();
+        final S3ClientBuilder clientBuilder = this.configure(S3Client.builder(), credentialsProvider);
+        final Optional<SdkHttpClient.Builder<?>> httpClientBuilder = this.getHttpClientBuilder();
+        httpClientBuilder.ifPresent(clientBuilder::httpClientBuilder);
+        return new AmazonS3Client(clientBuilder.build(), this.createAsyncClient(credentialsProvider,
+                httpClientBuilder.isPresent()), this.getInt(S3_MULTIPART_THRESHOLD_CONFIG),
+                this.getInt(S3_PART_SIZE_CONFIG), this.getInt(S3_PARALLELISM_CONFIG));
+    }
+
+    private S3AsyncClient createAsyncClient(final Optional<AwsCredentialsProvider> credentialsProvider,
+            final boolean hasHttpClient) {
+        final Optional<SdkAsyncHttpClient.Builder<?>> asyncHttpClientBuilder = this.getAsyncHttpClientBuilder();
+        if (hasHttpClient && asyncHttpClientBuilder.isEmpty()) {
+            // the default asynchronous HTTP client would bypass proxy, TLS and timeout settings of the configured one
+            log.info("No asynchronous HTTP client configured for S3, using synchronous HTTP client for all requests");
+            return null;
+        }
+        final S3AsyncClientBuilder asyncClientBuilder = this.configure(S3AsyncClient.builder(), credentialsProvider);
+        asyncHttpClientBuilder.ifPresent(asyncClientBuilder::httpClientBuilder);
+        return asyncClientBuilder.build();
+    }
+
+    private <B extends S3BaseClientBuilder<B, C>, C> B configure(final B clientBuilder,
+            final Optional<AwsCredentialsProvider> credentialsProvider) {
         this.getAmazonEndpointOverride().ifPresent(clientBuilder::endpointOverride);
         this.getAmazonRegion().ifPresent(clientBuilder::region);
-        this.getAmazonCredentialsProvider().ifPresent(clientBuilder::credentialsProvider);
-        this.getHttpClientBuilder()
-                .ifPresent(clientBuilder::httpClientBuilder);
+        credentialsProvider.ifPresent(clientBuilder::credentialsProvider);
         if (this.enableAmazonS3PathStyleAccess()) {
             clientBuilder.forcePathStyle(true);
         }
         this.getAmazonRequestChecksumCalculation().ifPresent(clientBuilder::requestChecksumCalculation);
-        return new AmazonS3Client(clientBuilder.build());
+        return clientBuilder;
     }
 
     protected <T> T getInstance(final String key, final Class<T> targetClass) {
         return AbstractLargeMessageConfig.getInstance(this, key, targetClass);
     }
 
-    private <T extends SdkHttpClient.Builder<T>> Optional<SdkHttpClient.Builder<T>> getHttpClientBuilder() {
-        final SdkHttpClient.Builder<T> builder =
+    private Optional<SdkHttpClient.Builder<?>> getHttpClientBuilder() {
+        final SdkHttpClient.Builder<?> builder =
                 this.getInstance(S3_SDK_HTTP_CLIENT_BUILDER_CONFIG, SdkHttpClient.Builder.class);
         return Optional.ofNullable(builder);
     }
 
+    private Optional<SdkAsyncHttpClient.Builder<?>> getAsyncHttpClientBuilder() {
+        final SdkAsyncHttpClient.Builder<?> builder =
+                this.getInstance(S3_SDK_ASYNC_HTTP_CLIENT_BUILDER_CONFIG, SdkAsyncHttpClient.Builder.class);
+        return Optional.ofNullable(builder);
+    }
+
     private Optional<URI> getAmazonEndpointOverride() {
         final String endpoint = this.getString(S3_ENDPOINT_CONFIG);
         return isEmpty(endpoint) ? Optional.empty() : Optional.of(URI.create(endpoint));
@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+
+/**
+ * {@link BlobStorageOutputStream} that uploads an object using a multipart upload while writing. Parts are uploaded
+ * asynchronously as soon as they are full. At most {@code parallelism} parts are in flight, so that memory usage is
+ * bounded. The multipart upload is only created once the first part is full, so that objects smaller than a single part
+ * are uploaded with a single request. Failed requests are reported as {@link IOException}.
+ */
+@Slf4j
+class AmazonS3MultipartOutputStream extends BlobStorageOutputStream {
+    private final @NonNull AmazonS3ParallelTransfer transfer;
+    private final @NonNull String bucket;
+    private final @NonNull String key;
+    private final int partSize;
+    private final Semaphore permits;
+    private final List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+    private byte[] buffer;
+    private int position;
+    private String uploadId;
+    private long size;
+    private boolean closed;
+    private boolean completed;
+
+    AmazonS3MultipartOutputStream(final AmazonS3ParallelTransfer transfer, final String bucket, final String key,
+            final int partSize, final int parallelism) {
+        this.transfer = transfer;
+        this.bucket = bucket;
+        this.key = key;
+        this.partSize = partSize;
+        this.permits = new Semaphore(parallelism);
+        this.buffer = new byte[partSize];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.ensureOpen();
+        if (this.position == this.partSize) {
+            this.uploadPart();
+        }
+        this.buffer[this.position++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        this.ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (this.position == this.partSize) {
+                this.uploadPart();
+            }
+            final int length = Math.min(remaining, this.partSize - this.position);
+            System.arraycopy(b, offset, this.buffer, this.position, length);
+            this.position += length;
+            offset += length;
+            remaining -= length;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            if (this.uploadId == null) {
+                this.transfer.putObject(this.bucket, this.key, this.buffer, this.position);
+                this.size = this.position;
+            } else {
+                if (this.position > 0) {
+                    this.uploadPart();
+                }
+                final List<CompletedPart> completedParts = AmazonS3ParallelTransfer.join(this.parts);
+                this.transfer.complete(this.bucket, this.key, this.uploadId, completedParts);
+                log.debug("Uploaded {} bytes in {} parts to s3://{}/{}", this.size, completedParts.size(), this.bucket,
+                        this.key);
+            }
+            this.completed = true;
+        } catch (final CompletionException e) {
+            this.abortUpload();
+            throw new IOException("Error backing message on S3", AmazonS3ParallelTransfer.unwrap(e));
+        } catch (final SdkException e) {
+            this.abortUpload();
+            throw new IOException("Error backing message on S3", e);
+        } finally {
+            this.buffer = null;
+        }
+    }
+
+    @Override
+    public void abort() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.buffer = null;
+        this.abortUpload();
+    }
+
+    @Override
+    public String getUri() {
+        if (!this.completed) {
+            throw new IllegalStateException("Object has not been uploaded");
+        }
+        return "s3://" + this.bucket + "/" + this.key;
+    }
+
+    private void uploadPart() throws IOException {
+        if (this.uploadId == null) {
+            try {
+                this.uploadId = this.transfer.createUpload(this.bucket, this.key);
+            } catch (final SdkException e) {
+                throw new IOException("Error backing message on S3", e);
+            }
+        }
+        // fail fast instead of uploading remaining parts
+        this.failOnError();
+        AmazonS3ParallelTransfer.acquire(this.permits);
+        final ByteBuffer part = ByteBuffer.wrap(this.buffer, 0, this.position);
+        final CompletableFuture<CompletedPart> future =
+                this.transfer.uploadPart(this.bucket, this.key, this.uploadId, this.parts.size() + 1, part)
+                        .whenComplete((completedPart, e) -> this.permits.release());
+        this.parts.add(future);
+        this.size += this.position;
+        // the previous buffer is owned by the upload until it completes
+        this.buffer = this.closed ? null : new byte[this.partSize];
+        this.position = 0;
+    }
+
+    private void failOnError() throws IOException {
+        final Optional<CompletableFuture<CompletedPart>> failedPart = this.parts.stream()
+                .filter(CompletableFuture::isCompletedExceptionally)
+                .findFirst();
+        if (failedPart.isPresent()) {
+            this.closed = true;
+            this.buffer = null;
+            this.abortUpload();
+            final Throwable e = failedPart.get().handle((part, error) -> error).join();
+            throw new IOException("Error backing message on S3", AmazonS3ParallelTransfer.unwrap(e));
+        }
+    }
+
+    private void abortUpload() {
+        if (this.uploadId != null) {
+            this.parts.forEach(part -> part.cancel(false));
+            this.transfer.abort(this.bucket, this.key, this.uploadId);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream has been closed");
+        }
+    }
+}
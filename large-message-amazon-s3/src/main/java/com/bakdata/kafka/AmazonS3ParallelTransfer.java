@@ -0,0 +1,345 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.SerializationException;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * Uploads objects using multipart uploads and downloads objects using concurrent ranged GET requests. At most
+ * {@code parallelism} parts are transferred concurrently.
+ * <p>
+ * Downloads do not require a HEAD request to determine the object size. The first part is fetched synchronously and
+ * the total object size is taken from its {@code Content-Range} header. Objects smaller than a single part are
+ * therefore downloaded with a single request.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class AmazonS3ParallelTransfer {
+    private static final int RANGE_NOT_SATISFIABLE = 416;
+    private final @NonNull S3Client s3;
+    private final @NonNull S3AsyncClient s3Async;
+    private final int partSize;
+    private final int parallelism;
+
+    private static String range(final long start, final long length) {
+        return "bytes=" + start + "-" + (start + length - 1);
+    }
+
+    private static long getObjectSize(final GetObjectResponse response) {
+        final String contentRange = response.contentRange();
+        if (contentRange == null) {
+            // range has been ignored and the full object has been returned
+            return response.contentLength();
+        }
+        return Long.parseLong(contentRange.substring(contentRange.lastIndexOf('/') + 1));
+    }
+
+    static void acquire(final Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptException(e);
+        }
+    }
+
+    static <T> List<T> join(final List<CompletableFuture<T>> futures) {
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private static boolean anyFailed(final List<? extends CompletableFuture<?>> futures) {
+        return futures.stream().anyMatch(CompletableFuture::isCompletedExceptionally);
+    }
+
+    static Throwable unwrap(final Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    void upload(final byte[] bytes, final String bucket, final String key) {
+        final String uploadId = this.createUpload(bucket, key);
+        try {
+            final List<CompletedPart> parts = this.uploadParts(bytes, bucket, key, uploadId);
+            this.complete(bucket, key, uploadId, parts);
+            log.debug("Uploaded {} bytes in {} parts to s3://{}/{}", bytes.length, parts.size(), bucket, key);
+        } catch (final RuntimeException e) {
+            this.abort(bucket, key, uploadId);
+            throw e;
+        }
+    }
+
+    /**
+     * Upload an object using a multipart upload without blocking the calling thread. At most {@code parallelism} parts
+     * are uploaded concurrently. The upload is aborted if any request fails.
+     *
+     * @param bytes the object
+     * @param bucket the bucket where the object should be stored
+     * @param key the key of the object
+     * @return future that completes once the upload has been completed
+     */
+    CompletableFuture<Void> uploadAsync(final byte[] bytes, final String bucket, final String key) {
+        return this.s3Async.createMultipartUpload(request -> request
+                        .bucket(bucket)
+                        .key(key))
+                .thenCompose(response -> {
+                    final String uploadId = response.uploadId();
+                    return this.uploadPartsAsync(bytes, bucket, key, uploadId)
+                            .thenCompose(parts -> this.s3Async.completeMultipartUpload(request -> request
+                                    .bucket(bucket)
+                                    .key(key)
+                                    .uploadId(uploadId)
+                                    .multipartUpload(upload -> upload.parts(parts))))
+                            .whenComplete((completed, e) -> {
+                                if (e != null) {
+                                    this.abortAsync(bucket, key, uploadId);
+                                }
+                            });
+                })
+                .thenRun(() -> log.debug("Uploaded {} bytes in parts of {} bytes to s3://{}/{}", bytes.length,
+                        this.partSize, bucket, key));
+    }
+
+    /**
+     * Open a stream that uploads an object using a multipart upload while writing. At most {@code parallelism} parts
+     * are buffered and uploaded concurrently. Objects smaller than a single part are uploaded with a single request.
+     *
+     * @param bucket the bucket where the object should be stored
+     * @param key the key of the object
+     * @return stream for the object
+     */
+    BlobStorageOutputStream openUpload(final String bucket, final String key) {
+        return new AmazonS3MultipartOutputStream(this, bucket, key, this.partSize, this.parallelism);
+    }
+
+    String createUpload(final String bucket, final String key) {
+        return this.s3.createMultipartUpload(request -> request
+                        .bucket(bucket)
+                        .key(key))
+                .uploadId();
+    }
+
+    CompletableFuture<CompletedPart> uploadPart(final String bucket, final String key, final String uploadId,
+            final int partNumber, final ByteBuffer buffer) {
+        final UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) buffer.remaining())
+                .build();
+        return this.s3Async.uploadPart(request, AsyncRequestBody.fromByteBufferUnsafe(buffer))
+                .thenApply(response -> CompletedPart.builder()
+                        .partNumber(partNumber)
+                        .eTag(response.eTag())
+                        .build());
+    }
+
+    void complete(final String bucket, final String key, final String uploadId, final List<CompletedPart> parts) {
+        this.s3.completeMultipartUpload(request -> request
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(upload -> upload.parts(parts)));
+    }
+
+    void putObject(final String bucket, final String key, final byte[] bytes, final int length) {
+        this.s3.putObject(request -> request
+                .bucket(bucket)
+                .key(key), RequestBody.fromByteBuffer(ByteBuffer.wrap(bytes, 0, length)));
+    }
+
+    byte[] download(final String bucket, final String key) {
+        final GetObjectRequest firstRequest = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .range(range(0, this.partSize))
+                .build();
+        final byte[] firstPart;
+        final long size;
+        final String eTag;
+        try (final ResponseInputStream<GetObjectResponse> stream = this.s3.getObject(firstRequest)) {
+            firstPart = stream.readAllBytes();
+            size = getObjectSize(stream.response());
+            eTag = stream.response().eTag();
+        } catch (final S3Exception e) {
+            if (e.statusCode() == RANGE_NOT_SATISFIABLE) {
+                // ranges cannot be satisfied for empty objects
+                return new byte[0];
+            }
+            throw e;
+        } catch (final IOException e) {
+            throw new SerializationException("Cannot handle S3 backed message: s3://" + bucket + "/" + key, e);
+        }
+        if (size <= firstPart.length) {
+            return firstPart;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new SerializationException("S3 object is too large to be read into memory: " + size + " bytes");
+        }
+        final byte[] bytes = new byte[(int) size];
+        System.arraycopy(firstPart, 0, bytes, 0, firstPart.length);
+        this.downloadRanges(bucket, key, eTag, bytes, firstPart.length);
+        log.debug("Downloaded {} bytes in ranges of {} bytes from s3://{}/{}", size, this.partSize, bucket, key);
+        return bytes;
+    }
+
+    private List<CompletedPart> uploadParts(final byte[] bytes, final String bucket, final String key,
+            final String uploadId) {
+        final Semaphore permits = new Semaphore(this.parallelism);
+        final List<CompletableFuture<CompletedPart>> futures = new ArrayList<>();
+        for (int offset = 0, partNumber = 1; offset < bytes.length && !anyFailed(futures);
+                offset += this.partSize, partNumber++) {
+            final int length = Math.min(this.partSize, bytes.length - offset);
+            acquire(permits);
+            final CompletableFuture<CompletedPart> future =
+                    this.uploadPart(bucket, key, uploadId, partNumber, ByteBuffer.wrap(bytes, offset, length))
+                            .whenComplete((part, e) -> permits.release());
+            futures.add(future);
+        }
+        try {
+            return join(futures);
+        } catch (final CompletionException e) {
+            throw new SerializationException("Error backing message on S3", unwrap(e));
+        }
+    }
+
+    private CompletableFuture<List<CompletedPart>> uploadPartsAsync(final byte[] bytes, final String bucket,
+            final String key, final String uploadId) {
+        final int partCount = (int) (((long) bytes.length + this.partSize - 1) / this.partSize);
+        final CompletedPart[] parts = new CompletedPart[partCount];
+        final AtomicInteger nextPart = new AtomicInteger();
+        // each worker uploads one part at a time, so that at most parallelism parts are in flight
+        final CompletableFuture<?>[] workers = IntStream.range(0, Math.min(this.parallelism, partCount))
+                .mapToObj(i -> this.uploadNextParts(bytes, bucket, key, uploadId, parts, nextPart))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(workers)
+                .thenApply(ignored -> List.of(parts));
+    }
+
+    private CompletableFuture<Void> uploadNextParts(final byte[] bytes, final String bucket, final String key,
+            final String uploadId, final CompletedPart[] parts, final AtomicInteger nextPart) {
+        final int index = nextPart.getAndIncrement();
+        if (index >= parts.length) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final int offset = index * this.partSize;
+        final int length = Math.min(this.partSize, bytes.length - offset);
+        return this.uploadPart(bucket, key, uploadId, index + 1, ByteBuffer.wrap(bytes, offset, length))
+                .whenComplete((part, e) -> {
+                    if (e != null) {
+                        // stop the other workers
+                        nextPart.set(parts.length);
+                    }
+                })
+                .thenCompose(part -> {
+                    parts[index] = part;
+                    return this.uploadNextParts(bytes, bucket, key, uploadId, parts, nextPart);
+                });
+    }
+
+    /**
+     * Download the remaining ranges of an object. Requests are conditional on the ETag of the first range, so that an
+     * object overwritten in between fails instead of being stitched from two versions.
+     */
+    private void downloadRanges(final String bucket, final String key, final String eTag, final byte[] bytes,
+            final int start) {
+        final Semaphore permits = new Semaphore(this.parallelism);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int offset = start; offset < bytes.length && !anyFailed(futures); offset += this.partSize) {
+            final int length = Math.min(this.partSize, bytes.length - offset);
+            final GetObjectRequest request = GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range(range(offset, length))
+                    .ifMatch(eTag)
+                    .build();
+            final int currentOffset = offset;
+            acquire(permits);
+            final CompletableFuture<Void> future = this.s3Async.getObject(request, AsyncResponseTransformer.toBytes())
+                    .thenAccept(response -> {
+                        final ByteBuffer buffer = response.asByteBuffer();
+                        buffer.get(bytes, currentOffset, buffer.remaining());
+                    })
+                    .whenComplete((ignored, e) -> permits.release());
+            futures.add(future);
+        }
+        try {
+            join(futures);
+        } catch (final CompletionException e) {
+            throw new SerializationException("Cannot handle S3 backed message: s3://" + bucket + "/" + key,
+                    unwrap(e));
+        }
+    }
+
+    private void abortAsync(final String bucket, final String key, final String uploadId) {
+        this.s3Async.abortMultipartUpload(request -> request
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId))
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        log.warn("Cannot abort multipart upload {} for s3://{}/{}", uploadId, bucket, key, unwrap(e));
+                    }
+                });
+    }
+
+    void abort(final String bucket, final String key, final String uploadId) {
+        try {
+            this.s3.abortMultipartUpload(request -> request
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId));
+        } catch (final SdkException e) {
+            log.warn("Cannot abort multipart upload {} for s3://{}/{}", uploadId, bucket, key, e);
+        }
+    }
+}
@@ -29,6 +29,10 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Random;
 import java.util.stream.IntStream;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Serdes;
@@ -80,6 +84,19 @@ class AmazonS3ClientIntegrationTest extends AmazonS3IntegrationTest {
         }
     }
 
+    @Test
+    void shouldStreamBackedText() throws IOException {
+        final String bucket = "bucket";
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        final String key = "key";
+        this.store(bucket, key, "foo");
+        try (final BlobStorageClient client = new AmazonS3Client(s3);
+                final InputStream stream = client.getObjectStream(bucket, key)) {
+            assertThat(stream).hasBinaryContent(serialize("foo"));
+        }
+    }
+
     @Test
     void shouldWriteBackedText() {
         final String bucket = "bucket";
@@ -92,6 +109,147 @@ class AmazonS3ClientIntegrationTest extends AmazonS3IntegrationTest {
         }
     }
 
+    @Test
+    void shouldReadAndWriteBackedTextAsync() {
+        final String bucket = "bucket";
+        final String key = "key";
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        try (final BlobStorageClient client = new AmazonS3Client(s3, this.getS3AsyncClient())) {
+            assertThat(client.putObjectAsync(serialize("foo"), bucket, key))
+                    .succeedsWithin(Duration.ofSeconds(10))
+                    .isEqualTo("s3://bucket/key");
+            assertThat(client.getObjectAsync(bucket, key))
+                    .succeedsWithin(Duration.ofSeconds(10))
+                    .isEqualTo(serialize("foo"));
+        }
+    }
+
+    @Test
+    void shouldReadAndWriteInParallel() {
+        final String bucket = "bucket";
+        final String key = "key";
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        final int partSize = 5 * 1024 * 1024;
+        final byte[] bytes = new byte[2 * partSize + 42];
+        new Random().nextBytes(bytes);
+        try (final BlobStorageClient client = new AmazonS3Client(s3, this.getS3AsyncClient(), partSize, partSize,
+                2)) {
+            assertThat(client.putObject(bytes, bucket, key))
+                    .isEqualTo("s3://bucket/key");
+            assertThat(client.getObject(bucket, key))
+                    .isEqualTo(bytes);
+        }
+    }
+
+    @Test
+    void shouldWriteInParallelAsync() {
+        final String bucket = "bucket";
+        final String key = "key";
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        final int partSize = 5 * 1024 * 1024;
+        final byte[] bytes = new byte[2 * partSize + 42];
+        new Random().nextBytes(bytes);
+        try (final BlobStorageClient client = new AmazonS3Client(s3, this.getS3AsyncClient(), partSize, partSize,
+                2)) {
+            assertThat(client.putObjectAsync(bytes, bucket, key))
+                    .succeedsWithin(Duration.ofSeconds(10))
+                    .isEqualTo("s3://bucket/key");
+            assertThat(client.putObjectIfAbsentAsync(bytes, bucket, key))
+                    .succeedsWithin(Duration.ofSeconds(10))
+                    .isEqualTo("s3://bucket/key");
+            assertThat(client.getObject(bucket, key))
+                    .isEqualTo(bytes);
+        }
+    }
+
+    @Test
+    void shouldWriteStreamInParts() throws IOException {
+        final String bucket = "bucket";
+        final String key = "key";
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        final int partSize = 5 * 1024 * 1024;
+        final byte[] bytes = new byte[2 * partSize + 42];
+        new Random().nextBytes(bytes);
+        try (final BlobStorageClient client = new AmazonS3Client(s3, this.getS3AsyncClient(), partSize, partSize,
+                2)) {
+            final BlobStorageOutputStream stream = client.putObjectStream(bucket, key);
+            stream.write(bytes, 0, partSize + 1);
+            stream.write(bytes, partSize + 1, bytes.length - partSize - 1);
+            stream.close();
+            assertThat(stream.getUri())
+                    .isEqualTo("s3://bucket/key");
+            assertThat(client.getObject(bucket, key))
+                    .isEqualTo(bytes);
+        }
+    }
+
+    @Test
+    void shouldNotWriteAbortedStream() throws IOException {
+        final String bucket = "bucket";
+        final String key = "key";
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        final int partSize = 5 * 1024 * 1024;
+        try (final BlobStorageClient client = new AmazonS3Client(s3, this.getS3AsyncClient(), partSize, partSize,
+                2)) {
+            final BlobStorageOutputStream stream = client.putObjectStream(bucket, key);
+            stream.write(new byte[partSize + 1], 0, partSize + 1);
+            stream.abort();
+            stream.close();
+            assertThat(s3.listObjectsV2(ListObjectsV2Request.builder().bucket(bucket).build()).contents())
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    void shouldThrowIOExceptionOnWriteAfterClose() throws IOException {
+        final String bucket = "bucket";
+        final String key = "key";
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        final int partSize = 5 * 1024 * 1024;
+        try (final BlobStorageClient client = new AmazonS3Client(s3, this.getS3AsyncClient(), partSize, partSize,
+                2)) {
+            final BlobStorageOutputStream stream = client.putObjectStream(bucket, key);
+            stream.write(serialize("foo"));
+            stream.close();
+            assertThatExceptionOfType(IOException.class)
+                    .isThrownBy(() -> stream.write(serialize("bar")));
+        }
+    }
+
+    @Test
+    void shouldReadEmptyObjectInParallel() {
+        final String bucket = "bucket";
+        final String key = "key";
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        try (final BlobStorageClient client = new AmazonS3Client(s3, this.getS3AsyncClient())) {
+            client.putObject(new byte[0], bucket, key);
+            assertThat(client.getObject(bucket, key))
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    void shouldWarmUp() {
+        final String bucket = "bucket";
+        final String key = "key";
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        try (final BlobStorageClient client = new AmazonS3Client(s3, this.getS3AsyncClient())) {
+            client.warmUp(bucket, 4);
+            // errors are only logged
+            client.warmUp("missing", 4);
+            assertThat(client.putObject(serialize("foo"), bucket, key))
+                    .isEqualTo("s3://bucket/key");
+        }
+    }
+
     @Test
     void shouldDeleteFiles() {
         final String bucket = "bucket";
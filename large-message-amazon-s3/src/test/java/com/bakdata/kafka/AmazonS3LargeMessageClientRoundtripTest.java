@@ -148,6 +148,35 @@ class AmazonS3LargeMessageClientRoundtripTest extends AmazonS3IntegrationTest {
         }
     }
 
+    @Test
+    void shouldUseConfiguredSdkHttpClientBuilderForAsyncRequests() {
+        final String bucket = "bucket";
+        final String basePath = "s3://" + bucket + "/base/";
+        final Map<String, Object> properties = Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, basePath,
+                AmazonS3Config.S3_SDK_HTTP_CLIENT_BUILDER_CONFIG, RecordingHttpClientBuilder.class
+        );
+        final S3Client s3 = this.getS3Client();
+        s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        final Map<String, Object> fullProperties = this.createStorerProperties(properties);
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(fullProperties);
+        try (final LargeMessageStoringClient storer = config.getStorer();
+                final LargeMessageRetrievingClient retriever = config.getRetriever()) {
+
+            final Headers headers = new RecordHeaders();
+            final byte[] obj = serialize("foo");
+            final boolean isKey = false;
+            final byte[] data = storer.storeBytesAsync(TOPIC, obj, isKey, headers).join();
+
+            final byte[] result = retriever.retrieveBytesAsync(data, headers, isKey).join();
+            assertThat(result).isEqualTo(obj);
+            assertThat(RecordingHttpClient.REQUESTS)
+                    .anySatisfy(request -> assertThat(request.method()).isEqualTo(SdkHttpMethod.PUT))
+                    .anySatisfy(request -> assertThat(request.method()).isEqualTo(SdkHttpMethod.GET));
+        }
+    }
+
     @Test
     void shouldValidateChecksumByDefault() {
         final String bucket = "bucket";
@@ -33,6 +33,7 @@ import org.testcontainers.utility.DockerImageName;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 
 @Testcontainers
@@ -52,6 +53,14 @@ abstract class AmazonS3IntegrationTest {
                 .build();
     }
 
+    S3AsyncClient getS3AsyncClient() {
+        return S3AsyncClient.builder()
+                .endpointOverride(this.getEndpointOverride())
+                .credentialsProvider(StaticCredentialsProvider.create(this.getCredentials()))
+                .region(this.getRegion())
+                .build();
+    }
+
     Map<String, String> getLargeMessageConfig() {
         final AwsBasicCredentials credentials = this.getCredentials();
         return Map.of(
@@ -26,33 +26,86 @@ package com.bakdata.kafka;
 
 import com.azure.core.http.rest.PagedIterable;
 import com.azure.core.util.BinaryData;
+import com.azure.storage.blob.BlobAsyncClient;
 import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceAsyncClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobErrorCode;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.ListBlobsOptions;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
 /**
- * Implementation of {@link BlobStorageClient} for Azure Blob Storage.
+ * Implementation of {@link BlobStorageClient} for Azure Blob Storage. If a {@link BlobServiceAsyncClient} is provided,
+ * asynchronous operations use it to avoid blocking the calling thread.
  */
-@RequiredArgsConstructor
+@AllArgsConstructor
 class AzureBlobStorageClient implements BlobStorageClient {
 
     static final String SCHEME = "abs";
+    private static final int DELETE_PARALLELISM = 16;
     private final @NonNull BlobServiceClient blobServiceClient;
+    private final BlobServiceAsyncClient blobServiceAsyncClient;
+
+    AzureBlobStorageClient(final BlobServiceClient blobServiceClient) {
+        this(blobServiceClient, null);
+    }
 
     private static String asURI(final String bucket, final String key) {
         return SCHEME + "://" + bucket + "/" + key;
     }
 
+    private static boolean isAlreadyExisting(final Throwable e) {
+        return e instanceof BlobStorageException
+                && BlobErrorCode.BLOB_ALREADY_EXISTS.equals(((BlobStorageException) e).getErrorCode());
+    }
+
+    /**
+     * Delete all blobs below a prefix. If a {@link BlobServiceAsyncClient} is provided, up to
+     * {@value #DELETE_PARALLELISM} blobs are deleted concurrently while listing.
+     *
+     * @param bucket the bucket to delete from
+     * @param prefix the prefix for which blobs should be deleted
+     */
     @Override
     public void deleteAllObjects(final String bucket, final String prefix) {
+        final ListBlobsOptions options = new ListBlobsOptions().setPrefix(prefix);
+        if (this.blobServiceAsyncClient == null) {
+            final BlobContainerClient containerClient = this.blobServiceClient.getBlobContainerClient(bucket);
+            final PagedIterable<BlobItem> items = containerClient.listBlobs(options, null);
+            items.forEach(blobItem -> {
+                containerClient.getBlobClient(blobItem.getName()).delete();
+                LargeMessageMetrics.recordDeletedObjects(SCHEME, 1L);
+            });
+            return;
+        }
+        final BlobContainerAsyncClient containerClient =
+                this.blobServiceAsyncClient.getBlobContainerAsyncClient(bucket);
+        containerClient.listBlobs(options)
+                .flatMap(blobItem -> containerClient.getBlobAsyncClient(blobItem.getName()).delete()
+                        .thenReturn(1L), DELETE_PARALLELISM)
+                .doOnNext(deleted -> LargeMessageMetrics.recordDeletedObjects(SCHEME, deleted))
+                .blockLast();
+    }
+
+    @Override
+    public List<String> listPrefixes(final String bucket, final String prefix) {
         final BlobContainerClient containerClient = this.blobServiceClient.getBlobContainerClient(bucket);
         final ListBlobsOptions options = new ListBlobsOptions().setPrefix(prefix);
-        final PagedIterable<BlobItem> items = containerClient.listBlobs(options, null);
-        items.forEach(blobItem -> containerClient.getBlobClient(blobItem.getName()).delete());
+        return containerClient.listBlobsByHierarchy("/", options, null).stream()
+                .filter(blobItem -> Boolean.TRUE.equals(blobItem.isPrefix()))
+                .map(BlobItem::getName)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -63,6 +116,29 @@ class AzureBlobStorageClient implements BlobStorageClient {
         return asURI(bucket, key);
     }
 
+    /**
+     * Store a payload unless a blob with the same name already exists. Payloads are uploaded without overwriting
+     * existing blobs, i.e., using conditional requests.
+     *
+     * @param bytes the payload
+     * @param bucket the bucket where the payload should be stored
+     * @param key the identifier for the payload within the bucket
+     * @return unique identifier to retrieve the payload
+     */
+    @Override
+    public String putObjectIfAbsent(final byte[] bytes, final String bucket, final String key) {
+        final BlobContainerClient containerClient = this.blobServiceClient.getBlobContainerClient(bucket);
+        final BlobClient blobClient = containerClient.getBlobClient(key);
+        try {
+            blobClient.upload(BinaryData.fromBytes(bytes), false);
+        } catch (final BlobStorageException e) {
+            if (!isAlreadyExisting(e)) {
+                throw e;
+            }
+        }
+        return asURI(bucket, key);
+    }
+
     @Override
     public byte[] getObject(final String bucket, final String key) {
         final BlobContainerClient containerClient = this.blobServiceClient.getBlobContainerClient(bucket);
@@ -70,8 +146,86 @@ class AzureBlobStorageClient implements BlobStorageClient {
         return blobClient.downloadContent().toBytes();
     }
 
+    @Override
+    public InputStream getObjectStream(final String bucket, final String key) {
+        final BlobContainerClient containerClient = this.blobServiceClient.getBlobContainerClient(bucket);
+        final BlobClient blobClient = containerClient.getBlobClient(key);
+        return blobClient.openInputStream();
+    }
+
+    @Override
+    public BlobStorageOutputStream putObjectStream(final String bucket, final String key) {
+        final BlobContainerClient containerClient = this.blobServiceClient.getBlobContainerClient(bucket);
+        final BlobClient blobClient = containerClient.getBlobClient(key);
+        // blocks are staged while writing and committed on close
+        return new DelegatingBlobStorageOutputStream(blobClient.getBlockBlobClient().getBlobOutputStream(true),
+                asURI(bucket, key));
+    }
+
+    @Override
+    public CompletableFuture<String> putObjectAsync(final byte[] bytes, final String bucket, final String key) {
+        if (this.blobServiceAsyncClient == null) {
+            return BlobStorageClient.super.putObjectAsync(bytes, bucket, key);
+        }
+        final BlobAsyncClient blobClient = this.getBlobAsyncClient(bucket, key);
+        return blobClient.upload(BinaryData.fromBytes(bytes))
+                .thenReturn(asURI(bucket, key))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<String> putObjectIfAbsentAsync(final byte[] bytes, final String bucket,
+            final String key) {
+        if (this.blobServiceAsyncClient == null) {
+            return BlobStorageClient.super.putObjectIfAbsentAsync(bytes, bucket, key);
+        }
+        final BlobAsyncClient blobClient = this.getBlobAsyncClient(bucket, key);
+        return blobClient.upload(BinaryData.fromBytes(bytes), false)
+                .then()
+                .onErrorResume(AzureBlobStorageClient::isAlreadyExisting, e -> Mono.empty())
+                .thenReturn(asURI(bucket, key))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getObjectAsync(final String bucket, final String key) {
+        if (this.blobServiceAsyncClient == null) {
+            return BlobStorageClient.super.getObjectAsync(bucket, key);
+        }
+        final BlobAsyncClient blobClient = this.getBlobAsyncClient(bucket, key);
+        return blobClient.downloadContent()
+                .map(BinaryData::toBytes)
+                .toFuture();
+    }
+
+    @Override
+    public void warmUp(final String bucket, final int connections) {
+        final BlobContainerClient containerClient = this.blobServiceClient.getBlobContainerClient(bucket);
+        BlobStorageWarmUp.runConcurrently(connections, containerClient::exists);
+        if (this.blobServiceAsyncClient != null) {
+            final BlobContainerAsyncClient containerAsyncClient =
+                    this.blobServiceAsyncClient.getBlobContainerAsyncClient(bucket);
+            final CompletableFuture<?>[] futures = IntStream.range(0, connections)
+                    .mapToObj(i -> containerAsyncClient.exists().toFuture())
+                    .toArray(CompletableFuture[]::new);
+            BlobStorageWarmUp.join(CompletableFuture.allOf(futures));
+        }
+    }
+
+    @Override
+    public boolean isPermanentFailure(final RuntimeException e) {
+        return BlobStorageErrors.findCause(e, BlobStorageException.class)
+                .map(storageException -> BlobStorageErrors.isPermanentStatusCode(storageException.getStatusCode()))
+                .orElse(false);
+    }
+
     @Override
     public void close() {
         // do nothing
     }
+
+    private BlobAsyncClient getBlobAsyncClient(final String bucket, final String key) {
+        return this.blobServiceAsyncClient.getBlobContainerAsyncClient(bucket)
+                .getBlobAsyncClient(key);
+    }
 }
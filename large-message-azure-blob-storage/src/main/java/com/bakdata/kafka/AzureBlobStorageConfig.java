@@ -27,6 +27,7 @@ package com.bakdata.kafka;
 import static com.bakdata.kafka.AbstractLargeMessageConfig.PREFIX;
 import static com.bakdata.kafka.AbstractLargeMessageConfig.isEmpty;
 
+import com.azure.storage.blob.BlobServiceAsyncClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import java.util.Map;
@@ -76,7 +77,8 @@ public class AzureBlobStorageConfig extends AbstractConfig implements BlobStorag
         final BlobServiceClientBuilder clientBuilder = new BlobServiceClientBuilder();
         this.getAzureConnectionString().ifPresent(clientBuilder::connectionString);
         final BlobServiceClient blobServiceClient = clientBuilder.buildClient();
-        return new AzureBlobStorageClient(blobServiceClient);
+        final BlobServiceAsyncClient blobServiceAsyncClient = clientBuilder.buildAsyncClient();
+        return new AzureBlobStorageClient(blobServiceClient, blobServiceAsyncClient);
     }
 
     private Optional<String> getAzureConnectionString() {
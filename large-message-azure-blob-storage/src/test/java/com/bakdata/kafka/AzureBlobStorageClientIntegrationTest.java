@@ -32,6 +32,7 @@ import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.ListBlobsOptions;
+import java.time.Duration;
 import java.util.stream.Collectors;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.common.serialization.Serializer;
@@ -89,6 +90,28 @@ class AzureBlobStorageClientIntegrationTest extends AzureBlobStorageIntegrationT
         }
     }
 
+    @Test
+    void shouldReadAndWriteBackedTextAsync() {
+        final String bucket = "bucket";
+        final String key = "key";
+        final BlobServiceClient blobServiceClient = this.getBlobServiceClient();
+        final BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(bucket);
+        try {
+            containerClient.create();
+            try (final BlobStorageClient client = new AzureBlobStorageClient(blobServiceClient,
+                    this.getBlobServiceAsyncClient())) {
+                assertThat(client.putObjectAsync(serialize("foo"), bucket, key))
+                        .succeedsWithin(Duration.ofSeconds(10))
+                        .isEqualTo("abs://" + bucket + "/key");
+                assertThat(client.getObjectAsync(bucket, key))
+                        .succeedsWithin(Duration.ofSeconds(10))
+                        .isEqualTo(serialize("foo"));
+            }
+        } finally {
+            containerClient.delete();
+        }
+    }
+
     @Test
     void shouldDeleteFiles() {
         final String bucket = "bucket";
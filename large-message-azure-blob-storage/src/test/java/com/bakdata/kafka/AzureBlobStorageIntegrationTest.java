@@ -24,6 +24,7 @@
 
 package com.bakdata.kafka;
 
+import com.azure.storage.blob.BlobServiceAsyncClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import org.testcontainers.azure.AzuriteContainer;
@@ -48,4 +49,10 @@ abstract class AzureBlobStorageIntegrationTest {
                 .connectionString(this.getConnectionString())
                 .buildClient();
     }
+
+    BlobServiceAsyncClient getBlobServiceAsyncClient() {
+        return new BlobServiceClientBuilder()
+                .connectionString(this.getConnectionString())
+                .buildAsyncClient();
+    }
 }
@@ -0,0 +1,23 @@
+description = "JMH benchmarks for storing and retrieving large messages"
+
+plugins {
+    id("java")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(project(":large-message-core"))
+    // backends make the classpath resemble a Connect worker when benchmarking startup
+    jmh(project(":large-message-amazon-s3"))
+    jmh(project(":large-message-azure-blob-storage"))
+    jmh(project(":large-message-google-cloud-storage"))
+    jmh(platform(libs.kafka.bom))
+    jmh(libs.kafka.clients)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    // report allocation rates next to the timings
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
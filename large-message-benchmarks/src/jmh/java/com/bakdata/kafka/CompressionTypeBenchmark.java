@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link CompressionType#compress(byte[], BufferPool)} and
+ * {@link CompressionType#decompress(byte[], BufferPool)} with pooled heap and direct buffers, and without pooling. The
+ * GC profiler shows the allocation rate per operation, which should be close to the size of the returned array when
+ * buffers are pooled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionTypeBenchmark {
+
+    @Param({"65536", "1048576", "16777216"})
+    private int payloadSize;
+    @Param({"gzip", "snappy", "lz4", "zstd"})
+    private String compressionType;
+    @Param({"heap", "direct", "none"})
+    private String bufferPool;
+
+    private CompressionType type;
+    private BufferPool pool;
+    private byte[] payload;
+    private byte[] compressed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.type = CompressionType.forName(this.compressionType);
+        this.pool = switch (this.bufferPool) {
+            case "heap" -> BufferPool.create(BufferPool.DEFAULT_MAX_RETAINED_BYTES, false);
+            case "direct" -> BufferPool.create(BufferPool.DEFAULT_MAX_RETAINED_BYTES, true);
+            // retaining no buffers disables pooling
+            case "none" -> BufferPool.create(0L, false);
+            default -> throw new IllegalArgumentException("Unknown buffer pool: " + this.bufferPool);
+        };
+        this.payload = Payloads.create(this.payloadSize);
+        this.compressed = this.type.compress(this.payload, this.pool);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return this.type.compress(this.payload, this.pool);
+    }
+
+    @Benchmark
+    public byte[] decompress() {
+        return this.type.decompress(this.compressed, this.pool);
+    }
+}
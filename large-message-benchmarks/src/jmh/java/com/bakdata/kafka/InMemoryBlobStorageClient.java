@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link BlobStorageClient} that keeps all objects in memory. Used for benchmarking so that results do not depend on a
+ * network.
+ */
+class InMemoryBlobStorageClient implements BlobStorageClient {
+    static final String SCHEME = "mem";
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final boolean retainObjects;
+
+    /**
+     * Create a client that retains stored objects, so that they can be retrieved
+     */
+    InMemoryBlobStorageClient() {
+        this(true);
+    }
+
+    /**
+     * Create a client for benchmarking
+     *
+     * @param retainObjects whether stored objects are retained. Benchmarks that only store payloads should drop them,
+     * so that the heap does not fill up with payloads of previous invocations.
+     */
+    InMemoryBlobStorageClient(final boolean retainObjects) {
+        this.retainObjects = retainObjects;
+    }
+
+    private static String asName(final String bucket, final String key) {
+        return bucket + "/" + key;
+    }
+
+    @Override
+    public void deleteAllObjects(final String bucket, final String prefix) {
+        this.objects.keySet().removeIf(name -> name.startsWith(asName(bucket, prefix)));
+    }
+
+    @Override
+    public List<String> listPrefixes(final String bucket, final String prefix) {
+        final String name = asName(bucket, prefix);
+        return this.objects.keySet().stream()
+                .filter(key -> key.startsWith(name) && key.indexOf('/', name.length()) >= 0)
+                .map(key -> prefix + key.substring(name.length(), key.indexOf('/', name.length()) + 1))
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public String putObject(final byte[] bytes, final String bucket, final String key) {
+        final String name = asName(bucket, key);
+        if (this.retainObjects) {
+            this.objects.put(name, bytes);
+        }
+        return SCHEME + "://" + name;
+    }
+
+    @Override
+    public byte[] getObject(final String bucket, final String key) {
+        return this.objects.get(asName(bucket, key));
+    }
+
+    @Override
+    public void close() {
+        this.objects.clear();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks serialization and deserialization of {@link LargeMessagePayload} using
+ * {@link ByteFlagLargeMessagePayloadProtocol} and {@link HeaderLargeMessagePayloadProtocol}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LargeMessagePayloadProtocolBenchmark {
+    private static final LargeMessagePayloadProtocol BYTE_FLAG_PROTOCOL = new ByteFlagLargeMessagePayloadProtocol();
+    private static final LargeMessagePayloadProtocol HEADER_PROTOCOL = new HeaderLargeMessagePayloadProtocol();
+
+    @Param({"1024", "65536", "1048576", "16777216", "67108864"})
+    private int payloadSize;
+
+    private LargeMessagePayload payload;
+    private byte[] byteFlagSerialized;
+    private byte[] headerSerialized;
+    private Headers headers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.payload = LargeMessagePayload.ofBytes(Payloads.create(this.payloadSize));
+        this.byteFlagSerialized = BYTE_FLAG_PROTOCOL.serialize(this.payload, false);
+        this.headers = new RecordHeaders();
+        this.headerSerialized = HEADER_PROTOCOL.serialize(this.payload, this.headers, false);
+    }
+
+    @Benchmark
+    public byte[] serializeByteFlag() {
+        return BYTE_FLAG_PROTOCOL.serialize(this.payload, false);
+    }
+
+    @Benchmark
+    public LargeMessagePayload deserializeByteFlag() {
+        return BYTE_FLAG_PROTOCOL.deserialize(this.byteFlagSerialized, false);
+    }
+
+    @Benchmark
+    public byte[] serializeHeader() {
+        return HEADER_PROTOCOL.serialize(this.payload, new RecordHeaders(), false);
+    }
+
+    @Benchmark
+    public LargeMessagePayload deserializeHeader() {
+        return HEADER_PROTOCOL.deserialize(this.headerSerialized, this.headers, false);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.utils.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link LargeMessageStoringClient#storeBytes(String, byte[], boolean,
+ * org.apache.kafka.common.header.Headers)} for all compression types and id generators. Payloads smaller than
+ * {@link AbstractLargeMessageConfig#MAX_BYTE_SIZE_DEFAULT} are stored inline, larger payloads are offloaded to an
+ * in-memory blob storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LargeMessageStoringClientBenchmark {
+    private static final String TOPIC = "topic";
+
+    @Param({"1024", "65536", "1048576", "16777216", "67108864"})
+    private int payloadSize;
+    @Param({"none", "gzip", "snappy", "lz4", "zstd"})
+    private String compressionType;
+    @Param({"com.bakdata.kafka.RandomUUIDGenerator", "com.bakdata.kafka.Sha256HashIdGenerator",
+            "com.bakdata.kafka.MurmurHashIdGenerator"})
+    private String idGenerator;
+
+    private LargeMessageStoringClient storer;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ClassNotFoundException {
+        this.storer = LargeMessageStoringClient.builder()
+                .client(new InMemoryBlobStorageClient(false))
+                .basePath(BlobStorageURI.create(InMemoryBlobStorageClient.SCHEME + "://bucket/base/"))
+                .maxSize(AbstractLargeMessageConfig.MAX_BYTE_SIZE_DEFAULT)
+                .idGenerator(Utils.newInstance(this.idGenerator, IdGenerator.class))
+                .protocol(new HeaderLargeMessagePayloadProtocol())
+                .compressionType(CompressionType.forName(this.compressionType))
+                .build();
+        this.payload = Payloads.create(this.payloadSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.storer.close();
+    }
+
+    @Benchmark
+    public byte[] storeBytes() {
+        return this.storer.storeBytes(TOPIC, this.payload, false, new RecordHeaders());
+    }
+}
@@ -72,7 +72,9 @@ public class LargeMessageConverter implements Converter {
     @Override
     public SchemaAndValue toConnectData(final String topic, final Headers headers, final byte[] value) {
         final byte[] inner = this.retrievingClient.retrieveBytes(value, headers, this.isKey);
-        return this.converter.toConnectData(topic, headers, inner);
+        final SchemaAndValue schemaAndValue = this.converter.toConnectData(topic, headers, inner);
+        LargeMessageRetrievingClient.removeHeaders(headers, this.isKey);
+        return schemaAndValue;
     }
 
 }
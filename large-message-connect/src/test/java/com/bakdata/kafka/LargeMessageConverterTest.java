@@ -156,7 +156,7 @@ class LargeMessageConverterTest extends AmazonS3IntegrationTest {
         final SchemaAndValue schemaAndValue =
                 this.converter.toConnectData(TOPIC, headers, createNonBackedText(text, headers, isKey));
         assertThat(schemaAndValue).isEqualTo(expected);
-        assertHasHeader(headers, isKey);
+        assertThat(headers).isEmpty();
     }
 
     @ParameterizedTest
@@ -221,7 +221,26 @@ class LargeMessageConverterTest extends AmazonS3IntegrationTest {
         final SchemaAndValue schemaAndValue =
                 this.converter.toConnectData(TOPIC, headers, createBackedText(bucket, key, headers, isKey));
         assertThat(schemaAndValue).isEqualTo(expected);
-        assertHasHeader(headers, isKey);
+        assertThat(headers).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldRemoveHeadersOfCompressedInlinePayload(final boolean isKey) {
+        final Map<String, String> properties = ImmutableMap.<String, String>builder()
+                .putAll(this.createProperties(1000, "s3://bucket/base", true))
+                .put(AbstractLargeMessageConfig.COMPRESSION_TYPE_CONFIG, "zstd")
+                .put(AbstractLargeMessageConfig.COMPRESSION_INLINE_ENABLED_CONFIG, "true")
+                .build();
+        this.converter = new LargeMessageConverter();
+        this.converter.configure(properties, isKey);
+        final SchemaAndValue data = toConnectData("foo".repeat(1000));
+        final Headers headers = new RecordHeaders();
+        final byte[] bytes = this.converter.fromConnectData(TOPIC, headers, data.schema(), data.value());
+        assertThat(headers.lastHeader(CompressionType.getHeaderName(isKey))).isNotNull();
+        final SchemaAndValue schemaAndValue = this.converter.toConnectData(TOPIC, headers, bytes);
+        assertThat(schemaAndValue).isEqualTo(data);
+        assertThat(headers).isEmpty();
     }
 
     @ParameterizedTest
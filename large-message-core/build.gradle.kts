@@ -31,10 +31,14 @@ plugins {
 dependencies {
     compileOnly(platform(libs.kafka.bom))
     compileOnly(libs.kafka.clients)
+    // used for streaming decompression, kafka-clients brings them at runtime
+    compileOnly(libs.snappy)
+    compileOnly(libs.lz4)
+    compileOnly(libs.zstd)
 
     implementation(libs.slf4j.api)
     implementation(libs.guava)
-    implementation(libs.classgraph)
+    implementation(libs.caffeine)
 
     testRuntimeOnly(libs.junit.platform.launcher)
     testImplementation(libs.junit.jupiter)
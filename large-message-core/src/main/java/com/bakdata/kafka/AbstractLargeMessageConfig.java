@@ -24,9 +24,14 @@
 
 package com.bakdata.kafka;
 
-import java.util.Collection;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.KafkaException;
@@ -34,6 +39,7 @@ import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigDef.Importance;
 import org.apache.kafka.common.config.ConfigDef.Type;
+import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.utils.Utils;
 
@@ -47,6 +53,10 @@ import org.apache.kafka.common.utils.Utils;
  *     <li> usage of headers to store large message flag
  *     <li> acceptance of no headers as signal that message is not backed
  *     <li> compression type
+ *     <li> retrieval cache
+ *     <li> connection warm-up
+ *     <li> buffer pool
+ *     <li> metric ranges
  * </ul>
  */
 @Slf4j
@@ -63,7 +73,8 @@ public class AbstractLargeMessageConfig extends AbstractConfig {
     public static final String ID_GENERATOR_CONFIG = PREFIX + "id.generator";
     public static final String ID_GENERATOR_DOC = "Class to use for generating unique object IDs. Available "
             + "generators are: " + RandomUUIDGenerator.class.getName() + ", " + Sha256HashIdGenerator.class.getName()
-            + ", " + MurmurHashIdGenerator.class.getName() + ".";
+            + ", " + MurmurHashIdGenerator.class.getName() + ", " + XxHashIdGenerator.class.getName() + ", "
+            + TimeOrderedUUIDGenerator.class.getName() + ".";
     public static final Class<? extends IdGenerator> ID_GENERATOR_DEFAULT = RandomUUIDGenerator.class;
     public static final String USE_HEADERS_CONFIG = PREFIX + "use.headers";
     public static final String USE_HEADERS_DOC =
@@ -80,14 +91,183 @@ public class AbstractLargeMessageConfig extends AbstractConfig {
     public static final String COMPRESSION_TYPE_CONFIG = PREFIX + "compression.type";
     public static final String COMPRESSION_TYPE_DOC =
             "The compression type for data stored in blob storage. The default is none (i.e. no compression). Valid "
-                    + " values are <code>none</code>, <code>gzip</code>, <code>snappy</code>, <code>lz4</code>, or "
-                    + "<code>zstd</code>. Note: this option is only available when kafka message headers are used.";
+                    + " values are <code>none</code>, <code>gzip</code>, <code>snappy</code>, <code>lz4</code>, "
+                    + "<code>zstd</code>, or the name of a codec registered as <code>"
+                    + CompressionCodec.class.getName() + "</code> service. Note: this option is only available when "
+                    + "kafka message headers are used.";
     public static final String COMPRESSION_TYPE_DEFAULT = "none";
+    public static final String COMPRESSION_LEVEL_CONFIG = PREFIX + "compression.level";
+    public static final String COMPRESSION_LEVEL_DOC =
+            "The compression level for data stored in blob storage. Valid levels depend on the compression type: "
+                    + "<code>gzip</code> supports 1 to 9, <code>lz4</code> supports 1 to 17, and <code>zstd</code> "
+                    + "supports -131072 to 22. If not set, the default level of the compression type is used.";
+    public static final Integer COMPRESSION_LEVEL_DEFAULT = null;
+    public static final String COMPRESSION_WINDOW_LOG_CONFIG = PREFIX + "compression.window.log";
+    public static final String COMPRESSION_WINDOW_LOG_DOC =
+            "Base 2 logarithm of the window size used by <code>zstd</code> for matching. Larger windows improve the "
+                    + "compression of large payloads but need more memory for compressing and decompressing. Valid "
+                    + "values are " + CompressionType.ZSTD_MIN_WINDOW_LOG + " to " + CompressionType.ZSTD_MAX_WINDOW_LOG
+                    + ". If not set, the window size is derived from the compression level.";
+    public static final Integer COMPRESSION_WINDOW_LOG_DEFAULT = null;
+    public static final String COMPRESSION_TOPIC_OVERRIDES_CONFIG = PREFIX + "compression.topic.overrides";
+    public static final String COMPRESSION_TOPIC_OVERRIDES_DOC =
+            "Compression settings of individual topics, overriding the compression type, level, and window size for "
+                    + "these topics. Each entry has the format "
+                    + "<code>&lt;topic&gt;:&lt;type&gt;[:&lt;level&gt;[:&lt;window.log&gt;]]</code>, e.g., "
+                    + "<code>events:zstd:1,archive:zstd:19:27</code>. Omitted or empty level and window size use the "
+                    + "default of the compression type.";
+    public static final String COMPRESSION_TOPIC_OVERRIDES_DEFAULT = "";
+    public static final String COMPRESSION_BLOCK_SIZE_CONFIG = PREFIX + "compression.block.size";
+    public static final String COMPRESSION_BLOCK_SIZE_DOC =
+            "Size in bytes of blocks that payloads are split into if they exceed this size. Blocks are compressed and "
+                    + "decompressed in parallel. This requires consumers that can decompress blocks and does not apply "
+                    + "to streamed payloads and payloads compressed with a dictionary. A value of 0 disables blocks.";
+    public static final int COMPRESSION_BLOCK_SIZE_DEFAULT = 0;
+    public static final String COMPRESSION_INLINE_ENABLED_CONFIG = PREFIX + "compression.inline.enabled";
+    public static final String COMPRESSION_INLINE_ENABLED_DOC =
+            "Enable if payloads exceeding the maximum size should be compressed before deciding whether to store them "
+                    + "on blob storage. Payloads whose compressed size is below the maximum size are kept in the Kafka "
+                    + "record. This requires consumers that can decompress inline payloads and applies to payloads "
+                    + "serialized with headers only.";
+    public static final boolean COMPRESSION_INLINE_ENABLED_DEFAULT = false;
+    public static final String COMPRESSION_DICTIONARY_ENABLED_CONFIG = PREFIX + "compression.dictionary.enabled";
+    public static final String COMPRESSION_DICTIONARY_ENABLED_DOC =
+            "Enable if payloads of topics compressed with <code>zstd</code> should be compressed using the active "
+                    + "dictionary of the topic. Dictionaries are trained from sample payloads using "
+                    + "<code>LargeMessageStoringClient#trainDictionary</code> and stored on blob storage. Topics "
+                    + "without a dictionary are compressed without one.";
+    public static final boolean COMPRESSION_DICTIONARY_ENABLED_DEFAULT = false;
+    public static final String COMPRESSION_DICTIONARY_REFRESH_MS_CONFIG = PREFIX + "compression.dictionary.refresh.ms";
+    public static final String COMPRESSION_DICTIONARY_REFRESH_MS_DOC =
+            "Interval in milliseconds after which the active dictionary of a topic is read again from blob storage, "
+                    + "so that rotated dictionaries are picked up.";
+    public static final long COMPRESSION_DICTIONARY_REFRESH_MS_DEFAULT =
+            LargeMessageStoringClient.DEFAULT_DICTIONARY_REFRESH_INTERVAL.toMillis();
+
+    public static final String COMPRESSION_ADAPTIVE_ENABLED_CONFIG = PREFIX + "compression.adaptive.enabled";
+    public static final String COMPRESSION_ADAPTIVE_ENABLED_DOC =
+            "Enable if the compression type of each topic should be selected by sampling its payloads. Every "
+                    + "sampled payload is compressed with each compression type and the type that best fits the "
+                    + "objective is used until the next sample. Topics with compression overrides are not sampled.";
+    public static final boolean COMPRESSION_ADAPTIVE_ENABLED_DEFAULT = false;
+    public static final String COMPRESSION_ADAPTIVE_OBJECTIVE_CONFIG = PREFIX + "compression.adaptive.objective";
+    public static final String COMPRESSION_ADAPTIVE_OBJECTIVE_DOC =
+            "Objective for selecting the compression type. <code>size</code> selects the type that reduces payloads "
+                    + "the most, <code>throughput</code> selects the fastest type that reduces payloads by at least "
+                    + "the minimum gain.";
+    public static final String COMPRESSION_ADAPTIVE_OBJECTIVE_DEFAULT = "size";
+    public static final String COMPRESSION_ADAPTIVE_MIN_GAIN_CONFIG = PREFIX + "compression.adaptive.min.gain";
+    public static final String COMPRESSION_ADAPTIVE_MIN_GAIN_DOC =
+            "Minimum fraction by which a compression type must reduce sampled payloads. Payloads are not compressed "
+                    + "if no compression type reaches it.";
+    public static final double COMPRESSION_ADAPTIVE_MIN_GAIN_DEFAULT = AdaptiveCompression.DEFAULT_MIN_GAIN;
+    public static final String COMPRESSION_ADAPTIVE_SAMPLE_INTERVAL_CONFIG =
+            PREFIX + "compression.adaptive.sample.interval";
+    public static final String COMPRESSION_ADAPTIVE_SAMPLE_INTERVAL_DOC =
+            "Number of payloads of a topic stored on blob storage between two samples.";
+    public static final int COMPRESSION_ADAPTIVE_SAMPLE_INTERVAL_DEFAULT = AdaptiveCompression.DEFAULT_SAMPLE_INTERVAL;
+    public static final String COMPRESSION_ADAPTIVE_SAMPLE_BYTES_CONFIG = PREFIX + "compression.adaptive.sample.bytes";
+    public static final String COMPRESSION_ADAPTIVE_SAMPLE_BYTES_DOC =
+            "Number of bytes at the beginning of a payload that are used for sampling.";
+    public static final int COMPRESSION_ADAPTIVE_SAMPLE_BYTES_DEFAULT = AdaptiveCompression.DEFAULT_SAMPLE_SIZE;
+
+    public static final String CACHE_MAX_BYTES_CONFIG = PREFIX + "cache.max.bytes";
+    public static final String CACHE_MAX_BYTES_DOC =
+            "Maximum total size in bytes of payloads cached in memory after retrieving them from blob storage. The "
+                    + "cache is shared by all deserializers and converters with the same cache configuration in a JVM. "
+                    + "Payloads are cached per blob storage configuration, so that clients with different credentials "
+                    + "or endpoints do not read each other's payloads. Concurrent reads of the same payload are "
+                    + "coalesced into a single download. A value of 0 disables the cache.";
+    public static final long CACHE_MAX_BYTES_DEFAULT = 0L;
+    public static final String CACHE_OFF_HEAP_CONFIG = PREFIX + "cache.off.heap";
+    public static final String CACHE_OFF_HEAP_DOC =
+            "Enable if cached payloads should be stored in direct buffers outside of the Java heap. This reduces "
+                    + "garbage collection pressure for large caches.";
+    public static final boolean CACHE_OFF_HEAP_DEFAULT = false;
+    public static final String WARMUP_ENABLED_CONFIG = PREFIX + "warmup.enabled";
+    public static final String WARMUP_ENABLED_DOC =
+            "Enable if blob storage clients for the base path should be created and connected when configuring "
+                    + "serdes and converters instead of when handling the first large message.";
+    public static final boolean WARMUP_ENABLED_DEFAULT = false;
+    public static final String WARMUP_CONNECTIONS_CONFIG = PREFIX + "warmup.connections";
+    public static final String WARMUP_CONNECTIONS_DOC =
+            "Number of connections to the bucket of the base path that are opened during warm-up.";
+    public static final int WARMUP_CONNECTIONS_DEFAULT = 1;
+    public static final String BUFFER_POOL_MAX_BYTES_CONFIG = PREFIX + "buffer.pool.max.bytes";
+    public static final String BUFFER_POOL_MAX_BYTES_DOC =
+            "Maximum total size in bytes of idle buffers retained for compressing, decompressing and downloading "
+                    + "payloads. The pool is shared by all serdes and converters with the same buffer pool "
+                    + "configuration in a JVM. A value of 0 disables pooling.";
+    public static final long BUFFER_POOL_MAX_BYTES_DEFAULT = BufferPool.DEFAULT_MAX_RETAINED_BYTES;
+    public static final String BUFFER_POOL_DIRECT_CONFIG = PREFIX + "buffer.pool.direct";
+    public static final String BUFFER_POOL_DIRECT_DOC =
+            "Enable if buffers for compressing payloads should be allocated outside of the Java heap.";
+    public static final boolean BUFFER_POOL_DIRECT_DEFAULT = false;
+    public static final String CHUNK_SIZE_CONFIG = PREFIX + "chunk.size";
+    public static final String CHUNK_SIZE_DOC =
+            "Size in bytes of chunk objects that payloads stored on blob storage are split into if they exceed this "
+                    + "size. Chunks are uploaded and downloaded concurrently with any blob storage backend. A value of "
+                    + "0 disables chunking.";
+    public static final int CHUNK_SIZE_DEFAULT = 0;
+    public static final String CHUNK_PARALLELISM_CONFIG = PREFIX + "chunk.parallelism";
+    public static final String CHUNK_PARALLELISM_DOC =
+            "Maximum number of chunks that are uploaded or downloaded concurrently by each blob storage client.";
+    public static final int CHUNK_PARALLELISM_DEFAULT = ChunkSettings.DEFAULT_PARALLELISM;
+    public static final String CHUNK_RETRIES_CONFIG = PREFIX + "chunk.retries";
+    public static final String CHUNK_RETRIES_DOC =
+            "Number of times a failed chunk upload or download is retried before the payload fails.";
+    public static final int CHUNK_RETRIES_DEFAULT = ChunkSettings.DEFAULT_RETRIES;
+    public static final String CHUNK_RETRY_BACKOFF_MS_CONFIG = PREFIX + "chunk.retry.backoff.ms";
+    public static final String CHUNK_RETRY_BACKOFF_MS_DOC =
+            "Time in milliseconds to wait before retrying a failed chunk upload or download. It is doubled for each "
+                    + "further retry. Errors that the blob storage backend classifies as permanent, e.g., missing "
+                    + "objects or denied access, are not retried.";
+    public static final long CHUNK_RETRY_BACKOFF_MS_DEFAULT = ChunkSettings.DEFAULT_RETRY_BACKOFF.toMillis();
+    public static final String DEDUP_ENABLED_CONFIG = PREFIX + "dedup.enabled";
+    public static final String DEDUP_ENABLED_DOC =
+            "Enable to skip uploads of payloads that have already been stored on blob storage. Requires an id "
+                    + "generator that derives ids from the payload, such as " + Sha256HashIdGenerator.class.getName()
+                    + ". Payloads are stored using conditional requests if the blob storage backend supports them.";
+    public static final boolean DEDUP_ENABLED_DEFAULT = false;
+    public static final String DEDUP_CACHE_MAX_ENTRIES_CONFIG = PREFIX + "dedup.cache.max.entries";
+    public static final String DEDUP_CACHE_MAX_ENTRIES_DOC =
+            "Maximum number of recently stored payloads remembered by each producer for skipping uploads.";
+    public static final long DEDUP_CACHE_MAX_ENTRIES_DEFAULT = UploadDeduplicator.DEFAULT_MAX_ENTRIES;
+    public static final String DEDUP_CONTENT_STORE_ENABLED_CONFIG = PREFIX + "dedup.content.store.enabled";
+    public static final String DEDUP_CONTENT_STORE_ENABLED_DOC =
+            "Enable to store payloads in a content store below the base path that is shared by all topics, so that "
+                    + "identical payloads of different topics are stored only once. Payloads in the content store are "
+                    + "not deleted with the files of a topic.";
+    public static final boolean DEDUP_CONTENT_STORE_ENABLED_DEFAULT = false;
+    public static final String TIME_BUCKET_MS_CONFIG = PREFIX + "time.bucket.ms";
+    public static final String TIME_BUCKET_MS_DOC =
+            "Size in milliseconds of time buckets that payloads are grouped into on blob storage, e.g., 3600000 for "
+                    + "hourly buckets. Buckets can be deleted as a whole once they have expired. A value of 0 stores "
+                    + "payloads without time buckets.";
+    public static final long TIME_BUCKET_MS_DEFAULT = 0L;
+    public static final String DELETE_PARALLELISM_CONFIG = PREFIX + "delete.parallelism";
+    public static final String DELETE_PARALLELISM_DOC =
+            "Maximum number of prefixes, e.g., time buckets, whose files are deleted concurrently when deleting the "
+                    + "files of a topic.";
+    public static final int DELETE_PARALLELISM_DEFAULT = LargeMessageStoringClient.DEFAULT_DELETE_PARALLELISM;
+    public static final String METRICS_PAYLOAD_SIZE_MAX_BYTES_CONFIG = PREFIX + "metrics.payload.size.max.bytes";
+    public static final String METRICS_PAYLOAD_SIZE_MAX_BYTES_DOC =
+            "Upper bound in bytes of the percentiles of payload sizes. Percentiles are estimated from 2,000 linear "
+                    + "buckets up to this bound and larger payloads are reported as the bound. Metrics are shared in a "
+                    + "JVM and keep the bound they have been created with.";
+    public static final long METRICS_PAYLOAD_SIZE_MAX_BYTES_DEFAULT = LargeMessageMetrics.DEFAULT_MAX_PAYLOAD_SIZE;
+    public static final String METRICS_TRANSFER_TIME_MAX_MS_CONFIG = PREFIX + "metrics.transfer.time.max.ms";
+    public static final String METRICS_TRANSFER_TIME_MAX_MS_DOC =
+            "Upper bound in milliseconds of the percentiles of upload and download times. Percentiles are estimated "
+                    + "from 2,000 linear buckets up to this bound and longer transfers are reported as the bound. "
+                    + "Metrics are shared in a JVM and keep the bound they have been created with.";
+    public static final long METRICS_TRANSFER_TIME_MAX_MS_DEFAULT = LargeMessageMetrics.DEFAULT_MAX_TRANSFER_TIME_MS;
 
     private static final ConfigDef config = baseConfigDef();
-    private static final Collection<BlobStorageConfigFactory> CONFIG_FACTORIES =
-            BlobStorageConfigLoader.loadConfigFactories();
-    private final Map<String, BlobStorageConfig> configs;
+    private static final Map<String, BlobStorageConfigFactory> CONFIG_FACTORIES =
+            BlobStorageConfigLoader.loadConfigFactories().stream()
+                    .collect(Collectors.toMap(BlobStorageConfigFactory::getScheme, Function.identity()));
+    private final Map<String, BlobStorageConfig> configs = new ConcurrentHashMap<>();
 
     /**
      * Create a new configuration from the given properties
@@ -100,7 +280,6 @@ public class AbstractLargeMessageConfig extends AbstractConfig {
 
     protected AbstractLargeMessageConfig(final ConfigDef config, final Map<?, ?> originals) {
         super(config, originals);
-        this.configs = getConfigs(originals);
     }
 
     protected static ConfigDef baseConfigDef() {
@@ -113,6 +292,65 @@ public class AbstractLargeMessageConfig extends AbstractConfig {
                 .define(ID_GENERATOR_CONFIG, Type.CLASS, ID_GENERATOR_DEFAULT, Importance.MEDIUM, ID_GENERATOR_DOC)
                 .define(COMPRESSION_TYPE_CONFIG, Type.STRING, COMPRESSION_TYPE_DEFAULT, Importance.MEDIUM,
                         COMPRESSION_TYPE_DOC)
+                .define(COMPRESSION_LEVEL_CONFIG, Type.INT, COMPRESSION_LEVEL_DEFAULT, Importance.LOW,
+                        COMPRESSION_LEVEL_DOC)
+                .define(COMPRESSION_WINDOW_LOG_CONFIG, Type.INT, COMPRESSION_WINDOW_LOG_DEFAULT, Importance.LOW,
+                        COMPRESSION_WINDOW_LOG_DOC)
+                .define(COMPRESSION_TOPIC_OVERRIDES_CONFIG, Type.LIST, COMPRESSION_TOPIC_OVERRIDES_DEFAULT,
+                        Importance.LOW, COMPRESSION_TOPIC_OVERRIDES_DOC)
+                .define(COMPRESSION_ADAPTIVE_ENABLED_CONFIG, Type.BOOLEAN, COMPRESSION_ADAPTIVE_ENABLED_DEFAULT,
+                        Importance.LOW, COMPRESSION_ADAPTIVE_ENABLED_DOC)
+                .define(COMPRESSION_ADAPTIVE_OBJECTIVE_CONFIG, Type.STRING, COMPRESSION_ADAPTIVE_OBJECTIVE_DEFAULT,
+                        ConfigDef.ValidString.in("size", "throughput"), Importance.LOW,
+                        COMPRESSION_ADAPTIVE_OBJECTIVE_DOC)
+                .define(COMPRESSION_ADAPTIVE_MIN_GAIN_CONFIG, Type.DOUBLE, COMPRESSION_ADAPTIVE_MIN_GAIN_DEFAULT,
+                        ConfigDef.Range.between(0, 1), Importance.LOW, COMPRESSION_ADAPTIVE_MIN_GAIN_DOC)
+                .define(COMPRESSION_ADAPTIVE_SAMPLE_INTERVAL_CONFIG, Type.INT,
+                        COMPRESSION_ADAPTIVE_SAMPLE_INTERVAL_DEFAULT, ConfigDef.Range.atLeast(1), Importance.LOW,
+                        COMPRESSION_ADAPTIVE_SAMPLE_INTERVAL_DOC)
+                .define(COMPRESSION_ADAPTIVE_SAMPLE_BYTES_CONFIG, Type.INT, COMPRESSION_ADAPTIVE_SAMPLE_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(1), Importance.LOW, COMPRESSION_ADAPTIVE_SAMPLE_BYTES_DOC)
+                .define(COMPRESSION_BLOCK_SIZE_CONFIG, Type.INT, COMPRESSION_BLOCK_SIZE_DEFAULT,
+                        ConfigDef.Range.atLeast(0), Importance.LOW, COMPRESSION_BLOCK_SIZE_DOC)
+                .define(COMPRESSION_INLINE_ENABLED_CONFIG, Type.BOOLEAN, COMPRESSION_INLINE_ENABLED_DEFAULT,
+                        Importance.LOW, COMPRESSION_INLINE_ENABLED_DOC)
+                .define(COMPRESSION_DICTIONARY_ENABLED_CONFIG, Type.BOOLEAN, COMPRESSION_DICTIONARY_ENABLED_DEFAULT,
+                        Importance.LOW, COMPRESSION_DICTIONARY_ENABLED_DOC)
+                .define(COMPRESSION_DICTIONARY_REFRESH_MS_CONFIG, Type.LONG, COMPRESSION_DICTIONARY_REFRESH_MS_DEFAULT,
+                        ConfigDef.Range.atLeast(0), Importance.LOW, COMPRESSION_DICTIONARY_REFRESH_MS_DOC)
+                .define(CACHE_MAX_BYTES_CONFIG, Type.LONG, CACHE_MAX_BYTES_DEFAULT, ConfigDef.Range.atLeast(0),
+                        Importance.LOW, CACHE_MAX_BYTES_DOC)
+                .define(CACHE_OFF_HEAP_CONFIG, Type.BOOLEAN, CACHE_OFF_HEAP_DEFAULT, Importance.LOW,
+                        CACHE_OFF_HEAP_DOC)
+                .define(WARMUP_ENABLED_CONFIG, Type.BOOLEAN, WARMUP_ENABLED_DEFAULT, Importance.LOW,
+                        WARMUP_ENABLED_DOC)
+                .define(WARMUP_CONNECTIONS_CONFIG, Type.INT, WARMUP_CONNECTIONS_DEFAULT, ConfigDef.Range.atLeast(1),
+                        Importance.LOW, WARMUP_CONNECTIONS_DOC)
+                .define(BUFFER_POOL_MAX_BYTES_CONFIG, Type.LONG, BUFFER_POOL_MAX_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(0), Importance.LOW, BUFFER_POOL_MAX_BYTES_DOC)
+                .define(BUFFER_POOL_DIRECT_CONFIG, Type.BOOLEAN, BUFFER_POOL_DIRECT_DEFAULT, Importance.LOW,
+                        BUFFER_POOL_DIRECT_DOC)
+                .define(CHUNK_SIZE_CONFIG, Type.INT, CHUNK_SIZE_DEFAULT, ConfigDef.Range.atLeast(0), Importance.LOW,
+                        CHUNK_SIZE_DOC)
+                .define(CHUNK_PARALLELISM_CONFIG, Type.INT, CHUNK_PARALLELISM_DEFAULT, ConfigDef.Range.atLeast(1),
+                        Importance.LOW, CHUNK_PARALLELISM_DOC)
+                .define(CHUNK_RETRIES_CONFIG, Type.INT, CHUNK_RETRIES_DEFAULT, ConfigDef.Range.atLeast(0),
+                        Importance.LOW, CHUNK_RETRIES_DOC)
+                .define(CHUNK_RETRY_BACKOFF_MS_CONFIG, Type.LONG, CHUNK_RETRY_BACKOFF_MS_DEFAULT,
+                        ConfigDef.Range.atLeast(0), Importance.LOW, CHUNK_RETRY_BACKOFF_MS_DOC)
+                .define(DEDUP_ENABLED_CONFIG, Type.BOOLEAN, DEDUP_ENABLED_DEFAULT, Importance.LOW, DEDUP_ENABLED_DOC)
+                .define(DEDUP_CACHE_MAX_ENTRIES_CONFIG, Type.LONG, DEDUP_CACHE_MAX_ENTRIES_DEFAULT,
+                        ConfigDef.Range.atLeast(0), Importance.LOW, DEDUP_CACHE_MAX_ENTRIES_DOC)
+                .define(DEDUP_CONTENT_STORE_ENABLED_CONFIG, Type.BOOLEAN, DEDUP_CONTENT_STORE_ENABLED_DEFAULT,
+                        Importance.LOW, DEDUP_CONTENT_STORE_ENABLED_DOC)
+                .define(TIME_BUCKET_MS_CONFIG, Type.LONG, TIME_BUCKET_MS_DEFAULT, ConfigDef.Range.atLeast(0),
+                        Importance.LOW, TIME_BUCKET_MS_DOC)
+                .define(DELETE_PARALLELISM_CONFIG, Type.INT, DELETE_PARALLELISM_DEFAULT, ConfigDef.Range.atLeast(1),
+                        Importance.LOW, DELETE_PARALLELISM_DOC)
+                .define(METRICS_PAYLOAD_SIZE_MAX_BYTES_CONFIG, Type.LONG, METRICS_PAYLOAD_SIZE_MAX_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(1), Importance.LOW, METRICS_PAYLOAD_SIZE_MAX_BYTES_DOC)
+                .define(METRICS_TRANSFER_TIME_MAX_MS_CONFIG, Type.LONG, METRICS_TRANSFER_TIME_MAX_MS_DEFAULT,
+                        ConfigDef.Range.atLeast(1), Importance.LOW, METRICS_TRANSFER_TIME_MAX_MS_DOC)
                 ;
     }
 
@@ -141,28 +379,72 @@ public class AbstractLargeMessageConfig extends AbstractConfig {
         return new NoBlobStorageClient();
     }
 
-    private static Map<String, BlobStorageConfig> getConfigs(final Map<?, ?> originals) {
-        return CONFIG_FACTORIES.stream()
-                .map(factory -> factory.create(originals))
-                .flatMap(Optional::stream)
-                .collect(Collectors.toMap(ConfigWithScheme::getScheme, ConfigWithScheme::getConfig));
+    private static CompressionSettings createCompression(final String type, final CompressionOptions options) {
+        final CompressionCodec codec = CompressionCodecRegistry.forName(type);
+        codec.validate(options);
+        return new CompressionSettings(codec, options);
+    }
+
+    private static Integer parseOptionalInt(final String[] parts, final int index) {
+        return parts.length <= index || isEmpty(parts[index]) ? null : Integer.valueOf(parts[index]);
+    }
+
+    private static void warmUp(final BlobStorageURI basePath, final Runnable warmUp) {
+        final long start = System.nanoTime();
+        warmUp.run();
+        final long timeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LargeMessageMetrics.recordWarmUp(basePath.getScheme(), timeMs);
+        log.info("Warmed up blob storage client for {} in {} ms", basePath, timeMs);
     }
 
     public LargeMessageRetrievingClient getRetriever() {
-        return new LargeMessageRetrievingClient(this.configs, this.getBoolean(ACCEPT_NO_HEADERS_CONFIG));
+        this.configureMetrics();
+        final LargeMessageRetrievingClient retriever =
+                new LargeMessageRetrievingClient(this::getBlobStorageConfig, this.getBoolean(ACCEPT_NO_HEADERS_CONFIG),
+                        this.getCache().orElse(null), this.getBufferPool(), this.getChunkSettings());
+        if (this.getBoolean(WARMUP_ENABLED_CONFIG)) {
+            this.getBasePath().ifPresent(basePath -> warmUp(basePath,
+                    () -> retriever.warmUp(basePath, this.getInt(WARMUP_CONNECTIONS_CONFIG))));
+        }
+        return retriever;
     }
 
     public LargeMessageStoringClient getStorer() {
+        this.configureMetrics();
         final BlobStorageClient client = this.getClient();
-        return LargeMessageStoringClient.builder()
+        final CompressionSettings compression = this.getCompression();
+        final LargeMessageStoringClient storer = LargeMessageStoringClient.builder()
                 .client(client)
                 .basePath(this.getBasePath().orElse(null))
                 .maxSize(this.getMaxSize())
                 .idGenerator(this.getConfiguredInstance(ID_GENERATOR_CONFIG, IdGenerator.class))
                 .protocol(this.getBoolean(USE_HEADERS_CONFIG) ? new HeaderLargeMessagePayloadProtocol()
                         : new ByteFlagLargeMessagePayloadProtocol())
-                .compressionType(this.getCompressionType())
+                .compressionType(compression.getCodec())
+                .compressionOptions(compression.getOptions())
+                .topicCompressions(this.getTopicCompressions())
+                .adaptiveCompression(this.getAdaptiveCompression())
+                .inlineCompressionEnabled(this.getBoolean(COMPRESSION_INLINE_ENABLED_CONFIG))
+                .compressionBlockSize(this.getInt(COMPRESSION_BLOCK_SIZE_CONFIG))
+                .dictionaryEnabled(this.getBoolean(COMPRESSION_DICTIONARY_ENABLED_CONFIG))
+                .dictionaryRefreshInterval(Duration.ofMillis(this.getLong(COMPRESSION_DICTIONARY_REFRESH_MS_CONFIG)))
+                .bufferPool(this.getBufferPool())
+                .deduplicator(this.getBoolean(DEDUP_ENABLED_CONFIG)
+                        ? new UploadDeduplicator(this.getLong(DEDUP_CACHE_MAX_ENTRIES_CONFIG)) : null)
+                .contentStoreEnabled(this.getBoolean(DEDUP_CONTENT_STORE_ENABLED_CONFIG))
+                .timeBucketSize(Duration.ofMillis(this.getLong(TIME_BUCKET_MS_CONFIG)))
+                .deleteParallelism(this.getInt(DELETE_PARALLELISM_CONFIG))
                 .build();
+        if (this.getBoolean(WARMUP_ENABLED_CONFIG)) {
+            this.getBasePath().ifPresent(basePath -> warmUp(basePath,
+                    () -> storer.warmUp(this.getInt(WARMUP_CONNECTIONS_CONFIG))));
+        }
+        return storer;
+    }
+
+    private void configureMetrics() {
+        LargeMessageMetrics.configureRanges(this.getLong(METRICS_PAYLOAD_SIZE_MAX_BYTES_CONFIG),
+                this.getLong(METRICS_TRANSFER_TIME_MAX_MS_CONFIG));
     }
 
     private BlobStorageClient getClient() {
@@ -173,18 +455,103 @@ public class AbstractLargeMessageConfig extends AbstractConfig {
     }
 
     private BlobStorageClient createClient(final String scheme) {
-        return Optional.ofNullable(this.configs.get(scheme))
-                .map(BlobStorageConfig::createBlobStorageClient)
+        final ChunkSettings chunkSettings = this.getChunkSettings();
+        return Optional.ofNullable(this.getBlobStorageConfig(scheme))
+                .map(BlobStorageClientRegistry::acquire)
+                .map(client -> chunkSettings.getChunkSize() > 0 ? new ChunkedBlobStorageClient(client, chunkSettings)
+                        : client)
                 .orElseThrow(() -> unknownScheme(scheme));
     }
 
+    private ChunkSettings getChunkSettings() {
+        return ChunkSettings.builder()
+                .chunkSize(this.getInt(CHUNK_SIZE_CONFIG))
+                .parallelism(this.getInt(CHUNK_PARALLELISM_CONFIG))
+                .retries(this.getInt(CHUNK_RETRIES_CONFIG))
+                .retryBackoff(Duration.ofMillis(this.getLong(CHUNK_RETRY_BACKOFF_MS_CONFIG)))
+                .build();
+    }
+
+    /**
+     * Get the config of the blob storage backend for a scheme. Configs are only created for schemes that are used.
+     *
+     * @param scheme scheme of the blob storage backend
+     * @return blob storage config or {@code null} if the scheme is unknown or its config cannot be created
+     */
+    private BlobStorageConfig getBlobStorageConfig(final String scheme) {
+        return this.configs.computeIfAbsent(scheme, this::createBlobStorageConfig);
+    }
+
+    private BlobStorageConfig createBlobStorageConfig(final String scheme) {
+        return Optional.ofNullable(CONFIG_FACTORIES.get(scheme))
+                .flatMap(factory -> factory.create(this.originals()))
+                .map(ConfigWithScheme::getConfig)
+                .orElse(null);
+    }
+
     private Optional<BlobStorageURI> getBasePath() {
         final String basePath = this.getString(BASE_PATH_CONFIG);
         return isEmpty(basePath) ? Optional.empty() : Optional.of(BlobStorageURI.create(basePath));
     }
 
-    private CompressionType getCompressionType() {
-        return CompressionType.forName(this.getString(COMPRESSION_TYPE_CONFIG));
+    private Optional<BlobCache> getCache() {
+        final long maxBytes = this.getLong(CACHE_MAX_BYTES_CONFIG);
+        return maxBytes == 0L ? Optional.empty()
+                : Optional.of(BlobCache.shared(maxBytes, this.getBoolean(CACHE_OFF_HEAP_CONFIG)));
+    }
+
+    private BufferPool getBufferPool() {
+        return BufferPool.shared(this.getLong(BUFFER_POOL_MAX_BYTES_CONFIG),
+                this.getBoolean(BUFFER_POOL_DIRECT_CONFIG));
+    }
+
+    private CompressionSettings getCompression() {
+        final CompressionOptions options = CompressionOptions.builder()
+                .level(this.getInt(COMPRESSION_LEVEL_CONFIG))
+                .windowLog(this.getInt(COMPRESSION_WINDOW_LOG_CONFIG))
+                .build();
+        final String type = this.getString(COMPRESSION_TYPE_CONFIG);
+        try {
+            return createCompression(type, options);
+        } catch (final IllegalArgumentException e) {
+            throw new ConfigException(COMPRESSION_TYPE_CONFIG, type, e.getMessage());
+        }
+    }
+
+    private AdaptiveCompression getAdaptiveCompression() {
+        if (!this.getBoolean(COMPRESSION_ADAPTIVE_ENABLED_CONFIG)) {
+            return null;
+        }
+        final String objective = this.getString(COMPRESSION_ADAPTIVE_OBJECTIVE_CONFIG);
+        return AdaptiveCompression.builder()
+                .objective(AdaptiveCompression.Objective.valueOf(objective.toUpperCase(Locale.ROOT)))
+                .minGain(this.getDouble(COMPRESSION_ADAPTIVE_MIN_GAIN_CONFIG))
+                .sampleInterval(this.getInt(COMPRESSION_ADAPTIVE_SAMPLE_INTERVAL_CONFIG))
+                .sampleSize(this.getInt(COMPRESSION_ADAPTIVE_SAMPLE_BYTES_CONFIG))
+                .build();
+    }
+
+    private Map<String, CompressionSettings> getTopicCompressions() {
+        final Map<String, CompressionSettings> compressions = new HashMap<>();
+        for (final String override : this.getList(COMPRESSION_TOPIC_OVERRIDES_CONFIG)) {
+            final String[] parts = override.split(":", -1);
+            if (parts.length < 2 || parts.length > 4) {
+                throw new ConfigException(COMPRESSION_TOPIC_OVERRIDES_CONFIG, override,
+                        "Expected format <topic>:<type>[:<level>[:<window.log>]]");
+            }
+            try {
+                final CompressionOptions options = CompressionOptions.builder()
+                        .level(parseOptionalInt(parts, 2))
+                        .windowLog(parseOptionalInt(parts, 3))
+                        .build();
+                if (compressions.put(parts[0], createCompression(parts[1], options)) != null) {
+                    throw new IllegalArgumentException("Duplicate topic " + parts[0]);
+                }
+            } catch (final IllegalArgumentException e) {
+                throw new ConfigException(COMPRESSION_TOPIC_OVERRIDES_CONFIG, override, e.getMessage());
+            }
+        }
+        return compressions;
     }
 
     private int getMaxSize() {
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Selects the compression type of each topic based on sampled payloads. Every {@code sampleInterval} payloads of a
+ * topic, a sample of the payload is compressed with each {@link CompressionType}. The type that best fits the
+ * {@link Objective} is used until the next sample. Compression is skipped if the sample looks random or no type reduces
+ * its size by at least {@code minGain}.
+ */
+@Slf4j
+@Builder
+class AdaptiveCompression {
+    static final int DEFAULT_SAMPLE_INTERVAL = 100;
+    static final int DEFAULT_SAMPLE_SIZE = 64 * 1024;
+    static final double DEFAULT_MIN_GAIN = 0.1;
+    // bits per byte above which data is considered already compressed or encrypted
+    private static final double INCOMPRESSIBLE_ENTROPY = 7.9;
+    private static final List<CompressionType> CANDIDATES = Arrays.stream(CompressionType.values())
+            .filter(compressionType -> compressionType != CompressionType.NONE)
+            .collect(Collectors.toList());
+    @Builder.Default
+    private final @NonNull Objective objective = Objective.SIZE;
+    @Builder.Default
+    private final double minGain = DEFAULT_MIN_GAIN;
+    @Builder.Default
+    private final int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+    @Builder.Default
+    private final int sampleSize = DEFAULT_SAMPLE_SIZE;
+    private final Map<String, TopicState> topics = new ConcurrentHashMap<>();
+
+    /**
+     * Estimate the Shannon entropy of bytes
+     *
+     * @param bytes bytes to estimate entropy of
+     * @return entropy in bits per byte between 0 and 8
+     */
+    static double entropy(final byte[] bytes) {
+        final int[] counts = new int[256];
+        for (final byte b : bytes) {
+            counts[b & 0xFF]++;
+        }
+        double entropy = 0.0;
+        for (final int count : counts) {
+            if (count > 0) {
+                final double p = (double) count / bytes.length;
+                entropy -= p * Math.log(p) / Math.log(2.0);
+            }
+        }
+        return entropy;
+    }
+
+    /**
+     * Sample a payload of a topic and select a new compression type if the sample interval has passed
+     *
+     * @param topic name of the topic
+     * @param bytes payload
+     * @param bufferPool pool to take intermediate buffers for trial compressions from
+     */
+    void sample(final String topic, final byte[] bytes, final BufferPool bufferPool) {
+        final TopicState state = this.topics.computeIfAbsent(topic, t -> new TopicState());
+        if (state.payloads.getAndIncrement() % this.sampleInterval != 0) {
+            return;
+        }
+        final byte[] sample = bytes.length > this.sampleSize ? Arrays.copyOf(bytes, this.sampleSize) : bytes;
+        final double entropy = entropy(sample);
+        final CompressionType selected = entropy >= INCOMPRESSIBLE_ENTROPY ? CompressionType.NONE
+                : this.select(sample, bufferPool);
+        log.debug("Selected compression type {} for topic '{}' with sample entropy {}", selected.getName(), topic,
+                entropy);
+        state.selected = new CompressionSettings(selected, CompressionOptions.DEFAULT);
+        LargeMessageMetrics.recordCompressionDecision(topic, selected, entropy);
+    }
+
+    /**
+     * Get the compression type selected for a topic
+     *
+     * @param topic name of the topic
+     * @return selected compression or empty if no payload of the topic has been sampled yet
+     */
+    Optional<CompressionSettings> getSelected(final String topic) {
+        return Optional.ofNullable(this.topics.get(topic))
+                .map(state -> state.selected);
+    }
+
+    private CompressionType select(final byte[] sample, final BufferPool bufferPool) {
+        return CANDIDATES.stream()
+                .map(compressionType -> trial(compressionType, sample, bufferPool))
+                .filter(trial -> trial.getGain() >= this.minGain)
+                .min(this.objective.comparator)
+                .map(Trial::getCompressionType)
+                .orElse(CompressionType.NONE);
+    }
+
+    private static Trial trial(final CompressionType compressionType, final byte[] sample,
+            final BufferPool bufferPool) {
+        final long start = System.nanoTime();
+        final byte[] compressed = compressionType.compress(sample, bufferPool);
+        final long timeNs = System.nanoTime() - start;
+        return new Trial(compressionType, 1.0 - (double) compressed.length / sample.length, timeNs);
+    }
+
+    /**
+     * Objective for selecting the compression type
+     */
+    enum Objective {
+        /**
+         * Select the fastest compression type that reduces payloads by at least the minimum gain
+         */
+        THROUGHPUT(Comparator.comparingLong(Trial::getTimeNs)),
+        /**
+         * Select the compression type that reduces payloads the most
+         */
+        SIZE(Comparator.comparingDouble(Trial::getGain).reversed());
+
+        private final Comparator<Trial> comparator;
+
+        Objective(final Comparator<Trial> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    @Value
+    private static class Trial {
+        CompressionType compressionType;
+        double gain;
+        long timeNs;
+    }
+
+    private static final class TopicState {
+        private final AtomicLong payloads = new AtomicLong();
+        private volatile CompressionSettings selected;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * In-memory cache for payloads retrieved from blob storage. The cache is bounded by the total size of cached payloads
+ * and uses a TinyLFU admission policy, so that payloads that are read once do not evict frequently read payloads.
+ * Concurrent requests for the same payload are coalesced into a single download.
+ * <p>
+ * Caches are shared by all {@link LargeMessageRetrievingClient} instances with the same cache configuration in a JVM.
+ * Payloads are cached per blob storage backend, so that clients with different credentials or endpoints do not read
+ * payloads downloaded by each other. Their statistics are reported by {@link LargeMessageMetrics}.
+ */
+@RequiredArgsConstructor
+class BlobCache {
+    private static final Map<CacheSpec, BlobCache> SHARED_CACHES = new ConcurrentHashMap<>();
+    private final @NonNull Cache<CacheKey, CachedBlob> cache;
+    private final boolean offHeap;
+
+    static BlobCache create(final long maxBytes, final boolean offHeap) {
+        final Cache<CacheKey, CachedBlob> cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((CacheKey key, CachedBlob blob) -> blob.size())
+                .recordStats()
+                .build();
+        return new BlobCache(cache, offHeap);
+    }
+
+    /**
+     * Get the cache shared in this JVM for the given configuration.
+     *
+     * @param maxBytes maximum total size of cached payloads in bytes
+     * @param offHeap whether payloads should be cached off-heap using direct buffers
+     * @return shared cache
+     */
+    static BlobCache shared(final long maxBytes, final boolean offHeap) {
+        return SHARED_CACHES.computeIfAbsent(new CacheSpec(maxBytes, offHeap), spec -> {
+            final BlobCache cache = create(spec.getMaxBytes(), spec.isOffHeap());
+            LargeMessageMetrics.registerCache(spec.getName(), cache);
+            return cache;
+        });
+    }
+
+    private static CachedBlob createBlob(final byte[] bytes, final boolean offHeap) {
+        if (offHeap) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            return new DirectBlob(buffer);
+        }
+        return new HeapBlob(bytes);
+    }
+
+    /**
+     * Get a payload from the cache. If it is not cached, it is loaded using the given function. Concurrent calls for
+     * the same payload wait for a single invocation of the function.
+     *
+     * @param backend identity of the blob storage backend the payload is downloaded from
+     * @param uri URI of the payload
+     * @param loader function to download the payload
+     * @return cached payload. Payloads cached on heap are not copied and must not be modified.
+     */
+    byte[] get(final Object backend, final BlobStorageURI uri,
+            final Function<? super BlobStorageURI, byte[]> loader) {
+        return this.cache.get(new CacheKey(backend, uri), key -> createBlob(loader.apply(key.getUri()), this.offHeap))
+                .toBytes();
+    }
+
+    /**
+     * Load a payload into the cache if it is not cached yet.
+     *
+     * @param backend identity of the blob storage backend the payload is downloaded from
+     * @param uri URI of the payload
+     * @param loader function to download the payload
+     */
+    void load(final Object backend, final BlobStorageURI uri,
+            final Function<? super BlobStorageURI, byte[]> loader) {
+        this.cache.get(new CacheKey(backend, uri), key -> createBlob(loader.apply(key.getUri()), this.offHeap));
+    }
+
+    /**
+     * Get a payload from the cache if it is present.
+     *
+     * @param backend identity of the blob storage backend the payload is downloaded from
+     * @param uri URI of the payload
+     * @return cached payload or {@code null} if it is not cached. Payloads cached on heap are not copied and must not
+     * be modified.
+     */
+    byte[] getIfPresent(final Object backend, final BlobStorageURI uri) {
+        final CachedBlob blob = this.cache.getIfPresent(new CacheKey(backend, uri));
+        return blob == null ? null : blob.toBytes();
+    }
+
+    /**
+     * Put a payload into the cache. Payloads cached on heap are not copied and must not be modified afterwards.
+     *
+     * @param backend identity of the blob storage backend the payload has been downloaded from
+     * @param uri URI of the payload
+     * @param bytes payload
+     */
+    void put(final Object backend, final BlobStorageURI uri, final byte[] bytes) {
+        this.cache.put(new CacheKey(backend, uri), createBlob(bytes, this.offHeap));
+    }
+
+    boolean isOffHeap() {
+        return this.offHeap;
+    }
+
+    CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    long weightedSize() {
+        this.cache.cleanUp();
+        return this.cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private interface CachedBlob {
+        int size();
+
+        byte[] toBytes();
+    }
+
+    @Value
+    private static class CacheKey {
+        @NonNull Object backend;
+        @NonNull BlobStorageURI uri;
+    }
+
+    @Value
+    private static class CacheSpec {
+        long maxBytes;
+        boolean offHeap;
+
+        String getName() {
+            return this.maxBytes + (this.offHeap ? "-off-heap" : "-heap");
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class HeapBlob implements CachedBlob {
+        private final @NonNull byte[] bytes;
+
+        @Override
+        public int size() {
+            return this.bytes.length;
+        }
+
+        @Override
+        public byte[] toBytes() {
+            return this.bytes;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class DirectBlob implements CachedBlob {
+        private final @NonNull ByteBuffer buffer;
+
+        @Override
+        public int size() {
+            return this.buffer.capacity();
+        }
+
+        @Override
+        public byte[] toBytes() {
+            final byte[] bytes = new byte[this.buffer.capacity()];
+            this.buffer.duplicate().get(bytes);
+            return bytes;
+        }
+    }
+}
@@ -24,6 +24,11 @@
 
 package com.bakdata.kafka;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface to access blob storage for getting, putting, and deleting blobs.
  */
@@ -36,6 +41,17 @@ public interface BlobStorageClient extends AutoCloseable {
      */
     void deleteAllObjects(String bucket, String prefix);
 
+    /**
+     * List the distinct prefixes of objects in a bucket up to the next {@code /} after a prefix, i.e., the directories
+     * directly below the prefix. Listing is required for deleting files of a topic concurrently and for deleting
+     * expired time buckets.
+     *
+     * @param bucket the bucket to list
+     * @param prefix the prefix to list directories of. It should end with {@code /}.
+     * @return keys of the directories, each ending with {@code /}
+     */
+    List<String> listPrefixes(String bucket, String prefix);
+
     /**
      * Store a payload in a bucket
      *
@@ -55,6 +71,125 @@ public interface BlobStorageClient extends AutoCloseable {
      */
     byte[] getObject(String bucket, String key);
 
+    /**
+     * Store a payload in a bucket asynchronously. Implementations should override this method if the underlying
+     * blob storage offers a non-blocking API. By default, {@link #putObject(byte[], String, String)} is called on the
+     * calling thread.
+     *
+     * @param bytes the payload
+     * @param bucket the bucket where the payload should be stored
+     * @param key the identifier for the payload within the bucket
+     * @return future that completes with the unique identifier to retrieve the payload
+     */
+    default CompletableFuture<String> putObjectAsync(final byte[] bytes, final String bucket, final String key) {
+        try {
+            return CompletableFuture.completedFuture(this.putObject(bytes, bucket, key));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Store a payload in a bucket unless an object with the same key already exists. This is used for skipping uploads
+     * of payloads with content-based keys that have been stored before. Implementations should override this method if
+     * the underlying blob storage supports conditional requests. By default, the payload is stored using
+     * {@link #putObject(byte[], String, String)}, i.e., an existing object is overwritten with the same content.
+     *
+     * @param bytes the payload
+     * @param bucket the bucket where the payload should be stored
+     * @param key the identifier for the payload within the bucket
+     * @return unique identifier to retrieve the payload
+     */
+    default String putObjectIfAbsent(final byte[] bytes, final String bucket, final String key) {
+        return this.putObject(bytes, bucket, key);
+    }
+
+    /**
+     * Store a payload in a bucket asynchronously unless an object with the same key already exists. Implementations
+     * should override this method if the underlying blob storage offers a non-blocking API. By default,
+     * {@link #putObjectIfAbsent(byte[], String, String)} is called on the calling thread.
+     *
+     * @param bytes the payload
+     * @param bucket the bucket where the payload should be stored
+     * @param key the identifier for the payload within the bucket
+     * @return future that completes with the unique identifier to retrieve the payload
+     */
+    default CompletableFuture<String> putObjectIfAbsentAsync(final byte[] bytes, final String bucket,
+            final String key) {
+        try {
+            return CompletableFuture.completedFuture(this.putObjectIfAbsent(bytes, bucket, key));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Retrieve a payload from a bucket asynchronously. Implementations should override this method if the underlying
+     * blob storage offers a non-blocking API. By default, {@link #getObject(String, String)} is called on the calling
+     * thread.
+     *
+     * @param bucket the bucket where the payload is stored
+     * @param key the identifier for the payload within the bucket
+     * @return future that completes with the payload
+     */
+    default CompletableFuture<byte[]> getObjectAsync(final String bucket, final String key) {
+        try {
+            return CompletableFuture.completedFuture(this.getObject(bucket, key));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Open a stream for reading a payload from a bucket. Implementations should override this method if the underlying
+     * blob storage can stream payloads, so that they do not need to fit into memory. By default, the payload is
+     * retrieved using {@link #getObject(String, String)}.
+     *
+     * @param bucket the bucket where the payload is stored
+     * @param key the identifier for the payload within the bucket
+     * @return stream of the payload. It must be closed by the caller.
+     */
+    default InputStream getObjectStream(final String bucket, final String key) {
+        return new ByteArrayInputStream(this.getObject(bucket, key));
+    }
+
+    /**
+     * Open a stream for storing a payload in a bucket. Implementations should override this method if the underlying
+     * blob storage can upload payloads in parts, so that they do not need to fit into memory. By default, the payload
+     * is buffered and stored using {@link #putObject(byte[], String, String)} once the stream is closed.
+     *
+     * @param bucket the bucket where the payload should be stored
+     * @param key the identifier for the payload within the bucket
+     * @return stream for the payload. It must be closed or aborted by the caller.
+     */
+    default BlobStorageOutputStream putObjectStream(final String bucket, final String key) {
+        return new BufferedBlobStorageOutputStream(this, bucket, key);
+    }
+
     @Override
     void close();
+
+    /**
+     * Open connections to a bucket ahead of time, so that first requests do not pay for connection setup and credential
+     * resolution. Implementations should send the given number of concurrent lightweight requests. Errors must not be
+     * thrown but logged. By default, nothing is done.
+     *
+     * @param bucket the bucket to connect to
+     * @param connections the number of connections to open
+     */
+    default void warmUp(final String bucket, final int connections) {
+        // do nothing
+    }
+
+    /**
+     * Check whether a failed request fails again when it is retried, e.g., because the object does not exist or access
+     * is denied. Implementations should override this method to classify errors of the underlying blob storage. By
+     * default, all errors are considered transient.
+     *
+     * @param e error thrown by a request of this client
+     * @return true if the request should not be retried
+     */
+    default boolean isPermanentFailure(final RuntimeException e) {
+        return false;
+    }
 }
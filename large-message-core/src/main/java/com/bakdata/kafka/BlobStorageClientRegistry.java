@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.config.AbstractConfig;
+
+/**
+ * Registry of {@link BlobStorageClient} instances shared in a JVM. Clients are shared by all configs with the same
+ * effective backend configuration, i.e., the same config class and values. Configs that do not extend
+ * {@link AbstractConfig} are only shared by identity. Each acquired client must be closed. The underlying client is
+ * closed once all acquired clients have been closed. Clients are created outside the lock of the registry, so that
+ * creating a slow client does not block acquiring clients for other configs.
+ */
+@Slf4j
+@UtilityClass
+class BlobStorageClientRegistry {
+    private static final Map<Object, SharedClient> CLIENTS = new HashMap<>();
+
+    /**
+     * Acquire a client for the given config. A new client is created if there is no client for an equal configuration.
+     *
+     * @param config config to create client with
+     * @return client that releases the shared client on close
+     */
+    static BlobStorageClient acquire(final @NonNull BlobStorageConfig config) {
+        final Object key = createKey(config);
+        final SharedClient sharedClient;
+        final boolean creating;
+        synchronized (CLIENTS) {
+            final SharedClient existing = CLIENTS.get(key);
+            creating = existing == null;
+            sharedClient = creating ? new SharedClient(key) : existing;
+            if (creating) {
+                CLIENTS.put(key, sharedClient);
+            }
+            sharedClient.references++;
+        }
+        if (creating) {
+            create(sharedClient, config);
+        }
+        try {
+            return new AcquiredClient(sharedClient, sharedClient.client.join());
+        } catch (final CompletionException e) {
+            // the failed client has been removed by its creator
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    static int size() {
+        synchronized (CLIENTS) {
+            return CLIENTS.size();
+        }
+    }
+
+    /**
+     * Create the identity of the backend configuration of a config. Configs with equal keys share a client.
+     *
+     * @param config config to create key for
+     * @return key that is equal for configs with the same effective backend configuration
+     */
+    static Object createKey(final @NonNull BlobStorageConfig config) {
+        if (config instanceof AbstractConfig) {
+            return List.of(config.getClass(), ((AbstractConfig) config).values());
+        }
+        return new IdentityKey(config);
+    }
+
+    private static void create(final SharedClient sharedClient, final BlobStorageConfig config) {
+        try {
+            sharedClient.client.complete(config.createBlobStorageClient());
+        } catch (final Throwable e) {
+            // errors, e.g., a missing SDK, must not leave other threads waiting for the client forever
+            synchronized (CLIENTS) {
+                CLIENTS.remove(sharedClient.key, sharedClient);
+            }
+            sharedClient.client.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static void release(final SharedClient sharedClient, final BlobStorageClient client) {
+        synchronized (CLIENTS) {
+            sharedClient.references--;
+            if (sharedClient.references > 0) {
+                return;
+            }
+            CLIENTS.remove(sharedClient.key, sharedClient);
+        }
+        log.debug("Closing shared blob storage client");
+        client.close();
+    }
+
+    @RequiredArgsConstructor
+    private static final class IdentityKey {
+        private final @NonNull BlobStorageConfig config;
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).config == this.config;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.config);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class SharedClient {
+        private final @NonNull Object key;
+        private final CompletableFuture<BlobStorageClient> client = new CompletableFuture<>();
+        private int references;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class AcquiredClient implements BlobStorageClient {
+        private final @NonNull SharedClient sharedClient;
+        private final @NonNull BlobStorageClient client;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void deleteAllObjects(final String bucket, final String prefix) {
+            this.client.deleteAllObjects(bucket, prefix);
+        }
+
+        @Override
+        public List<String> listPrefixes(final String bucket, final String prefix) {
+            return this.client.listPrefixes(bucket, prefix);
+        }
+
+        @Override
+        public String putObject(final byte[] bytes, final String bucket, final String key) {
+            return this.client.putObject(bytes, bucket, key);
+        }
+
+        @Override
+        public byte[] getObject(final String bucket, final String key) {
+            return this.client.getObject(bucket, key);
+        }
+
+        @Override
+        public String putObjectIfAbsent(final byte[] bytes, final String bucket, final String key) {
+            return this.client.putObjectIfAbsent(bytes, bucket, key);
+        }
+
+        @Override
+        public CompletableFuture<String> putObjectIfAbsentAsync(final byte[] bytes, final String bucket,
+                final String key) {
+            return this.client.putObjectIfAbsentAsync(bytes, bucket, key);
+        }
+
+        @Override
+        public CompletableFuture<String> putObjectAsync(final byte[] bytes, final String bucket, final String key) {
+            return this.client.putObjectAsync(bytes, bucket, key);
+        }
+
+        @Override
+        public CompletableFuture<byte[]> getObjectAsync(final String bucket, final String key) {
+            return this.client.getObjectAsync(bucket, key);
+        }
+
+        @Override
+        public InputStream getObjectStream(final String bucket, final String key) {
+            return this.client.getObjectStream(bucket, key);
+        }
+
+        @Override
+        public BlobStorageOutputStream putObjectStream(final String bucket, final String key) {
+            return this.client.putObjectStream(bucket, key);
+        }
+
+        @Override
+        public void warmUp(final String bucket, final int connections) {
+            this.client.warmUp(bucket, connections);
+        }
+
+        @Override
+        public boolean isPermanentFailure(final RuntimeException e) {
+            return this.client.isPermanentFailure(e);
+        }
+
+        @Override
+        public void close() {
+            if (this.closed.compareAndSet(false, true)) {
+                release(this.sharedClient, this.client);
+            }
+        }
+    }
+}
@@ -24,11 +24,15 @@
 
 package com.bakdata.kafka;
 
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ClassInfo;
-import io.github.classgraph.ClassInfoList;
-import io.github.classgraph.ScanResult;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -37,16 +41,24 @@ import java.util.stream.Stream;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Loads {@link BlobStorageConfig} classes listed in {@value #INDEX} resources. The index uses the format of
+ * {@link java.util.ServiceLoader} files, so that build tools merge it when creating fat jars. However, the classes are
+ * not instantiated by {@link java.util.ServiceLoader} because configs do not have a no-arg constructor. Listed classes
+ * must be annotated with {@link BlobStorageType}.
+ */
 @UtilityClass
 @Slf4j
 class BlobStorageConfigLoader {
+    static final String INDEX = "META-INF/services/com.bakdata.kafka.BlobStorageConfig";
+
     static Collection<BlobStorageConfigFactory> loadConfigFactories() {
-        try (final ScanResult scanResult = new ClassGraph()
-                .enableAnnotationInfo()
-                .scan()) {
-            final ClassInfoList classes = scanResult.getClassesWithAnnotation(BlobStorageType.class);
-            return load(classes);
-        }
+        final ClassLoader classLoader = BlobStorageConfigLoader.class.getClassLoader();
+        final List<String> classNames = readIndex(classLoader);
+        final Stream<Class<? extends BlobStorageConfig>> classes = classNames.stream()
+                .distinct()
+                .map(className -> loadClass(className, classLoader));
+        return load(classes);
     }
 
     static List<BlobStorageConfigFactory> load(final Stream<Class<? extends BlobStorageConfig>> classes) {
@@ -65,14 +77,47 @@ class BlobStorageConfigLoader {
         return factories;
     }
 
-    private static List<BlobStorageConfigFactory> load(final Collection<? extends ClassInfo> classes) {
-        final Stream<Class<? extends BlobStorageConfig>> classStream = classes.stream()
-                .map(BlobStorageConfigLoader::loadClass);
-        return load(classStream);
+    private static List<String> readIndex(final ClassLoader classLoader) {
+        try {
+            return Collections.list(classLoader.getResources(INDEX)).stream()
+                    .flatMap(url -> readIndex(url).stream())
+                    .toList();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Error reading " + INDEX, e);
+        }
+    }
+
+    private static List<String> readIndex(final URL url) {
+        try (final InputStream inputStream = url.openStream();
+                final BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(BlobStorageConfigLoader::stripComment)
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty())
+                    .toList();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Error reading " + url, e);
+        }
     }
 
-    private static Class<? extends BlobStorageConfig> loadClass(final ClassInfo classInfo) {
-        return classInfo.loadClass(BlobStorageConfig.class);
+    private static String stripComment(final String line) {
+        final int commentStart = line.indexOf('#');
+        return commentStart < 0 ? line : line.substring(0, commentStart);
+    }
+
+    private static Class<? extends BlobStorageConfig> loadClass(final String className, final ClassLoader classLoader) {
+        try {
+            // do not initialize classes of backends that are not used
+            final Class<?> clazz = Class.forName(className, false, classLoader);
+            if (!clazz.isAnnotationPresent(BlobStorageType.class)) {
+                throw new IllegalStateException(
+                        "%s is not annotated with %s".formatted(className, BlobStorageType.class.getName()));
+            }
+            return clazz.asSubclass(BlobStorageConfig.class);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot load blob storage config " + className, e);
+        }
     }
 
 }
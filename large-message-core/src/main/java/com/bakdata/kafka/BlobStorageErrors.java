@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Helpers for classifying errors of blob storage backends in
+ * {@link BlobStorageClient#isPermanentFailure(RuntimeException)}
+ */
+@UtilityClass
+class BlobStorageErrors {
+    private static final int REQUEST_TIMEOUT = 408;
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Check whether an HTTP status code indicates a client error that fails again when retrying the request, e.g., a
+     * missing object or insufficient permissions. Timeouts and throttling are not permanent.
+     *
+     * @param statusCode HTTP status code of the response
+     * @return true if the request should not be retried
+     */
+    static boolean isPermanentStatusCode(final int statusCode) {
+        return statusCode >= 400 && statusCode < 500 && statusCode != REQUEST_TIMEOUT
+                && statusCode != TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * Find the first exception of a type in the cause chain of an exception, including the exception itself
+     *
+     * @param e exception to search
+     * @param type type of exception to find
+     * @param <T> type of exception to find
+     * @return first exception of the type
+     */
+    static <T extends Throwable> Optional<T> findCause(final Throwable e, final Class<T> type) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return Optional.of(type.cast(current));
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -32,7 +32,9 @@ import java.lang.annotation.Target;
 
 /**
  * {@link BlobStorageConfig} classes annotated with this annotation are registered with the scheme specified by
- * {@link #value()} when storing and retrieving large messages using {@link AbstractLargeMessageConfig}.
+ * {@link #value()} when storing and retrieving large messages using {@link AbstractLargeMessageConfig}. Classes must
+ * also be listed in {@code META-INF/services/com.bakdata.kafka.BlobStorageConfig} and provide a public constructor
+ * accepting a {@link java.util.Map} of properties.
  */
 @Retention(RUNTIME)
 @Target({TYPE})
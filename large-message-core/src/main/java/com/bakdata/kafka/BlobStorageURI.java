@@ -27,11 +27,13 @@ package com.bakdata.kafka;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.regex.Pattern;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.common.errors.SerializationException;
 
 @RequiredArgsConstructor
+@EqualsAndHashCode
 class BlobStorageURI {
     private static final Pattern LEADING_SLASH = Pattern.compile("^/");
     private final @NonNull URI uri;
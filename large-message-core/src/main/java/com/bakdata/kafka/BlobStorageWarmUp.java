@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.utils.ThreadUtils;
+
+/**
+ * Helper for implementing {@link BlobStorageClient#warmUp(String, int)} with blocking clients.
+ */
+@Slf4j
+@UtilityClass
+class BlobStorageWarmUp {
+
+    /**
+     * Send requests concurrently so that each of them opens a connection. Errors are logged.
+     *
+     * @param connections number of concurrent requests
+     * @param request request to send
+     */
+    static void runConcurrently(final int connections, final Runnable request) {
+        final ExecutorService executor = Executors.newFixedThreadPool(connections,
+                ThreadUtils.createThreadFactory("large-message-warmup-%d", true));
+        try {
+            final List<CompletableFuture<Void>> futures = IntStream.range(0, connections)
+                    .mapToObj(i -> CompletableFuture.runAsync(request, executor))
+                    .toList();
+            join(CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Wait for warm-up requests to complete. Errors are logged.
+     *
+     * @param future future of all warm-up requests
+     */
+    static void join(final CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (final CompletionException e) {
+            log.warn("Error warming up blob storage connections", e.getCause());
+        }
+    }
+}
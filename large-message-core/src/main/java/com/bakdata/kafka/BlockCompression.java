@@ -0,0 +1,385 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Codec that splits payloads into blocks, which are compressed and decompressed in parallel on the common fork-join
+ * pool. Each block is compressed into an independent frame of the underlying codec. Compressed payloads start with an
+ * index of the frames, i.e., the number of frames followed by the decompressed and compressed size of each frame.
+ * Block boundaries only depend on the block size, so that compressing the same payload always yields the same bytes.
+ * A second byte in the compression header marks payloads compressed in blocks.
+ */
+@Value
+class BlockCompression implements CompressionCodec {
+    private static final byte HEADER_FLAG = 1;
+    private static final int HEADER_SIZE = 2;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    @NonNull
+    CompressionCodec codec;
+    int blockSize;
+
+    static boolean hasBlocks(final byte[] header) {
+        return header.length == HEADER_SIZE && header[1] == HEADER_FLAG;
+    }
+
+    /**
+     * Create a codec for decompressing payloads compressed in blocks. The block size is not required for decompressing
+     * because it is part of the frame index.
+     *
+     * @param codec codec used for each frame
+     * @return codec for decompressing payloads compressed in blocks
+     */
+    static BlockCompression forDecompression(final CompressionCodec codec) {
+        return new BlockCompression(codec, 0);
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static int toArraySize(final long size) {
+        if (size > MAX_ARRAY_SIZE) {
+            throw new SerializationException("Payload of " + size + " bytes does not fit into an array");
+        }
+        return (int) size;
+    }
+
+    @Override
+    public byte getId() {
+        return this.codec.getId();
+    }
+
+    @Override
+    public String getName() {
+        return this.codec.getName();
+    }
+
+    @Override
+    public void validate(final CompressionOptions options) {
+        this.codec.validate(options);
+    }
+
+    /**
+     * Check whether a payload is split into more than one block
+     *
+     * @param bytes payload
+     * @return true if the payload exceeds the block size
+     */
+    boolean isSplitting(final byte[] bytes) {
+        return this.blockSize > 0 && bytes.length > this.blockSize;
+    }
+
+    byte[] createHeader() {
+        return new byte[]{this.codec.getId(), HEADER_FLAG};
+    }
+
+    @Override
+    public byte[] compress(final byte[] bytes, final CompressionOptions options) {
+        this.ensureBlockSize();
+        final int blocks = Math.max(1, (int) ((bytes.length + (long) this.blockSize - 1) / this.blockSize));
+        final List<CompletableFuture<byte[]>> futures = IntStream.range(0, blocks)
+                .mapToObj(block -> this.compressAsync(bytes, block * this.blockSize, this.getBlockLength(bytes, block),
+                        options))
+                .toList();
+        final List<byte[]> frames = futures.stream()
+                .map(BlockCompression::join)
+                .toList();
+        long size = Integer.BYTES + 2L * Integer.BYTES * blocks;
+        for (final byte[] frame : frames) {
+            size += frame.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(toArraySize(size));
+        buffer.putInt(blocks);
+        for (int block = 0; block < blocks; block++) {
+            buffer.putInt(this.getBlockLength(bytes, block));
+            buffer.putInt(frames.get(block).length);
+        }
+        frames.forEach(buffer::put);
+        return buffer.array();
+    }
+
+    @Override
+    public byte[] decompress(final byte[] bytes) {
+        final ByteBuffer index = ByteBuffer.wrap(bytes);
+        final int frames = index.getInt();
+        final int[] sizes = new int[frames];
+        final int[] compressedSizes = new int[frames];
+        long size = 0L;
+        for (int frame = 0; frame < frames; frame++) {
+            sizes[frame] = index.getInt();
+            compressedSizes[frame] = index.getInt();
+            size += sizes[frame];
+        }
+        final byte[] decompressed = new byte[toArraySize(size)];
+        int offset = 0;
+        int compressedOffset = index.position();
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[frames];
+        for (int frame = 0; frame < frames; frame++) {
+            final int frameOffset = offset;
+            final int frameCompressedOffset = compressedOffset;
+            final int frameSize = sizes[frame];
+            final int frameCompressedSize = compressedSizes[frame];
+            futures[frame] = CompletableFuture.runAsync(() -> this.decompressFrame(
+                    new ByteArrayInputStream(bytes, frameCompressedOffset, frameCompressedSize), decompressed,
+                    frameOffset, frameSize), ForkJoinPool.commonPool());
+            offset += frameSize;
+            compressedOffset += frameCompressedSize;
+        }
+        join(CompletableFuture.allOf(futures));
+        return decompressed;
+    }
+
+    /**
+     * Compress a stream in blocks. Only the current block is buffered uncompressed. Complete blocks are compressed in
+     * parallel while writing, but their frames are kept in memory until the stream is closed because the frame index
+     * precedes them.
+     *
+     * @param outStream stream to write compressed bytes to. It is closed when the returned stream is closed.
+     * @param options options for compressing
+     * @return stream accepting uncompressed bytes
+     */
+    @Override
+    public OutputStream compress(final OutputStream outStream, final CompressionOptions options) {
+        this.ensureBlockSize();
+        return new BlockOutputStream(outStream, options);
+    }
+
+    /**
+     * Decompress a stream of a payload compressed in blocks. Frames are decompressed one after another, so that only a
+     * single frame is kept in memory.
+     *
+     * @param inStream stream of compressed bytes. It is closed when the returned stream is closed.
+     * @return stream of decompressed bytes
+     */
+    @Override
+    public InputStream decompress(final InputStream inStream) {
+        return new BlockInputStream(new DataInputStream(inStream));
+    }
+
+    private int getBlockLength(final byte[] bytes, final int block) {
+        return Math.min(this.blockSize, bytes.length - block * this.blockSize);
+    }
+
+    private void ensureBlockSize() {
+        if (this.blockSize <= 0) {
+            throw new IllegalStateException("Block size must be positive for compressing");
+        }
+    }
+
+    private CompletableFuture<byte[]> compressAsync(final byte[] bytes, final int offset, final int length,
+            final CompressionOptions options) {
+        return CompletableFuture.supplyAsync(() -> this.compressBlock(bytes, offset, length, options),
+                ForkJoinPool.commonPool());
+    }
+
+    private byte[] compressBlock(final byte[] bytes, final int offset, final int length,
+            final CompressionOptions options) {
+        final ByteArrayOutputStream outStream = new ByteArrayOutputStream(length);
+        try (final OutputStream stream = this.codec.compress(outStream, options)) {
+            stream.write(bytes, offset, length);
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to compress block with type " + this.codec.getName(), e);
+        }
+        return outStream.toByteArray();
+    }
+
+    private void decompressFrame(final InputStream compressed, final byte[] decompressed, final int offset,
+            final int size) {
+        try (final InputStream stream = this.codec.decompress(compressed)) {
+            final int read = stream.readNBytes(decompressed, offset, size);
+            if (read != size) {
+                throw new SerializationException("Expected frame of " + size + " bytes but got " + read + " bytes");
+            }
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to decompress block with type " + this.codec.getName(), e);
+        }
+    }
+
+    /**
+     * Stream that compresses each block as soon as it is complete and writes the frame index and frames on close
+     */
+    private final class BlockOutputStream extends OutputStream {
+        private final @NonNull OutputStream out;
+        private final @NonNull CompressionOptions options;
+        private final List<Integer> sizes = new ArrayList<>();
+        private final List<CompletableFuture<byte[]>> frames = new ArrayList<>();
+        private byte[] block = new byte[BlockCompression.this.blockSize];
+        private int position;
+        private boolean closed;
+
+        private BlockOutputStream(final OutputStream out, final CompressionOptions options) {
+            this.out = out;
+            this.options = options;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (this.closed) {
+                throw new IOException("Stream is closed");
+            }
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                final int n = Math.min(remaining, this.block.length - this.position);
+                System.arraycopy(b, offset, this.block, this.position, n);
+                this.position += n;
+                offset += n;
+                remaining -= n;
+                if (this.position == this.block.length) {
+                    this.submitBlock();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            try (final DataOutputStream data = new DataOutputStream(this.out)) {
+                // empty payloads consist of a single empty frame, like payloads compressed at once
+                if (this.position > 0 || this.frames.isEmpty()) {
+                    this.submitBlock();
+                }
+                final List<byte[]> compressed = this.frames.stream()
+                        .map(BlockCompression::join)
+                        .toList();
+                data.writeInt(compressed.size());
+                for (int frame = 0; frame < compressed.size(); frame++) {
+                    data.writeInt(this.sizes.get(frame));
+                    data.writeInt(compressed.get(frame).length);
+                }
+                for (final byte[] frame : compressed) {
+                    data.write(frame);
+                }
+            }
+        }
+
+        private void submitBlock() {
+            this.sizes.add(this.position);
+            this.frames.add(BlockCompression.this.compressAsync(this.block, 0, this.position, this.options));
+            // the submitted block is compressed asynchronously, so it must not be reused
+            this.block = this.closed ? null : new byte[BlockCompression.this.blockSize];
+            this.position = 0;
+        }
+    }
+
+    /**
+     * Stream that decompresses the frames of a payload one after another
+     */
+    private final class BlockInputStream extends InputStream {
+        private final @NonNull DataInputStream in;
+        private int[] compressedSizes;
+        private int frame;
+        private InputStream current = InputStream.nullInputStream();
+
+        private BlockInputStream(final DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            final int n = this.read(b, 0, 1);
+            return n == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                final int n = this.current.read(b, off, len);
+                if (n != -1) {
+                    return n;
+                }
+                if (!this.nextFrame()) {
+                    return -1;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.current.close();
+            this.in.close();
+        }
+
+        private boolean nextFrame() throws IOException {
+            if (this.compressedSizes == null) {
+                this.readIndex();
+            }
+            if (this.frame >= this.compressedSizes.length) {
+                return false;
+            }
+            final byte[] compressed = BufferPool.readExactly(this.in, this.compressedSizes[this.frame++]);
+            this.current.close();
+            this.current = BlockCompression.this.codec.decompress(new ByteArrayInputStream(compressed));
+            return true;
+        }
+
+        private void readIndex() throws IOException {
+            final int frames = this.in.readInt();
+            this.compressedSizes = new int[frames];
+            for (int i = 0; i < frames; i++) {
+                // decompressed sizes are not needed when reading frames one after another
+                this.in.readInt();
+                this.compressedSizes[i] = this.in.readInt();
+            }
+        }
+    }
+}
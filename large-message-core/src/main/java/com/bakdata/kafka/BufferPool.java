@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.Value;
+import org.apache.kafka.common.utils.BufferSupplier;
+
+/**
+ * Thread-safe pool of {@link ByteBuffer} used as scratch space when compressing, decompressing, and downloading
+ * payloads. Buffers are pooled in size classes of powers of two between {@value #MIN_BUFFER_SIZE} and
+ * {@value #MAX_BUFFER_SIZE} bytes. Larger buffers are not pooled. The total capacity of idle buffers retained by the
+ * pool is bounded.
+ * <p>
+ * Pools are shared by all clients with the same pool configuration in a JVM.
+ */
+final class BufferPool {
+    static final int MIN_BUFFER_SIZE = 1 << 12;
+    static final int MAX_BUFFER_SIZE = 1 << 26;
+    static final long DEFAULT_MAX_RETAINED_BYTES = 64L * 1024L * 1024L;
+    private static final int MIN_SIZE_CLASS = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    private static final int MAX_SIZE_CLASS = Integer.numberOfTrailingZeros(MAX_BUFFER_SIZE);
+    private static final Map<PoolSpec, BufferPool> SHARED_POOLS = new ConcurrentHashMap<>();
+    // must be initialized after the fields used when creating pools
+    static final BufferPool DEFAULT = shared(DEFAULT_MAX_RETAINED_BYTES, false);
+    // Kafka decompression streams are not thread-safe but cache buffers in their supplier
+    private static final ThreadLocal<BufferSupplier> DECOMPRESSION_BUFFER_SUPPLIER =
+            ThreadLocal.withInitial(BufferSupplier::create);
+    private final long maxRetainedBytes;
+    @Getter
+    private final boolean direct;
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final Queue<ByteBuffer>[] pools;
+
+    @SuppressWarnings("unchecked")
+    private BufferPool(final long maxRetainedBytes, final boolean direct) {
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.direct = direct;
+        this.pools = new Queue[MAX_SIZE_CLASS - MIN_SIZE_CLASS + 1];
+        for (int i = 0; i < this.pools.length; i++) {
+            this.pools[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    static BufferPool create(final long maxRetainedBytes, final boolean direct) {
+        return new BufferPool(maxRetainedBytes, direct);
+    }
+
+    /**
+     * Get the pool shared in this JVM for the given configuration.
+     *
+     * @param maxRetainedBytes maximum total capacity of idle buffers retained by the pool
+     * @param direct whether buffers should be allocated outside of the Java heap. Used for compression only, because
+     * decompression and downloads require buffers backed by an array.
+     * @return shared pool
+     */
+    static BufferPool shared(final long maxRetainedBytes, final boolean direct) {
+        return SHARED_POOLS.computeIfAbsent(new PoolSpec(maxRetainedBytes, direct),
+                spec -> create(spec.getMaxRetainedBytes(), spec.isDirect()));
+    }
+
+    /**
+     * Get a {@link BufferSupplier} for Kafka decompression streams. Suppliers are confined to the calling thread.
+     *
+     * @return buffer supplier of the current thread
+     */
+    static BufferSupplier decompressionBufferSupplier() {
+        return DECOMPRESSION_BUFFER_SUPPLIER.get();
+    }
+
+    /**
+     * Read an input stream of known length into an array of exactly that length.
+     *
+     * @param inputStream input stream to read
+     * @param length number of bytes in the stream
+     * @return bytes read
+     * @throws IOException if reading fails or the stream ends early
+     */
+    static byte[] readExactly(final InputStream inputStream, final int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        final int read = inputStream.readNBytes(bytes, 0, length);
+        if (read != length) {
+            throw new IOException("Expected " + length + " bytes but stream ended after " + read + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * Copy the bytes written to a buffer, i.e., between its start and position, into a new array
+     *
+     * @param buffer buffer to copy
+     * @return bytes written to the buffer
+     */
+    static byte[] toBytes(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.position()];
+        buffer.duplicate().flip().get(bytes);
+        return bytes;
+    }
+
+    private static int sizeClass(final int capacity) {
+        final int size = Math.max(capacity, MIN_BUFFER_SIZE);
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    /**
+     * Get a buffer with at least the given capacity. The buffer is cleared. It should be returned with
+     * {@link #release(ByteBuffer)} once it is no longer used.
+     *
+     * @param minCapacity minimum capacity
+     * @return buffer
+     */
+    ByteBuffer acquire(final int minCapacity) {
+        if (minCapacity > MAX_BUFFER_SIZE) {
+            return this.allocate(minCapacity);
+        }
+        final int sizeClass = sizeClass(minCapacity);
+        final ByteBuffer buffer = this.pools[sizeClass - MIN_SIZE_CLASS].poll();
+        if (buffer == null) {
+            return this.allocate(1 << sizeClass);
+        }
+        this.retainedBytes.addAndGet(-buffer.capacity());
+        return buffer.clear();
+    }
+
+    /**
+     * Return a buffer to the pool. Buffers that do not fit a size class of this pool, or exceed the retained bytes
+     * limit, are dropped.
+     *
+     * @param buffer buffer to return
+     */
+    void release(final ByteBuffer buffer) {
+        final int capacity = buffer.capacity();
+        if (buffer.isDirect() != this.direct || Integer.bitCount(capacity) != 1 || capacity < MIN_BUFFER_SIZE
+                || capacity > MAX_BUFFER_SIZE) {
+            return;
+        }
+        if (this.retainedBytes.addAndGet(capacity) > this.maxRetainedBytes) {
+            this.retainedBytes.addAndGet(-capacity);
+            return;
+        }
+        this.pools[Integer.numberOfTrailingZeros(capacity) - MIN_SIZE_CLASS].offer(buffer);
+    }
+
+    /**
+     * Read an input stream of unknown length using pooled heap buffers. Only the returned array is allocated if
+     * buffers are available in the pool.
+     *
+     * @param inputStream input stream to read
+     * @param sizeHint expected number of bytes in the stream
+     * @return bytes read
+     * @throws IOException if reading fails
+     */
+    byte[] readAllBytes(final InputStream inputStream, final int sizeHint) throws IOException {
+        if (this.direct) {
+            return shared(this.maxRetainedBytes, false).readAllBytes(inputStream, sizeHint);
+        }
+        ByteBuffer buffer = this.acquire(sizeHint);
+        try {
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    buffer = this.grow(buffer);
+                }
+                final int read = inputStream.read(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                        buffer.remaining());
+                if (read < 0) {
+                    break;
+                }
+                buffer.position(buffer.position() + read);
+            }
+            return toBytes(buffer);
+        } finally {
+            this.release(buffer);
+        }
+    }
+
+    long getRetainedBytes() {
+        return this.retainedBytes.get();
+    }
+
+    private ByteBuffer grow(final ByteBuffer buffer) {
+        if (buffer.capacity() == Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        final int capacity = (int) Math.min(2L * buffer.capacity(), Integer.MAX_VALUE);
+        final ByteBuffer grown = this.acquire(capacity);
+        grown.put(buffer.flip());
+        this.release(buffer);
+        return grown;
+    }
+
+    private ByteBuffer allocate(final int capacity) {
+        return this.direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    @Value
+    private static class PoolSpec {
+        long maxRetainedBytes;
+        boolean direct;
+    }
+}
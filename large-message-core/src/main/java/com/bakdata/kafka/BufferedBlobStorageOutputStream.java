@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.ByteArrayOutputStream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link BlobStorageOutputStream} that buffers the payload in memory and stores it using
+ * {@link BlobStorageClient#putObject(byte[], String, String)} once the stream is closed
+ */
+@RequiredArgsConstructor
+class BufferedBlobStorageOutputStream extends BlobStorageOutputStream {
+    private final @NonNull BlobStorageClient client;
+    private final @NonNull String bucket;
+    private final @NonNull String key;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private boolean closed;
+    private String uri;
+
+    @Override
+    public void write(final int b) {
+        this.buffer.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        this.buffer.write(b, off, len);
+    }
+
+    @Override
+    public void abort() {
+        this.closed = true;
+        this.buffer.reset();
+    }
+
+    @Override
+    public String getUri() {
+        if (this.uri == null) {
+            throw new IllegalStateException("Payload has not been stored");
+        }
+        return this.uri;
+    }
+
+    @Override
+    public void close() {
+        if (!this.closed) {
+            this.closed = true;
+            this.uri = this.client.putObject(this.buffer.toByteArray(), this.bucket, this.key);
+        }
+    }
+}
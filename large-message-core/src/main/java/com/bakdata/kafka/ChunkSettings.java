@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Settings for splitting payloads into chunk objects using {@link ChunkedBlobStorageClient}
+ */
+@Value
+@Builder
+class ChunkSettings {
+    static final int DEFAULT_PARALLELISM = 4;
+    static final int DEFAULT_RETRIES = 3;
+    static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(100L);
+    static final ChunkSettings DEFAULT = ChunkSettings.builder().build();
+    /**
+     * Size in bytes of chunks. Payloads are only split if they exceed the chunk size. A value of 0 disables chunking.
+     */
+    int chunkSize;
+    @Builder.Default
+    int parallelism = DEFAULT_PARALLELISM;
+    @Builder.Default
+    int retries = DEFAULT_RETRIES;
+    /**
+     * Time to wait before the first retry of a failed chunk request. It is doubled for each further retry.
+     */
+    @Builder.Default
+    @NonNull Duration retryBackoff = DEFAULT_RETRY_BACKOFF;
+
+    boolean isChunking(final int size) {
+        return this.chunkSize > 0 && size > this.chunkSize;
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.utils.ExponentialBackoff;
+import org.apache.kafka.common.utils.ThreadUtils;
+
+/**
+ * Client that splits payloads exceeding the chunk size into chunk objects, which are uploaded and downloaded
+ * concurrently using any {@link BlobStorageClient}. Chunks are stored under the key of the payload next to a small
+ * manifest object, whose key is returned as the key of the payload. Failed chunk requests are retried individually
+ * with exponential backoff unless the underlying client classifies the error as permanent.
+ * Payloads not exceeding the chunk size and objects that are not manifests are passed through to the underlying
+ * client.
+ */
+@Slf4j
+class ChunkedBlobStorageClient implements BlobStorageClient {
+    static final String MANIFEST_SUFFIX = ".manifest";
+    private static final String CHUNK_INFIX = ".chunks/";
+    private static final int RETRY_BACKOFF_MULTIPLIER = 2;
+    private static final long MAX_RETRY_BACKOFF_MS = 10_000L;
+    private static final double RETRY_BACKOFF_JITTER = 0.2;
+    private final @NonNull BlobStorageClient client;
+    private final @NonNull ChunkSettings settings;
+    private final @NonNull ExecutorService executor;
+    private final @NonNull ExponentialBackoff retryBackoff;
+
+    ChunkedBlobStorageClient(final @NonNull BlobStorageClient client, final @NonNull ChunkSettings settings) {
+        this.client = client;
+        this.settings = settings;
+        this.executor = Executors.newFixedThreadPool(settings.getParallelism(),
+                ThreadUtils.createThreadFactory("large-message-chunk-%d", true));
+        final long backoffMs = settings.getRetryBackoff().toMillis();
+        this.retryBackoff = new ExponentialBackoff(backoffMs, RETRY_BACKOFF_MULTIPLIER,
+                Math.max(backoffMs, MAX_RETRY_BACKOFF_MS), RETRY_BACKOFF_JITTER);
+    }
+
+    static boolean isManifest(final String key) {
+        return key.endsWith(MANIFEST_SUFFIX);
+    }
+
+    private static String createChunkKey(final String manifestKey, final int chunk) {
+        final String key = manifestKey.substring(0, manifestKey.length() - MANIFEST_SUFFIX.length());
+        return key + CHUNK_INFIX + chunk;
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            throw new InterruptException(e);
+        }
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteAllObjects(final String bucket, final String prefix) {
+        this.client.deleteAllObjects(bucket, prefix);
+    }
+
+    @Override
+    public List<String> listPrefixes(final String bucket, final String prefix) {
+        return this.client.listPrefixes(bucket, prefix);
+    }
+
+    @Override
+    public String putObject(final byte[] bytes, final String bucket, final String key) {
+        return join(this.putObjectAsync(bytes, bucket, key));
+    }
+
+    @Override
+    public byte[] getObject(final String bucket, final String key) {
+        return join(this.getObjectAsync(bucket, key));
+    }
+
+    @Override
+    public CompletableFuture<String> putObjectAsync(final byte[] bytes, final String bucket, final String key) {
+        if (!this.settings.isChunking(bytes.length)) {
+            return this.client.putObjectAsync(bytes, bucket, key);
+        }
+        final Manifest manifest = new Manifest(bytes.length, this.settings.getChunkSize());
+        final String manifestKey = key + MANIFEST_SUFFIX;
+        final CompletableFuture<?>[] futures = IntStream.range(0, manifest.getChunks())
+                .mapToObj(chunk -> CompletableFuture.runAsync(
+                        () -> this.putChunk(bytes, bucket, manifestKey, manifest, chunk), this.executor))
+                .toArray(CompletableFuture[]::new);
+        // the manifest is stored last, so that it only references complete chunks
+        return CompletableFuture.allOf(futures)
+                .thenApply(ignored -> this.withRetries(
+                        () -> this.client.putObject(manifest.serialize(), bucket, manifestKey), manifestKey))
+                .whenComplete((uri, e) -> {
+                    if (e == null) {
+                        log.debug("Stored {} bytes in {} chunks: {}", bytes.length, manifest.getChunks(), uri);
+                    }
+                });
+    }
+
+    /**
+     * Store a payload unless an object with the same key already exists. Only payloads that are not split into chunks
+     * are stored conditionally because the existence of all chunks cannot be checked atomically.
+     *
+     * @param bytes the payload
+     * @param bucket the bucket where the payload should be stored
+     * @param key the identifier for the payload within the bucket
+     * @return unique identifier to retrieve the payload
+     */
+    @Override
+    public String putObjectIfAbsent(final byte[] bytes, final String bucket, final String key) {
+        return join(this.putObjectIfAbsentAsync(bytes, bucket, key));
+    }
+
+    @Override
+    public CompletableFuture<String> putObjectIfAbsentAsync(final byte[] bytes, final String bucket,
+            final String key) {
+        if (!this.settings.isChunking(bytes.length)) {
+            return this.client.putObjectIfAbsentAsync(bytes, bucket, key);
+        }
+        return this.putObjectAsync(bytes, bucket, key);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getObjectAsync(final String bucket, final String key) {
+        if (!isManifest(key)) {
+            return this.client.getObjectAsync(bucket, key);
+        }
+        return this.client.getObjectAsync(bucket, key)
+                .thenCompose(manifestBytes -> this.getChunks(bucket, key, Manifest.deserialize(manifestBytes)));
+    }
+
+    /**
+     * Open a stream of a payload. Chunks of a chunked payload are streamed one after another.
+     *
+     * @param bucket the bucket where the payload is stored
+     * @param key the identifier for the payload within the bucket
+     * @return stream of the payload. It must be closed by the caller.
+     */
+    @Override
+    public InputStream getObjectStream(final String bucket, final String key) {
+        if (!isManifest(key)) {
+            return this.client.getObjectStream(bucket, key);
+        }
+        final Manifest manifest = Manifest.deserialize(this.client.getObject(bucket, key));
+        return new SequenceInputStream(new ChunkStreams(bucket, key, manifest));
+    }
+
+    @Override
+    public BlobStorageOutputStream putObjectStream(final String bucket, final String key) {
+        return this.client.putObjectStream(bucket, key);
+    }
+
+    @Override
+    public void warmUp(final String bucket, final int connections) {
+        this.client.warmUp(bucket, connections);
+    }
+
+    @Override
+    public boolean isPermanentFailure(final RuntimeException e) {
+        return this.client.isPermanentFailure(e);
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdown();
+        this.client.close();
+    }
+
+    private void putChunk(final byte[] bytes, final String bucket, final String manifestKey, final Manifest manifest,
+            final int chunk) {
+        final int offset = manifest.getOffset(chunk);
+        final byte[] chunkBytes = Arrays.copyOfRange(bytes, offset, offset + manifest.getLength(chunk));
+        final String chunkKey = createChunkKey(manifestKey, chunk);
+        this.withRetries(() -> this.client.putObject(chunkBytes, bucket, chunkKey), chunkKey);
+    }
+
+    private CompletableFuture<byte[]> getChunks(final String bucket, final String manifestKey,
+            final Manifest manifest) {
+        if (manifest.getSize() > Integer.MAX_VALUE - 8) {
+            throw new SerializationException("Chunked object is too large to be read into memory: "
+                    + manifest.getSize() + " bytes");
+        }
+        final byte[] bytes = new byte[(int) manifest.getSize()];
+        final CompletableFuture<?>[] futures = IntStream.range(0, manifest.getChunks())
+                .mapToObj(chunk -> CompletableFuture.runAsync(
+                        () -> this.getChunk(bucket, manifestKey, manifest, chunk, bytes), this.executor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures)
+                .thenApply(ignored -> bytes);
+    }
+
+    private void getChunk(final String bucket, final String manifestKey, final Manifest manifest, final int chunk,
+            final byte[] bytes) {
+        final String chunkKey = createChunkKey(manifestKey, chunk);
+        final byte[] chunkBytes = this.withRetries(() -> this.client.getObject(bucket, chunkKey), chunkKey);
+        if (chunkBytes.length != manifest.getLength(chunk)) {
+            throw new SerializationException("Expected chunk of " + manifest.getLength(chunk) + " bytes but got "
+                    + chunkBytes.length + " bytes: " + chunkKey);
+        }
+        System.arraycopy(chunkBytes, 0, bytes, manifest.getOffset(chunk), chunkBytes.length);
+    }
+
+    private <T> T withRetries(final Supplier<T> request, final String key) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return request.get();
+            } catch (final RuntimeException e) {
+                if (attempt >= this.settings.getRetries() || this.client.isPermanentFailure(e)) {
+                    throw e;
+                }
+                final long backoffMs = this.settings.getRetryBackoff().isZero() ? 0L
+                        : this.retryBackoff.backoff(attempt);
+                log.warn("Error transferring {}. Retrying in {} ms", key, backoffMs, e);
+                sleep(backoffMs);
+            }
+        }
+    }
+
+    /**
+     * Manifest of a chunked payload containing the size of the payload and the size of its chunks
+     */
+    @Value
+    static class Manifest {
+        private static final int SIZE = Long.BYTES + Integer.BYTES;
+        long size;
+        int chunkSize;
+
+        static Manifest deserialize(final byte[] bytes) {
+            if (bytes.length != SIZE) {
+                throw new SerializationException("Invalid chunk manifest of " + bytes.length + " bytes");
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            final Manifest manifest = new Manifest(buffer.getLong(), buffer.getInt());
+            if (manifest.size < 0L || manifest.chunkSize <= 0
+                    || (manifest.size + manifest.chunkSize - 1) / manifest.chunkSize > Integer.MAX_VALUE) {
+                throw new SerializationException("Invalid chunk manifest: " + manifest);
+            }
+            return manifest;
+        }
+
+        byte[] serialize() {
+            return ByteBuffer.allocate(SIZE)
+                    .putLong(this.size)
+                    .putInt(this.chunkSize)
+                    .array();
+        }
+
+        int getChunks() {
+            return (int) ((this.size + this.chunkSize - 1) / this.chunkSize);
+        }
+
+        int getOffset(final int chunk) {
+            return chunk * this.chunkSize;
+        }
+
+        int getLength(final int chunk) {
+            return (int) Math.min(this.chunkSize, this.size - this.getOffset(chunk));
+        }
+    }
+
+    /**
+     * Opens streams of chunks lazily, so that only a single chunk is downloaded at a time
+     */
+    private final class ChunkStreams implements Enumeration<InputStream> {
+        private final @NonNull String bucket;
+        private final @NonNull String manifestKey;
+        private final @NonNull Manifest manifest;
+        private int chunk;
+
+        private ChunkStreams(final String bucket, final String manifestKey, final Manifest manifest) {
+            this.bucket = bucket;
+            this.manifestKey = manifestKey;
+            this.manifest = manifest;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return this.chunk < this.manifest.getChunks();
+        }
+
+        @Override
+        public InputStream nextElement() {
+            if (!this.hasMoreElements()) {
+                throw new NoSuchElementException();
+            }
+            final String chunkKey = createChunkKey(this.manifestKey, this.chunk++);
+            return ChunkedBlobStorageClient.this.withRetries(
+                    () -> ChunkedBlobStorageClient.this.client.getObjectStream(this.bucket, chunkKey), chunkKey);
+        }
+    }
+}
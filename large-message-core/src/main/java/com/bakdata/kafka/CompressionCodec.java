@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Codec for compressing payloads stored on blob storage. The id of the codec is stored in the compression header of
+ * each message, so that payloads can be decompressed without knowing the configuration of the producer. Built-in codecs
+ * are provided by {@link CompressionType}. Additional codecs are registered by listing their implementation in
+ * {@code META-INF/services/com.bakdata.kafka.CompressionCodec}. Ids and names must be unique and must not be used by
+ * {@link CompressionType}.
+ */
+public interface CompressionCodec {
+
+    /**
+     * Get the id of this codec that is stored in message headers
+     *
+     * @return id of this codec
+     */
+    byte getId();
+
+    /**
+     * Get the name of this codec that is used for configuration and metrics
+     *
+     * @return name of this codec
+     */
+    String getName();
+
+    /**
+     * Check whether this codec supports the given options
+     *
+     * @param options options to check
+     * @throws IllegalArgumentException if the options are not supported
+     */
+    default void validate(final CompressionOptions options) {
+        if (!options.isDefault()) {
+            throw new IllegalArgumentException("Compression type " + this.getName() + " does not support options");
+        }
+    }
+
+    /**
+     * Compress bytes using this codec
+     *
+     * @param bytes to be compressed
+     * @param options options for compressing
+     * @return the compressed bytes
+     */
+    byte[] compress(byte[] bytes, CompressionOptions options);
+
+    /**
+     * Decompress bytes using this codec
+     *
+     * @param bytes to be decompressed
+     * @return the decompressed bytes
+     */
+    byte[] decompress(byte[] bytes);
+
+    /**
+     * Compress a stream using this codec. Data must be compressed in the same format as
+     * {@link #compress(byte[], CompressionOptions)}, so that the payload can be read using {@link #decompress(byte[])}.
+     *
+     * @param outStream stream to write compressed bytes to. It is closed when the returned stream is closed.
+     * @param options options for compressing
+     * @return stream accepting uncompressed bytes
+     */
+    OutputStream compress(OutputStream outStream, CompressionOptions options);
+
+    /**
+     * Decompress a stream using this codec
+     *
+     * @param inStream stream of compressed bytes. It is closed when the returned stream is closed.
+     * @return stream of decompressed bytes
+     */
+    InputStream decompress(InputStream inStream);
+}
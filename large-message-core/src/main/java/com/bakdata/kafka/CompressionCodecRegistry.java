@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.stream.Stream;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of {@link CompressionCodec} implementations by id and name. It contains all {@link CompressionType} codecs
+ * and codecs registered using {@link ServiceLoader}.
+ */
+@UtilityClass
+@Slf4j
+class CompressionCodecRegistry {
+    private static final Map<Byte, CompressionCodec> CODECS_BY_ID = new LinkedHashMap<>();
+    private static final Map<String, CompressionCodec> CODECS_BY_NAME = new LinkedHashMap<>();
+
+    static {
+        final ClassLoader classLoader = CompressionCodec.class.getClassLoader();
+        final Stream<CompressionCodec> customCodecs = ServiceLoader.load(CompressionCodec.class, classLoader).stream()
+                .map(ServiceLoader.Provider::get);
+        Stream.concat(Arrays.stream(CompressionType.values()), customCodecs)
+                .forEach(CompressionCodecRegistry::register);
+        log.debug("Found compression codecs: {}", CODECS_BY_NAME.keySet());
+    }
+
+    static CompressionCodec forId(final byte id) {
+        final CompressionCodec codec = CODECS_BY_ID.get(id);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown compression type id: " + id);
+        }
+        return codec;
+    }
+
+    static CompressionCodec forName(final String name) {
+        final CompressionCodec codec = CODECS_BY_NAME.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown compression name: " + name);
+        }
+        return codec;
+    }
+
+    static Collection<String> getNames() {
+        return Collections.unmodifiableCollection(CODECS_BY_NAME.keySet());
+    }
+
+    /**
+     * Compress bytes using a codec. Intermediate buffers of built-in codecs are taken from the given pool.
+     *
+     * @param codec codec to compress with
+     * @param bytes to be compressed
+     * @param options options for compressing
+     * @param bufferPool pool to take intermediate buffers from
+     * @return the compressed bytes
+     */
+    static byte[] compress(final CompressionCodec codec, final byte[] bytes, final CompressionOptions options,
+            final BufferPool bufferPool) {
+        return compress(codec, bytes, options, bufferPool, null);
+    }
+
+    /**
+     * Compress bytes using a codec and pass the compressed bytes to a hasher. Built-in codecs pass the compressed bytes
+     * while writing them, so that they are not read again. Other codecs pass them after compressing.
+     *
+     * @param codec codec to compress with
+     * @param bytes to be compressed
+     * @param options options for compressing
+     * @param bufferPool pool to take intermediate buffers from
+     * @param hasher hasher to pass the compressed bytes to or {@code null}
+     * @return the compressed bytes
+     */
+    static byte[] compress(final CompressionCodec codec, final byte[] bytes, final CompressionOptions options,
+            final BufferPool bufferPool, final IdHasher hasher) {
+        if (codec instanceof CompressionType) {
+            return ((CompressionType) codec).compress(bytes, options, bufferPool, hasher);
+        }
+        final byte[] compressedBytes = codec.compress(bytes, options);
+        if (hasher != null) {
+            hasher.update(compressedBytes, 0, compressedBytes.length);
+        }
+        return compressedBytes;
+    }
+
+    /**
+     * Decompress bytes using a codec. Built-in codecs and dictionaries decompress directly into an array of the given
+     * size if it is known. Otherwise, their intermediate buffers are taken from the given pool.
+     *
+     * @param codec codec to decompress with
+     * @param bytes to be decompressed
+     * @param size number of decompressed bytes or {@code null} if unknown
+     * @param bufferPool pool to take intermediate buffers from
+     * @return the decompressed bytes
+     */
+    static byte[] decompress(final CompressionCodec codec, final byte[] bytes, final Integer size,
+            final BufferPool bufferPool) {
+        if (codec instanceof CompressionType) {
+            final CompressionType compressionType = (CompressionType) codec;
+            return size == null ? compressionType.decompress(bytes, bufferPool)
+                    : compressionType.decompress(bytes, size.intValue());
+        }
+        if (codec instanceof ZstdDictionary && size != null) {
+            return ((ZstdDictionary) codec).decompress(bytes, size.intValue());
+        }
+        return codec.decompress(bytes);
+    }
+
+    private static void register(final CompressionCodec codec) {
+        final CompressionCodec existingId = CODECS_BY_ID.putIfAbsent(codec.getId(), codec);
+        if (existingId != null) {
+            throw new IllegalStateException(
+                    "Compression type id %d of %s is already used by %s".formatted(codec.getId(), codec.getName(),
+                            existingId.getName()));
+        }
+        final CompressionCodec existingName = CODECS_BY_NAME.putIfAbsent(codec.getName(), codec);
+        if (existingName != null) {
+            throw new IllegalStateException("Compression type name %s is already used".formatted(codec.getName()));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Options for compressing payloads with a {@link CompressionCodec}. Options that are not set use the default of the
+ * codec.
+ */
+@Value
+@Builder
+public class CompressionOptions {
+    /**
+     * Options using the defaults of the codec
+     */
+    public static final CompressionOptions DEFAULT = builder().build();
+    /**
+     * Compression level or {@code null} to use the default level of the codec. Valid levels depend on the codec.
+     */
+    Integer level;
+    /**
+     * Base 2 logarithm of the window size used for matching or {@code null} to use the default window size of the
+     * codec
+     */
+    Integer windowLog;
+
+    /**
+     * Check whether options use the defaults of the codec
+     *
+     * @return true if neither level nor window size is set
+     */
+    public boolean isDefault() {
+        return this.level == null && this.windowLog == null;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Codec and options used for compressing payloads of a topic
+ */
+@Value
+public class CompressionSettings {
+    /**
+     * Settings for not compressing payloads
+     */
+    public static final CompressionSettings NONE =
+            new CompressionSettings(CompressionType.NONE, CompressionOptions.DEFAULT);
+    @NonNull
+    CompressionCodec codec;
+    @NonNull
+    CompressionOptions options;
+
+    boolean isCompressing() {
+        return this.codec != CompressionType.NONE;
+    }
+
+    byte[] createHeader() {
+        if (this.codec instanceof ZstdDictionary) {
+            return ((ZstdDictionary) this.codec).createHeader();
+        }
+        if (this.codec instanceof BlockCompression) {
+            return ((BlockCompression) this.codec).createHeader();
+        }
+        return new byte[]{this.codec.getId()};
+    }
+}
@@ -24,152 +24,115 @@
 
 package com.bakdata.kafka;
 
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import lombok.Getter;
 import lombok.NonNull;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream.BLOCKSIZE;
+import net.jpountz.lz4.LZ4FrameOutputStream.FLG.Bits;
+import net.jpountz.xxhash.XXHashFactory;
 import org.apache.kafka.common.compress.Compression;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.record.internal.RecordBatch;
-import org.apache.kafka.common.utils.BufferSupplier;
 import org.apache.kafka.common.utils.ByteBufferOutputStream;
+import org.xerial.snappy.SnappyInputStream;
+import org.xerial.snappy.SnappyOutputStream;
 
 /**
- * This enum specifies the various allowed compression types and their implementation.
+ * This enum specifies the built-in compression types and their implementation. Ids of built-in types are reserved and
+ * must not be used by other {@link CompressionCodec} implementations.
  */
-public enum CompressionType {
-    NONE(0, "none") {
-        @Override
-        public byte[] compress(final byte[] bytes) {
-            return bytes;
-        }
-
-        @Override
-        public byte[] decompress(final byte[] bytes) {
-            return bytes;
-        }
-    },
-
-    GZIP(1, "gzip") {
-        @Override
-        public byte[] compress(final byte[] bytes) {
-            return CompressionType.compress(org.apache.kafka.common.record.internal.CompressionType.GZIP, bytes);
-        }
-
-        @Override
-        public byte[] decompress(final byte[] bytes) {
-            return CompressionType.decompress(org.apache.kafka.common.record.internal.CompressionType.GZIP, bytes);
-        }
-    },
-
-    SNAPPY(2, "snappy") {
-        @Override
-        public byte[] compress(final byte[] bytes) {
-            return CompressionType.compress(org.apache.kafka.common.record.internal.CompressionType.SNAPPY, bytes);
-        }
-
-        @Override
-        public byte[] decompress(final byte[] bytes) {
-            return CompressionType.decompress(org.apache.kafka.common.record.internal.CompressionType.SNAPPY, bytes);
-        }
-    },
-
-    LZ4(3, "lz4") {
-        @Override
-        public byte[] compress(final byte[] bytes) {
-            return CompressionType.compress(org.apache.kafka.common.record.internal.CompressionType.LZ4, bytes);
-        }
-
-        @Override
-        public byte[] decompress(final byte[] bytes) {
-            return CompressionType.decompress(org.apache.kafka.common.record.internal.CompressionType.LZ4, bytes);
-        }
-    },
-
-    ZSTD(4, "zstd") {
-        @Override
-        public byte[] compress(final byte[] bytes) {
-            return CompressionType.compress(org.apache.kafka.common.record.internal.CompressionType.ZSTD, bytes);
-        }
-
-        @Override
-        public byte[] decompress(final byte[] bytes) {
-            return CompressionType.decompress(org.apache.kafka.common.record.internal.CompressionType.ZSTD, bytes);
-        }
-    };
+public enum CompressionType implements CompressionCodec {
+    NONE(0, "none", null),
+    GZIP(1, "gzip", org.apache.kafka.common.record.internal.CompressionType.GZIP),
+    SNAPPY(2, "snappy", org.apache.kafka.common.record.internal.CompressionType.SNAPPY),
+    LZ4(3, "lz4", org.apache.kafka.common.record.internal.CompressionType.LZ4),
+    ZSTD(4, "zstd", org.apache.kafka.common.record.internal.CompressionType.ZSTD);
 
     public static final String HEADER_NAME = HeaderLargeMessagePayloadProtocol.HEADER_PREFIX + "compression";
     static final String OLD_HEADER_NAME = HeaderLargeMessagePayloadProtocol.HEADER_PREFIX + ".compression";
-    private static final BufferSupplier BUFFER_SUPPLIER = BufferSupplier.create();
+    static final String KEY_HEADER_NAME = HeaderLargeMessagePayloadProtocol.HEADER_PREFIX + "key.compression";
+    static final String VALUE_HEADER_NAME = HeaderLargeMessagePayloadProtocol.HEADER_PREFIX + "value.compression";
+    static final int ZSTD_MIN_WINDOW_LOG = 10;
+    // larger windows cannot be decoded by zstd without raising the memory limit of the decoder, which Kafka does not do
+    static final int ZSTD_MAX_WINDOW_LOG = 27;
+    private static final int GZIP_BUFFER_SIZE = 8 * 1024;
+    private static final int GZIP_OUTPUT_BUFFER_SIZE = 16 * 1024;
+    private static final int LZ4_MIN_LEVEL = 1;
     @Getter
     private final byte id;
     @NonNull
     @Getter
     private final String name;
+    private final org.apache.kafka.common.record.internal.CompressionType kafkaCompressionType;
 
-    CompressionType(final int id, final String name) {
+    CompressionType(final int id, final String name,
+            final org.apache.kafka.common.record.internal.CompressionType kafkaCompressionType) {
         this.id = (byte) id;
         this.name = name;
+        this.kafkaCompressionType = kafkaCompressionType;
     }
 
-    static CompressionType forId(final int id) {
-        switch (id) {
-            case 0:
-                return NONE;
-            case 1:
-                return GZIP;
-            case 2:
-                return SNAPPY;
-            case 3:
-                return LZ4;
-            case 4:
-                return ZSTD;
-            default:
-                throw new IllegalArgumentException("Unknown compression type id: " + id);
-        }
+    /**
+     * Get the name of the compression header of the key or value. {@link #HEADER_NAME} is shared by key and value and
+     * only read if a record has no compression header of key or value, i.e., it has been written by earlier versions.
+     *
+     * @param isKey whether the header describes the key of a message
+     * @return name of the compression header
+     */
+    static String getHeaderName(final boolean isKey) {
+        return isKey ? KEY_HEADER_NAME : VALUE_HEADER_NAME;
     }
 
     static CompressionType forName(final String name) {
-        if (NONE.name.equals(name)) {
-            return NONE;
-        } else if (GZIP.name.equals(name)) {
-            return GZIP;
-        } else if (SNAPPY.name.equals(name)) {
-            return SNAPPY;
-        } else if (LZ4.name.equals(name)) {
-            return LZ4;
-        } else if (ZSTD.name.equals(name)) {
-            return ZSTD;
-        } else {
-            throw new IllegalArgumentException("Unknown compression name: " + name);
-        }
-    }
-
-    private static byte[] compress(final org.apache.kafka.common.record.internal.CompressionType compressionType,
-            final byte[] bytes) {
-        final ByteBufferOutputStream outStream = new ByteBufferOutputStream(bytes.length);
-        final Compression compression = Compression.of(compressionType).build();
-        try (final OutputStream stream = compression.wrapForOutput(outStream, RecordBatch.MAGIC_VALUE_V2)) {
-            stream.write(bytes);
-            stream.flush();
-        } catch (final IOException e) {
-            throw new SerializationException("Failed to compress with type " + compressionType, e);
-        }
+        return Arrays.stream(values())
+                .filter(compressionType -> compressionType.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown compression name: " + name));
+    }
 
-        return outStream.buffer().array();
+    private static OutputStream createGzipStream(final OutputStream outStream, final Integer level)
+            throws IOException {
+        return level == null ? new GZIPOutputStream(outStream, GZIP_BUFFER_SIZE)
+                : new LeveledGZIPOutputStream(outStream, level);
     }
 
-    private static byte[] decompress(final org.apache.kafka.common.record.internal.CompressionType compressionType,
-            final byte[] bytes) {
-        final Compression compression = Compression.of(compressionType).build();
-        try (final InputStream stream = compression.wrapForInput(ByteBuffer.wrap(bytes), RecordBatch.MAGIC_VALUE_V2,
-                BUFFER_SUPPLIER)) {
-            return stream.readAllBytes();
-        } catch (final IOException e) {
-            throw new SerializationException("Failed to compress with type " + compressionType, e);
+    private static OutputStream createLz4Stream(final OutputStream outStream, final Integer level)
+            throws IOException {
+        // Kafka uses blocks of 64 KB
+        if (level == null) {
+            return new LZ4FrameOutputStream(outStream, BLOCKSIZE.SIZE_64KB);
+        }
+        // Kafka uses the fast compressor for the lowest level and the high compressor otherwise
+        final LZ4Factory factory = LZ4Factory.fastestInstance();
+        final LZ4Compressor compressor = level == LZ4_MIN_LEVEL ? factory.fastCompressor()
+                : factory.highCompressor(level);
+        return new LZ4FrameOutputStream(outStream, BLOCKSIZE.SIZE_64KB, -1L, compressor,
+                XXHashFactory.fastestInstance().hash32(), Bits.BLOCK_INDEPENDENCE);
+    }
+
+    private static OutputStream createZstdStream(final OutputStream outStream, final CompressionOptions options)
+            throws IOException {
+        final ZstdOutputStreamNoFinalizer stream = new ZstdOutputStreamNoFinalizer(outStream);
+        if (options.getLevel() != null) {
+            stream.setLevel(options.getLevel());
+        }
+        if (options.getWindowLog() != null) {
+            stream.setWindowLog(options.getWindowLog());
         }
+        return stream;
     }
 
     /**
@@ -178,7 +141,14 @@ public enum CompressionType {
      * @param bytes to be compressed
      * @return the compressed bytes
      */
-    public abstract byte[] compress(byte[] bytes);
+    public byte[] compress(final byte[] bytes) {
+        return this.compress(bytes, CompressionOptions.DEFAULT);
+    }
+
+    @Override
+    public byte[] compress(final byte[] bytes, final CompressionOptions options) {
+        return this.compress(bytes, options, BufferPool.DEFAULT);
+    }
 
     /**
      * Decompress bytes using this type of compression
@@ -186,5 +156,228 @@ public enum CompressionType {
      * @param bytes to be decompressed
      * @return the decompressed bytes
      */
-    public abstract byte[] decompress(byte[] bytes);
+    @Override
+    public byte[] decompress(final byte[] bytes) {
+        return this.decompress(bytes, BufferPool.DEFAULT);
+    }
+
+    /**
+     * Compress bytes using this type of compression. Intermediate buffers are taken from the given pool, so that only
+     * the returned array is allocated.
+     *
+     * @param bytes to be compressed
+     * @param bufferPool pool to take intermediate buffers from
+     * @return the compressed bytes
+     */
+    byte[] compress(final byte[] bytes, final BufferPool bufferPool) {
+        return this.compress(bytes, CompressionOptions.DEFAULT, bufferPool);
+    }
+
+    /**
+     * Compress bytes using this type of compression and the given options. Intermediate buffers are taken from the
+     * given pool, so that only the returned array is allocated.
+     *
+     * @param bytes to be compressed
+     * @param options options for compressing
+     * @param bufferPool pool to take intermediate buffers from
+     * @return the compressed bytes
+     */
+    byte[] compress(final byte[] bytes, final CompressionOptions options, final BufferPool bufferPool) {
+        return this.compress(bytes, options, bufferPool, null);
+    }
+
+    /**
+     * Compress bytes using this type of compression and the given options. Intermediate buffers are taken from the
+     * given pool, so that only the returned array is allocated. The compressed bytes are passed to the given hasher
+     * while they are written, so that the id of the compressed payload is computed in the same pass.
+     *
+     * @param bytes to be compressed
+     * @param options options for compressing
+     * @param bufferPool pool to take intermediate buffers from
+     * @param hasher hasher to pass the compressed bytes to or {@code null}
+     * @return the compressed bytes
+     */
+    byte[] compress(final byte[] bytes, final CompressionOptions options, final BufferPool bufferPool,
+            final IdHasher hasher) {
+        if (this.kafkaCompressionType == null) {
+            if (hasher != null) {
+                hasher.update(bytes, 0, bytes.length);
+            }
+            return bytes;
+        }
+        final ByteBuffer buffer = bufferPool.acquire(bytes.length);
+        try {
+            final ByteBufferOutputStream outStream = hasher == null ? new ByteBufferOutputStream(buffer)
+                    : new HashingByteBufferOutputStream(buffer, hasher);
+            // Kafka does not support configuring the window size
+            try (final OutputStream stream = options.getWindowLog() == null
+                    ? this.createCompression(options.getLevel()).wrapForOutput(outStream, RecordBatch.MAGIC_VALUE_V2)
+                    : this.compress(outStream, options)) {
+                stream.write(bytes);
+                stream.flush();
+            } catch (final IOException e) {
+                throw new SerializationException("Failed to compress with type " + this.kafkaCompressionType, e);
+            }
+            // the stream replaces its buffer if it needs to grow, so only the written bytes of the current one are
+            // copied
+            return BufferPool.toBytes(outStream.buffer());
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * Decompress bytes using this type of compression. Intermediate buffers are taken from the given pool, so that
+     * only the returned array is allocated.
+     *
+     * @param bytes to be decompressed
+     * @param bufferPool pool to take intermediate buffers from
+     * @return the decompressed bytes
+     */
+    byte[] decompress(final byte[] bytes, final BufferPool bufferPool) {
+        if (this.kafkaCompressionType == null) {
+            return bytes;
+        }
+        final Compression compression = Compression.of(this.kafkaCompressionType).build();
+        try (final InputStream stream = compression.wrapForInput(ByteBuffer.wrap(bytes), RecordBatch.MAGIC_VALUE_V2,
+                BufferPool.decompressionBufferSupplier())) {
+            return bufferPool.readAllBytes(stream, bytes.length);
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to decompress with type " + this.kafkaCompressionType, e);
+        }
+    }
+
+    /**
+     * Decompress bytes of known decompressed size using this type of compression. The decompressed bytes are read
+     * directly into the returned array.
+     *
+     * @param bytes to be decompressed
+     * @param size number of decompressed bytes
+     * @return the decompressed bytes
+     */
+    byte[] decompress(final byte[] bytes, final int size) {
+        if (this.kafkaCompressionType == null) {
+            return bytes;
+        }
+        final Compression compression = Compression.of(this.kafkaCompressionType).build();
+        try (final InputStream stream = compression.wrapForInput(ByteBuffer.wrap(bytes), RecordBatch.MAGIC_VALUE_V2,
+                BufferPool.decompressionBufferSupplier())) {
+            return BufferPool.readExactly(stream, size);
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to decompress with type " + this.kafkaCompressionType, e);
+        }
+    }
+
+    /**
+     * Compress a stream using this type of compression. Data is compressed while writing in the same format as
+     * {@link #compress(byte[], CompressionOptions)}, so that the payload can be read using
+     * {@link #decompress(byte[])}.
+     *
+     * @param outStream stream to write compressed bytes to. It is closed when the returned stream is closed.
+     * @param options options for compressing
+     * @return stream accepting uncompressed bytes
+     */
+    @Override
+    public OutputStream compress(final OutputStream outStream, final CompressionOptions options) {
+        try {
+            switch (this) {
+                case NONE:
+                    return outStream;
+                case GZIP:
+                    return new BufferedOutputStream(createGzipStream(outStream, options.getLevel()),
+                            GZIP_OUTPUT_BUFFER_SIZE);
+                case SNAPPY:
+                    return new SnappyOutputStream(outStream);
+                case LZ4:
+                    return createLz4Stream(outStream, options.getLevel());
+                case ZSTD:
+                    return createZstdStream(outStream, options);
+                default:
+                    throw new IllegalStateException("Unknown compression type: " + this);
+            }
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to compress with type " + this.kafkaCompressionType, e);
+        }
+    }
+
+    /**
+     * Decompress a stream using this type of compression. Data is decompressed while reading, so that neither the
+     * compressed nor the decompressed payload needs to fit into memory. Kafka's decompression streams only read from
+     * buffers, so the codec libraries shipped with Kafka are used directly.
+     *
+     * @param inStream stream of compressed bytes. It is closed when the returned stream is closed.
+     * @return stream of decompressed bytes
+     */
+    @Override
+    public InputStream decompress(final InputStream inStream) {
+        try {
+            switch (this) {
+                case NONE:
+                    return inStream;
+                case GZIP:
+                    return new GZIPInputStream(inStream, GZIP_BUFFER_SIZE);
+                case SNAPPY:
+                    return new SnappyInputStream(inStream);
+                case LZ4:
+                    return new LZ4FrameInputStream(inStream);
+                case ZSTD:
+                    return new ZstdInputStreamNoFinalizer(inStream);
+                default:
+                    throw new IllegalStateException("Unknown compression type: " + this);
+            }
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to decompress with type " + this.kafkaCompressionType, e);
+        }
+    }
+
+    /**
+     * Check whether this type of compression supports the given options. Levels are supported by {@link #GZIP},
+     * {@link #LZ4}, and {@link #ZSTD}. The window size is only supported by {@link #ZSTD} and must be between
+     * {@value #ZSTD_MIN_WINDOW_LOG} and {@value #ZSTD_MAX_WINDOW_LOG}, so that payloads can be decompressed without
+     * raising the memory limit of the decoder.
+     *
+     * @param options options to check
+     * @throws IllegalArgumentException if the options are not supported
+     */
+    @Override
+    public void validate(final CompressionOptions options) {
+        final Integer windowLog = options.getWindowLog();
+        if (windowLog != null) {
+            if (this != ZSTD) {
+                throw new IllegalArgumentException("Compression type " + this.name + " does not support window sizes");
+            }
+            if (windowLog < ZSTD_MIN_WINDOW_LOG || windowLog > ZSTD_MAX_WINDOW_LOG) {
+                throw new IllegalArgumentException(
+                        "zstd window log must be between %d and %d but was %d".formatted(ZSTD_MIN_WINDOW_LOG,
+                                ZSTD_MAX_WINDOW_LOG, windowLog));
+            }
+        }
+        if (options.getLevel() != null) {
+            // Kafka validates levels when building the compression
+            this.createCompression(options.getLevel());
+        }
+    }
+
+    private Compression createCompression(final Integer level) {
+        if (level == null) {
+            return Compression.of(this.kafkaCompressionType).build();
+        }
+        switch (this) {
+            case GZIP:
+                return Compression.gzip().level(level).build();
+            case LZ4:
+                return Compression.lz4().level(level).build();
+            case ZSTD:
+                return Compression.zstd().level(level).build();
+            default:
+                throw new IllegalArgumentException("Compression type " + this.name + " does not support levels");
+        }
+    }
+
+    private static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+        private LeveledGZIPOutputStream(final OutputStream outStream, final int level) throws IOException {
+            super(outStream, GZIP_BUFFER_SIZE);
+            this.def.setLevel(level);
+        }
+    }
 }
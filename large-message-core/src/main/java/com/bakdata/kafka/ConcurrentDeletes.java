@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.apache.kafka.common.errors.InterruptException;
+
+/**
+ * Helper for implementing {@link BlobStorageClient#deleteAllObjects(String, String)} with batch requests. Batches are
+ * deleted concurrently while the objects are listed. The number of requests in flight is bounded, so that the listing
+ * is not buffered and the blob storage is not overloaded. Deleted objects are reported as metrics to track progress.
+ */
+class ConcurrentDeletes {
+    private final String scheme;
+    private final int parallelism;
+    private final Semaphore permits;
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    /**
+     * Create a new instance for deleting objects
+     *
+     * @param scheme scheme of the blob storage
+     * @param parallelism maximum number of requests in flight
+     */
+    ConcurrentDeletes(final String scheme, final int parallelism) {
+        this.scheme = scheme;
+        this.parallelism = parallelism;
+        this.permits = new Semaphore(parallelism);
+    }
+
+    private static RuntimeException asRuntimeException(final Throwable e) {
+        final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+    }
+
+    /**
+     * Send a delete request. Blocks while the maximum number of requests is in flight.
+     *
+     * @param request function sending the request. Its future completes with the number of deleted objects.
+     * @throws RuntimeException if a previous request has failed
+     */
+    void submit(final Supplier<CompletableFuture<Integer>> request) {
+        this.acquire(1);
+        if (this.error.get() != null) {
+            this.permits.release();
+            this.throwIfFailed();
+        }
+        final CompletableFuture<Integer> future;
+        try {
+            future = request.get();
+        } catch (final RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+        future.whenComplete((deleted, e) -> {
+            if (e == null) {
+                LargeMessageMetrics.recordDeletedObjects(this.scheme, deleted);
+            } else {
+                this.error.compareAndSet(null, e);
+            }
+            this.permits.release();
+        });
+    }
+
+    /**
+     * Wait for all requests to complete
+     *
+     * @throws RuntimeException if a request has failed
+     */
+    void await() {
+        this.acquire(this.parallelism);
+        this.permits.release(this.parallelism);
+        this.throwIfFailed();
+    }
+
+    private void acquire(final int n) {
+        try {
+            this.permits.acquire(n);
+        } catch (final InterruptedException e) {
+            throw new InterruptException(e);
+        }
+    }
+
+    private void throwIfFailed() {
+        final Throwable e = this.error.get();
+        if (e != null) {
+            throw asRuntimeException(e);
+        }
+    }
+}
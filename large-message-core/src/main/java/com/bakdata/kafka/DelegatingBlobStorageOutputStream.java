@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link BlobStorageOutputStream} that delegates to an upload stream of a blob storage SDK. The upload is completed
+ * by closing the delegate. Aborting leaves the upload uncompleted, so that the blob storage discards the parts that
+ * have been uploaded so far.
+ */
+@RequiredArgsConstructor
+class DelegatingBlobStorageOutputStream extends BlobStorageOutputStream {
+    private final @NonNull OutputStream delegate;
+    private final @NonNull String uri;
+    private boolean closed;
+    private boolean completed;
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.delegate.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        this.delegate.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.delegate.flush();
+    }
+
+    @Override
+    public void abort() {
+        this.closed = true;
+    }
+
+    @Override
+    public String getUri() {
+        if (!this.completed) {
+            throw new IllegalStateException("Payload has not been stored");
+        }
+        return this.uri;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.delegate.close();
+            this.completed = true;
+        }
+    }
+}
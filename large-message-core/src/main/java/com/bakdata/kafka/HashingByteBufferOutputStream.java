@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.nio.ByteBuffer;
+import lombok.NonNull;
+import org.apache.kafka.common.utils.ByteBufferOutputStream;
+
+/**
+ * {@link ByteBufferOutputStream} that passes all written bytes to an {@link IdHasher}. This allows computing the id of
+ * a payload while it is written instead of reading it again.
+ */
+class HashingByteBufferOutputStream extends ByteBufferOutputStream {
+    private final @NonNull IdHasher hasher;
+
+    HashingByteBufferOutputStream(final ByteBuffer buffer, final @NonNull IdHasher hasher) {
+        super(buffer);
+        this.hasher = hasher;
+    }
+
+    @Override
+    public void write(final int b) {
+        super.write(b);
+        this.hasher.update(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) {
+        super.write(bytes, off, len);
+        this.hasher.update(bytes, off, len);
+    }
+
+    @Override
+    public void write(final ByteBuffer sourceBuffer) {
+        final ByteBuffer duplicate = sourceBuffer.duplicate();
+        super.write(sourceBuffer);
+        if (duplicate.hasArray()) {
+            this.hasher.update(duplicate.array(), duplicate.arrayOffset() + duplicate.position(),
+                    duplicate.remaining());
+        } else {
+            final byte[] bytes = new byte[duplicate.remaining()];
+            duplicate.get(bytes);
+            this.hasher.update(bytes, 0, bytes.length);
+        }
+    }
+}
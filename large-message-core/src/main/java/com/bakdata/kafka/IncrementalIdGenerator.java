@@ -0,0 +1,47 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+/**
+ * An {@code IncrementalIdGenerator} generates an id from bytes that are passed incrementally. This allows
+ * {@link LargeMessageStoringClient} to compute the id of a compressed payload while compressing it, instead of reading
+ * the compressed payload again. Ids must be the same as generated by {@link #generateId(byte[])}.
+ */
+public interface IncrementalIdGenerator extends IdGenerator {
+
+    /**
+     * Create a hasher for computing the id of a single payload
+     *
+     * @return hasher accepting the bytes of the payload
+     */
+    IdHasher createHasher();
+
+    @Override
+    default String generateId(final byte[] bytes) {
+        final IdHasher hasher = this.createHasher();
+        hasher.update(bytes, 0, bytes.length);
+        return hasher.generateId();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.Builder;
+import lombok.NonNull;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+/**
+ * Splits values of records that exceed a defined size into chunk records, so that large messages can be sent through
+ * Kafka without blob storage. This is an alternative to {@link LargeMessageStoringClient} for topics that cannot
+ * afford a round trip to blob storage. Chunk records carry the key and headers of the original record and metadata of
+ * the chunk in additional headers. They are written to the same partition, so that they can be reassembled using
+ * {@link LargeMessageReassembler}. Records must therefore have a key or an explicit partition. Chunks must be sent in
+ * order, e.g., using an idempotent producer, and should be sent in a transaction if consumers must not observe
+ * incomplete messages after producer failures.
+ */
+@Builder
+public class LargeMessageChunker {
+    /**
+     * Maximum size in bytes of the value of a chunk record. It must leave room for the key and headers within the
+     * {@code max.request.size} of the producer.
+     */
+    private final int maxChunkSize;
+
+    /**
+     * Split a record into chunk records if its value exceeds the maximum chunk size
+     *
+     * @param record record to split
+     * @return chunk records in the order they must be sent. The record itself is returned if it does not need to be
+     * split.
+     * @throws IllegalArgumentException if the record has to be split but has neither a key nor a partition
+     */
+    public List<ProducerRecord<byte[], byte[]>> split(final @NonNull ProducerRecord<byte[], byte[]> record) {
+        if (this.maxChunkSize <= 0) {
+            throw new IllegalStateException("Maximum chunk size must be positive");
+        }
+        final byte[] value = record.value();
+        if (value == null || value.length <= this.maxChunkSize) {
+            return List.of(record);
+        }
+        if (record.key() == null && record.partition() == null) {
+            throw new IllegalArgumentException(
+                    "Records split into chunks require a key or partition, so that all chunks are sent to the same "
+                            + "partition");
+        }
+        final UUID messageId = UUID.randomUUID();
+        final int count = (int) ((value.length + (long) this.maxChunkSize - 1) / this.maxChunkSize);
+        return IntStream.range(0, count)
+                .mapToObj(index -> {
+                    final int offset = index * this.maxChunkSize;
+                    final byte[] chunk =
+                            Arrays.copyOfRange(value, offset, Math.min(value.length, offset + this.maxChunkSize));
+                    final Headers headers = new RecordHeaders(record.headers().toArray());
+                    new RecordChunk(messageId, index, count, value.length).addHeaders(headers);
+                    return new ProducerRecord<>(record.topic(), record.partition(), record.timestamp(), record.key(),
+                            chunk, headers);
+                })
+                .toList();
+    }
+}
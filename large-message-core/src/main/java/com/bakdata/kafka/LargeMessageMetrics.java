@@ -0,0 +1,394 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import lombok.experimental.UtilityClass;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.KafkaMetricsContext;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Meter;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.metrics.stats.Percentiles.BucketSizing;
+import org.apache.kafka.common.metrics.stats.WindowedCount;
+import org.apache.kafka.common.utils.Time;
+
+/**
+ * Metrics of storing and retrieving large messages. Metrics are shared by all clients in a JVM and reported via JMX in
+ * the {@value #JMX_PREFIX} domain.
+ * <p>
+ * Stored records are tagged by topic and type, i.e., key or value. Uploads are additionally tagged by the scheme of the
+ * blob storage. Retrieved records are tagged by type and downloads by scheme because the topic is not known when
+ * retrieving. Compression metrics are tagged by compression type.
+ * <p>
+ * Sensors that have not been recorded for {@value #INACTIVE_SENSOR_EXPIRATION_SECONDS} seconds are removed with their
+ * metrics, so that metrics of topics and clients that are no longer used do not accumulate.
+ */
+@UtilityClass
+class LargeMessageMetrics {
+    static final String JMX_PREFIX = "kafka.large.message";
+    static final String GROUP = "large-message-metrics";
+    static final String SCHEME_TAG = "scheme";
+    static final String TOPIC_TAG = "topic";
+    static final String TYPE_TAG = "type";
+    static final String COMPRESSION_TYPE_TAG = "compression-type";
+    static final String CACHE_TAG = "cache";
+    static final long INACTIVE_SENSOR_EXPIRATION_SECONDS = 3600L;
+    // 512 KiB resolution
+    static final long DEFAULT_MAX_PAYLOAD_SIZE = 1024L * 1024L * 1024L;
+    // 30 ms resolution
+    static final long DEFAULT_MAX_TRANSFER_TIME_MS = TimeUnit.MINUTES.toMillis(1L);
+    // percentiles use 2,000 linear buckets of 4 bytes each, i.e., their resolution is the max divided by 2,000
+    private static final int PERCENTILES_SIZE_IN_BYTES = 8000;
+    // 30 ms resolution because reassembly waits for chunk records to be consumed
+    private static final double MAX_REASSEMBLY_TIME_MS = TimeUnit.MINUTES.toMillis(1L);
+    private static final Metrics METRICS = new Metrics(new MetricConfig(), List.of(new JmxReporter()), Time.SYSTEM,
+            true, new KafkaMetricsContext(JMX_PREFIX));
+    private static final AtomicLong BUFFERED_CHUNK_BYTES = new AtomicLong();
+    private static volatile double maxPayloadSize = DEFAULT_MAX_PAYLOAD_SIZE;
+    private static volatile double maxTransferTimeMs = DEFAULT_MAX_TRANSFER_TIME_MS;
+
+    static {
+        METRICS.addMetric(metricName("buffered-chunk-bytes", "Total size in bytes of chunks buffered for reassembly",
+                Map.of()), (Gauge<Long>) (config, now) -> BUFFERED_CHUNK_BYTES.get());
+    }
+
+    static Metrics getMetrics() {
+        return METRICS;
+    }
+
+    /**
+     * Configure the upper bounds of percentiles of payload sizes and transfer times. Sensors keep the bounds they have
+     * been created with, so clients in a JVM should use the same bounds.
+     *
+     * @param maxPayloadSize upper bound of payload sizes in bytes
+     * @param maxTransferTimeMs upper bound of upload and download times in milliseconds
+     */
+    static void configureRanges(final long maxPayloadSize, final long maxTransferTimeMs) {
+        LargeMessageMetrics.maxPayloadSize = maxPayloadSize;
+        LargeMessageMetrics.maxTransferTimeMs = maxTransferTimeMs;
+    }
+
+    /**
+     * Record the time it took to create a client and open connections to blob storage
+     *
+     * @param scheme scheme of the blob storage
+     * @param timeMs warm-up time in milliseconds
+     */
+    static void recordWarmUp(final String scheme, final long timeMs) {
+        final Map<String, String> tags = Map.of(SCHEME_TAG, scheme);
+        sensor("warmup-time." + scheme, sensor -> {
+            sensor.add(metricName("warmup-time-avg", "Average time in ms to warm up blob storage clients", tags),
+                    new Avg());
+            sensor.add(metricName("warmup-time-max", "Maximum time in ms to warm up blob storage clients", tags),
+                    new Max());
+        }).record(timeMs);
+    }
+
+    /**
+     * Record a stored record
+     *
+     * @param topic topic of the record
+     * @param isKey whether the payload is the key of the record
+     * @param backed whether the payload has been stored on blob storage
+     * @param size size of the payload in bytes
+     */
+    static void recordStore(final String topic, final boolean isKey, final boolean backed, final long size) {
+        final String type = type(isKey);
+        final Map<String, String> tags = Map.of(TOPIC_TAG, String.valueOf(topic), TYPE_TAG, type);
+        final String records = backed ? "backed-records" : "inline-records";
+        sensor(records + "." + topic + "." + type, sensor -> addCount(sensor, records,
+                "of " + records.replace('-', ' ') + " stored", tags)).record();
+        sensor("payload-size." + topic + "." + type, sensor -> addDistribution(sensor, "payload-size",
+                "size in bytes of stored payloads", maxPayloadSize, tags)).record(size);
+    }
+
+    /**
+     * Record a payload uploaded to blob storage
+     *
+     * @param scheme scheme of the blob storage
+     * @param topic topic of the record
+     * @param isKey whether the payload is the key of the record
+     * @param size size of the payload in bytes
+     * @param timeMs upload time in milliseconds
+     */
+    static void recordUpload(final String scheme, final String topic, final boolean isKey, final long size,
+            final double timeMs) {
+        final String type = type(isKey);
+        final Map<String, String> tags = Map.of(SCHEME_TAG, scheme, TOPIC_TAG, String.valueOf(topic), TYPE_TAG, type);
+        final String suffix = "." + scheme + "." + topic + "." + type;
+        sensor("upload-time" + suffix, sensor -> addDistribution(sensor, "upload-time",
+                "time in ms to upload payloads", maxTransferTimeMs, tags)).record(timeMs);
+        sensor("upload-bytes" + suffix, sensor -> addSum(sensor, "upload-bytes", "bytes uploaded", tags))
+                .record(size);
+    }
+
+    static void recordUploadError(final String scheme) {
+        final Map<String, String> tags = Map.of(SCHEME_TAG, scheme);
+        sensor("upload-errors." + scheme, sensor -> addCount(sensor, "upload-errors", "of failed uploads", tags))
+                .record();
+    }
+
+    /**
+     * Record a retrieved record
+     *
+     * @param isKey whether the payload is the key of the record
+     * @param backed whether the payload has been stored on blob storage
+     */
+    static void recordRetrieve(final boolean isKey, final boolean backed) {
+        final String type = type(isKey);
+        final Map<String, String> tags = Map.of(TYPE_TAG, type);
+        final String records = backed ? "retrieved-backed-records" : "retrieved-inline-records";
+        sensor(records + "." + type, sensor -> addCount(sensor, records, "of " + records.replace('-', ' '), tags))
+                .record();
+    }
+
+    /**
+     * Record a payload downloaded from blob storage
+     *
+     * @param scheme scheme of the blob storage
+     * @param size size of the payload in bytes
+     * @param timeMs download time in milliseconds
+     */
+    static void recordDownload(final String scheme, final long size, final double timeMs) {
+        final Map<String, String> tags = Map.of(SCHEME_TAG, scheme);
+        sensor("download-time." + scheme, sensor -> addDistribution(sensor, "download-time",
+                "time in ms to download payloads", maxTransferTimeMs, tags)).record(timeMs);
+        sensor("download-bytes." + scheme, sensor -> addSum(sensor, "download-bytes", "bytes downloaded", tags))
+                .record(size);
+    }
+
+    static void recordDownloadError(final String scheme) {
+        final Map<String, String> tags = Map.of(SCHEME_TAG, scheme);
+        sensor("download-errors." + scheme, sensor -> addCount(sensor, "download-errors", "of failed downloads",
+                tags)).record();
+    }
+
+    /**
+     * Record compression of a payload
+     *
+     * @param compressionType compression type used
+     * @param size size of the uncompressed payload in bytes
+     * @param compressedSize size of the compressed payload in bytes
+     * @param timeMs compression time in milliseconds
+     */
+    static void recordCompression(final CompressionCodec compressionType, final int size, final int compressedSize,
+            final double timeMs) {
+        final String name = compressionType.getName();
+        final Map<String, String> tags = Map.of(COMPRESSION_TYPE_TAG, name);
+        sensor("compression-time." + name, sensor -> addTime(sensor, "compression-time",
+                "time in ms to compress payloads", tags)).record(timeMs);
+        if (size > 0) {
+            sensor("compression-ratio." + name, sensor -> {
+                sensor.add(metricName("compression-ratio-avg",
+                        "Average ratio of compressed to uncompressed payload size", tags), new Avg());
+                sensor.add(metricName("compression-ratio-max",
+                        "Maximum ratio of compressed to uncompressed payload size", tags), new Max());
+            }).record((double) compressedSize / size);
+        }
+    }
+
+    /**
+     * Record decompression of a payload
+     *
+     * @param compressionType compression type used
+     * @param timeMs decompression time in milliseconds
+     */
+    static void recordDecompression(final CompressionCodec compressionType, final double timeMs) {
+        final String name = compressionType.getName();
+        final Map<String, String> tags = Map.of(COMPRESSION_TYPE_TAG, name);
+        sensor("decompression-time." + name, sensor -> addTime(sensor, "decompression-time",
+                "time in ms to decompress payloads", tags)).record(timeMs);
+    }
+
+    /**
+     * Record the compression type selected for a topic by adaptive compression
+     *
+     * @param topic topic the compression type has been selected for
+     * @param compressionType selected compression type
+     * @param entropy entropy of the sampled payload in bits per byte
+     */
+    static void recordCompressionDecision(final String topic, final CompressionCodec compressionType,
+            final double entropy) {
+        final String name = compressionType.getName();
+        final Map<String, String> tags = Map.of(TOPIC_TAG, String.valueOf(topic), COMPRESSION_TYPE_TAG, name);
+        sensor("compression-decisions." + topic + "." + name, sensor -> addCount(sensor, "compression-decisions",
+                "of times the compression type has been selected", tags)).record();
+        final Map<String, String> topicTags = Map.of(TOPIC_TAG, String.valueOf(topic));
+        sensor("sample-entropy." + topic, sensor -> addStat(sensor, "sample-entropy",
+                "entropy in bits per byte of sampled payloads", topicTags)).record(entropy);
+    }
+
+    /**
+     * Record a message reassembled from chunk records
+     *
+     * @param topic topic of the message
+     * @param timeMs time in milliseconds from consuming the first chunk to consuming the last chunk
+     */
+    static void recordReassembly(final String topic, final double timeMs) {
+        final Map<String, String> tags = Map.of(TOPIC_TAG, String.valueOf(topic));
+        sensor("reassembly-time." + topic, sensor -> addDistribution(sensor, "reassembly-time",
+                "time in ms to reassemble messages from chunks", MAX_REASSEMBLY_TIME_MS, tags)).record(timeMs);
+    }
+
+    /**
+     * Record an incomplete message dropped because buffered chunks exceeded the maximum size
+     *
+     * @param topic topic of the message
+     */
+    static void recordReassemblyEviction(final String topic) {
+        final Map<String, String> tags = Map.of(TOPIC_TAG, String.valueOf(topic));
+        sensor("reassembly-evictions." + topic, sensor -> addCount(sensor, "reassembly-evictions",
+                "of incomplete messages dropped", tags)).record();
+    }
+
+    /**
+     * Record an upload that has been skipped because the payload has recently been stored or is being uploaded
+     *
+     * @param topic name of the topic the payload is associated with
+     */
+    static void recordDeduplicatedUpload(final String topic) {
+        final Map<String, String> tags = Map.of(TOPIC_TAG, String.valueOf(topic));
+        sensor("deduplicated-uploads." + topic, sensor -> addCount(sensor, "deduplicated-uploads",
+                "of uploads skipped because the payload has already been stored", tags)).record();
+    }
+
+    /**
+     * Record objects deleted from blob storage
+     *
+     * @param scheme scheme of the blob storage
+     * @param count number of deleted objects
+     */
+    static void recordDeletedObjects(final String scheme, final long count) {
+        final Map<String, String> tags = Map.of(SCHEME_TAG, scheme);
+        sensor("deleted-objects." + scheme, sensor -> addSum(sensor, "deleted-objects", "objects deleted", tags))
+                .record(count);
+    }
+
+    static void adjustBufferedChunkBytes(final long delta) {
+        BUFFERED_CHUNK_BYTES.addAndGet(delta);
+    }
+
+    /**
+     * Register gauges for the statistics of a retrieval cache
+     *
+     * @param name name of the cache
+     * @param cache cache to report
+     */
+    static void registerCache(final String name, final BlobCache cache) {
+        final Map<String, String> tags = Map.of(CACHE_TAG, name);
+        addGauge("cache-hit-total", "Total number of cache hits", tags, cache, CacheStats::hitCount);
+        addGauge("cache-miss-total", "Total number of cache misses", tags, cache, CacheStats::missCount);
+        addGauge("cache-eviction-total", "Total number of payloads evicted from the cache", tags, cache,
+                CacheStats::evictionCount);
+        METRICS.addMetric(metricName("cache-size-bytes", "Total size in bytes of cached payloads", tags),
+                (Gauge<Long>) (config, now) -> cache.weightedSize());
+    }
+
+    static MetricName metricName(final String name, final String description, final Map<String, String> tags) {
+        return METRICS.metricName(name, GROUP, description, tags);
+    }
+
+    static Sensor sensor(final String name, final Consumer<? super Sensor> initializer) {
+        final Sensor sensor = METRICS.getSensor(name);
+        if (sensor != null) {
+            return sensor;
+        }
+        synchronized (METRICS) {
+            final Sensor existing = METRICS.getSensor(name);
+            if (existing != null) {
+                return existing;
+            }
+            final Sensor created = METRICS.sensor(name, null, INACTIVE_SENSOR_EXPIRATION_SECONDS);
+            initializer.accept(created);
+            return created;
+        }
+    }
+
+    static double toMillis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String type(final boolean isKey) {
+        return isKey ? "key" : "value";
+    }
+
+    private static void addCount(final Sensor sensor, final String prefix, final String description,
+            final Map<String, String> tags) {
+        sensor.add(new Meter(new WindowedCount(),
+                metricName(prefix + "-rate", "Number per second " + description, tags),
+                metricName(prefix + "-total", "Total number " + description, tags)));
+    }
+
+    private static void addSum(final Sensor sensor, final String prefix, final String description,
+            final Map<String, String> tags) {
+        sensor.add(new Meter(
+                metricName(prefix + "-rate", "Number per second of " + description, tags),
+                metricName(prefix + "-total", "Total number of " + description, tags)));
+    }
+
+    private static void addTime(final Sensor sensor, final String prefix, final String description,
+            final Map<String, String> tags) {
+        addStat(sensor, prefix, description, tags);
+    }
+
+    private static void addStat(final Sensor sensor, final String prefix, final String description,
+            final Map<String, String> tags) {
+        sensor.add(metricName(prefix + "-avg", "Average " + description, tags), new Avg());
+        sensor.add(metricName(prefix + "-max", "Maximum " + description, tags), new Max());
+    }
+
+    /**
+     * Add average, maximum and percentiles. Percentiles are estimated from linear buckets between 0 and {@code max},
+     * so larger values are reported as {@code max}.
+     */
+    private static void addDistribution(final Sensor sensor, final String prefix, final String description,
+            final double max, final Map<String, String> tags) {
+        addStat(sensor, prefix, description, tags);
+        sensor.add(new Percentiles(PERCENTILES_SIZE_IN_BYTES, max, BucketSizing.LINEAR,
+                new Percentile(metricName(prefix + "-p50", "Median " + description, tags), 50.0),
+                new Percentile(metricName(prefix + "-p95", "95th percentile " + description, tags), 95.0),
+                new Percentile(metricName(prefix + "-p99", "99th percentile " + description, tags), 99.0)));
+    }
+
+    private static void addGauge(final String name, final String description, final Map<String, String> tags,
+            final BlobCache cache, final ToLongFunction<? super CacheStats> stat) {
+        METRICS.addMetric(metricName(name, description, tags),
+                (Gauge<Long>) (config, now) -> stat.applyAsLong(cache.stats()));
+    }
+}
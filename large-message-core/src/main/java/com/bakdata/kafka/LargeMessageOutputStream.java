@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.google.common.io.CountingOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Stream for storing a payload with {@link LargeMessageStoringClient}. Bytes are buffered in memory until the payload
+ * reaches the configured maximum size. From then on, the payload is compressed and uploaded to blob storage while
+ * writing, so that it does not need to fit into memory.
+ * <p>
+ * {@link #finish()} completes the payload and returns the bytes representing it. Closing the stream without
+ * finishing it discards the payload.
+ */
+@Slf4j
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class LargeMessageOutputStream extends OutputStream {
+    private final @NonNull LargeMessageStoringClient storer;
+    private final @NonNull String topic;
+    private final boolean isKey;
+    private final Headers headers;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private BlobStorageOutputStream upload;
+    private CountingOutputStream uploadedBytes;
+    private OutputStream compressedStream;
+    private CompressionSettings compression;
+    private long size;
+    private long start;
+    private boolean closed;
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.ensureOpen();
+        if (this.upload == null && this.size + 1 >= this.storer.getMaxSize()) {
+            this.startUpload();
+        }
+        this.getStream().write(b);
+        this.size++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        this.ensureOpen();
+        if (this.upload == null && this.size + len >= this.storer.getMaxSize()) {
+            this.startUpload();
+        }
+        this.getStream().write(b, off, len);
+        this.size += len;
+    }
+
+    /**
+     * Complete the payload. If the payload has been uploaded to blob storage, the upload is completed. The stream is
+     * closed afterwards.
+     *
+     * @return bytes representing the payload. Can be read using {@link LargeMessageRetrievingClient}
+     * @throws IOException if the payload cannot be completed
+     */
+    public byte[] finish() throws IOException {
+        this.ensureOpen();
+        this.closed = true;
+        LargeMessageMetrics.recordStore(this.topic, this.isKey, this.upload != null, this.size);
+        if (this.upload == null) {
+            return this.storer.serializeInline(this.buffer.toByteArray(), this.isKey, this.headers);
+        }
+        try {
+            this.compressedStream.close();
+        } catch (final IOException | RuntimeException e) {
+            LargeMessageMetrics.recordUploadError(this.storer.getScheme());
+            throw e;
+        }
+        final String uri = this.upload.getUri();
+        LargeMessageMetrics.recordUpload(this.storer.getScheme(), this.topic, this.isKey,
+                this.uploadedBytes.getCount(), LargeMessageMetrics.toMillis(System.nanoTime() - this.start));
+        log.debug("Stored large message on blob storage: {}", uri);
+        final PayloadSize payloadSize = new PayloadSize(this.size, this.uploadedBytes.getCount());
+        return this.storer.serializeBacked(uri, payloadSize, this.isKey, this.headers, this.compression);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        if (this.upload != null) {
+            this.upload.abort();
+            // releases resources of the compression stream, the aborted upload ignores the close
+            this.compressedStream.close();
+        }
+    }
+
+    private void startUpload() throws IOException {
+        this.start = System.nanoTime();
+        this.upload = this.storer.openUpload(this.topic, this.isKey);
+        this.uploadedBytes = new CountingOutputStream(this.upload);
+        // payloads without headers cannot be flagged as compressed
+        this.compression = this.headers == null ? CompressionSettings.NONE : this.storer.getCompression(this.topic);
+        this.compressedStream =
+                this.compression.getCodec().compress(this.uploadedBytes, this.compression.getOptions());
+        this.buffer.writeTo(this.compressedStream);
+        this.buffer = null;
+    }
+
+    private OutputStream getStream() {
+        return this.compressedStream == null ? this.buffer : this.compressedStream;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream has been closed");
+        }
+    }
+}
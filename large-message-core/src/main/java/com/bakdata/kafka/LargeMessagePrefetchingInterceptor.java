@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static com.bakdata.kafka.HeaderLargeMessagePayloadProtocol.usesHeaders;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerInterceptor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.utils.ThreadUtils;
+
+/**
+ * {@link ConsumerInterceptor} that downloads all payloads stored on blob storage of a polled batch in parallel. The
+ * payloads are put into the shared retrieval cache, so that a {@link LargeMessageRetrievingClient} with the same cache
+ * configuration finds them ready or waits for the pending download.
+ * <p>
+ * Interceptors are invoked after records have been deserialized. Prefetching therefore only applies to records that
+ * are still serialized, e.g., in Kafka Connect workers or consumers using a
+ * {@link org.apache.kafka.common.serialization.ByteArrayDeserializer}. Consumers deserializing large messages
+ * directly can use {@code LargeMessageAsyncDeserializer} instead, which starts downloading each payload when a record
+ * is polled. Only messages using {@link AbstractLargeMessageConfig#USE_HEADERS_CONFIG headers} are prefetched.
+ * <p>
+ * At most {@link LargeMessagePrefetchingInterceptorConfig#PREFETCH_PARALLELISM_CONFIG prefetch parallelism} payloads
+ * are downloaded and as many are queued. Further payloads are downloaded by the polling thread, which slows down
+ * polling until downloads catch up.
+ * <p>
+ * For configuration options, see {@link LargeMessagePrefetchingInterceptorConfig}.
+ */
+@Slf4j
+public class LargeMessagePrefetchingInterceptor implements ConsumerInterceptor<Object, Object> {
+    private LargeMessageRetrievingClient retriever;
+    private ExecutorService executor;
+
+    @Override
+    public void configure(final Map<String, ?> configs) {
+        final LargeMessagePrefetchingInterceptorConfig config = new LargeMessagePrefetchingInterceptorConfig(configs);
+        this.retriever = config.getRetriever();
+        final int parallelism = config.getPrefetchParallelism();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism),
+                ThreadUtils.createThreadFactory("large-message-prefetch-%d", true), new CallerRunsPolicy());
+    }
+
+    @Override
+    public ConsumerRecords<Object, Object> onConsume(final ConsumerRecords<Object, Object> records) {
+        for (final ConsumerRecord<Object, Object> consumerRecord : records) {
+            this.prefetch(consumerRecord.key(), consumerRecord.headers(), true);
+            this.prefetch(consumerRecord.value(), consumerRecord.headers(), false);
+        }
+        return records;
+    }
+
+    @Override
+    public void onCommit(final Map<TopicPartition, OffsetAndMetadata> offsets) {
+        // do nothing
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+        this.retriever.close();
+    }
+
+    private void prefetch(final Object data, final Headers headers, final boolean isKey) {
+        if (data instanceof byte[] && usesHeaders(headers, isKey)) {
+            this.executor.execute(() -> {
+                try {
+                    this.retriever.prefetch((byte[]) data, headers, isKey);
+                } catch (final RuntimeException e) {
+                    // deserialization reports the error when retrieving the payload
+                    log.warn("Error prefetching large message", e);
+                }
+            });
+        }
+    }
+}
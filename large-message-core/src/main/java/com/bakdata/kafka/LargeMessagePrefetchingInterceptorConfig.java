@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigDef.Importance;
+import org.apache.kafka.common.config.ConfigDef.Type;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+
+/**
+ * This class provides configuration options for {@link LargeMessagePrefetchingInterceptor}. It offers configuration
+ * of the following properties in addition to the ones of {@link AbstractLargeMessageConfig}:
+ * <ul>
+ *     <li> prefetch parallelism
+ * </ul>
+ * The interceptor requires a retrieval cache and a consumer that passes keys or values to it as bytes. The cache must
+ * be configured like the one of the deserializer or converter retrieving the records.
+ */
+public class LargeMessagePrefetchingInterceptorConfig extends AbstractLargeMessageConfig {
+    public static final String PREFETCH_PARALLELISM_CONFIG = PREFIX + "prefetch.parallelism";
+    public static final String PREFETCH_PARALLELISM_DOC =
+            "Maximum number of payloads downloaded concurrently by the prefetching interceptor.";
+    public static final int PREFETCH_PARALLELISM_DEFAULT = 8;
+    private static final ConfigDef config = configDef();
+
+    LargeMessagePrefetchingInterceptorConfig(final Map<?, ?> originals) {
+        super(config, originals);
+        if (this.getLong(CACHE_MAX_BYTES_CONFIG) == 0L) {
+            throw new ConfigException(CACHE_MAX_BYTES_CONFIG + " must be set to use prefetching");
+        }
+        if (!passesBytes(originals.get(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG))
+                && !passesBytes(originals.get(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG))) {
+            throw new ConfigException("Prefetching requires " + ByteArrayDeserializer.class.getName()
+                    + " for keys or values because interceptors are invoked after deserialization."
+                    + " Use LargeMessageAsyncDeserializer to retrieve deserialized records concurrently");
+        }
+    }
+
+    private static boolean passesBytes(final Object deserializer) {
+        if (deserializer instanceof Class<?>) {
+            return ByteArrayDeserializer.class.isAssignableFrom((Class<?>) deserializer);
+        }
+        if (deserializer instanceof String) {
+            return ByteArrayDeserializer.class.getName().equals(((String) deserializer).trim());
+        }
+        // the deserializer is unknown if the interceptor is not configured by a consumer
+        return deserializer == null;
+    }
+
+    private static ConfigDef configDef() {
+        return baseConfigDef()
+                .define(PREFETCH_PARALLELISM_CONFIG, Type.INT, PREFETCH_PARALLELISM_DEFAULT,
+                        ConfigDef.Range.atLeast(1), Importance.LOW, PREFETCH_PARALLELISM_DOC);
+    }
+
+    int getPrefetchParallelism() {
+        return this.getInt(PREFETCH_PARALLELISM_CONFIG);
+    }
+}
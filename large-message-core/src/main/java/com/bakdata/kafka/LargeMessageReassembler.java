@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+/**
+ * Reassembles messages split into chunk records by {@link LargeMessageChunker}. Chunks are buffered until all chunks
+ * of a message have been consumed. The memory used for buffering is bounded. If it is exceeded, incomplete messages are
+ * dropped, starting with the message whose first chunk has been consumed earliest. Remaining chunks of recently dropped
+ * messages are skipped. Offsets should not be committed
+ * beyond {@link #getFirstBufferedOffset(TopicPartition)}, so that buffered chunks are consumed again after a restart.
+ * Instances are not thread-safe and are meant to be used by the thread polling the consumer.
+ */
+@Slf4j
+public class LargeMessageReassembler implements AutoCloseable {
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MAX_DROPPED_MESSAGES = 1_000;
+    private final long maxBufferedBytes;
+    // insertion order is the order in which the first chunk of each message has been consumed
+    private final Map<MessageId, PendingMessage> pendingMessages = new LinkedHashMap<>();
+    // ids of the most recently dropped messages, so that their remaining chunks are not buffered again
+    private final Set<MessageId> droppedMessages = Collections.newSetFromMap(new LinkedHashMap<MessageId, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<MessageId, Boolean> eldest) {
+            return this.size() > MAX_DROPPED_MESSAGES;
+        }
+    });
+    private long bufferedBytes;
+
+    /**
+     * Create a new reassembler
+     *
+     * @param maxBufferedBytes maximum total size in bytes of buffered chunks
+     */
+    public LargeMessageReassembler(final long maxBufferedBytes) {
+        if (maxBufferedBytes <= 0L) {
+            throw new IllegalArgumentException("Maximum buffered bytes must be positive but was " + maxBufferedBytes);
+        }
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    /**
+     * Add a consumed record. Records that are not chunks are returned immediately.
+     *
+     * @param record consumed record
+     * @return reassembled message once all of its chunks have been added. Its offset is the offset of the last chunk
+     * and its headers are the headers of the original record.
+     */
+    public Optional<ConsumerRecord<byte[], byte[]>> add(final @NonNull ConsumerRecord<byte[], byte[]> record) {
+        final Optional<RecordChunk> chunk = RecordChunk.fromHeaders(record.headers());
+        if (chunk.isEmpty()) {
+            return Optional.of(record);
+        }
+        return this.addChunk(record, chunk.get());
+    }
+
+    /**
+     * Get the offset of the first buffered chunk of a partition. Offsets committed for the partition must not exceed
+     * it, so that incomplete messages are not lost when the consumer restarts.
+     *
+     * @param partition partition to get offset for
+     * @return offset of the first buffered chunk or empty if no chunks of the partition are buffered
+     */
+    public OptionalLong getFirstBufferedOffset(final TopicPartition partition) {
+        return this.pendingMessages.entrySet().stream()
+                .filter(entry -> entry.getKey().getPartition().equals(partition))
+                .mapToLong(entry -> entry.getValue().getFirstOffset())
+                .min();
+    }
+
+    /**
+     * Drop buffered chunks of a partition, e.g., when it has been revoked from the consumer
+     *
+     * @param partition partition to drop chunks of
+     */
+    public void drop(final TopicPartition partition) {
+        this.pendingMessages.entrySet().removeIf(entry -> {
+            if (entry.getKey().getPartition().equals(partition)) {
+                this.release(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        this.droppedMessages.removeIf(id -> id.getPartition().equals(partition));
+    }
+
+    /**
+     * Get the total size in bytes of buffered chunks
+     *
+     * @return size of buffered chunks
+     */
+    public long getBufferedBytes() {
+        return this.bufferedBytes;
+    }
+
+    @Override
+    public void close() {
+        this.pendingMessages.values().forEach(this::release);
+        this.pendingMessages.clear();
+        this.droppedMessages.clear();
+    }
+
+    private Optional<ConsumerRecord<byte[], byte[]>> addChunk(final ConsumerRecord<byte[], byte[]> record,
+            final RecordChunk chunk) {
+        if (chunk.getSize() > Math.min(this.maxBufferedBytes, MAX_ARRAY_SIZE)) {
+            throw new SerializationException("Message of " + chunk.getSize() + " bytes split into chunks exceeds "
+                    + "maximum buffered bytes of " + this.maxBufferedBytes);
+        }
+        final byte[] value = record.value();
+        if (value == null) {
+            throw new SerializationException("Chunk " + chunk.getIndex() + " of message " + chunk.getMessageId()
+                    + " has no value");
+        }
+        final MessageId id = new MessageId(new TopicPartition(record.topic(), record.partition()),
+                chunk.getMessageId());
+        if (this.droppedMessages.contains(id)) {
+            log.debug("Skipping chunk {} of dropped message {}", chunk.getIndex(), chunk.getMessageId());
+            return Optional.empty();
+        }
+        final PendingMessage message = this.pendingMessages.computeIfAbsent(id,
+                ignored -> new PendingMessage(chunk.getCount(), record.offset(), System.nanoTime()));
+        if (message.getCount() != chunk.getCount()) {
+            throw new SerializationException("Chunk " + chunk.getIndex() + " of message " + chunk.getMessageId()
+                    + " has count " + chunk.getCount() + " but previous chunks have count " + message.getCount());
+        }
+        if (!message.add(chunk.getIndex(), value)) {
+            log.debug("Ignoring duplicate chunk {} of message {}", chunk.getIndex(), chunk.getMessageId());
+            return Optional.empty();
+        }
+        this.adjustBufferedBytes(value.length);
+        if (!message.isComplete()) {
+            this.evict(id);
+            return Optional.empty();
+        }
+        this.pendingMessages.remove(id);
+        this.release(message);
+        final byte[] bytes = message.assemble(chunk.getSize());
+        LargeMessageMetrics.recordReassembly(record.topic(),
+                LargeMessageMetrics.toMillis(System.nanoTime() - message.getStartNanos()));
+        final Headers headers = new RecordHeaders(record.headers().toArray());
+        RecordChunk.removeHeaders(headers);
+        return Optional.of(new ConsumerRecord<>(record.topic(), record.partition(), record.offset(),
+                record.timestamp(), record.timestampType(), record.serializedKeySize(), bytes.length, record.key(),
+                bytes, headers, record.leaderEpoch()));
+    }
+
+    private void evict(final MessageId current) {
+        final Iterator<Map.Entry<MessageId, PendingMessage>> iterator = this.pendingMessages.entrySet().iterator();
+        while (this.bufferedBytes > this.maxBufferedBytes && iterator.hasNext()) {
+            final Map.Entry<MessageId, PendingMessage> entry = iterator.next();
+            if (entry.getKey().equals(current)) {
+                continue;
+            }
+            log.warn("Dropping incomplete message {} because buffered chunks exceed {} bytes",
+                    entry.getKey().getMessageId(), this.maxBufferedBytes);
+            this.release(entry.getValue());
+            iterator.remove();
+            this.droppedMessages.add(entry.getKey());
+            LargeMessageMetrics.recordReassemblyEviction(entry.getKey().getPartition().topic());
+        }
+    }
+
+    private void release(final PendingMessage message) {
+        this.adjustBufferedBytes(-message.getBufferedBytes());
+    }
+
+    private void adjustBufferedBytes(final long delta) {
+        this.bufferedBytes += delta;
+        LargeMessageMetrics.adjustBufferedChunkBytes(delta);
+    }
+
+    @Value
+    private static class MessageId {
+        TopicPartition partition;
+        UUID messageId;
+    }
+
+    private static final class PendingMessage {
+        private final byte[][] chunks;
+        private final long firstOffset;
+        private final long startNanos;
+        private int received;
+        private long bufferedBytes;
+
+        private PendingMessage(final int count, final long firstOffset, final long startNanos) {
+            this.chunks = new byte[count][];
+            this.firstOffset = firstOffset;
+            this.startNanos = startNanos;
+        }
+
+        private int getCount() {
+            return this.chunks.length;
+        }
+
+        private long getFirstOffset() {
+            return this.firstOffset;
+        }
+
+        private long getStartNanos() {
+            return this.startNanos;
+        }
+
+        private long getBufferedBytes() {
+            return this.bufferedBytes;
+        }
+
+        private boolean add(final int index, final byte[] chunk) {
+            if (this.chunks[index] != null) {
+                return false;
+            }
+            this.chunks[index] = chunk;
+            this.received++;
+            this.bufferedBytes += chunk.length;
+            return true;
+        }
+
+        private boolean isComplete() {
+            return this.received == this.chunks.length;
+        }
+
+        private byte[] assemble(final long size) {
+            final byte[] bytes = new byte[(int) size];
+            int offset = 0;
+            for (final byte[] chunk : this.chunks) {
+                System.arraycopy(chunk, 0, bytes, offset, chunk.length);
+                offset += chunk.length;
+            }
+            if (offset != size) {
+                throw new SerializationException("Expected message of " + size + " bytes but chunks contain " + offset
+                        + " bytes");
+            }
+            return bytes;
+        }
+    }
+}
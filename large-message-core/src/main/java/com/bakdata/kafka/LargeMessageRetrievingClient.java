@@ -24,15 +24,24 @@
 
 package com.bakdata.kafka;
 
+import static com.bakdata.kafka.HeaderLargeMessagePayloadProtocol.getHeaderName;
 import static com.bakdata.kafka.HeaderLargeMessagePayloadProtocol.usesHeaders;
 
-import java.util.HashMap;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.Headers;
 
@@ -40,20 +49,83 @@ import org.apache.kafka.common.header.Headers;
  * Client for retrieving actual bytes of messages stored with {@link LargeMessageStoringClient}.
  */
 @Slf4j
-@RequiredArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
 public class LargeMessageRetrievingClient implements AutoCloseable {
 
     private static final LargeMessagePayloadProtocol BYTE_FLAG_PROTOCOL = new ByteFlagLargeMessagePayloadProtocol();
     private static final LargeMessagePayloadProtocol HEADER_PROTOCOL = new HeaderLargeMessagePayloadProtocol();
-    private final @NonNull Map<String, BlobStorageConfig> configs;
-    private final @NonNull Map<String, BlobStorageClient> clientCache = new HashMap<>();
+    private final @NonNull Function<? super String, ? extends BlobStorageConfig> configs;
+    private final @NonNull Map<String, BlobStorageClient> clientCache = new ConcurrentHashMap<>();
+    // payloads are cached per backend configuration, so that backends with different credentials are not mixed
+    private final @NonNull Map<String, Object> backends = new ConcurrentHashMap<>();
+    // dictionaries are few and small, so they are kept for the lifetime of the client
+    private final @NonNull Map<BlobStorageURI, ZstdDictionary> dictionaries = new ConcurrentHashMap<>();
     private final boolean acceptNoHeaders;
+    private final BlobCache cache;
+    private final @NonNull BufferPool bufferPool;
+    private final @NonNull ChunkSettings chunkSettings;
+
+    /**
+     * Create a new client that does not cache retrieved payloads
+     *
+     * @param configs configs of blob storage backends by scheme
+     * @param acceptNoHeaders whether messages without headers should be treated as non-backed messages
+     */
+    public LargeMessageRetrievingClient(final @NonNull Map<String, BlobStorageConfig> configs,
+            final boolean acceptNoHeaders) {
+        this(configs::get, acceptNoHeaders, null, BufferPool.DEFAULT, ChunkSettings.DEFAULT);
+    }
+
+    /**
+     * Remove all headers associated with a retrieved large message, because the record might be serialized again with
+     * different flags. Compression headers shared by key and value are kept until both have been retrieved.
+     *
+     * @param headers headers of the record
+     * @param isKey whether the retrieved payload represents the key of a message
+     */
+    public static void removeHeaders(final Headers headers, final boolean isKey) {
+        headers.remove(getHeaderName(isKey));
+        headers.remove(CompressionType.getHeaderName(isKey));
+        if (headers.lastHeader(getHeaderName(!isKey)) == null) {
+            headers.remove(CompressionType.HEADER_NAME);
+            headers.remove(CompressionType.OLD_HEADER_NAME);
+        }
+        PayloadSize.removeHeaders(headers, isKey);
+    }
 
     static BlobStorageURI deserializeUri(final byte[] uriBytes) {
         final String rawUri = LargeMessagePayload.asUri(uriBytes);
         return BlobStorageURI.create(rawUri);
     }
 
+    private static byte[] getCompressionHeader(final Headers headers, final boolean isKey) {
+        final Header header = headers.lastHeader(CompressionType.getHeaderName(isKey));
+        if (header != null) {
+            return header.value();
+        }
+        // the shared header belongs to the other payload if that one has its own header
+        if (headers.lastHeader(CompressionType.getHeaderName(!isKey)) != null) {
+            return null;
+        }
+        return Optional.ofNullable(headers.lastHeader(CompressionType.HEADER_NAME))
+                .or(() -> Optional.ofNullable(headers.lastHeader(CompressionType.OLD_HEADER_NAME)))
+                .map(Header::value)
+                .orElse(null);
+    }
+
+    private static void recordDownload(final BlobStorageURI uri, final byte[] bytes, final long start) {
+        LargeMessageMetrics.recordDownload(uri.getScheme(), bytes.length,
+                LargeMessageMetrics.toMillis(System.nanoTime() - start));
+    }
+
+    private static void closeQuietly(final InputStream stream) {
+        try {
+            stream.close();
+        } catch (final IOException e) {
+            log.warn("Error closing stream", e);
+        }
+    }
+
     /**
      * Retrieve a payload that may have been stored on blob storage
      *
@@ -68,15 +140,114 @@ public class LargeMessageRetrievingClient implements AutoCloseable {
         }
         final LargeMessagePayloadProtocol protocol = this.getProtocol(headers, isKey);
         final LargeMessagePayload payload = protocol.deserialize(data, headers, isKey);
-        CompressionType compressionType = CompressionType.NONE;
-        final Header compressionHeader = Optional.ofNullable(headers.lastHeader(CompressionType.HEADER_NAME))
-                .or(() -> Optional.ofNullable(headers.lastHeader(CompressionType.OLD_HEADER_NAME)))
-                .orElse(null);
-        if (compressionHeader != null) {
-            compressionType = CompressionType.forId(compressionHeader.value()[0]);
+        final CompressionCodec compressionType = this.getCompressionType(headers, payload, isKey);
+        final PayloadSize size = PayloadSize.fromHeaders(headers, isKey).orElse(null);
+        return this.getBytes(payload, compressionType, size, isKey);
+    }
+
+    /**
+     * Retrieve a payload that may have been stored on blob storage asynchronously. The calling thread is not blocked
+     * while the payload is downloaded.
+     *
+     * @param data payload
+     * @param headers headers that might contain flag to distinguish blob storage backed messages
+     * @param isKey whether the payload represents the key of a message
+     * @return future that completes with the actual payload retrieved from blob storage
+     */
+    public CompletableFuture<byte[]> retrieveBytesAsync(final byte[] data, final Headers headers,
+            final boolean isKey) {
+        if (data == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        final LargeMessagePayloadProtocol protocol = this.getProtocol(headers, isKey);
+        final LargeMessagePayload payload = protocol.deserialize(data, headers, isKey);
+        final CompressionCodec compressionType = this.getCompressionType(headers, payload, isKey);
+        final PayloadSize size = PayloadSize.fromHeaders(headers, isKey).orElse(null);
+        return this.getBytesAsync(payload, compressionType, size, isKey);
+    }
 
-        return this.getBytes(payload, compressionType);
+    /**
+     * Retrieve a payload that may have been stored on blob storage asynchronously. The calling thread is not blocked
+     * while the payload is downloaded.
+     *
+     * @param data payload
+     * @param isKey whether the payload represents the key of a message
+     * @return future that completes with the actual payload retrieved from blob storage
+     */
+    public CompletableFuture<byte[]> retrieveBytesAsync(final byte[] data, final boolean isKey) {
+        if (data == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final LargeMessagePayload payload = BYTE_FLAG_PROTOCOL.deserialize(data, isKey);
+        return this.getBytesAsync(payload, CompressionType.NONE, null, isKey);
+    }
+
+    /**
+     * Retrieve a payload that may have been stored on blob storage as a stream. Backed payloads are downloaded and
+     * decompressed while reading, so that they do not need to fit into memory. Payloads are not put into the cache.
+     *
+     * @param data payload
+     * @param headers headers that might contain flag to distinguish blob storage backed messages
+     * @param isKey whether the payload represents the key of a message
+     * @return stream of the actual payload retrieved from blob storage. It must be closed by the caller.
+     */
+    public InputStream retrieveStream(final byte[] data, final Headers headers, final boolean isKey) {
+        if (data == null) {
+            return null;
+        }
+        final LargeMessagePayloadProtocol protocol = this.getProtocol(headers, isKey);
+        final LargeMessagePayload payload = protocol.deserialize(data, headers, isKey);
+        final CompressionCodec compressionType = this.getCompressionType(headers, payload, isKey);
+        final PayloadSize size = PayloadSize.fromHeaders(headers, isKey).orElse(null);
+        return this.getStream(payload, compressionType, size, isKey);
+    }
+
+    /**
+     * Retrieve a payload that may have been stored on blob storage as a stream. Backed payloads are downloaded while
+     * reading, so that they do not need to fit into memory. Payloads are not put into the cache.
+     *
+     * @param data payload
+     * @param isKey whether the payload represents the key of a message
+     * @return stream of the actual payload retrieved from blob storage. It must be closed by the caller.
+     */
+    public InputStream retrieveStream(final byte[] data, final boolean isKey) {
+        if (data == null) {
+            return null;
+        }
+        final LargeMessagePayload payload = BYTE_FLAG_PROTOCOL.deserialize(data, isKey);
+        return this.getStream(payload, CompressionType.NONE, null, isKey);
+    }
+
+    /**
+     * Download a payload stored on blob storage into the cache, so that retrieving it does not block on blob storage.
+     * Payloads that are not backed or use the byte flag protocol are ignored, as well as any payload if this client
+     * has no cache.
+     *
+     * @param data payload
+     * @param headers headers that might contain flag to distinguish blob storage backed messages
+     * @param isKey whether the payload represents the key of a message
+     */
+    void prefetch(final byte[] data, final Headers headers, final boolean isKey) {
+        if (data == null || this.cache == null || !usesHeaders(headers, isKey)) {
+            return;
+        }
+        final LargeMessagePayload payload = HEADER_PROTOCOL.deserialize(data, headers, isKey);
+        if (payload.isBacked()) {
+            final BlobStorageURI uri = deserializeUri(payload.getData());
+            this.cache.load(this.getBackend(uri), uri, this::download);
+        }
+    }
+
+    /**
+     * Create the client for a blob storage location and open connections to its bucket ahead of time
+     *
+     * @param uri blob storage location
+     * @param connections number of connections to open
+     */
+    void warmUp(final BlobStorageURI uri, final int connections) {
+        final BlobStorageClient client = this.getClient(uri);
+        Objects.requireNonNull(client);
+        client.warmUp(uri.getBucket(), connections);
     }
 
     @Override
@@ -84,6 +255,27 @@ public class LargeMessageRetrievingClient implements AutoCloseable {
         this.clientCache.values().forEach(BlobStorageClient::close);
     }
 
+    private CompressionCodec getCompressionType(final Headers headers, final LargeMessagePayload payload,
+            final boolean isKey) {
+        final byte[] header = getCompressionHeader(headers, isKey);
+        if (header == null) {
+            return CompressionType.NONE;
+        }
+        if (payload.isBacked() && ZstdDictionary.hasDictionary(header)) {
+            final BlobStorageURI uri = ZstdDictionary.createDictionaryUri(deserializeUri(payload.getData()),
+                    ZstdDictionary.getDictionaryId(header));
+            return this.dictionaries.computeIfAbsent(uri, this::loadDictionary);
+        }
+        final CompressionCodec codec = CompressionCodecRegistry.forId(header[0]);
+        return BlockCompression.hasBlocks(header) ? BlockCompression.forDecompression(codec) : codec;
+    }
+
+    private ZstdDictionary loadDictionary(final BlobStorageURI uri) {
+        final ZstdDictionary dictionary = new ZstdDictionary(this.download(uri));
+        log.info("Loaded zstd dictionary from blob storage: {}", uri);
+        return dictionary;
+    }
+
     private LargeMessagePayloadProtocol getProtocol(final Headers headers, final boolean isKey) {
         return this.acceptNoHeaders || usesHeaders(headers, isKey) ? HEADER_PROTOCOL : BYTE_FLAG_PROTOCOL;
     }
@@ -100,25 +292,181 @@ public class LargeMessageRetrievingClient implements AutoCloseable {
             return null;
         }
         final LargeMessagePayload payload = BYTE_FLAG_PROTOCOL.deserialize(data, isKey);
-        return this.getBytes(payload, CompressionType.NONE);
+        return this.getBytes(payload, CompressionType.NONE, null, isKey);
     }
 
-    private byte[] getBytes(final LargeMessagePayload payload, final CompressionType compressionType) {
+    private byte[] getBytes(final LargeMessagePayload payload, final CompressionCodec compressionType,
+            final PayloadSize size, final boolean isKey) {
+        LargeMessageMetrics.recordRetrieve(isKey, payload.isBacked());
         final byte[] deserializedData = payload.getData();
         if (payload.isBacked()) {
-            return this.retrieveBackedBytes(deserializedData, compressionType);
+            return this.retrieveBackedBytes(deserializedData, compressionType, size);
         } else {
-            return deserializedData;
+            return this.decompressInline(deserializedData, compressionType, size);
         }
     }
 
-    private byte[] retrieveBackedBytes(final byte[] data, final CompressionType compressionType) {
+    private CompletableFuture<byte[]> getBytesAsync(final LargeMessagePayload payload,
+            final CompressionCodec compressionType, final PayloadSize size, final boolean isKey) {
+        LargeMessageMetrics.recordRetrieve(isKey, payload.isBacked());
+        final byte[] deserializedData = payload.getData();
+        if (payload.isBacked()) {
+            return this.retrieveBackedBytesAsync(deserializedData, compressionType, size);
+        } else {
+            return CompletableFuture.completedFuture(this.decompressInline(deserializedData, compressionType, size));
+        }
+    }
+
+    private InputStream getStream(final LargeMessagePayload payload, final CompressionCodec compressionType,
+            final PayloadSize size, final boolean isKey) {
+        LargeMessageMetrics.recordRetrieve(isKey, payload.isBacked());
+        final byte[] deserializedData = payload.getData();
+        if (payload.isBacked()) {
+            return this.retrieveBackedStream(deserializedData, compressionType);
+        } else {
+            return new ByteArrayInputStream(this.decompressInline(deserializedData, compressionType, size));
+        }
+    }
+
+    private CompletableFuture<byte[]> retrieveBackedBytesAsync(final byte[] data,
+            final CompressionCodec compressionType, final PayloadSize size) {
+        final BlobStorageURI uri = deserializeUri(data);
+        final byte[] cachedBytes = this.cache == null ? null : this.cache.getIfPresent(this.getBackend(uri), uri);
+        if (cachedBytes != null) {
+            return CompletableFuture.completedFuture(this.decompressCached(compressionType, cachedBytes, size));
+        }
+        final BlobStorageClient client = this.getClient(uri);
+        Objects.requireNonNull(client);
+        final long start = System.nanoTime();
+        return client.getObjectAsync(uri.getBucket(), uri.getKey())
+                .whenComplete((compressedBytes, e) -> {
+                    if (e != null) {
+                        LargeMessageMetrics.recordDownloadError(uri.getScheme());
+                    }
+                })
+                .thenApply(compressedBytes -> {
+                    recordDownload(uri, compressedBytes, start);
+                    log.debug("Extracted large message from blob storage: {}", uri);
+                    if (this.cache == null) {
+                        return this.decompress(compressionType, compressedBytes, size);
+                    }
+                    this.cache.put(this.getBackend(uri), uri, compressedBytes);
+                    return this.decompressCached(compressionType, compressedBytes, size);
+                });
+    }
+
+    private byte[] retrieveBackedBytes(final byte[] data, final CompressionCodec compressionType,
+            final PayloadSize size) {
+        final BlobStorageURI uri = deserializeUri(data);
+        // blocks are decompressed in parallel once the payload is downloaded
+        if (this.cache == null && compressionType != CompressionType.NONE
+                && !(compressionType instanceof BlockCompression) && size != null && size.fitsIntoArray()) {
+            return this.downloadAndDecompress(uri, compressionType, size);
+        }
+        if (this.cache == null) {
+            return this.decompress(compressionType, this.download(uri), size);
+        }
+        final byte[] compressedBytes = this.cache.get(this.getBackend(uri), uri, this::download);
+        return this.decompressCached(compressionType, compressedBytes, size);
+    }
+
+    /**
+     * Decompress a payload while it is downloaded, so that only the decompressed array of known size is allocated.
+     * Uncompressed payloads are not streamed because clients may download them in parallel ranges.
+     */
+    private byte[] downloadAndDecompress(final BlobStorageURI uri, final CompressionCodec compressionType,
+            final PayloadSize size) {
+        final BlobStorageClient client = this.getClient(uri);
+        Objects.requireNonNull(client);
+        final long start = System.nanoTime();
+        final byte[] bytes;
+        try (final InputStream compressedStream = client.getObjectStream(uri.getBucket(), uri.getKey());
+                final InputStream stream = compressionType.decompress(compressedStream)) {
+            bytes = BufferPool.readExactly(stream, (int) size.getSize());
+        } catch (final IOException e) {
+            LargeMessageMetrics.recordDownloadError(uri.getScheme());
+            throw new SerializationException("Cannot read large message from blob storage: " + uri, e);
+        } catch (final RuntimeException e) {
+            LargeMessageMetrics.recordDownloadError(uri.getScheme());
+            throw e;
+        }
+        LargeMessageMetrics.recordDownload(uri.getScheme(), size.getCompressedSize(),
+                LargeMessageMetrics.toMillis(System.nanoTime() - start));
+        log.debug("Extracted large message from blob storage: {}", uri);
+        return bytes;
+    }
+
+    private InputStream retrieveBackedStream(final byte[] data, final CompressionCodec compressionType) {
         final BlobStorageURI uri = deserializeUri(data);
+        final byte[] cachedBytes = this.cache == null ? null : this.cache.getIfPresent(this.getBackend(uri), uri);
+        final InputStream compressedStream =
+                cachedBytes == null ? this.openDownload(uri) : new ByteArrayInputStream(cachedBytes);
+        try {
+            return compressionType.decompress(compressedStream);
+        } catch (final RuntimeException e) {
+            closeQuietly(compressedStream);
+            throw e;
+        }
+    }
+
+    private InputStream openDownload(final BlobStorageURI uri) {
         final BlobStorageClient client = this.getClient(uri);
         Objects.requireNonNull(client);
-        final byte[] compressedBytes = client.getObject(uri.getBucket(), uri.getKey());
+        final long start = System.nanoTime();
+        final InputStream stream;
+        try {
+            stream = client.getObjectStream(uri.getBucket(), uri.getKey());
+        } catch (final RuntimeException e) {
+            LargeMessageMetrics.recordDownloadError(uri.getScheme());
+            throw e;
+        }
+        log.debug("Streaming large message from blob storage: {}", uri);
+        return new DownloadInputStream(stream, uri, start);
+    }
+
+    private byte[] download(final BlobStorageURI uri) {
+        final BlobStorageClient client = this.getClient(uri);
+        Objects.requireNonNull(client);
+        final long start = System.nanoTime();
+        final byte[] bytes;
+        try {
+            bytes = client.getObject(uri.getBucket(), uri.getKey());
+        } catch (final RuntimeException e) {
+            LargeMessageMetrics.recordDownloadError(uri.getScheme());
+            throw e;
+        }
+        recordDownload(uri, bytes, start);
         log.debug("Extracted large message from blob storage: {}", uri);
-        return compressionType.decompress(compressedBytes);
+        return bytes;
+    }
+
+    private byte[] decompress(final CompressionCodec compressionType, final byte[] bytes, final PayloadSize size) {
+        if (compressionType == CompressionType.NONE) {
+            return bytes;
+        }
+        final long start = System.nanoTime();
+        final Integer decompressedSize = size != null && size.fitsIntoArray() ? (int) size.getSize() : null;
+        final byte[] decompressedBytes =
+                CompressionCodecRegistry.decompress(compressionType, bytes, decompressedSize, this.bufferPool);
+        LargeMessageMetrics.recordDecompression(compressionType,
+                LargeMessageMetrics.toMillis(System.nanoTime() - start));
+        return decompressedBytes;
+    }
+
+    private byte[] decompressCached(final CompressionCodec compressionType, final byte[] bytes,
+            final PayloadSize size) {
+        // payloads cached on heap are shared, but callers might modify the returned payload
+        if (compressionType == CompressionType.NONE && !this.cache.isOffHeap()) {
+            return bytes.clone();
+        }
+        return this.decompress(compressionType, bytes, size);
+    }
+
+    private byte[] decompressInline(final byte[] bytes, final CompressionCodec compressionType,
+            final PayloadSize size) {
+        // records of earlier versions share the compression header of key and value, so only the payload size marks
+        // compressed inline payloads
+        return size == null ? bytes : this.decompress(compressionType, bytes, size);
     }
 
     private BlobStorageClient getClient(final BlobStorageURI uri) {
@@ -126,9 +474,87 @@ public class LargeMessageRetrievingClient implements AutoCloseable {
         return this.clientCache.computeIfAbsent(scheme, this::createClient);
     }
 
+    private Object getBackend(final BlobStorageURI uri) {
+        final String scheme = uri.getScheme();
+        return this.backends.computeIfAbsent(scheme, this::createBackend);
+    }
+
+    private Object createBackend(final String scheme) {
+        return Optional.ofNullable(this.configs.apply(scheme))
+                .map(BlobStorageClientRegistry::createKey)
+                .orElseThrow(() -> AbstractLargeMessageConfig.unknownScheme(scheme));
+    }
+
     private BlobStorageClient createClient(final String scheme) {
-        return Optional.ofNullable(this.configs.get(scheme))
-                .map(BlobStorageConfig::createBlobStorageClient)
+        return Optional.ofNullable(this.configs.apply(scheme))
+                .map(BlobStorageClientRegistry::acquire)
+                // chunked payloads can be read regardless of the chunk size
+                .map(client -> new ChunkedBlobStorageClient(client, this.chunkSettings))
                 .orElseThrow(() -> AbstractLargeMessageConfig.unknownScheme(scheme));
     }
+
+    /**
+     * Stream of a payload downloaded from blob storage that records the download once the stream is exhausted or
+     * closed
+     */
+    private static final class DownloadInputStream extends FilterInputStream {
+        private final @NonNull BlobStorageURI uri;
+        private final long start;
+        private long bytesRead;
+        private boolean recorded;
+
+        private DownloadInputStream(final InputStream in, final BlobStorageURI uri, final long start) {
+            super(in);
+            this.uri = uri;
+            this.start = start;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = this.in.read();
+            if (b == -1) {
+                this.record();
+            } else {
+                this.bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int n = this.in.read(b, off, len);
+            if (n == -1) {
+                this.record();
+            } else {
+                this.bytesRead += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = this.in.skip(n);
+            this.bytesRead += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.record();
+            super.close();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void record() {
+            if (!this.recorded) {
+                this.recorded = true;
+                LargeMessageMetrics.recordDownload(this.uri.getScheme(), this.bytesRead,
+                        LargeMessageMetrics.toMillis(System.nanoTime() - this.start));
+            }
+        }
+    }
 }
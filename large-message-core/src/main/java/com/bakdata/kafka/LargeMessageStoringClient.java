@@ -24,11 +24,33 @@
 
 package com.bakdata.kafka;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.Builder;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.InterruptException;
 import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.utils.ThreadUtils;
 
 /**
  * Client for storing large {@code byte[]} on blob storage if the size exceeds a defined limit.
@@ -39,13 +61,35 @@ public class LargeMessageStoringClient implements AutoCloseable {
 
     private static final String VALUE_PREFIX = "values";
     private static final String KEY_PREFIX = "keys";
+    private static final String CONTENT_PREFIX = "content";
     private static final LargeMessagePayloadProtocol BYTE_FLAG_PROTOCOL = new ByteFlagLargeMessagePayloadProtocol();
+    static final Duration DEFAULT_DICTIONARY_REFRESH_INTERVAL = Duration.ofMinutes(5);
+    static final int DEFAULT_DELETE_PARALLELISM = 4;
     private final @NonNull BlobStorageClient client;
     private final BlobStorageURI basePath;
     private final int maxSize;
     private final IdGenerator idGenerator;
     private final @NonNull LargeMessagePayloadProtocol protocol;
-    private final @NonNull CompressionType compressionType;
+    private final @NonNull CompressionCodec compressionType;
+    @Builder.Default
+    private final @NonNull CompressionOptions compressionOptions = CompressionOptions.DEFAULT;
+    @Builder.Default
+    private final @NonNull Map<String, CompressionSettings> topicCompressions = Map.of();
+    private final AdaptiveCompression adaptiveCompression;
+    private final boolean dictionaryEnabled;
+    private final boolean inlineCompressionEnabled;
+    private final int compressionBlockSize;
+    private final UploadDeduplicator deduplicator;
+    private final boolean contentStoreEnabled;
+    @Builder.Default
+    private final @NonNull Duration timeBucketSize = Duration.ZERO;
+    @Builder.Default
+    private final int deleteParallelism = DEFAULT_DELETE_PARALLELISM;
+    @Builder.Default
+    private final @NonNull Duration dictionaryRefreshInterval = DEFAULT_DICTIONARY_REFRESH_INTERVAL;
+    private final Map<String, ActiveDictionary> activeDictionaries = new ConcurrentHashMap<>();
+    @Builder.Default
+    private final @NonNull BufferPool bufferPool = BufferPool.DEFAULT;
 
     private static byte[] serialize(final String uri, final boolean isKey) {
         return BYTE_FLAG_PROTOCOL.serialize(LargeMessagePayload.ofUri(uri), isKey);
@@ -60,7 +104,9 @@ public class LargeMessageStoringClient implements AutoCloseable {
     }
 
     /**
-     * Store bytes on blob storage if they exceed the configured maximum size.
+     * Store bytes on blob storage if they exceed the configured maximum size. If inline compression is enabled,
+     * payloads exceeding the maximum size are compressed first and only stored on blob storage if the compressed
+     * payload still exceeds the maximum size.
      *
      * @param topic name of the topic the bytes are associated with
      * @param bytes payload
@@ -72,16 +118,22 @@ public class LargeMessageStoringClient implements AutoCloseable {
         if (bytes == null) {
             return null;
         }
-        if (this.needsBacking(bytes)) {
-            final byte[] compressedBytes = this.compressionType.compress(bytes);
-            final String uri = this.uploadToBlobStorage(topic, compressedBytes, isKey);
-            if (this.compressionType != CompressionType.NONE) {
-                headers.add(CompressionType.HEADER_NAME, new byte[]{this.compressionType.getId()});
-            }
-            return this.serialize(uri, headers, isKey);
-        } else {
+        if (!this.exceedsMaxSize(bytes)) {
+            LargeMessageMetrics.recordStore(topic, isKey, false, bytes.length);
             return this.serialize(bytes, headers, isKey);
         }
+        final CompressionSettings compression = this.getCompression(topic, bytes);
+        final IdHasher hasher = this.createHasher(compression);
+        final byte[] compressedBytes = this.compress(compression, bytes, hasher);
+        final PayloadSize size = new PayloadSize(bytes.length, compressedBytes.length);
+        if (this.fitsInline(compression, compressedBytes)) {
+            LargeMessageMetrics.recordStore(topic, isKey, false, bytes.length);
+            return this.serializeCompressed(compressedBytes, size, isKey, headers, compression);
+        }
+        LargeMessageMetrics.recordStore(topic, isKey, true, bytes.length);
+        final String id = this.generateId(compressedBytes, hasher);
+        final String uri = this.uploadToBlobStorage(topic, compressedBytes, isKey, id, isShareable(compression));
+        return this.serializeBacked(uri, size, isKey, headers, compression);
     }
 
     /**
@@ -96,8 +148,8 @@ public class LargeMessageStoringClient implements AutoCloseable {
         if (bytes == null) {
             return null;
         }
-        if (this.needsBacking(bytes)) {
-            final String uri = this.uploadToBlobStorage(topic, bytes, isKey);
+        if (this.needsBacking(topic, bytes, isKey)) {
+            final String uri = this.uploadToBlobStorage(topic, bytes, isKey, this.generateId(bytes, null), true);
             return serialize(uri, isKey);
         } else {
             return serialize(bytes, isKey);
@@ -105,7 +157,141 @@ public class LargeMessageStoringClient implements AutoCloseable {
     }
 
     /**
-     * Delete all files associated with a topic from blob storage
+     * Store bytes on blob storage asynchronously if they exceed the configured maximum size. The calling thread is not
+     * blocked while the payload is uploaded. Headers are modified once the upload has completed. If inline compression
+     * is enabled, payloads exceeding the maximum size are compressed first and only stored on blob storage if the
+     * compressed payload still exceeds the maximum size.
+     *
+     * @param topic name of the topic the bytes are associated with
+     * @param bytes payload
+     * @param isKey whether the bytes represent the key of a message
+     * @param headers headers used to store flag distinguishing blob storage backed payloads
+     * @return future that completes with the bytes representing the payload. Can be read using
+     * {@link LargeMessageRetrievingClient}
+     */
+    public CompletableFuture<byte[]> storeBytesAsync(final String topic, final byte[] bytes, final boolean isKey,
+            final Headers headers) {
+        if (bytes == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!this.exceedsMaxSize(bytes)) {
+            LargeMessageMetrics.recordStore(topic, isKey, false, bytes.length);
+            return CompletableFuture.completedFuture(this.serialize(bytes, headers, isKey));
+        }
+        final CompressionSettings compression = this.getCompression(topic, bytes);
+        final IdHasher hasher = this.createHasher(compression);
+        final byte[] compressedBytes = this.compress(compression, bytes, hasher);
+        final PayloadSize size = new PayloadSize(bytes.length, compressedBytes.length);
+        if (this.fitsInline(compression, compressedBytes)) {
+            LargeMessageMetrics.recordStore(topic, isKey, false, bytes.length);
+            return CompletableFuture.completedFuture(
+                    this.serializeCompressed(compressedBytes, size, isKey, headers, compression));
+        }
+        LargeMessageMetrics.recordStore(topic, isKey, true, bytes.length);
+        final String id = this.generateId(compressedBytes, hasher);
+        return this.uploadToBlobStorageAsync(topic, compressedBytes, isKey, id, isShareable(compression))
+                .thenApply(uri -> this.serializeBacked(uri, size, isKey, headers, compression));
+    }
+
+    /**
+     * Store bytes on blob storage asynchronously if they exceed the configured maximum size. The calling thread is not
+     * blocked while the payload is uploaded.
+     *
+     * @param topic name of the topic the bytes are associated with
+     * @param bytes payload
+     * @param isKey whether the bytes represent the key of a message
+     * @return future that completes with the bytes representing the payload. Can be read using
+     * {@link LargeMessageRetrievingClient}
+     */
+    public CompletableFuture<byte[]> storeBytesAsync(final String topic, final byte[] bytes, final boolean isKey) {
+        if (bytes == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (this.needsBacking(topic, bytes, isKey)) {
+            return this.uploadToBlobStorageAsync(topic, bytes, isKey, this.generateId(bytes, null), true)
+                    .thenApply(uri -> serialize(uri, isKey));
+        } else {
+            return CompletableFuture.completedFuture(serialize(bytes, isKey));
+        }
+    }
+
+    /**
+     * Open a stream for storing a payload. The payload is buffered in memory until it exceeds the configured maximum
+     * size. Then, it is compressed and uploaded to blob storage while writing. Blob storage object ids of streamed
+     * payloads are always random because the payload is not known before uploading it.
+     *
+     * @param topic name of the topic the payload is associated with
+     * @param isKey whether the payload represents the key of a message
+     * @param headers headers used to store flag distinguishing blob storage backed payloads
+     * @return stream for the payload. {@link LargeMessageOutputStream#finish()} returns the bytes representing the
+     * payload
+     */
+    public LargeMessageOutputStream openStream(final String topic, final boolean isKey,
+            final @NonNull Headers headers) {
+        return new LargeMessageOutputStream(this, topic, isKey, headers);
+    }
+
+    /**
+     * Open a stream for storing a payload. The payload is buffered in memory until it exceeds the configured maximum
+     * size. Then, it is uploaded to blob storage while writing. Blob storage object ids of streamed payloads are always
+     * random because the payload is not known before uploading it.
+     *
+     * @param topic name of the topic the payload is associated with
+     * @param isKey whether the payload represents the key of a message
+     * @return stream for the payload. {@link LargeMessageOutputStream#finish()} returns the bytes representing the
+     * payload
+     */
+    public LargeMessageOutputStream openStream(final String topic, final boolean isKey) {
+        return new LargeMessageOutputStream(this, topic, isKey, null);
+    }
+
+    /**
+     * Train a zstd dictionary from sample payloads of a topic and activate it, so that it is used for compressing new
+     * payloads of the topic. The dictionary is stored on blob storage next to the payloads of the topic, so that
+     * consumers can load it. Previous dictionaries are kept because existing payloads still reference them. Other
+     * producers pick up the new dictionary after their dictionary refresh interval.
+     *
+     * @param topic name of the topic
+     * @param samples sample payloads of the topic. A few thousand samples that are representative of the payloads
+     * usually suffice.
+     * @param dictionarySize maximum size of the dictionary in bytes, e.g., 112640
+     * @return id of the dictionary
+     */
+    public int trainDictionary(final String topic, final Collection<byte[]> samples, final int dictionarySize) {
+        Objects.requireNonNull(this.basePath, "Base path must not be null");
+        final ZstdDictionary dictionary = ZstdDictionary.train(samples, dictionarySize);
+        final String topicPrefix = this.createTopicPrefix(topic);
+        final String bucket = this.basePath.getBucket();
+        final String uri = this.client.putObject(dictionary.getBytes(), bucket,
+                ZstdDictionary.createDictionaryKey(topicPrefix, dictionary.getDictionaryId()));
+        log.info("Stored zstd dictionary for topic '{}' trained from {} samples: {}", topic, samples.size(), uri);
+        this.activateDictionary(topic, dictionary.getDictionaryId());
+        this.activeDictionaries.put(topic, new ActiveDictionary(dictionary, System.currentTimeMillis()));
+        return dictionary.getDictionaryId();
+    }
+
+    /**
+     * Activate a zstd dictionary that has previously been trained for a topic, e.g., to roll back to an older
+     * dictionary
+     *
+     * @param topic name of the topic
+     * @param dictionaryId id of the dictionary
+     */
+    public void activateDictionary(final String topic, final int dictionaryId) {
+        Objects.requireNonNull(this.basePath, "Base path must not be null");
+        final String topicPrefix = this.createTopicPrefix(topic);
+        final byte[] pointer = ByteBuffer.allocate(Integer.BYTES).putInt(dictionaryId).array();
+        final String key = ZstdDictionary.createActiveDictionaryKey(topicPrefix);
+        this.client.putObject(pointer, this.basePath.getBucket(), key);
+        this.activeDictionaries.remove(topic);
+        log.info("Activated zstd dictionary {} for topic '{}'", Integer.toUnsignedString(dictionaryId), topic);
+    }
+
+    /**
+     * Delete all files associated with a topic from blob storage. Payloads stored in the topic-independent content
+     * store are not deleted because they may be referenced by other topics. The prefixes below the topic, e.g., time
+     * buckets, are deleted concurrently. All files are stored below such a prefix, so the topic prefix is only deleted
+     * as a whole if the client does not support listing prefixes.
      *
      * @param topic name of the topic
      */
@@ -114,15 +300,151 @@ public class LargeMessageStoringClient implements AutoCloseable {
         final String prefix = this.createTopicPrefix(topic);
         final String bucketName = this.basePath.getBucket();
         log.info("Deleting blob storage backed files for topic '{}'", topic);
-        this.client.deleteAllObjects(bucketName, prefix);
+        final List<String> prefixes = this.listPrefixes(bucketName, prefix);
+        if (prefixes.isEmpty()) {
+            this.client.deleteAllObjects(bucketName, prefix);
+        } else {
+            this.deleteConcurrently(bucketName, prefixes);
+        }
+        if (this.deduplicator != null) {
+            this.deduplicator.invalidate(bucketName, prefix);
+        }
         log.info("Finished deleting blob storage backed files for topic '{}'", topic);
     }
 
+    /**
+     * Delete all files associated with a topic that have been stored in time buckets which ended before the retention
+     * period. Files stored without time buckets are not deleted.
+     *
+     * @param topic name of the topic
+     * @param retention time after which files can be deleted
+     */
+    public void deleteExpiredFiles(final String topic, final Duration retention) {
+        Objects.requireNonNull(this.basePath, "Base path must not be null");
+        final int deleted = this.deleteExpiredTimeBuckets(this.createTopicPrefix(topic), retention);
+        log.info("Deleted {} expired time buckets of blob storage backed files for topic '{}'", deleted, topic);
+    }
+
+    /**
+     * Delete all payloads in the topic-independent content store that have been stored in time buckets which ended
+     * before the retention period. Payloads in the content store may be referenced by any topic, so the retention
+     * should cover the longest retention of all topics using the content store. Payloads stored without time buckets
+     * are not deleted.
+     *
+     * @param retention time after which payloads can be deleted
+     */
+    public void deleteExpiredContent(final Duration retention) {
+        Objects.requireNonNull(this.basePath, "Base path must not be null");
+        final int deleted = this.deleteExpiredTimeBuckets(this.createContentPrefix(), retention);
+        log.info("Deleted {} expired time buckets of the blob storage backed content store", deleted);
+    }
+
+    /**
+     * Delete all files associated with a topic that have been stored in time buckets which ended before the retention
+     * of the topic. Records are deleted together with their log segment, which is rolled at the latest after
+     * {@code segment.ms}. Therefore, files are kept for {@code retention.ms} plus {@code segment.ms}. Nothing is
+     * deleted if the topic is compacted only or retains records forever.
+     *
+     * @param topic name of the topic
+     * @param admin admin client used to describe the config of the topic
+     */
+    public void deleteExpiredFiles(final String topic, final Admin admin) {
+        final ConfigResource resource = new ConfigResource(ConfigResource.Type.TOPIC, topic);
+        final Config config;
+        try {
+            config = admin.describeConfigs(List.of(resource)).all().get().get(resource);
+        } catch (final InterruptedException e) {
+            throw new InterruptException(e);
+        } catch (final ExecutionException e) {
+            throw new KafkaException("Error describing config of topic " + topic, e.getCause());
+        }
+        final String cleanupPolicy = config.get(TopicConfig.CLEANUP_POLICY_CONFIG).value();
+        final long retentionMs = Long.parseLong(config.get(TopicConfig.RETENTION_MS_CONFIG).value());
+        if (!cleanupPolicy.contains(TopicConfig.CLEANUP_POLICY_DELETE) || retentionMs < 0L) {
+            log.info("Not deleting blob storage backed files for topic '{}' because records do not expire", topic);
+            return;
+        }
+        final long segmentMs = Long.parseLong(config.get(TopicConfig.SEGMENT_MS_CONFIG).value());
+        this.deleteExpiredFiles(topic, Duration.ofMillis(retentionMs).plusMillis(segmentMs));
+    }
+
+    /**
+     * Open connections to the bucket of the base path ahead of time
+     *
+     * @param connections number of connections to open
+     */
+    void warmUp(final int connections) {
+        Objects.requireNonNull(this.basePath, "Base path must not be null");
+        this.client.warmUp(this.basePath.getBucket(), connections);
+    }
+
     @Override
     public void close() {
         this.client.close();
     }
 
+    int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Get the compression used for payloads of a topic. The compression configured for the topic takes precedence
+     * over the compression selected by adaptive compression and the default compression.
+     *
+     * @param topic name of the topic
+     * @return compression used for the topic
+     */
+    CompressionSettings getCompression(final String topic) {
+        final CompressionSettings compression = this.getConfiguredCompression(topic);
+        if (!this.dictionaryEnabled || compression.getCodec() != CompressionType.ZSTD) {
+            return compression;
+        }
+        final ZstdDictionary dictionary = this.getActiveDictionary(topic);
+        return dictionary == null ? compression : new CompressionSettings(dictionary, compression.getOptions());
+    }
+
+    String getScheme() {
+        Objects.requireNonNull(this.basePath, "Base path must not be null");
+        return this.basePath.getScheme();
+    }
+
+    BlobStorageOutputStream openUpload(final String topic, final boolean isKey) {
+        final String key = this.createBlobStorageKey(topic, isKey, UUID.randomUUID().toString());
+        try {
+            return this.client.putObjectStream(this.basePath.getBucket(), key);
+        } catch (final RuntimeException e) {
+            LargeMessageMetrics.recordUploadError(this.basePath.getScheme());
+            throw e;
+        }
+    }
+
+    byte[] serializeInline(final byte[] bytes, final boolean isKey, final Headers headers) {
+        return headers == null ? serialize(bytes, isKey) : this.serialize(bytes, headers, isKey);
+    }
+
+    byte[] serializeBacked(final String uri, final PayloadSize size, final boolean isKey, final Headers headers,
+            final CompressionSettings compression) {
+        if (headers == null) {
+            return serialize(uri, isKey);
+        }
+        addCompressionHeader(compression, headers, isKey);
+        size.addHeaders(headers, isKey);
+        return this.serialize(uri, headers, isKey);
+    }
+
+    private byte[] serializeCompressed(final byte[] compressedBytes, final PayloadSize size, final boolean isKey,
+            final Headers headers, final CompressionSettings compression) {
+        addCompressionHeader(compression, headers, isKey);
+        size.addHeaders(headers, isKey);
+        return this.serialize(compressedBytes, headers, isKey);
+    }
+
+    private boolean fitsInline(final CompressionSettings compression, final byte[] compressedBytes) {
+        // consumers locate dictionaries relative to the blob storage object of a payload
+        return this.inlineCompressionEnabled && compression.isCompressing()
+                && !(compression.getCodec() instanceof ZstdDictionary) && !this.exceedsMaxSize(compressedBytes);
+    }
+
     private byte[] serialize(final String uri, final Headers headers, final boolean isKey) {
         return this.protocol.serialize(LargeMessagePayload.ofUri(uri), headers, isKey);
     }
@@ -131,17 +453,181 @@ public class LargeMessageStoringClient implements AutoCloseable {
         return this.protocol.serialize(LargeMessagePayload.ofBytes(bytes), headers, isKey);
     }
 
-    private String uploadToBlobStorage(final String topic, final byte[] bytes, final boolean isKey) {
-        final String key = this.createBlobStorageKey(topic, isKey, bytes);
-        return this.uploadToBlobStorage(key, bytes);
+    private static void addCompressionHeader(final CompressionSettings compression, final Headers headers,
+            final boolean isKey) {
+        final String headerName = CompressionType.getHeaderName(isKey);
+        headers.remove(headerName);
+        if (compression.isCompressing()) {
+            final byte[] header = compression.createHeader();
+            headers.add(headerName, header);
+            // earlier versions only read the header shared by key and value
+            headers.add(CompressionType.HEADER_NAME, header);
+        }
     }
 
-    private String createBlobStorageKey(final String topic, final boolean isKey, final byte[] bytes) {
-        Objects.requireNonNull(this.basePath, "Base path must not be null");
+    private byte[] compress(final CompressionSettings compression, final byte[] bytes, final IdHasher hasher) {
+        if (!compression.isCompressing()) {
+            return bytes;
+        }
+        final long start = System.nanoTime();
+        final CompressionCodec codec = compression.getCodec();
+        final byte[] compressedBytes =
+                CompressionCodecRegistry.compress(codec, bytes, compression.getOptions(), this.bufferPool, hasher);
+        LargeMessageMetrics.recordCompression(codec, bytes.length, compressedBytes.length,
+                LargeMessageMetrics.toMillis(System.nanoTime() - start));
+        return compressedBytes;
+    }
+
+    private static boolean isShareable(final CompressionSettings compression) {
+        // consumers locate dictionaries relative to the blob storage object of a payload
+        return !(compression.getCodec() instanceof ZstdDictionary);
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private List<String> listPrefixes(final String bucket, final String prefix) {
+        try {
+            return this.client.listPrefixes(bucket, prefix);
+        } catch (final UnsupportedOperationException e) {
+            return List.of();
+        }
+    }
+
+    private List<String> listTimeBuckets(final String bucket, final String prefix) {
+        try {
+            return this.client.listPrefixes(bucket, prefix);
+        } catch (final UnsupportedOperationException e) {
+            throw new IllegalStateException("Cannot delete expired time buckets because listing is not supported by "
+                    + this.client.getClass().getName(), e);
+        }
+    }
+
+    private int deleteExpiredTimeBuckets(final String prefix, final Duration retention) {
+        final String bucketName = this.basePath.getBucket();
+        final Instant expiredBefore = Instant.now().minus(retention);
+        final List<String> expiredPrefixes = this.listTimeBuckets(bucketName, prefix).stream()
+                .filter(bucketPrefix -> {
+                    final String segment = bucketPrefix.substring(prefix.length(), bucketPrefix.length() - 1);
+                    return TimeBucket.isSegment(segment) && !TimeBucket.getEnd(segment).isAfter(expiredBefore);
+                })
+                .toList();
+        this.deleteConcurrently(bucketName, expiredPrefixes);
+        if (this.deduplicator != null) {
+            expiredPrefixes.forEach(bucketPrefix -> this.deduplicator.invalidate(bucketName, bucketPrefix));
+        }
+        return expiredPrefixes.size();
+    }
+
+    private void deleteConcurrently(final String bucket, final Collection<String> prefixes) {
+        if (prefixes.isEmpty()) {
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.deleteParallelism, prefixes.size()),
+                ThreadUtils.createThreadFactory("large-message-delete-%d", true));
+        try {
+            final List<CompletableFuture<Void>> futures = prefixes.stream()
+                    .map(prefix -> CompletableFuture.runAsync(() -> this.client.deleteAllObjects(bucket, prefix),
+                            executor))
+                    .toList();
+            join(CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private String uploadToBlobStorage(final String topic, final byte[] bytes, final boolean isKey, final String id,
+            final boolean shareable) {
+        final String key = this.createBlobStorageKey(topic, isKey, id, shareable);
+        final String bucket = this.basePath.getBucket();
+        final long start = System.nanoTime();
+        final String uri;
+        try {
+            uri = this.deduplicator == null ? this.client.putObject(bytes, bucket, key)
+                    : join(this.deduplicator.upload(topic, bucket, key, () -> CompletableFuture.completedFuture(
+                            this.client.putObjectIfAbsent(bytes, bucket, key))));
+        } catch (final RuntimeException e) {
+            LargeMessageMetrics.recordUploadError(this.basePath.getScheme());
+            throw e;
+        }
+        this.recordUpload(topic, isKey, bytes, start);
+        log.debug("Stored large message on blob storage: {}", uri);
+        return uri;
+    }
+
+    private CompletableFuture<String> uploadToBlobStorageAsync(final String topic, final byte[] bytes,
+            final boolean isKey, final String id, final boolean shareable) {
+        final String key = this.createBlobStorageKey(topic, isKey, id, shareable);
+        final String bucket = this.basePath.getBucket();
+        final long start = System.nanoTime();
+        final CompletableFuture<String> upload = this.deduplicator == null
+                ? this.client.putObjectAsync(bytes, bucket, key)
+                : this.deduplicator.upload(topic, bucket, key,
+                        () -> this.client.putObjectIfAbsentAsync(bytes, bucket, key));
+        return upload.whenComplete((uri, e) -> {
+            if (e != null) {
+                LargeMessageMetrics.recordUploadError(this.basePath.getScheme());
+            } else {
+                this.recordUpload(topic, isKey, bytes, start);
+                log.debug("Stored large message on blob storage: {}", uri);
+            }
+        });
+    }
+
+    private void recordUpload(final String topic, final boolean isKey, final byte[] bytes, final long start) {
+        LargeMessageMetrics.recordUpload(this.basePath.getScheme(), topic, isKey, bytes.length,
+                LargeMessageMetrics.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Create a hasher for computing the id of a payload while compressing it. Ids of uncompressed payloads and ids of
+     * generators that do not support incremental input are generated from the payload instead.
+     *
+     * @param compression compression of the payload
+     * @return hasher or {@code null} if the id cannot be computed while compressing
+     */
+    private IdHasher createHasher(final CompressionSettings compression) {
+        if (!compression.isCompressing() || !(this.idGenerator instanceof IncrementalIdGenerator)) {
+            return null;
+        }
+        return ((IncrementalIdGenerator) this.idGenerator).createHasher();
+    }
+
+    private String generateId(final byte[] bytes, final IdHasher hasher) {
         Objects.requireNonNull(this.idGenerator, "Id generator must not be null");
+        return hasher == null ? this.idGenerator.generateId(bytes) : hasher.generateId();
+    }
+
+    private String createBlobStorageKey(final String topic, final boolean isKey, final String id,
+            final boolean shareable) {
+        if (this.contentStoreEnabled && shareable) {
+            Objects.requireNonNull(this.basePath, "Base path must not be null");
+            return this.createContentPrefix() + this.createTimeBucketPrefix() + id;
+        }
+        return this.createBlobStorageKey(topic, isKey, id);
+    }
+
+    private String createBlobStorageKey(final String topic, final boolean isKey, final String id) {
+        Objects.requireNonNull(this.basePath, "Base path must not be null");
         final String prefix = isKey ? KEY_PREFIX : VALUE_PREFIX;
-        final String id = this.idGenerator.generateId(bytes);
-        return this.createTopicPrefix(topic) + prefix + "/" + id;
+        return this.createTopicPrefix(topic) + this.createTimeBucketPrefix() + prefix + "/" + id;
+    }
+
+    private String createTimeBucketPrefix() {
+        return this.timeBucketSize.isZero() ? ""
+                : TimeBucket.createSegment(System.currentTimeMillis(), this.timeBucketSize) + "/";
+    }
+
+    private String createContentPrefix() {
+        return toString(this.basePath.getKey()) + CONTENT_PREFIX + "/";
     }
 
     private String createTopicPrefix(final String topic) {
@@ -149,14 +635,79 @@ public class LargeMessageStoringClient implements AutoCloseable {
         return toString(this.basePath.getKey()) + topic + "/";
     }
 
-    private boolean needsBacking(final byte[] bytes) {
-        return bytes.length >= this.maxSize;
+    private CompressionSettings getCompression(final String topic, final byte[] bytes) {
+        if (this.adaptiveCompression != null && !this.topicCompressions.containsKey(topic)) {
+            this.adaptiveCompression.sample(topic, bytes, this.bufferPool);
+        }
+        final CompressionSettings compression = this.getCompression(topic);
+        // dictionaries are meant for small payloads and already use the additional bytes of the compression header
+        if (!compression.isCompressing() || compression.getCodec() instanceof ZstdDictionary) {
+            return compression;
+        }
+        final BlockCompression blockCompression =
+                new BlockCompression(compression.getCodec(), this.compressionBlockSize);
+        return blockCompression.isSplitting(bytes) ? new CompressionSettings(blockCompression,
+                compression.getOptions()) : compression;
+    }
+
+    private CompressionSettings getConfiguredCompression(final String topic) {
+        final CompressionSettings configured = this.topicCompressions.get(topic);
+        if (configured != null) {
+            return configured;
+        }
+        return Optional.ofNullable(this.adaptiveCompression)
+                .flatMap(adaptive -> adaptive.getSelected(topic))
+                .orElseGet(() -> new CompressionSettings(this.compressionType, this.compressionOptions));
     }
 
-    private String uploadToBlobStorage(final String key, final byte[] bytes) {
+    private ZstdDictionary getActiveDictionary(final String topic) {
+        final long now = System.currentTimeMillis();
+        final ActiveDictionary active = this.activeDictionaries.get(topic);
+        if (active != null && now - active.getLoadedAt() < this.dictionaryRefreshInterval.toMillis()) {
+            return active.getDictionary();
+        }
+        final ZstdDictionary dictionary = this.loadActiveDictionary(topic, active == null ? null
+                : active.getDictionary());
+        this.activeDictionaries.put(topic, new ActiveDictionary(dictionary, now));
+        return dictionary;
+    }
+
+    private ZstdDictionary loadActiveDictionary(final String topic, final ZstdDictionary current) {
+        final String topicPrefix = this.createTopicPrefix(topic);
         final String bucket = this.basePath.getBucket();
-        final String uri = this.client.putObject(bytes, bucket, key);
-        log.debug("Stored large message on blob storage: {}", uri);
-        return uri;
+        final byte[] pointer;
+        try {
+            pointer = this.client.getObject(bucket, ZstdDictionary.createActiveDictionaryKey(topicPrefix));
+        } catch (final RuntimeException e) {
+            log.debug("No active zstd dictionary for topic '{}'", topic, e);
+            return null;
+        }
+        if (pointer == null) {
+            return null;
+        }
+        final int dictionaryId = ByteBuffer.wrap(pointer).getInt();
+        if (current != null && current.getDictionaryId() == dictionaryId) {
+            return current;
+        }
+        final String key = ZstdDictionary.createDictionaryKey(topicPrefix, dictionaryId);
+        final byte[] bytes = this.client.getObject(bucket, key);
+        log.info("Loaded zstd dictionary {} for topic '{}'", Integer.toUnsignedString(dictionaryId), topic);
+        return new ZstdDictionary(bytes);
+    }
+
+    private boolean exceedsMaxSize(final byte[] bytes) {
+        return bytes.length >= this.maxSize;
+    }
+
+    private boolean needsBacking(final String topic, final byte[] bytes, final boolean isKey) {
+        final boolean backed = this.exceedsMaxSize(bytes);
+        LargeMessageMetrics.recordStore(topic, isKey, backed, bytes.length);
+        return backed;
+    }
+
+    @Value
+    private static class ActiveDictionary {
+        ZstdDictionary dictionary;
+        long loadedAt;
     }
 }
@@ -32,7 +32,7 @@ import com.google.common.hash.Hashing;
  *
  * @see Hashing#murmur3_128()
  */
-public class MurmurHashIdGenerator implements IdGenerator {
+public class MurmurHashIdGenerator implements IncrementalIdGenerator {
 
     private static final HashFunction MURMUR_3_128 = Hashing.murmur3_128();
 
@@ -40,4 +40,9 @@ public class MurmurHashIdGenerator implements IdGenerator {
     public String generateId(final byte[] bytes) {
         return MURMUR_3_128.hashBytes(bytes).toString();
     }
+
+    @Override
+    public IdHasher createHasher() {
+        return new GuavaIdHasher(MURMUR_3_128.newHasher());
+    }
 }
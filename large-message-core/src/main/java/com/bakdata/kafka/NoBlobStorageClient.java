@@ -24,12 +24,19 @@
 
 package com.bakdata.kafka;
 
+import java.util.List;
+
 class NoBlobStorageClient implements BlobStorageClient {
     @Override
     public void deleteAllObjects(final String bucket, final String prefix) {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public List<String> listPrefixes(final String bucket, final String prefix) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public String putObject(final byte[] bytes, final String bucket, final String key) {
         throw new UnsupportedOperationException();
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static com.bakdata.kafka.HeaderLargeMessagePayloadProtocol.HEADER_PREFIX;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import lombok.Value;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Size of a payload stored on blob storage before and after compression. It is recorded in headers, so that the
+ * payload can be downloaded and decompressed into an array of exactly the right size.
+ */
+@Value
+class PayloadSize {
+    private static final String KEY_SIZE_HEADER = HEADER_PREFIX + "key.size";
+    private static final String VALUE_SIZE_HEADER = HEADER_PREFIX + "value.size";
+    private static final String KEY_COMPRESSED_SIZE_HEADER = HEADER_PREFIX + "key.compressed.size";
+    private static final String VALUE_COMPRESSED_SIZE_HEADER = HEADER_PREFIX + "value.compressed.size";
+    // arrays cannot be allocated with the full range of int on most JVMs
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    long size;
+    long compressedSize;
+
+    static Optional<PayloadSize> fromHeaders(final Headers headers, final boolean isKey) {
+        final Header sizeHeader = headers.lastHeader(isKey ? KEY_SIZE_HEADER : VALUE_SIZE_HEADER);
+        final Header compressedSizeHeader =
+                headers.lastHeader(isKey ? KEY_COMPRESSED_SIZE_HEADER : VALUE_COMPRESSED_SIZE_HEADER);
+        if (sizeHeader == null || compressedSizeHeader == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new PayloadSize(toLong(sizeHeader), toLong(compressedSizeHeader)));
+    }
+
+    static void removeHeaders(final Headers headers, final boolean isKey) {
+        headers.remove(isKey ? KEY_SIZE_HEADER : VALUE_SIZE_HEADER);
+        headers.remove(isKey ? KEY_COMPRESSED_SIZE_HEADER : VALUE_COMPRESSED_SIZE_HEADER);
+    }
+
+    private static long toLong(final Header header) {
+        return ByteBuffer.wrap(header.value()).getLong();
+    }
+
+    private static byte[] toBytes(final long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+
+    void addHeaders(final Headers headers, final boolean isKey) {
+        removeHeaders(headers, isKey);
+        headers.add(isKey ? KEY_SIZE_HEADER : VALUE_SIZE_HEADER, toBytes(this.size));
+        headers.add(isKey ? KEY_COMPRESSED_SIZE_HEADER : VALUE_COMPRESSED_SIZE_HEADER, toBytes(this.compressedSize));
+    }
+
+    boolean fitsIntoArray() {
+        return this.size <= MAX_ARRAY_SIZE && this.compressedSize <= MAX_ARRAY_SIZE;
+    }
+}
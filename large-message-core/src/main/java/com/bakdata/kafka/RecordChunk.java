@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static com.bakdata.kafka.AbstractLargeMessageConfig.PREFIX;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.Value;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Metadata of a record containing a chunk of a message split by {@link LargeMessageChunker}. It is recorded in
+ * headers, so that {@link LargeMessageReassembler} can reassemble the message.
+ */
+@Value
+class RecordChunk {
+    static final String HEADER_PREFIX = "__" + PREFIX + "chunk.";
+    private static final String ID_HEADER = HEADER_PREFIX + "id";
+    private static final String INDEX_HEADER = HEADER_PREFIX + "index";
+    private static final String COUNT_HEADER = HEADER_PREFIX + "count";
+    private static final String SIZE_HEADER = HEADER_PREFIX + "size";
+    UUID messageId;
+    int index;
+    int count;
+    long size;
+
+    static Optional<RecordChunk> fromHeaders(final Headers headers) {
+        final Header idHeader = headers.lastHeader(ID_HEADER);
+        final Header indexHeader = headers.lastHeader(INDEX_HEADER);
+        final Header countHeader = headers.lastHeader(COUNT_HEADER);
+        final Header sizeHeader = headers.lastHeader(SIZE_HEADER);
+        if (idHeader == null || indexHeader == null || countHeader == null || sizeHeader == null) {
+            return Optional.empty();
+        }
+        final ByteBuffer id = wrap(idHeader, 2 * Long.BYTES);
+        final RecordChunk chunk = new RecordChunk(new UUID(id.getLong(), id.getLong()),
+                wrap(indexHeader, Integer.BYTES).getInt(), wrap(countHeader, Integer.BYTES).getInt(),
+                wrap(sizeHeader, Long.BYTES).getLong());
+        if (chunk.count <= 0 || chunk.index < 0 || chunk.index >= chunk.count || chunk.size < 0L) {
+            throw new SerializationException("Invalid chunk headers: " + chunk);
+        }
+        return Optional.of(chunk);
+    }
+
+    private static ByteBuffer wrap(final Header header, final int length) {
+        final byte[] value = header.value();
+        if (value == null || value.length != length) {
+            throw new SerializationException(
+                    "Invalid chunk header " + header.key() + ": expected " + length + " bytes");
+        }
+        return ByteBuffer.wrap(value);
+    }
+
+    static void removeHeaders(final Headers headers) {
+        headers.remove(ID_HEADER);
+        headers.remove(INDEX_HEADER);
+        headers.remove(COUNT_HEADER);
+        headers.remove(SIZE_HEADER);
+    }
+
+    void addHeaders(final Headers headers) {
+        removeHeaders(headers);
+        headers.add(ID_HEADER, ByteBuffer.allocate(2 * Long.BYTES)
+                .putLong(this.messageId.getMostSignificantBits())
+                .putLong(this.messageId.getLeastSignificantBits())
+                .array());
+        headers.add(INDEX_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(this.index).array());
+        headers.add(COUNT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(this.count).array());
+        headers.add(SIZE_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(this.size).array());
+    }
+}
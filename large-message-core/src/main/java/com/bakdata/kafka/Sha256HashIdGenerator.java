@@ -32,7 +32,7 @@ import com.google.common.hash.Hashing;
  *
  * @see Hashing#sha256()
  */
-public class Sha256HashIdGenerator implements IdGenerator {
+public class Sha256HashIdGenerator implements IncrementalIdGenerator {
 
     private static final HashFunction SHA_256 = Hashing.sha256();
 
@@ -40,4 +40,9 @@ public class Sha256HashIdGenerator implements IdGenerator {
     public String generateId(final byte[] bytes) {
         return SHA_256.hashBytes(bytes).toString();
     }
+
+    @Override
+    public IdHasher createHasher() {
+        return new GuavaIdHasher(SHA_256.newHasher());
+    }
 }
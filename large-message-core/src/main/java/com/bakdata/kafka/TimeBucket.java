@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Time buckets group blob storage objects by the time they have been stored. Each bucket is a key segment
+ * {@code until=<end>} between the topic and the type of a payload, where {@code <end>} is the exclusive end of the
+ * bucket, e.g., {@code until=20250101T130000Z}. Buckets can be deleted as a whole once their end is older than the
+ * retention of the topic. Topic names cannot contain {@code =}, so bucket segments are never mistaken for topics.
+ */
+@UtilityClass
+class TimeBucket {
+    private static final String SEGMENT_PREFIX = "until=";
+    private static final DateTimeFormatter FORMATTER =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    /**
+     * Create the key segment of the bucket containing a point in time
+     *
+     * @param timestamp point in time in milliseconds since epoch
+     * @param size size of buckets
+     * @return key segment of the bucket without trailing {@code /}
+     */
+    static String createSegment(final long timestamp, final Duration size) {
+        final long sizeMs = size.toMillis();
+        final long end = Math.floorDiv(timestamp, sizeMs) * sizeMs + sizeMs;
+        // round up to seconds so that objects are never assigned to a bucket ending before they have been stored
+        final long endSeconds = Math.floorDiv(end + 999L, 1000L);
+        return SEGMENT_PREFIX + FORMATTER.format(Instant.ofEpochSecond(endSeconds));
+    }
+
+    static boolean isSegment(final String segment) {
+        return segment.startsWith(SEGMENT_PREFIX);
+    }
+
+    /**
+     * Get the exclusive end of a bucket
+     *
+     * @param segment key segment of the bucket without trailing {@code /}
+     * @return end of the bucket
+     * @throws IllegalArgumentException if the segment is not a valid bucket
+     */
+    static Instant getEnd(final String segment) {
+        if (!isSegment(segment)) {
+            throw new IllegalArgumentException("Not a time bucket: " + segment);
+        }
+        try {
+            return FORMATTER.parse(segment.substring(SEGMENT_PREFIX.length()), Instant::from);
+        } catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a time bucket: " + segment, e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link IdGenerator} that generates time-ordered UUIDs of version 7 as specified by
+ * <a href="https://www.rfc-editor.org/rfc/rfc9562#name-uuid-version-7">RFC 9562</a>. The UUIDs start with the
+ * millisecond timestamp of their creation, followed by a counter and random bits. Ids generated in a JVM are strictly
+ * increasing, so that the lexical order of ids and object keys matches the order of writes. Random bits are taken from
+ * {@link ThreadLocalRandom}, so that producer threads do not contend on a shared random number generator.
+ */
+public class TimeOrderedUUIDGenerator implements IdGenerator {
+
+    // the 48 bit timestamp is followed by 4 version bits and 12 counter bits
+    private static final int TIMESTAMP_SHIFT = 16;
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 7L;
+    private static final long VARIANT = 0b10L;
+    private static final int RANDOM_BITS = 62;
+    // timestamp and counter of the last id
+    private static final AtomicLong LAST_TIME = new AtomicLong();
+
+    /**
+     * Get the creation time of a time-ordered id
+     *
+     * @param id id generated by this generator
+     * @return creation time with millisecond precision
+     */
+    public static Instant getTimestamp(final String id) {
+        final UUID uuid = UUID.fromString(id);
+        if (uuid.version() != VERSION) {
+            throw new IllegalArgumentException("Not a time-ordered id: " + id);
+        }
+        return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> TIMESTAMP_SHIFT);
+    }
+
+    /**
+     * Create the lexically smallest id for a point in time. All ids generated at or after that time are greater, so
+     * that listings sorted by key can start or stop at this id.
+     *
+     * @param timestamp point in time
+     * @return smallest id that can be generated at the given time
+     */
+    public static String createLowerBound(final Instant timestamp) {
+        return createId(timestamp.toEpochMilli() << COUNTER_BITS, 0L).toString();
+    }
+
+    private static long nextTime() {
+        final long now = System.currentTimeMillis() << COUNTER_BITS;
+        // the counter carries over into the timestamp if too many ids are generated in a millisecond
+        return LAST_TIME.updateAndGet(last -> Math.max(last + 1L, now));
+    }
+
+    private static UUID createId(final long time, final long random) {
+        final long timestamp = time >>> COUNTER_BITS;
+        final long counter = time & ((1L << COUNTER_BITS) - 1L);
+        final long mostSignificantBits = (timestamp << TIMESTAMP_SHIFT) | (VERSION << COUNTER_BITS) | counter;
+        final long leastSignificantBits = (VARIANT << RANDOM_BITS) | (random & ((1L << RANDOM_BITS) - 1L));
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    @Override
+    public String generateId(final byte[] bytes) {
+        return createId(nextTime(), ThreadLocalRandom.current().nextLong()).toString();
+    }
+}
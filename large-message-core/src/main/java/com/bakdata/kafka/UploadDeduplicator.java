@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Skips uploads of payloads with content-based keys that have recently been stored. URIs of recently stored objects
+ * are kept in a bounded cache. Concurrent uploads of the same object are coalesced into a single upload. Uploads that
+ * are not skipped should be conditional, so that objects stored by other producers are not uploaded again.
+ */
+class UploadDeduplicator {
+    static final long DEFAULT_MAX_ENTRIES = 10_000L;
+    private final Cache<String, String> storedObjects;
+    private final Map<String, CompletableFuture<String>> pendingUploads = new ConcurrentHashMap<>();
+
+    UploadDeduplicator(final long maxEntries) {
+        this.storedObjects = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    private static String asName(final String bucket, final String key) {
+        return bucket + "/" + key;
+    }
+
+    /**
+     * Upload an object unless it has recently been stored or is being uploaded
+     *
+     * @param topic topic the object is associated with
+     * @param bucket bucket of the object
+     * @param key key of the object
+     * @param upload function uploading the object
+     * @return future that completes with the URI of the object
+     */
+    CompletableFuture<String> upload(final String topic, final String bucket, final String key,
+            final Supplier<CompletableFuture<String>> upload) {
+        final String name = asName(bucket, key);
+        final String storedUri = this.storedObjects.getIfPresent(name);
+        if (storedUri != null) {
+            LargeMessageMetrics.recordDeduplicatedUpload(topic);
+            return CompletableFuture.completedFuture(storedUri);
+        }
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final CompletableFuture<String> pendingUpload = this.pendingUploads.putIfAbsent(name, future);
+        if (pendingUpload != null) {
+            LargeMessageMetrics.recordDeduplicatedUpload(topic);
+            return pendingUpload;
+        }
+        CompletableFuture<String> uploaded;
+        try {
+            uploaded = upload.get();
+        } catch (final RuntimeException e) {
+            uploaded = CompletableFuture.failedFuture(e);
+        }
+        uploaded.whenComplete((uri, e) -> {
+            if (e == null) {
+                this.storedObjects.put(name, uri);
+            }
+            this.pendingUploads.remove(name, future);
+            if (e == null) {
+                future.complete(uri);
+            } else {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Forget stored objects, e.g., because they have been deleted
+     *
+     * @param bucket bucket of the objects
+     * @param prefix common prefix of the keys of the objects
+     */
+    void invalidate(final String bucket, final String prefix) {
+        final String namePrefix = asName(bucket, prefix);
+        this.storedObjects.asMap().keySet().removeIf(name -> name.startsWith(namePrefix));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import net.jpountz.xxhash.StreamingXXHash64;
+import net.jpountz.xxhash.XXHashFactory;
+
+/**
+ * {@link IdGenerator} that uses the non-cryptographic xxHash algorithm to generate a 128 bit id from the bytes. The id
+ * consists of two 64 bit hashes with different seeds. It is considerably faster to compute than
+ * {@link Sha256HashIdGenerator} but must not be used if payloads are crafted to collide.
+ * <p>
+ * The implementation of lz4-java is used, which is provided by kafka-clients.
+ */
+public class XxHashIdGenerator implements IncrementalIdGenerator {
+
+    // native streaming hashes must be closed, which is not guaranteed if a payload is not uploaded
+    private static final XXHashFactory FACTORY = XXHashFactory.fastestJavaInstance();
+    private static final long FIRST_SEED = 0L;
+    private static final long SECOND_SEED = 0x9E3779B97F4A7C15L;
+
+    private static String toId(final long first, final long second) {
+        return "%016x%016x".formatted(first, second);
+    }
+
+    @Override
+    public String generateId(final byte[] bytes) {
+        return toId(FACTORY.hash64().hash(bytes, 0, bytes.length, FIRST_SEED),
+                FACTORY.hash64().hash(bytes, 0, bytes.length, SECOND_SEED));
+    }
+
+    @Override
+    public IdHasher createHasher() {
+        return new XxIdHasher(FACTORY.newStreamingHash64(FIRST_SEED), FACTORY.newStreamingHash64(SECOND_SEED));
+    }
+
+    private static final class XxIdHasher implements IdHasher {
+        private final StreamingXXHash64 first;
+        private final StreamingXXHash64 second;
+
+        private XxIdHasher(final StreamingXXHash64 first, final StreamingXXHash64 second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void update(final byte[] bytes, final int offset, final int length) {
+            this.first.update(bytes, offset, length);
+            this.second.update(bytes, offset, length);
+        }
+
+        @Override
+        public String generateId() {
+            return toId(this.first.getValue(), this.second.getValue());
+        }
+    }
+}
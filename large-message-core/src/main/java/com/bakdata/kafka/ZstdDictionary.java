@@ -0,0 +1,240 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdException;
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Zstandard codec using a dictionary trained from sample payloads of a topic. Dictionaries are stored on blob storage
+ * next to the payloads of their topic and identified by the id that zstd assigns during training. The id is appended
+ * to the compression header, so that consumers can load the dictionary when decompressing a payload.
+ */
+class ZstdDictionary implements CompressionCodec {
+    private static final String DICTIONARY_PREFIX = "dictionaries/";
+    // object containing the id of the dictionary that producers use for new payloads
+    private static final String ACTIVE_DICTIONARY = "active";
+    private static final int HEADER_SIZE = 1 + Integer.BYTES;
+    @Getter(AccessLevel.PACKAGE)
+    private final int dictionaryId;
+    @Getter(AccessLevel.PACKAGE)
+    private final @NonNull byte[] bytes;
+    // digesting a dictionary is expensive, so digested dictionaries are reused for each level
+    private final Map<Integer, ZstdDictCompress> compressors = new ConcurrentHashMap<>();
+    private ZstdDictDecompress decompressor;
+
+    ZstdDictionary(final @NonNull byte[] bytes) {
+        this.dictionaryId = (int) Zstd.getDictIdFromDict(bytes);
+        if (this.dictionaryId == 0) {
+            throw new IllegalArgumentException("Bytes are not a zstd dictionary");
+        }
+        this.bytes = bytes;
+    }
+
+    /**
+     * Train a dictionary from sample payloads
+     *
+     * @param samples sample payloads
+     * @param dictionarySize maximum size of the dictionary in bytes
+     * @return trained dictionary
+     */
+    static ZstdDictionary train(final Collection<byte[]> samples, final int dictionarySize) {
+        final long sampleSize = samples.stream().mapToLong(sample -> sample.length).sum();
+        if (sampleSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Samples must not exceed " + Integer.MAX_VALUE + " bytes");
+        }
+        final ZstdDictTrainer trainer = new ZstdDictTrainer((int) sampleSize, dictionarySize);
+        samples.forEach(trainer::addSample);
+        try {
+            return new ZstdDictionary(trainer.trainSamples());
+        } catch (final ZstdException e) {
+            throw new IllegalArgumentException("Cannot train zstd dictionary from " + samples.size() + " samples", e);
+        }
+    }
+
+    /**
+     * Check whether a compression header references a dictionary
+     *
+     * @param header value of the compression header
+     * @return true if the header contains a dictionary id
+     */
+    static boolean hasDictionary(final byte[] header) {
+        return header.length == HEADER_SIZE && header[0] == CompressionType.ZSTD.getId();
+    }
+
+    static int getDictionaryId(final byte[] header) {
+        return ByteBuffer.wrap(header, 1, Integer.BYTES).getInt();
+    }
+
+    static String createDictionaryKey(final String topicPrefix, final int dictionaryId) {
+        return createDictionaryPrefix(topicPrefix) + Integer.toUnsignedString(dictionaryId);
+    }
+
+    static String createActiveDictionaryKey(final String topicPrefix) {
+        return createDictionaryPrefix(topicPrefix) + ACTIVE_DICTIONARY;
+    }
+
+    private static String createDictionaryPrefix(final String topicPrefix) {
+        return topicPrefix + DICTIONARY_PREFIX;
+    }
+
+    /**
+     * Create the location of a dictionary that has been used for compressing a payload
+     *
+     * @param payloadUri location of the payload. Payloads are stored in {@code <topic prefix>/<keys|values>/<id>}
+     * or, if time buckets are used, in {@code <topic prefix>/<time bucket>/<keys|values>/<id>}.
+     * @param dictionaryId id of the dictionary
+     * @return location of the dictionary
+     */
+    static BlobStorageURI createDictionaryUri(final BlobStorageURI payloadUri, final int dictionaryId) {
+        final String key = payloadUri.getKey();
+        final int typeSeparator = key.lastIndexOf('/', key.lastIndexOf('/') - 1);
+        final int bucketSeparator = key.lastIndexOf('/', typeSeparator - 1);
+        final boolean bucketed = TimeBucket.isSegment(key.substring(bucketSeparator + 1, typeSeparator + 1));
+        final String topicPrefix = key.substring(0, (bucketed ? bucketSeparator : typeSeparator) + 1);
+        return BlobStorageURI.create(payloadUri.getScheme() + "://" + payloadUri.getBucket() + "/"
+                + createDictionaryKey(topicPrefix, dictionaryId));
+    }
+
+    @Override
+    public byte getId() {
+        return CompressionType.ZSTD.getId();
+    }
+
+    @Override
+    public String getName() {
+        return CompressionType.ZSTD.getName();
+    }
+
+    @Override
+    public void validate(final CompressionOptions options) {
+        CompressionType.ZSTD.validate(options);
+    }
+
+    @Override
+    public byte[] compress(final byte[] bytes, final CompressionOptions options) {
+        if (options.getWindowLog() == null) {
+            return Zstd.compress(bytes, this.getCompressor(options.getLevel()));
+        }
+        final ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+        try (final OutputStream stream = this.compress(outStream, options)) {
+            stream.write(bytes);
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to compress with zstd dictionary " + this.dictionaryId, e);
+        }
+        return outStream.toByteArray();
+    }
+
+    @Override
+    public byte[] decompress(final byte[] bytes) {
+        try (final InputStream stream = this.decompress(new ByteArrayInputStream(bytes))) {
+            return stream.readAllBytes();
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to decompress with zstd dictionary " + this.dictionaryId, e);
+        }
+    }
+
+    /**
+     * Decompress bytes of known decompressed size directly into the returned array
+     *
+     * @param bytes to be decompressed
+     * @param size number of decompressed bytes
+     * @return the decompressed bytes
+     */
+    byte[] decompress(final byte[] bytes, final int size) {
+        try {
+            return Zstd.decompress(bytes, this.getDecompressor(), size);
+        } catch (final ZstdException e) {
+            throw new SerializationException("Failed to decompress with zstd dictionary " + this.dictionaryId, e);
+        }
+    }
+
+    @Override
+    public OutputStream compress(final OutputStream outStream, final CompressionOptions options) {
+        try {
+            final ZstdOutputStreamNoFinalizer stream = new ZstdOutputStreamNoFinalizer(outStream);
+            stream.setDict(this.getCompressor(options.getLevel()));
+            if (options.getWindowLog() != null) {
+                stream.setWindowLog(options.getWindowLog());
+            }
+            return stream;
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to compress with zstd dictionary " + this.dictionaryId, e);
+        }
+    }
+
+    @Override
+    public InputStream decompress(final InputStream inStream) {
+        try {
+            return new ZstdInputStreamNoFinalizer(inStream).setDict(this.getDecompressor());
+        } catch (final IOException e) {
+            throw new SerializationException("Failed to decompress with zstd dictionary " + this.dictionaryId, e);
+        }
+    }
+
+    /**
+     * Create the value of the compression header, which consists of the id of {@link CompressionType#ZSTD} followed
+     * by the id of this dictionary
+     *
+     * @return value of the compression header
+     */
+    byte[] createHeader() {
+        return ByteBuffer.allocate(HEADER_SIZE)
+                .put(this.getId())
+                .putInt(this.dictionaryId)
+                .array();
+    }
+
+    private ZstdDictCompress getCompressor(final Integer level) {
+        final int compressionLevel = level == null ? Zstd.defaultCompressionLevel() : level;
+        return this.compressors.computeIfAbsent(compressionLevel,
+                key -> new ZstdDictCompress(this.bytes, key));
+    }
+
+    private synchronized ZstdDictDecompress getDecompressor() {
+        if (this.decompressor == null) {
+            this.decompressor = new ZstdDictDecompress(this.bytes);
+        }
+        return this.decompressor;
+    }
+}
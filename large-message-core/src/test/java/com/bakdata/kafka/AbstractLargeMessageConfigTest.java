@@ -24,9 +24,16 @@
 
 package com.bakdata.kafka;
 
+import static org.assertj.core.api.Assertions.within;
+
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Random;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
@@ -54,6 +61,39 @@ class AbstractLargeMessageConfigTest {
         }
     }
 
+    @Test
+    void shouldWarmUp() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket",
+                AbstractLargeMessageConfig.WARMUP_ENABLED_CONFIG, true
+        ));
+        try (final LargeMessageStoringClient storer = config.getStorer();
+                final LargeMessageRetrievingClient retriever = config.getRetriever()) {
+            final MetricName metricName = LargeMessageMetrics.metricName("warmup-time-max", "",
+                    Map.of(LargeMessageMetrics.SCHEME_TAG, TestBlobStorageConfig.SCHEME));
+            this.softly.assertThat(LargeMessageMetrics.getMetrics().metric(metricName)).isNotNull();
+        }
+    }
+
+    @Test
+    void shouldConfigureMetricRanges() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket",
+                AbstractLargeMessageConfig.METRICS_PAYLOAD_SIZE_MAX_BYTES_CONFIG, 1024L
+        ));
+        try (final LargeMessageStoringClient storer = config.getStorer()) {
+            storer.storeBytes("ranges", new byte[10_000], false);
+            final MetricName metricName = LargeMessageMetrics.metricName("payload-size-p99", "",
+                    Map.of(LargeMessageMetrics.TOPIC_TAG, "ranges", LargeMessageMetrics.TYPE_TAG, "value"));
+            this.softly.assertThat((double) LargeMessageMetrics.getMetrics().metric(metricName).metricValue())
+                    .isCloseTo(1024.0, within(1.0));
+        } finally {
+            LargeMessageMetrics.configureRanges(LargeMessageMetrics.DEFAULT_MAX_PAYLOAD_SIZE,
+                    LargeMessageMetrics.DEFAULT_MAX_TRANSFER_TIME_MS);
+        }
+    }
+
     @Test
     void shouldNotLoadInvalidConfig() {
         final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
@@ -65,4 +105,200 @@ class AbstractLargeMessageConfigTest {
                 .hasMessage("Unknown scheme for handling large messages: '%s'", InvalidBlobStorageConfig.SCHEME);
     }
 
+    @Test
+    void shouldConfigureCompression() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket",
+                AbstractLargeMessageConfig.USE_HEADERS_CONFIG, true,
+                AbstractLargeMessageConfig.COMPRESSION_TYPE_CONFIG, "zstd",
+                AbstractLargeMessageConfig.COMPRESSION_LEVEL_CONFIG, 1,
+                AbstractLargeMessageConfig.COMPRESSION_TOPIC_OVERRIDES_CONFIG,
+                "archive:zstd:19:27,masked:" + TestCompressionCodec.NAME
+        ));
+        try (final LargeMessageStoringClient storer = config.getStorer();
+                final LargeMessageRetrievingClient retriever = config.getRetriever()) {
+            this.softly.assertThat(storer.getCompression("topic"))
+                    .isEqualTo(new CompressionSettings(CompressionType.ZSTD,
+                            CompressionOptions.builder().level(1).build()));
+            this.softly.assertThat(storer.getCompression("archive"))
+                    .isEqualTo(new CompressionSettings(CompressionType.ZSTD,
+                            CompressionOptions.builder().level(19).windowLog(27).build()));
+            final byte[] data = "foo".getBytes(StandardCharsets.UTF_8);
+            final Headers headers = new RecordHeaders();
+            final byte[] bytes = storer.storeBytes("masked", data, false, headers);
+            this.softly.assertThat(headers.lastHeader(CompressionType.HEADER_NAME).value())
+                    .containsExactly(TestCompressionCodec.ID);
+            this.softly.assertThat(retriever.retrieveBytes(bytes, headers, false)).isEqualTo(data);
+        }
+    }
+
+    @Test
+    void shouldCompressWithDictionary() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket",
+                AbstractLargeMessageConfig.USE_HEADERS_CONFIG, true,
+                AbstractLargeMessageConfig.COMPRESSION_TYPE_CONFIG, "zstd",
+                AbstractLargeMessageConfig.COMPRESSION_DICTIONARY_ENABLED_CONFIG, true
+        ));
+        try (final LargeMessageStoringClient storer = config.getStorer();
+                final LargeMessageRetrievingClient retriever = config.getRetriever()) {
+            final String topic = "dictionary";
+            final int dictionaryId = storer.trainDictionary(topic, ZstdDictionaryTest.createSamples(2_000), 16 * 1024);
+            final byte[] data = ZstdDictionaryTest.createSample(new Random(1));
+            final Headers headers = new RecordHeaders();
+            final byte[] bytes = storer.storeBytes(topic, data, false, headers);
+            final byte[] header = headers.lastHeader(CompressionType.HEADER_NAME).value();
+            this.softly.assertThat(ZstdDictionary.hasDictionary(header)).isTrue();
+            this.softly.assertThat(ZstdDictionary.getDictionaryId(header)).isEqualTo(dictionaryId);
+            this.softly.assertThat(retriever.retrieveBytes(bytes, headers, false)).isEqualTo(data);
+            final Headers otherHeaders = new RecordHeaders();
+            storer.storeBytes("other", data, false, otherHeaders);
+            this.softly.assertThat(otherHeaders.lastHeader(CompressionType.HEADER_NAME).value())
+                    .containsExactly(CompressionType.ZSTD.getId());
+        }
+    }
+
+    @Test
+    void shouldStoreChunks() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket",
+                AbstractLargeMessageConfig.USE_HEADERS_CONFIG, true,
+                AbstractLargeMessageConfig.CHUNK_SIZE_CONFIG, 1024
+        ));
+        try (final LargeMessageStoringClient storer = config.getStorer();
+                final LargeMessageRetrievingClient retriever = config.getRetriever()) {
+            final byte[] data = new byte[10_000];
+            new Random().nextBytes(data);
+            final Headers headers = new RecordHeaders();
+            final byte[] bytes = storer.storeBytes("chunks", data, false, headers);
+            this.softly.assertThat(LargeMessagePayload.asUri(bytes)).endsWith(ChunkedBlobStorageClient.MANIFEST_SUFFIX);
+            this.softly.assertThat(retriever.retrieveBytes(bytes, headers, false)).isEqualTo(data);
+        }
+    }
+
+    @Test
+    void shouldStoreIdenticalPayloadsOnce() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket/base/",
+                AbstractLargeMessageConfig.USE_HEADERS_CONFIG, true,
+                AbstractLargeMessageConfig.ID_GENERATOR_CONFIG, Sha256HashIdGenerator.class,
+                AbstractLargeMessageConfig.DEDUP_ENABLED_CONFIG, true,
+                AbstractLargeMessageConfig.DEDUP_CONTENT_STORE_ENABLED_CONFIG, true
+        ));
+        try (final LargeMessageStoringClient storer = config.getStorer();
+                final LargeMessageRetrievingClient retriever = config.getRetriever()) {
+            final byte[] data = new byte[10_000];
+            new Random().nextBytes(data);
+            final Headers headers = new RecordHeaders();
+            final byte[] bytes = storer.storeBytes("first", data, false, headers);
+            this.softly.assertThat(LargeMessagePayload.asUri(bytes))
+                    .startsWith(TestBlobStorageConfig.SCHEME + "://bucket/base/content/");
+            this.softly.assertThat(storer.storeBytes("second", data, false, new RecordHeaders())).isEqualTo(bytes);
+            this.softly.assertThat(retriever.retrieveBytes(bytes, headers, false)).isEqualTo(data);
+        }
+    }
+
+    @Test
+    void shouldSelectCompressionAdaptively() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket",
+                AbstractLargeMessageConfig.USE_HEADERS_CONFIG, true,
+                AbstractLargeMessageConfig.COMPRESSION_ADAPTIVE_ENABLED_CONFIG, true,
+                AbstractLargeMessageConfig.COMPRESSION_ADAPTIVE_SAMPLE_INTERVAL_CONFIG, 1
+        ));
+        try (final LargeMessageStoringClient storer = config.getStorer();
+                final LargeMessageRetrievingClient retriever = config.getRetriever()) {
+            final byte[] random = new byte[10_000];
+            new Random().nextBytes(random);
+            final Headers randomHeaders = new RecordHeaders();
+            final byte[] randomBytes = storer.storeBytes("adaptive", random, false, randomHeaders);
+            this.softly.assertThat(randomHeaders.lastHeader(CompressionType.HEADER_NAME)).isNull();
+            this.softly.assertThat(retriever.retrieveBytes(randomBytes, randomHeaders, false)).isEqualTo(random);
+            final byte[] text = "foo".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+            final Headers textHeaders = new RecordHeaders();
+            final byte[] textBytes = storer.storeBytes("adaptive", text, false, textHeaders);
+            this.softly.assertThat(textHeaders.lastHeader(CompressionType.HEADER_NAME)).isNotNull();
+            this.softly.assertThat(retriever.retrieveBytes(textBytes, textHeaders, false)).isEqualTo(text);
+            final MetricName metricName = LargeMessageMetrics.metricName("compression-decisions-total", "",
+                    Map.of(LargeMessageMetrics.TOPIC_TAG, "adaptive",
+                            LargeMessageMetrics.COMPRESSION_TYPE_TAG, CompressionType.NONE.getName()));
+            this.softly.assertThat(LargeMessageMetrics.getMetrics().metric(metricName).metricValue()).isEqualTo(1.0);
+        }
+    }
+
+    @Test
+    void shouldRetrieveKeyAndValueWithDifferentCompression() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket",
+                AbstractLargeMessageConfig.USE_HEADERS_CONFIG, true,
+                AbstractLargeMessageConfig.COMPRESSION_ADAPTIVE_ENABLED_CONFIG, true,
+                AbstractLargeMessageConfig.COMPRESSION_ADAPTIVE_SAMPLE_INTERVAL_CONFIG, 1
+        ));
+        try (final LargeMessageStoringClient storer = config.getStorer();
+                final LargeMessageRetrievingClient retriever = config.getRetriever()) {
+            final byte[] key = new byte[10_000];
+            new Random().nextBytes(key);
+            final byte[] value = "foo".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+            final Headers headers = new RecordHeaders();
+            final byte[] keyBytes = storer.storeBytes("mixed", key, true, headers);
+            final byte[] valueBytes = storer.storeBytes("mixed", value, false, headers);
+            this.softly.assertThat(headers.lastHeader(CompressionType.getHeaderName(true))).isNull();
+            this.softly.assertThat(headers.lastHeader(CompressionType.getHeaderName(false))).isNotNull();
+            this.softly.assertThat(retriever.retrieveBytes(keyBytes, headers, true)).isEqualTo(key);
+            this.softly.assertThat(retriever.retrieveBytes(valueBytes, headers, false)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void shouldRetrieveKeyAndValueOnDifferentSidesOfBlockSize() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket",
+                AbstractLargeMessageConfig.USE_HEADERS_CONFIG, true,
+                AbstractLargeMessageConfig.COMPRESSION_TYPE_CONFIG, "zstd",
+                AbstractLargeMessageConfig.COMPRESSION_BLOCK_SIZE_CONFIG, 1024
+        ));
+        try (final LargeMessageStoringClient storer = config.getStorer();
+                final LargeMessageRetrievingClient retriever = config.getRetriever()) {
+            final byte[] small = "foo".getBytes(StandardCharsets.UTF_8);
+            final byte[] large = "foo".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+            final Headers headers = new RecordHeaders();
+            final byte[] keyBytes = storer.storeBytes("blocks", small, true, headers);
+            final byte[] valueBytes = storer.storeBytes("blocks", large, false, headers);
+            this.softly.assertThat(headers.lastHeader(CompressionType.getHeaderName(true)).value())
+                    .satisfies(header -> this.softly.assertThat(BlockCompression.hasBlocks(header)).isFalse());
+            this.softly.assertThat(headers.lastHeader(CompressionType.getHeaderName(false)).value())
+                    .satisfies(header -> this.softly.assertThat(BlockCompression.hasBlocks(header)).isTrue());
+            this.softly.assertThat(retriever.retrieveBytes(keyBytes, headers, true)).isEqualTo(small);
+            this.softly.assertThat(retriever.retrieveBytes(valueBytes, headers, false)).isEqualTo(large);
+            final Headers reversedHeaders = new RecordHeaders();
+            final byte[] largeKeyBytes = storer.storeBytes("blocks", large, true, reversedHeaders);
+            final byte[] smallValueBytes = storer.storeBytes("blocks", small, false, reversedHeaders);
+            this.softly.assertThat(retriever.retrieveBytes(largeKeyBytes, reversedHeaders, true)).isEqualTo(large);
+            this.softly.assertThat(retriever.retrieveBytes(smallValueBytes, reversedHeaders, false)).isEqualTo(small);
+        }
+    }
+
+    @Test
+    void shouldNotLoadInvalidCompression() {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.COMPRESSION_TYPE_CONFIG, "snappy",
+                AbstractLargeMessageConfig.COMPRESSION_LEVEL_CONFIG, 1
+        ));
+        this.softly.assertThatThrownBy(config::getStorer)
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("Compression type snappy does not support levels");
+        final AbstractLargeMessageConfig topicConfig = new AbstractLargeMessageConfig(Map.of(
+                AbstractLargeMessageConfig.COMPRESSION_TOPIC_OVERRIDES_CONFIG, "archive"
+        ));
+        this.softly.assertThatThrownBy(topicConfig::getStorer)
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("Expected format <topic>:<type>[:<level>[:<window.log>]]");
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class AdaptiveCompressionTest {
+    private static final String TOPIC = "topic";
+
+    private static byte[] createRandom() {
+        final byte[] bytes = new byte[100_000];
+        new Random(0).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] createText() {
+        final StringBuilder text = new StringBuilder();
+        final Random random = new Random(0);
+        while (text.length() < 100_000) {
+            text.append("{\"id\":").append(random.nextInt(1_000)).append(",\"status\":\"active\"}\n");
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static CompressionCodec getSelected(final AdaptiveCompression adaptiveCompression) {
+        return adaptiveCompression.getSelected(TOPIC)
+                .map(CompressionSettings::getCodec)
+                .orElse(null);
+    }
+
+    @Test
+    void shouldEstimateEntropy() {
+        assertThat(AdaptiveCompression.entropy(new byte[1_000])).isZero();
+        final byte[] uniform = new byte[256];
+        for (int i = 0; i < uniform.length; i++) {
+            uniform[i] = (byte) i;
+        }
+        assertThat(AdaptiveCompression.entropy(uniform)).isCloseTo(8.0, within(1.0e-9));
+    }
+
+    @Test
+    void shouldNotSelectBeforeSampling() {
+        final AdaptiveCompression adaptiveCompression = AdaptiveCompression.builder().build();
+        assertThat(adaptiveCompression.getSelected(TOPIC)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void shouldNotCompressRandomPayloads(final AdaptiveCompression.Objective objective) {
+        final AdaptiveCompression adaptiveCompression = AdaptiveCompression.builder()
+                .objective(objective)
+                .build();
+        adaptiveCompression.sample(TOPIC, createRandom(), BufferPool.DEFAULT);
+        assertThat(getSelected(adaptiveCompression)).isEqualTo(CompressionType.NONE);
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void shouldCompressText(final AdaptiveCompression.Objective objective) {
+        final AdaptiveCompression adaptiveCompression = AdaptiveCompression.builder()
+                .objective(objective)
+                .build();
+        adaptiveCompression.sample(TOPIC, createText(), BufferPool.DEFAULT);
+        assertThat(getSelected(adaptiveCompression)).isNotEqualTo(CompressionType.NONE);
+    }
+
+    @Test
+    void shouldSelectSmallestCompression() {
+        final AdaptiveCompression adaptiveCompression = AdaptiveCompression.builder()
+                .objective(AdaptiveCompression.Objective.SIZE)
+                .sampleSize(Integer.MAX_VALUE)
+                .build();
+        final byte[] text = createText();
+        adaptiveCompression.sample(TOPIC, text, BufferPool.DEFAULT);
+        final int selectedSize = getSelected(adaptiveCompression).compress(text, CompressionOptions.DEFAULT).length;
+        for (final CompressionType compressionType : CompressionType.values()) {
+            assertThat(selectedSize).isLessThanOrEqualTo(compressionType.compress(text).length);
+        }
+    }
+
+    @Test
+    void shouldNotCompressBelowMinimumGain() {
+        final AdaptiveCompression adaptiveCompression = AdaptiveCompression.builder()
+                .minGain(1.0)
+                .build();
+        adaptiveCompression.sample(TOPIC, createText(), BufferPool.DEFAULT);
+        assertThat(getSelected(adaptiveCompression)).isEqualTo(CompressionType.NONE);
+    }
+
+    @Test
+    void shouldSampleAtInterval() {
+        final AdaptiveCompression adaptiveCompression = AdaptiveCompression.builder()
+                .sampleInterval(2)
+                .build();
+        adaptiveCompression.sample(TOPIC, createRandom(), BufferPool.DEFAULT);
+        assertThat(getSelected(adaptiveCompression)).isEqualTo(CompressionType.NONE);
+        adaptiveCompression.sample(TOPIC, createText(), BufferPool.DEFAULT);
+        assertThat(getSelected(adaptiveCompression)).isEqualTo(CompressionType.NONE);
+        adaptiveCompression.sample(TOPIC, createText(), BufferPool.DEFAULT);
+        assertThat(getSelected(adaptiveCompression)).isNotEqualTo(CompressionType.NONE);
+    }
+}
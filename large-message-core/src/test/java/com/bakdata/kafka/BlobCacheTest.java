@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BlobCacheTest {
+
+    private static final BlobStorageURI URI = BlobStorageURI.create("foo://bucket/key");
+    private static final Object BACKEND = "backend";
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldCachePayload(final boolean offHeap) {
+        final BlobCache cache = BlobCache.create(1024L, offHeap);
+        final AtomicInteger loads = new AtomicInteger();
+        final byte[] first = cache.get(BACKEND, URI, uri -> {
+            loads.incrementAndGet();
+            return new byte[]{1, 2, 3};
+        });
+        final byte[] second = cache.get(BACKEND, URI, uri -> {
+            loads.incrementAndGet();
+            return new byte[]{4, 5, 6};
+        });
+        assertThat(first).isEqualTo(new byte[]{1, 2, 3});
+        assertThat(second).isEqualTo(new byte[]{1, 2, 3});
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+        assertThat(cache.stats().missCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldNotCopyHeapPayloads() {
+        final BlobCache cache = BlobCache.create(1024L, false);
+        final byte[] bytes = {1, 2, 3};
+        cache.put(BACKEND, URI, bytes);
+        assertThat(cache.getIfPresent(BACKEND, URI)).isSameAs(bytes);
+    }
+
+    @Test
+    void shouldCopyOffHeapPayloads() {
+        final BlobCache cache = BlobCache.create(1024L, true);
+        cache.put(BACKEND, URI, new byte[]{1, 2, 3});
+        final byte[] bytes = cache.getIfPresent(BACKEND, URI);
+        bytes[0] = 42;
+        assertThat(cache.getIfPresent(BACKEND, URI)).isEqualTo(new byte[]{1, 2, 3});
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldCachePayloadsPerBackend(final boolean offHeap) {
+        final BlobCache cache = BlobCache.create(1024L, offHeap);
+        cache.put(BACKEND, URI, new byte[]{1, 2, 3});
+        assertThat(cache.getIfPresent("other", URI)).isNull();
+        assertThat(cache.getIfPresent(BACKEND, URI)).isEqualTo(new byte[]{1, 2, 3});
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldLimitWeight(final boolean offHeap) {
+        final BlobCache cache = BlobCache.create(1024L, offHeap);
+        IntStream.range(0, 10)
+                .forEach(i -> cache.put(BACKEND, BlobStorageURI.create("foo://bucket/" + i), new byte[512]));
+        assertThat(cache.weightedSize()).isLessThanOrEqualTo(1024L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldLoadOnceForConcurrentRequests(final boolean offHeap) throws InterruptedException {
+        final BlobCache cache = BlobCache.create(1024L, offHeap);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<CompletableFuture<byte[]>> futures = IntStream.range(0, 4)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> cache.get(BACKEND, URI, uri -> {
+                        loads.incrementAndGet();
+                        loading.countDown();
+                        awaitUninterruptibly(release);
+                        return new byte[]{1, 2, 3};
+                    }), executor))
+                    .collect(Collectors.toList());
+            assertThat(loading.await(10L, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            assertThat(futures)
+                    .allSatisfy(future -> assertThat(future.join()).isEqualTo(new byte[]{1, 2, 3}));
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldShareCaches(final boolean offHeap) {
+        assertThat(BlobCache.shared(2048L, offHeap)).isSameAs(BlobCache.shared(2048L, offHeap));
+        assertThat(BlobCache.shared(2048L, offHeap)).isNotSameAs(BlobCache.shared(4096L, offHeap));
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        try {
+            latch.await(10L, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
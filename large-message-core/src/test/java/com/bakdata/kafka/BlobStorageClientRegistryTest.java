@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigDef.Importance;
+import org.apache.kafka.common.config.ConfigDef.Type;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.STRICT_STUBS)
+class BlobStorageClientRegistryTest {
+
+    @Mock
+    private BlobStorageClient client;
+    @Mock
+    private BlobStorageConfig config;
+
+    @Test
+    void shouldShareClientForEqualConfigs() {
+        final int size = BlobStorageClientRegistry.size();
+        final CountingConfig config1 = new CountingConfig(Map.of("name", "shared"));
+        final CountingConfig config2 = new CountingConfig(Map.of("name", "shared"));
+        final BlobStorageClient client1 = BlobStorageClientRegistry.acquire(config1);
+        final BlobStorageClient client2 = BlobStorageClientRegistry.acquire(config2);
+        assertThat(config1.created + config2.created).isEqualTo(1);
+        assertThat(BlobStorageClientRegistry.size()).isEqualTo(size + 1);
+        client1.close();
+        assertThat(BlobStorageClientRegistry.size()).isEqualTo(size + 1);
+        client2.close();
+        assertThat(BlobStorageClientRegistry.size()).isEqualTo(size);
+    }
+
+    @Test
+    void shouldNotShareClientForDifferentConfigs() {
+        final CountingConfig config1 = new CountingConfig(Map.of("name", "foo"));
+        final CountingConfig config2 = new CountingConfig(Map.of("name", "bar"));
+        try (final BlobStorageClient client1 = BlobStorageClientRegistry.acquire(config1);
+                final BlobStorageClient client2 = BlobStorageClientRegistry.acquire(config2)) {
+            assertThat(config1.created).isEqualTo(1);
+            assertThat(config2.created).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldCloseClientAfterLastRelease() {
+        when(this.config.createBlobStorageClient()).thenReturn(this.client);
+        final BlobStorageClient client1 = BlobStorageClientRegistry.acquire(this.config);
+        final BlobStorageClient client2 = BlobStorageClientRegistry.acquire(this.config);
+        client1.close();
+        // closing twice must not release the client twice
+        client1.close();
+        verify(this.client, never()).close();
+        client2.getObject("bucket", "key");
+        verify(this.client).getObject("bucket", "key");
+        client2.close();
+        verify(this.client, times(1)).close();
+        verify(this.config, times(1)).createBlobStorageClient();
+    }
+
+    @Test
+    void shouldNotBlockOtherConfigsWhileCreatingClient() {
+        final CountDownLatch created = new CountDownLatch(1);
+        final BlobStorageConfig slowConfig = () -> {
+            try {
+                created.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new NoBlobStorageClient();
+        };
+        final CompletableFuture<BlobStorageClient> slowClient =
+                CompletableFuture.supplyAsync(() -> BlobStorageClientRegistry.acquire(slowConfig));
+        final CountingConfig config1 = new CountingConfig(Map.of("name", "fast"));
+        try (final BlobStorageClient client1 = BlobStorageClientRegistry.acquire(config1)) {
+            assertThat(config1.created).isEqualTo(1);
+            assertThat(slowClient).isNotDone();
+        }
+        created.countDown();
+        assertThat(slowClient).succeedsWithin(Duration.ofSeconds(10));
+        slowClient.join().close();
+    }
+
+    @Test
+    void shouldNotRegisterFailedClient() {
+        final int size = BlobStorageClientRegistry.size();
+        when(this.config.createBlobStorageClient()).thenThrow(new IllegalStateException("Failed"))
+                .thenReturn(this.client);
+        assertThatThrownBy(() -> BlobStorageClientRegistry.acquire(this.config))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Failed");
+        assertThat(BlobStorageClientRegistry.size()).isEqualTo(size);
+        BlobStorageClientRegistry.acquire(this.config).close();
+        verify(this.client).close();
+    }
+
+    @Test
+    void shouldNotBlockWaitingThreadsOnError() throws InterruptedException {
+        final int size = BlobStorageClientRegistry.size();
+        final CountDownLatch creating = new CountDownLatch(1);
+        final CountDownLatch failing = new CountDownLatch(1);
+        final BlobStorageConfig failingConfig = () -> {
+            creating.countDown();
+            try {
+                failing.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new NoClassDefFoundError("Missing SDK");
+        };
+        final CompletableFuture<BlobStorageClient> creator =
+                CompletableFuture.supplyAsync(() -> BlobStorageClientRegistry.acquire(failingConfig));
+        creating.await();
+        final CompletableFuture<BlobStorageClient> waiter =
+                CompletableFuture.supplyAsync(() -> BlobStorageClientRegistry.acquire(failingConfig));
+        failing.countDown();
+        assertThat(creator).failsWithin(Duration.ofSeconds(10))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(NoClassDefFoundError.class);
+        assertThat(waiter).failsWithin(Duration.ofSeconds(10))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(NoClassDefFoundError.class);
+        assertThat(BlobStorageClientRegistry.size()).isEqualTo(size);
+    }
+
+    private static final class CountingConfig extends AbstractConfig implements BlobStorageConfig {
+        private static final ConfigDef CONFIG_DEF = new ConfigDef()
+                .define("name", Type.STRING, Importance.HIGH, "name");
+        private int created;
+
+        private CountingConfig(final Map<?, ?> originals) {
+            super(CONFIG_DEF, originals);
+        }
+
+        @Override
+        public BlobStorageClient createBlobStorageClient() {
+            this.created++;
+            return new NoBlobStorageClient();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.EnumSource.Mode;
+
+class BlockCompressionTest {
+    private static final int BLOCK_SIZE = 1024;
+
+    private static byte[] createPayload(final int size) {
+        final Random random = new Random(0);
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            // limited alphabet, so that the payload is compressible
+            bytes[i] = (byte) ('a' + random.nextInt(4));
+        }
+        return bytes;
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CompressionType.class, names = "NONE", mode = Mode.EXCLUDE)
+    void shouldRoundtrip(final CompressionType compressionType) {
+        final BlockCompression compression = new BlockCompression(compressionType, BLOCK_SIZE);
+        final byte[] original = createPayload(10 * BLOCK_SIZE + 17);
+        final byte[] compressed = compression.compress(original, CompressionOptions.DEFAULT);
+        assertThat(BlockCompression.forDecompression(compressionType).decompress(compressed)).isEqualTo(original);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CompressionType.class, names = "NONE", mode = Mode.EXCLUDE)
+    void shouldRoundtripStream(final CompressionType compressionType) throws IOException {
+        final BlockCompression compression = new BlockCompression(compressionType, BLOCK_SIZE);
+        final byte[] original = createPayload(10 * BLOCK_SIZE + 17);
+        final byte[] compressed = compression.compress(original, CompressionOptions.DEFAULT);
+        try (final InputStream stream = BlockCompression.forDecompression(compressionType)
+                .decompress(new ByteArrayInputStream(compressed))) {
+            assertThat(stream).hasBinaryContent(original);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CompressionType.class, names = "NONE", mode = Mode.EXCLUDE)
+    void shouldCompressStream(final CompressionType compressionType) throws IOException {
+        final BlockCompression compression = new BlockCompression(compressionType, BLOCK_SIZE);
+        final byte[] original = createPayload(10 * BLOCK_SIZE + 17);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (final OutputStream stream = compression.compress(compressed, CompressionOptions.DEFAULT)) {
+            // write in pieces that do not align with blocks
+            for (int offset = 0; offset < original.length; offset += 100) {
+                stream.write(original, offset, Math.min(100, original.length - offset));
+            }
+        }
+        assertThat(compressed.toByteArray()).isEqualTo(compression.compress(original, CompressionOptions.DEFAULT));
+    }
+
+    @Test
+    void shouldCompressEmptyStream() throws IOException {
+        final BlockCompression compression = new BlockCompression(CompressionType.GZIP, BLOCK_SIZE);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        compression.compress(compressed, CompressionOptions.DEFAULT).close();
+        assertThat(compression.decompress(compressed.toByteArray())).isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CompressionType.class, names = "NONE", mode = Mode.EXCLUDE)
+    void shouldCompressDeterministically(final CompressionType compressionType) {
+        final BlockCompression compression = new BlockCompression(compressionType, BLOCK_SIZE);
+        final byte[] original = createPayload(10 * BLOCK_SIZE);
+        assertThat(compression.compress(original, CompressionOptions.DEFAULT))
+                .isEqualTo(compression.compress(original, CompressionOptions.DEFAULT));
+    }
+
+    @Test
+    void shouldRoundtripEmptyPayload() {
+        final BlockCompression compression = new BlockCompression(CompressionType.GZIP, BLOCK_SIZE);
+        final byte[] compressed = compression.compress(new byte[0], CompressionOptions.DEFAULT);
+        assertThat(compression.decompress(compressed)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CompressionType.class, names = "NONE", mode = Mode.EXCLUDE)
+    void shouldMarkBlocksInHeader(final CompressionType compressionType) {
+        final CompressionSettings settings =
+                new CompressionSettings(new BlockCompression(compressionType, BLOCK_SIZE), CompressionOptions.DEFAULT);
+        final byte[] header = settings.createHeader();
+        assertThat(BlockCompression.hasBlocks(header)).isTrue();
+        assertThat(CompressionCodecRegistry.forId(header[0])).isEqualTo(compressionType);
+        assertThat(BlockCompression.hasBlocks(new byte[]{compressionType.getId()})).isFalse();
+    }
+}
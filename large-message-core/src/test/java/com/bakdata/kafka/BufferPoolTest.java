@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BufferPoolTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldReuseBuffers(final boolean direct) {
+        final BufferPool pool = BufferPool.create(BufferPool.DEFAULT_MAX_RETAINED_BYTES, direct);
+        final ByteBuffer buffer = pool.acquire(5000);
+        assertThat(buffer.capacity()).isEqualTo(8192);
+        assertThat(buffer.isDirect()).isEqualTo(direct);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+        assertThat(pool.getRetainedBytes()).isEqualTo(8192L);
+        final ByteBuffer reused = pool.acquire(8000);
+        assertThat(reused).isSameAs(buffer);
+        assertThat(reused.position()).isZero();
+        assertThat(pool.getRetainedBytes()).isZero();
+    }
+
+    @Test
+    void shouldUseMinimumSize() {
+        final BufferPool pool = BufferPool.create(BufferPool.DEFAULT_MAX_RETAINED_BYTES, false);
+        assertThat(pool.acquire(0).capacity()).isEqualTo(BufferPool.MIN_BUFFER_SIZE);
+    }
+
+    @Test
+    void shouldNotPoolLargeBuffers() {
+        final BufferPool pool = BufferPool.create(Long.MAX_VALUE, false);
+        final ByteBuffer buffer = pool.acquire(BufferPool.MAX_BUFFER_SIZE + 1);
+        assertThat(buffer.capacity()).isEqualTo(BufferPool.MAX_BUFFER_SIZE + 1);
+        pool.release(buffer);
+        assertThat(pool.getRetainedBytes()).isZero();
+    }
+
+    @Test
+    void shouldLimitRetainedBytes() {
+        final BufferPool pool = BufferPool.create(BufferPool.MIN_BUFFER_SIZE, false);
+        final ByteBuffer buffer1 = pool.acquire(BufferPool.MIN_BUFFER_SIZE);
+        final ByteBuffer buffer2 = pool.acquire(BufferPool.MIN_BUFFER_SIZE);
+        pool.release(buffer1);
+        pool.release(buffer2);
+        assertThat(pool.getRetainedBytes()).isEqualTo(BufferPool.MIN_BUFFER_SIZE);
+    }
+
+    @Test
+    void shouldNotRetainForeignBuffers() {
+        final BufferPool pool = BufferPool.create(BufferPool.DEFAULT_MAX_RETAINED_BYTES, false);
+        pool.release(ByteBuffer.allocate(5000));
+        pool.release(ByteBuffer.allocateDirect(BufferPool.MIN_BUFFER_SIZE));
+        assertThat(pool.getRetainedBytes()).isZero();
+    }
+
+    @Test
+    void shouldReadAllBytes() throws IOException {
+        final BufferPool pool = BufferPool.create(BufferPool.DEFAULT_MAX_RETAINED_BYTES, false);
+        final byte[] bytes = new byte[5 * BufferPool.MIN_BUFFER_SIZE + 42];
+        new Random().nextBytes(bytes);
+        assertThat(pool.readAllBytes(new ByteArrayInputStream(bytes), 1)).isEqualTo(bytes);
+        assertThat(pool.getRetainedBytes()).isPositive();
+    }
+
+    @Test
+    void shouldReadExactly() throws IOException {
+        final byte[] bytes = {1, 2, 3};
+        assertThat(BufferPool.readExactly(new ByteArrayInputStream(bytes), 3)).isEqualTo(bytes);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bakdata.kafka.ChunkedBlobStorageClient.Manifest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.STRICT_STUBS)
+class ChunkedBlobStorageClientTest {
+    private static final String BUCKET = "bucket";
+    private static final ChunkSettings SETTINGS = ChunkSettings.builder()
+            .chunkSize(4)
+            .retries(1)
+            .build();
+    @Mock
+    private BlobStorageClient client;
+
+    @Test
+    void shouldStoreChunksAndManifest() {
+        when(this.client.putObject(any(), eq(BUCKET), anyString()))
+                .thenAnswer(invocation -> "foo://" + BUCKET + "/" + invocation.getArgument(2));
+        try (final BlobStorageClient chunkedClient = new ChunkedBlobStorageClient(this.client, SETTINGS)) {
+            assertThat(chunkedClient.putObject(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, BUCKET, "key"))
+                    .isEqualTo("foo://" + BUCKET + "/key.manifest");
+        }
+        verify(this.client).putObject(new byte[]{1, 2, 3, 4}, BUCKET, "key.chunks/0");
+        verify(this.client).putObject(new byte[]{5, 6, 7, 8}, BUCKET, "key.chunks/1");
+        verify(this.client).putObject(new byte[]{9, 10}, BUCKET, "key.chunks/2");
+        verify(this.client).putObject(new Manifest(10L, 4).serialize(), BUCKET, "key.manifest");
+    }
+
+    @Test
+    void shouldNotSplitSmallPayloads() {
+        when(this.client.putObjectAsync(new byte[]{1, 2, 3, 4}, BUCKET, "key"))
+                .thenReturn(CompletableFuture.completedFuture("uri"));
+        try (final BlobStorageClient chunkedClient = new ChunkedBlobStorageClient(this.client, SETTINGS)) {
+            assertThat(chunkedClient.putObject(new byte[]{1, 2, 3, 4}, BUCKET, "key")).isEqualTo("uri");
+        }
+        verify(this.client, never()).putObject(any(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldRetrieveChunks() {
+        when(this.client.getObjectAsync(BUCKET, "key.manifest"))
+                .thenReturn(CompletableFuture.completedFuture(new Manifest(6L, 4).serialize()));
+        when(this.client.getObject(BUCKET, "key.chunks/0")).thenReturn(new byte[]{1, 2, 3, 4});
+        when(this.client.getObject(BUCKET, "key.chunks/1")).thenReturn(new byte[]{5, 6});
+        try (final BlobStorageClient chunkedClient = new ChunkedBlobStorageClient(this.client, SETTINGS)) {
+            assertThat(chunkedClient.getObject(BUCKET, "key.manifest")).containsExactly(1, 2, 3, 4, 5, 6);
+        }
+    }
+
+    @Test
+    void shouldStreamChunks() throws IOException {
+        when(this.client.getObject(BUCKET, "key.manifest")).thenReturn(new Manifest(6L, 4).serialize());
+        when(this.client.getObjectStream(BUCKET, "key.chunks/0"))
+                .thenReturn(new ByteArrayInputStream(new byte[]{1, 2, 3, 4}));
+        when(this.client.getObjectStream(BUCKET, "key.chunks/1"))
+                .thenReturn(new ByteArrayInputStream(new byte[]{5, 6}));
+        try (final BlobStorageClient chunkedClient = new ChunkedBlobStorageClient(this.client, SETTINGS);
+                final InputStream stream = chunkedClient.getObjectStream(BUCKET, "key.manifest")) {
+            assertThat(stream).hasBinaryContent(new byte[]{1, 2, 3, 4, 5, 6});
+        }
+    }
+
+    @Test
+    void shouldRetryFailedChunks() {
+        when(this.client.getObjectAsync(BUCKET, "key.manifest"))
+                .thenReturn(CompletableFuture.completedFuture(new Manifest(6L, 4).serialize()));
+        when(this.client.getObject(BUCKET, "key.chunks/0")).thenReturn(new byte[]{1, 2, 3, 4});
+        when(this.client.getObject(BUCKET, "key.chunks/1"))
+                .thenThrow(new IllegalStateException("Failed"))
+                .thenReturn(new byte[]{5, 6});
+        try (final BlobStorageClient chunkedClient = new ChunkedBlobStorageClient(this.client, SETTINGS)) {
+            assertThat(chunkedClient.getObject(BUCKET, "key.manifest")).containsExactly(1, 2, 3, 4, 5, 6);
+        }
+        verify(this.client).getObject(BUCKET, "key.chunks/0");
+        verify(this.client, times(2)).getObject(BUCKET, "key.chunks/1");
+    }
+
+    @Test
+    void shouldFailIfRetriesAreExhausted() {
+        when(this.client.getObjectAsync(BUCKET, "key.manifest"))
+                .thenReturn(CompletableFuture.completedFuture(new Manifest(4L, 4).serialize()));
+        when(this.client.getObject(BUCKET, "key.chunks/0"))
+                .thenThrow(new IllegalStateException("Failed"));
+        try (final BlobStorageClient chunkedClient = new ChunkedBlobStorageClient(this.client, SETTINGS)) {
+            assertThatThrownBy(() -> chunkedClient.getObject(BUCKET, "key.manifest"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Failed");
+        }
+        verify(this.client, times(2)).getObject(BUCKET, "key.chunks/0");
+    }
+
+    @Test
+    void shouldNotRetryPermanentFailures() {
+        final IllegalStateException failure = new IllegalStateException("Not found");
+        when(this.client.getObjectAsync(BUCKET, "key.manifest"))
+                .thenReturn(CompletableFuture.completedFuture(new Manifest(4L, 4).serialize()));
+        when(this.client.getObject(BUCKET, "key.chunks/0")).thenThrow(failure);
+        when(this.client.isPermanentFailure(failure)).thenReturn(true);
+        try (final BlobStorageClient chunkedClient = new ChunkedBlobStorageClient(this.client, SETTINGS)) {
+            assertThatThrownBy(() -> chunkedClient.getObject(BUCKET, "key.manifest"))
+                    .isSameAs(failure);
+        }
+        verify(this.client, times(1)).getObject(BUCKET, "key.chunks/0");
+    }
+
+    @Test
+    void shouldThrowOnInvalidManifest() {
+        when(this.client.getObjectAsync(BUCKET, "key.manifest"))
+                .thenReturn(CompletableFuture.completedFuture(new Manifest(4L, 0).serialize()));
+        try (final BlobStorageClient chunkedClient = new ChunkedBlobStorageClient(this.client, SETTINGS)) {
+            assertThatThrownBy(() -> chunkedClient.getObject(BUCKET, "key.manifest"))
+                    .isInstanceOf(SerializationException.class);
+        }
+    }
+}
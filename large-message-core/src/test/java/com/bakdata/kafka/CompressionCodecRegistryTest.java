@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class CompressionCodecRegistryTest {
+
+    @ParameterizedTest
+    @EnumSource
+    void shouldKeepIdsOfCompressionTypes(final CompressionType compressionType) {
+        assertThat(CompressionCodecRegistry.forId(compressionType.getId())).isSameAs(compressionType);
+        assertThat(CompressionCodecRegistry.forName(compressionType.getName())).isSameAs(compressionType);
+    }
+
+    @Test
+    void shouldLoadRegisteredCodecs() {
+        final CompressionCodec codec = CompressionCodecRegistry.forName(TestCompressionCodec.NAME);
+        assertThat(codec).isInstanceOf(TestCompressionCodec.class);
+        assertThat(CompressionCodecRegistry.forId(TestCompressionCodec.ID)).isSameAs(codec);
+        assertThat(CompressionCodecRegistry.getNames())
+                .containsExactly("none", "gzip", "snappy", "lz4", "zstd", TestCompressionCodec.NAME);
+    }
+
+    @Test
+    void shouldRoundtripWithRegisteredCodec() {
+        final CompressionCodec codec = CompressionCodecRegistry.forId(TestCompressionCodec.ID);
+        final byte[] original = "foo".getBytes(StandardCharsets.UTF_8);
+        final byte[] compressed =
+                CompressionCodecRegistry.compress(codec, original, CompressionOptions.DEFAULT, BufferPool.DEFAULT);
+        assertThat(compressed).isNotEqualTo(original);
+        assertThat(CompressionCodecRegistry.decompress(codec, compressed, original.length, BufferPool.DEFAULT))
+                .isEqualTo(original);
+    }
+
+    @Test
+    void shouldThrowOnUnknownCodec() {
+        assertThatThrownBy(() -> CompressionCodecRegistry.forId((byte) 42))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown compression type id: 42");
+        assertThatThrownBy(() -> CompressionCodecRegistry.forName("foo"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown compression name: foo");
+    }
+}
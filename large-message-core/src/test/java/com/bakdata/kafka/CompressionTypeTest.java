@@ -25,10 +25,19 @@
 package com.bakdata.kafka;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Random;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.EnumSource.Mode;
 
 class CompressionTypeTest {
     @ParameterizedTest
@@ -40,4 +49,133 @@ class CompressionTypeTest {
         final byte[] decompressed = compressionType.decompress(compressed);
         assertThat(decompressed).isEqualTo(original);
     }
+
+    @ParameterizedTest
+    @EnumSource
+    void shouldRoundtripLargePayloads(final CompressionType compressionType) {
+        final byte[] original = new byte[3 * BufferPool.MIN_BUFFER_SIZE + 42];
+        new Random().nextBytes(original);
+        final BufferPool bufferPool = BufferPool.create(BufferPool.DEFAULT_MAX_RETAINED_BYTES, false);
+        final byte[] compressed = compressionType.compress(original, bufferPool);
+        final byte[] decompressed = compressionType.decompress(compressed, bufferPool);
+        assertThat(decompressed).isEqualTo(original);
+    }
+
+    @ParameterizedTest
+    @EnumSource(mode = Mode.EXCLUDE, names = "NONE")
+    void shouldOnlyReturnCompressedBytes(final CompressionType compressionType) {
+        final byte[] original = new byte[10_000];
+        final byte[] compressed = compressionType.compress(original);
+        assertThat(compressed).hasSizeLessThan(original.length);
+        assertThat(compressionType.decompress(compressed)).isEqualTo(original);
+    }
+
+    @ParameterizedTest
+    @EnumSource(mode = Mode.EXCLUDE, names = "NONE")
+    void shouldReleaseBufferOnError(final CompressionType compressionType) {
+        final BufferPool bufferPool = BufferPool.create(BufferPool.DEFAULT_MAX_RETAINED_BYTES, false);
+        final IdHasher hasher = new IdHasher() {
+            @Override
+            public void update(final byte[] bytes, final int offset, final int length) {
+                throw new IllegalStateException("Failed");
+            }
+
+            @Override
+            public String generateId() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        assertThatThrownBy(() -> compressionType.compress(new byte[10_000], CompressionOptions.DEFAULT, bufferPool,
+                hasher))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(bufferPool.getRetainedBytes()).isPositive();
+    }
+
+    @ParameterizedTest
+    @EnumSource(mode = Mode.EXCLUDE, names = "NONE")
+    void shouldCompressWithDirectBuffers(final CompressionType compressionType) {
+        final byte[] original = new byte[20];
+        new Random().nextBytes(original);
+        final BufferPool bufferPool = BufferPool.create(BufferPool.DEFAULT_MAX_RETAINED_BYTES, true);
+        final byte[] compressed = compressionType.compress(original, bufferPool);
+        assertThat(compressionType.decompress(compressed, bufferPool)).isEqualTo(original);
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void shouldDecompressStream(final CompressionType compressionType) throws IOException {
+        final byte[] original = new byte[3 * BufferPool.MIN_BUFFER_SIZE + 42];
+        new Random().nextBytes(original);
+        final byte[] compressed = compressionType.compress(original);
+        try (final InputStream stream = compressionType.decompress(new ByteArrayInputStream(compressed))) {
+            assertThat(stream.readAllBytes()).isEqualTo(original);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void shouldCompressStream(final CompressionType compressionType) throws IOException {
+        final byte[] original = new byte[3 * BufferPool.MIN_BUFFER_SIZE + 42];
+        new Random().nextBytes(original);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (final OutputStream stream = compressionType.compress(compressed, CompressionOptions.DEFAULT)) {
+            stream.write(original);
+        }
+        assertThat(compressionType.decompress(compressed.toByteArray())).isEqualTo(original);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"GZIP,1", "GZIP,9", "LZ4,1", "LZ4,17", "ZSTD,-5", "ZSTD,19"})
+    void shouldRoundtripWithLevel(final CompressionType compressionType, final int level) throws IOException {
+        final byte[] original = new byte[3 * BufferPool.MIN_BUFFER_SIZE + 42];
+        new Random().nextBytes(original);
+        final CompressionOptions options = CompressionOptions.builder().level(level).build();
+        compressionType.validate(options);
+        assertThat(compressionType.decompress(compressionType.compress(original, options))).isEqualTo(original);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (final OutputStream stream = compressionType.compress(compressed, options)) {
+            stream.write(original);
+        }
+        assertThat(compressionType.decompress(compressed.toByteArray())).isEqualTo(original);
+    }
+
+    @Test
+    void shouldCompressBetterWithHigherLevel() {
+        final byte[] original = new byte[100_000];
+        final Random random = new Random(0);
+        for (int i = 0; i < original.length; i++) {
+            original[i] = (byte) ('a' + random.nextInt(4));
+        }
+        final byte[] fast = CompressionType.ZSTD.compress(original, CompressionOptions.builder().level(1).build());
+        final byte[] strong = CompressionType.ZSTD.compress(original, CompressionOptions.builder().level(19).build());
+        assertThat(strong).hasSizeLessThan(fast.length);
+    }
+
+    @Test
+    void shouldRoundtripWithWindowSize() {
+        final byte[] original = new byte[3 * BufferPool.MIN_BUFFER_SIZE + 42];
+        new Random().nextBytes(original);
+        final CompressionOptions options = CompressionOptions.builder()
+                .level(19)
+                .windowLog(CompressionType.ZSTD_MAX_WINDOW_LOG)
+                .build();
+        CompressionType.ZSTD.validate(options);
+        final byte[] compressed = CompressionType.ZSTD.compress(original, options);
+        assertThat(CompressionType.ZSTD.decompress(compressed)).isEqualTo(original);
+    }
+
+    @Test
+    void shouldRejectUnsupportedOptions() {
+        assertThatThrownBy(() -> CompressionType.SNAPPY.validate(CompressionOptions.builder().level(1).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Compression type snappy does not support levels");
+        assertThatThrownBy(() -> CompressionType.GZIP.validate(CompressionOptions.builder().level(42).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompressionType.GZIP.validate(CompressionOptions.builder().windowLog(20).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Compression type gzip does not support window sizes");
+        assertThatThrownBy(() -> CompressionType.ZSTD.validate(CompressionOptions.builder().windowLog(31).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("zstd window log must be between 10 and 27 but was 31");
+    }
 }
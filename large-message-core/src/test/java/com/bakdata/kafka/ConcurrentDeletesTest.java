@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentDeletesTest {
+    private static final String SCHEME = "foo";
+
+    private static CompletableFuture<Integer> add(final List<CompletableFuture<Integer>> requests) {
+        final CompletableFuture<Integer> request = new CompletableFuture<>();
+        requests.add(request);
+        return request;
+    }
+
+    @Test
+    void shouldWaitForRequests() {
+        final ConcurrentDeletes deletes = new ConcurrentDeletes(SCHEME, 2);
+        final List<CompletableFuture<Integer>> requests = new ArrayList<>();
+        deletes.submit(() -> add(requests));
+        deletes.submit(() -> add(requests));
+        final CompletableFuture<Void> await = CompletableFuture.runAsync(deletes::await);
+        assertThat(await).isNotDone();
+        requests.forEach(request -> request.complete(1));
+        assertThat(await).succeedsWithin(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldBoundRequestsInFlight() {
+        final ConcurrentDeletes deletes = new ConcurrentDeletes(SCHEME, 1);
+        final List<CompletableFuture<Integer>> requests = new ArrayList<>();
+        final AtomicInteger sent = new AtomicInteger();
+        deletes.submit(() -> add(requests));
+        final CompletableFuture<Void> second = CompletableFuture.runAsync(() -> deletes.submit(() -> {
+            sent.incrementAndGet();
+            return CompletableFuture.completedFuture(1);
+        }));
+        assertThat(second).isNotDone();
+        assertThat(sent).hasValue(0);
+        requests.get(0).complete(1);
+        assertThat(second).succeedsWithin(Duration.ofSeconds(1));
+        assertThat(sent).hasValue(1);
+        deletes.await();
+    }
+
+    @Test
+    void shouldThrowFailedRequest() {
+        final ConcurrentDeletes deletes = new ConcurrentDeletes(SCHEME, 2);
+        deletes.submit(() -> CompletableFuture.failedFuture(new IllegalStateException("Failed")));
+        assertThatThrownBy(deletes::await)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Failed");
+        assertThatThrownBy(() -> deletes.submit(() -> CompletableFuture.completedFuture(1)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
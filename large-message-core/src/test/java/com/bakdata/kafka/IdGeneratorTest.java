@@ -26,6 +26,8 @@ package com.bakdata.kafka;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
+import java.util.Random;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -35,10 +37,25 @@ import org.junit.jupiter.params.provider.MethodSource;
 class IdGeneratorTest {
 
     private static Stream<Arguments> generateIdGeneratorFactories() {
-        return Stream.<Supplier<? extends IdGenerator>>of(Sha256HashIdGenerator::new, MurmurHashIdGenerator::new)
+        return Stream.<Supplier<? extends IdGenerator>>of(Sha256HashIdGenerator::new, MurmurHashIdGenerator::new,
+                        XxHashIdGenerator::new)
                 .map(Arguments::of);
     }
 
+    private static Stream<Arguments> generateIncrementalIdGeneratorFactories() {
+        return Stream.<Supplier<? extends IncrementalIdGenerator>>of(Sha256HashIdGenerator::new,
+                        MurmurHashIdGenerator::new, XxHashIdGenerator::new)
+                .map(Arguments::of);
+    }
+
+    private static byte[] createPayload() {
+        final byte[] bytes = new byte[100_000];
+        new Random().nextBytes(bytes);
+        // compressible part
+        Arrays.fill(bytes, 0, 50_000, (byte) 1);
+        return bytes;
+    }
+
     @ParameterizedTest
     @MethodSource("generateIdGeneratorFactories")
     void shouldGenerateSameIdForSameInput(final Supplier<? extends IdGenerator> factory) {
@@ -53,4 +70,26 @@ class IdGeneratorTest {
         assertThat(factory.get().generateId(new byte[]{(byte) 1})).isNotEqualTo(id);
     }
 
+    @ParameterizedTest
+    @MethodSource("generateIncrementalIdGeneratorFactories")
+    void shouldGenerateSameIdForIncrementalInput(final Supplier<? extends IncrementalIdGenerator> factory) {
+        final IncrementalIdGenerator generator = factory.get();
+        final byte[] bytes = createPayload();
+        final IdHasher hasher = generator.createHasher();
+        hasher.update(bytes, 0, 1);
+        hasher.update(bytes, 1, 40_000);
+        hasher.update(bytes, 40_001, bytes.length - 40_001);
+        assertThat(hasher.generateId()).isEqualTo(generator.generateId(bytes));
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateIncrementalIdGeneratorFactories")
+    void shouldGenerateIdWhileCompressing(final Supplier<? extends IncrementalIdGenerator> factory) {
+        final IncrementalIdGenerator generator = factory.get();
+        final IdHasher hasher = generator.createHasher();
+        final byte[] compressed =
+                CompressionType.ZSTD.compress(createPayload(), CompressionOptions.DEFAULT, BufferPool.DEFAULT, hasher);
+        assertThat(hasher.generateId()).isEqualTo(generator.generateId(compressed));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+
+class LargeMessagePrefetchingInterceptorTest {
+
+    private static final long CACHE_MAX_BYTES = 1024L * 1024L + 1L;
+    private static final String TOPIC = "topic";
+
+    private static Map<String, Object> createProperties() {
+        return Map.of(
+                AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 0,
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket",
+                AbstractLargeMessageConfig.USE_HEADERS_CONFIG, true,
+                AbstractLargeMessageConfig.CACHE_MAX_BYTES_CONFIG, CACHE_MAX_BYTES
+        );
+    }
+
+    private static byte[] awaitCached(final BlobStorageURI uri) throws InterruptedException {
+        final BlobCache cache = BlobCache.shared(CACHE_MAX_BYTES, false);
+        final Object backend = BlobStorageClientRegistry.createKey(new TestBlobStorageConfig(Map.of()));
+        final Instant deadline = Instant.now().plus(Duration.ofSeconds(10L));
+        byte[] cached = cache.getIfPresent(backend, uri);
+        while (cached == null && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10L);
+            cached = cache.getIfPresent(backend, uri);
+        }
+        return cached;
+    }
+
+    @Test
+    void shouldPrefetchBackedPayloads() throws InterruptedException {
+        final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(createProperties());
+        final byte[] data = "foo".getBytes(StandardCharsets.UTF_8);
+        final Headers headers = new RecordHeaders();
+        final LargeMessagePrefetchingInterceptor interceptor = new LargeMessagePrefetchingInterceptor();
+        // the storer keeps the shared test blob storage client open for the interceptor
+        try (final LargeMessageStoringClient storer = config.getStorer()) {
+            final byte[] stored = storer.storeBytes(TOPIC, data, false, headers);
+            final ConsumerRecord<Object, Object> consumerRecord =
+                    new ConsumerRecord<>(TOPIC, 0, 0L, 0L, TimestampType.CREATE_TIME, 0, stored.length, null, stored,
+                            headers, Optional.empty());
+            interceptor.configure(createProperties());
+            final ConsumerRecords<Object, Object> records =
+                    new ConsumerRecords<>(Map.of(new TopicPartition(TOPIC, 0), List.of(consumerRecord)), Map.of());
+            assertThat(interceptor.onConsume(records)).isSameAs(records);
+            final BlobStorageURI uri = LargeMessageRetrievingClient.deserializeUri(stored);
+            assertThat(awaitCached(uri)).isEqualTo(data);
+        } finally {
+            interceptor.close();
+        }
+    }
+
+    @Test
+    void shouldRequireCache() {
+        final LargeMessagePrefetchingInterceptor interceptor = new LargeMessagePrefetchingInterceptor();
+        final Map<String, Object> properties = Map.of(
+                AbstractLargeMessageConfig.BASE_PATH_CONFIG, TestBlobStorageConfig.SCHEME + "://bucket"
+        );
+        assertThatThrownBy(() -> interceptor.configure(properties))
+                .isInstanceOf(ConfigException.class)
+                .hasMessage(AbstractLargeMessageConfig.CACHE_MAX_BYTES_CONFIG + " must be set to use prefetching");
+    }
+
+    @Test
+    void shouldRequireByteArrayDeserializer() {
+        final LargeMessagePrefetchingInterceptor interceptor = new LargeMessagePrefetchingInterceptor();
+        final Map<String, Object> properties = new HashMap<>(createProperties());
+        properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        assertThatThrownBy(() -> interceptor.configure(properties))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageStartingWith("Prefetching requires " + ByteArrayDeserializer.class.getName());
+    }
+
+    @Test
+    void shouldAcceptByteArrayDeserializer() {
+        final LargeMessagePrefetchingInterceptor interceptor = new LargeMessagePrefetchingInterceptor();
+        final Map<String, Object> properties = new HashMap<>(createProperties());
+        properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        interceptor.configure(properties);
+        interceptor.close();
+    }
+}
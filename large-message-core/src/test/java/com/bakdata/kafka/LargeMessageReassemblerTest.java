@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+
+class LargeMessageReassemblerTest {
+    private static final String TOPIC = "chunks";
+    private static final byte[] KEY = "key".getBytes(StandardCharsets.UTF_8);
+    private static final LargeMessageChunker CHUNKER = LargeMessageChunker.builder()
+            .maxChunkSize(100)
+            .build();
+
+    private static byte[] createValue(final int size) {
+        final byte[] value = new byte[size];
+        new Random(0).nextBytes(value);
+        return value;
+    }
+
+    private static ProducerRecord<byte[], byte[]> createRecord(final byte[] value) {
+        final ProducerRecord<byte[], byte[]> record = new ProducerRecord<>(TOPIC, KEY, value);
+        record.headers().add("header", new byte[]{1});
+        return record;
+    }
+
+    private static ConsumerRecord<byte[], byte[]> consume(final ProducerRecord<byte[], byte[]> record,
+            final long offset) {
+        return new ConsumerRecord<>(record.topic(), 0, offset, 0L, TimestampType.CREATE_TIME, KEY.length,
+                record.value().length, record.key(), record.value(), record.headers(), Optional.empty());
+    }
+
+    @Test
+    void shouldNotSplitSmallRecords() {
+        final ProducerRecord<byte[], byte[]> record = createRecord(createValue(100));
+        assertThat(CHUNKER.split(record)).containsExactly(record);
+    }
+
+    @Test
+    void shouldSplitAndReassemble() {
+        final byte[] value = createValue(1_050);
+        final List<ProducerRecord<byte[], byte[]>> chunks = CHUNKER.split(createRecord(value));
+        assertThat(chunks).hasSize(11)
+                .allSatisfy(chunk -> assertThat(chunk.key()).isEqualTo(KEY));
+        try (final LargeMessageReassembler reassembler = new LargeMessageReassembler(10_000L)) {
+            for (int i = 0; i < chunks.size() - 1; i++) {
+                assertThat(reassembler.add(consume(chunks.get(i), 10L + i))).isEmpty();
+            }
+            assertThat(reassembler.getBufferedBytes()).isEqualTo(1_000L);
+            assertThat(reassembler.getFirstBufferedOffset(new TopicPartition(TOPIC, 0))).hasValue(10L);
+            assertThat(reassembler.add(consume(chunks.get(chunks.size() - 1), 20L)))
+                    .hasValueSatisfying(record -> {
+                        assertThat(record.value()).isEqualTo(value);
+                        assertThat(record.offset()).isEqualTo(20L);
+                        assertThat(record.headers().toArray()).hasSize(1);
+                        assertThat(record.headers().lastHeader("header").value()).containsExactly(1);
+                    });
+            assertThat(reassembler.getBufferedBytes()).isZero();
+            assertThat(reassembler.getFirstBufferedOffset(new TopicPartition(TOPIC, 0))).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldReassembleChunksOutOfOrder() {
+        final byte[] value = createValue(250);
+        final List<ProducerRecord<byte[], byte[]>> chunks = CHUNKER.split(createRecord(value));
+        try (final LargeMessageReassembler reassembler = new LargeMessageReassembler(10_000L)) {
+            assertThat(reassembler.add(consume(chunks.get(2), 0L))).isEmpty();
+            assertThat(reassembler.add(consume(chunks.get(0), 1L))).isEmpty();
+            assertThat(reassembler.add(consume(chunks.get(0), 2L))).isEmpty();
+            assertThat(reassembler.add(consume(chunks.get(1), 3L)))
+                    .hasValueSatisfying(record -> assertThat(record.value()).isEqualTo(value));
+        }
+    }
+
+    @Test
+    void shouldPassThroughRecordsWithoutChunks() {
+        final ConsumerRecord<byte[], byte[]> record = consume(createRecord(createValue(10)), 0L);
+        try (final LargeMessageReassembler reassembler = new LargeMessageReassembler(10_000L)) {
+            assertThat(reassembler.add(record)).hasValue(record);
+        }
+    }
+
+    @Test
+    void shouldDropOldestIncompleteMessage() {
+        final List<ProducerRecord<byte[], byte[]>> first = CHUNKER.split(createRecord(createValue(300)));
+        final List<ProducerRecord<byte[], byte[]>> second = CHUNKER.split(createRecord(createValue(300)));
+        try (final LargeMessageReassembler reassembler = new LargeMessageReassembler(300L)) {
+            assertThat(reassembler.add(consume(first.get(0), 0L))).isEmpty();
+            assertThat(reassembler.add(consume(first.get(1), 1L))).isEmpty();
+            assertThat(reassembler.add(consume(second.get(0), 2L))).isEmpty();
+            assertThat(reassembler.add(consume(second.get(1), 3L))).isEmpty();
+            assertThat(reassembler.getBufferedBytes()).isEqualTo(200L);
+            assertThat(reassembler.getFirstBufferedOffset(new TopicPartition(TOPIC, 0))).hasValue(2L);
+            assertThat(reassembler.add(consume(second.get(2), 4L))).isPresent();
+            // the first message has been dropped, so its last chunk cannot complete it
+            assertThat(reassembler.add(consume(first.get(2), 5L))).isEmpty();
+            assertThat(reassembler.getBufferedBytes()).isZero();
+            assertThat(reassembler.getFirstBufferedOffset(new TopicPartition(TOPIC, 0))).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldThrowOnInvalidChunkHeaders() {
+        final List<ProducerRecord<byte[], byte[]>> chunks = CHUNKER.split(createRecord(createValue(250)));
+        final ConsumerRecord<byte[], byte[]> record = consume(chunks.get(0), 0L);
+        record.headers().remove(RecordChunk.HEADER_PREFIX + "index");
+        record.headers().add(RecordChunk.HEADER_PREFIX + "index", ByteBuffer.allocate(Integer.BYTES).putInt(3).array());
+        try (final LargeMessageReassembler reassembler = new LargeMessageReassembler(10_000L)) {
+            assertThatThrownBy(() -> reassembler.add(record))
+                    .isInstanceOf(SerializationException.class);
+        }
+    }
+
+    @Test
+    void shouldThrowOnMismatchingChunkCount() {
+        final List<ProducerRecord<byte[], byte[]>> chunks = CHUNKER.split(createRecord(createValue(250)));
+        final ConsumerRecord<byte[], byte[]> record = consume(chunks.get(1), 1L);
+        record.headers().remove(RecordChunk.HEADER_PREFIX + "count");
+        record.headers().add(RecordChunk.HEADER_PREFIX + "count", ByteBuffer.allocate(Integer.BYTES).putInt(4).array());
+        try (final LargeMessageReassembler reassembler = new LargeMessageReassembler(10_000L)) {
+            assertThat(reassembler.add(consume(chunks.get(0), 0L))).isEmpty();
+            assertThatThrownBy(() -> reassembler.add(record))
+                    .isInstanceOf(SerializationException.class);
+        }
+    }
+
+    @Test
+    void shouldThrowIfMessageExceedsBuffer() {
+        final List<ProducerRecord<byte[], byte[]>> chunks = CHUNKER.split(createRecord(createValue(1_000)));
+        try (final LargeMessageReassembler reassembler = new LargeMessageReassembler(500L)) {
+            final ConsumerRecord<byte[], byte[]> record = consume(chunks.get(0), 0L);
+            assertThatThrownBy(() -> reassembler.add(record))
+                    .isInstanceOf(SerializationException.class);
+        }
+    }
+
+    @Test
+    void shouldRequireKeyOrPartition() {
+        final ProducerRecord<byte[], byte[]> record =
+                new ProducerRecord<>(TOPIC, null, null, null, createValue(1_000), new RecordHeaders());
+        assertThatIllegalArgumentException().isThrownBy(() -> CHUNKER.split(record));
+        assertThat(CHUNKER.split(new ProducerRecord<byte[], byte[]>(TOPIC, 1, null, createValue(1_000))))
+                .hasSize(10);
+    }
+}
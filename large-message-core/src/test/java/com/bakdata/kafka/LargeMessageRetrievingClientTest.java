@@ -30,11 +30,21 @@ import static com.bakdata.kafka.HeaderLargeMessagePayloadProtocol.getHeaderName;
 import static com.bakdata.kafka.TestHelper.serializeUri;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import org.apache.kafka.common.errors.SerializationException;
@@ -174,6 +184,65 @@ class LargeMessageRetrievingClientTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldReadBackedTextFromCache(final boolean isKey) {
+        final String bucket = "bucket";
+        final String key = "key";
+        when(this.client.getObject(bucket, key)).thenReturn(serialize("foo"));
+        final Map<String, BlobStorageConfig> configs = Collections.singletonMap("foo", () -> this.client);
+        try (final LargeMessageRetrievingClient retriever =
+                new LargeMessageRetrievingClient(configs::get, false, BlobCache.create(1024L, false),
+                        BufferPool.DEFAULT, ChunkSettings.DEFAULT)) {
+            assertThat(retriever.retrieveBytes(createBackedText(bucket, key), new RecordHeaders(), isKey))
+                    .isEqualTo(serialize("foo"));
+            assertThat(retriever.retrieveBytes(createBackedText(bucket, key), new RecordHeaders(), isKey))
+                    .isEqualTo(serialize("foo"));
+        }
+        verify(this.client, times(1)).getObject(bucket, key);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldNotModifyCachedPayload(final boolean isKey) {
+        final String bucket = "bucket";
+        final String key = "key";
+        when(this.client.getObject(bucket, key)).thenReturn(serialize("foo"));
+        final Map<String, BlobStorageConfig> configs = Collections.singletonMap("foo", () -> this.client);
+        try (final LargeMessageRetrievingClient retriever =
+                new LargeMessageRetrievingClient(configs::get, false, BlobCache.create(1024L, false),
+                        BufferPool.DEFAULT, ChunkSettings.DEFAULT)) {
+            final byte[] retrieved = retriever.retrieveBytes(createBackedText(bucket, key), new RecordHeaders(), isKey);
+            retrieved[0] = 0;
+            assertThat(retriever.retrieveBytes(createBackedText(bucket, key), new RecordHeaders(), isKey))
+                    .isEqualTo(serialize("foo"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldCachePayloadsPerBackend(final boolean isKey) {
+        final String bucket = "bucket";
+        final String key = "key";
+        final BlobStorageClient otherClient = mock(BlobStorageClient.class);
+        when(this.client.getObject(bucket, key)).thenReturn(serialize("foo"));
+        when(otherClient.getObject(bucket, key)).thenReturn(serialize("bar"));
+        final BlobCache cache = BlobCache.create(1024L, false);
+        final Map<String, BlobStorageConfig> configs = Collections.singletonMap("foo", () -> this.client);
+        final Map<String, BlobStorageConfig> otherConfigs = Collections.singletonMap("foo", () -> otherClient);
+        try (final LargeMessageRetrievingClient retriever =
+                new LargeMessageRetrievingClient(configs::get, false, cache, BufferPool.DEFAULT,
+                        ChunkSettings.DEFAULT);
+                final LargeMessageRetrievingClient otherRetriever =
+                        new LargeMessageRetrievingClient(otherConfigs::get, false, cache, BufferPool.DEFAULT,
+                                ChunkSettings.DEFAULT)) {
+            assertThat(retriever.retrieveBytes(createBackedText(bucket, key), new RecordHeaders(), isKey))
+                    .isEqualTo(serialize("foo"));
+            assertThat(otherRetriever.retrieveBytes(createBackedText(bucket, key), new RecordHeaders(), isKey))
+                    .isEqualTo(serialize("bar"));
+        }
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {false, true})
     void shouldReadBackedTextWithoutHeaders(final boolean isKey) {
@@ -214,6 +283,95 @@ class LargeMessageRetrievingClientTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldReadBackedTextAsync(final boolean isKey) {
+        final String bucket = "bucket";
+        final String key = "key";
+        when(this.client.getObjectAsync(bucket, key)).thenReturn(CompletableFuture.completedFuture(serialize("foo")));
+        try (final LargeMessageRetrievingClient retriever = this.createRetriever()) {
+            final Headers headers = backedHeaders(isKey);
+            assertThat(retriever.retrieveBytesAsync(createBackedText_(bucket, key), headers, isKey))
+                    .succeedsWithin(Duration.ofSeconds(1))
+                    .isEqualTo(serialize("foo"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldReadBackedTextAsStream(final boolean isKey) throws IOException {
+        final String bucket = "bucket";
+        final String key = "key";
+        when(this.client.getObjectStream(bucket, key))
+                .thenReturn(new ByteArrayInputStream(CompressionType.ZSTD.compress(serialize("foo"))));
+        try (final LargeMessageRetrievingClient retriever = this.createRetriever()) {
+            final Headers headers = backedHeaders(isKey)
+                    .add(CompressionType.HEADER_NAME, new byte[]{CompressionType.ZSTD.getId()});
+            try (final InputStream stream = retriever.retrieveStream(createBackedText_(bucket, key), headers, isKey)) {
+                assertThat(stream).hasBinaryContent(serialize("foo"));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldDecompressWhileDownloadingIfSizeIsKnown(final boolean isKey) {
+        final String bucket = "bucket";
+        final String key = "key";
+        final byte[] compressedBytes = CompressionType.GZIP.compress(serialize("foo"));
+        when(this.client.getObjectStream(bucket, key)).thenReturn(new ByteArrayInputStream(compressedBytes));
+        try (final LargeMessageRetrievingClient retriever = this.createRetriever()) {
+            final Headers headers = backedHeaders(isKey)
+                    .add(CompressionType.HEADER_NAME, new byte[]{CompressionType.GZIP.getId()});
+            new PayloadSize(serialize("foo").length, compressedBytes.length).addHeaders(headers, isKey);
+            assertThat(retriever.retrieveBytes(createBackedText_(bucket, key), headers, isKey))
+                    .isEqualTo(serialize("foo"));
+        }
+        verify(this.client, never()).getObject(bucket, key);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldDecompressNonBackedText(final boolean isKey) throws IOException {
+        final byte[] compressedBytes = CompressionType.GZIP.compress(serialize("foo"));
+        try (final LargeMessageRetrievingClient retriever = this.createRetriever()) {
+            final Headers headers = nonBackedHeaders(isKey)
+                    .add(getHeaderName(!isKey), new byte[]{IS_NOT_BACKED})
+                    .add(CompressionType.HEADER_NAME, new byte[]{CompressionType.GZIP.getId()});
+            new PayloadSize(serialize("foo").length, compressedBytes.length).addHeaders(headers, isKey);
+            assertThat(retriever.retrieveBytes(compressedBytes, headers, isKey))
+                    .isEqualTo(serialize("foo"));
+            assertThat(retriever.retrieveBytesAsync(compressedBytes, headers, isKey))
+                    .succeedsWithin(Duration.ofSeconds(1))
+                    .isEqualTo(serialize("foo"));
+            try (final InputStream stream = retriever.retrieveStream(compressedBytes, headers, isKey)) {
+                assertThat(stream).hasBinaryContent(serialize("foo"));
+            }
+            // the compression header is shared but only applies to the key or value with a payload size
+            assertThat(retriever.retrieveBytes(serialize("bar"), headers, !isKey))
+                    .isEqualTo(serialize("bar"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldReadNonBackedTextAsStream(final boolean isKey) throws IOException {
+        try (final LargeMessageRetrievingClient retriever = this.createRetriever();
+                final InputStream stream = retriever.retrieveStream(createNonBackedText("foo"), isKey)) {
+            assertThat(stream).hasBinaryContent(serialize("foo"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldReadNonBackedTextAsync(final boolean isKey) {
+        try (final LargeMessageRetrievingClient retriever = this.createRetriever()) {
+            assertThat(retriever.retrieveBytesAsync(createNonBackedText("foo"), isKey))
+                    .succeedsWithin(Duration.ofSeconds(1))
+                    .isEqualTo(serialize("foo"));
+        }
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {false, true})
     void shouldThrowExceptionOnErroneousFlag(final boolean isKey) {
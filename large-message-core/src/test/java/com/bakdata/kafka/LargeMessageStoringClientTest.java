@@ -25,6 +25,7 @@
 package com.bakdata.kafka;
 
 import static com.bakdata.kafka.ByteFlagLargeMessagePayloadProtocol.stripFlag;
+import static com.bakdata.kafka.FlagHelper.IS_BACKED;
 import static com.bakdata.kafka.FlagHelper.IS_NOT_BACKED;
 import static com.bakdata.kafka.HeaderLargeMessagePayloadProtocol.getHeaderName;
 import static com.bakdata.kafka.LargeMessagePayload.getUriBytes;
@@ -33,16 +34,33 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatNullPointerException;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.bakdata.kafka.LargeMessageStoringClient.LargeMessageStoringClientBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.DescribeConfigsResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -96,6 +114,10 @@ class LargeMessageStoringClientTest {
         return STRING_SERIALIZER.serialize(null, s);
     }
 
+    private static Object metricValue(final String name, final Map<String, String> tags) {
+        return LargeMessageMetrics.getMetrics().metric(LargeMessageMetrics.metricName(name, "", tags)).metricValue();
+    }
+
     private static LargeMessageStoringClient createStorer(final Map<String, Object> properties) {
         final AbstractLargeMessageConfig config = new AbstractLargeMessageConfig(properties);
         return config.getStorer();
@@ -233,6 +255,148 @@ class LargeMessageStoringClientTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldAddPayloadSizeHeaders(final boolean isKey) {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final byte[] compressedBytes = CompressionType.ZSTD.compress(serialize("foo"));
+        when(this.idGenerator.generateId(compressedBytes)).thenReturn("key");
+        when(this.client.putObject(eq(compressedBytes), eq(bucket), anyString()))
+                .thenReturn("uri");
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .protocol(new HeaderLargeMessagePayloadProtocol())
+                .compressionType(CompressionType.ZSTD)
+                .maxSize(0)
+                .build()) {
+            final Headers headers = new RecordHeaders();
+            storer.storeBytes(TOPIC, serialize("foo"), isKey, headers);
+            assertThat(PayloadSize.fromHeaders(headers, isKey))
+                    .hasValue(new PayloadSize(serialize("foo").length, compressedBytes.length));
+            assertThat(PayloadSize.fromHeaders(headers, !isKey))
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    void shouldCompressWithTopicSettings() {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final CompressionOptions options = CompressionOptions.builder().level(9).build();
+        final byte[] compressedBytes = CompressionType.GZIP.compress(serialize("foo"), options);
+        when(this.idGenerator.generateId(compressedBytes)).thenReturn("key");
+        when(this.client.putObject(eq(compressedBytes), eq(bucket), anyString()))
+                .thenReturn("uri");
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .protocol(new HeaderLargeMessagePayloadProtocol())
+                .topicCompressions(Map.of(TOPIC, new CompressionSettings(CompressionType.GZIP, options)))
+                .maxSize(0)
+                .build()) {
+            final Headers headers = new RecordHeaders();
+            storer.storeBytes(TOPIC, serialize("foo"), false, headers);
+            assertThat(headers.lastHeader(CompressionType.HEADER_NAME).value())
+                    .containsExactly(CompressionType.GZIP.getId());
+            final Headers otherHeaders = new RecordHeaders();
+            when(this.idGenerator.generateId(serialize("foo"))).thenReturn("key");
+            when(this.client.putObject(eq(serialize("foo")), eq(bucket), anyString()))
+                    .thenReturn("uri");
+            storer.storeBytes("other", serialize("foo"), false, otherHeaders);
+            assertThat(otherHeaders.lastHeader(CompressionType.HEADER_NAME)).isNull();
+        }
+    }
+
+    @Test
+    void shouldCompressInBlocks() {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final byte[] bytes = serialize("foo".repeat(100));
+        final byte[] compressedBytes = new BlockCompression(CompressionType.ZSTD, 64)
+                .compress(bytes, CompressionOptions.DEFAULT);
+        when(this.idGenerator.generateId(compressedBytes)).thenReturn("key");
+        when(this.client.putObject(compressedBytes, bucket, "base/" + TOPIC + "/values/key"))
+                .thenReturn("uri");
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .protocol(new HeaderLargeMessagePayloadProtocol())
+                .compressionType(CompressionType.ZSTD)
+                .compressionBlockSize(64)
+                .maxSize(0)
+                .build()) {
+            final Headers headers = new RecordHeaders();
+            storer.storeBytes(TOPIC, bytes, false, headers);
+            assertThat(headers.lastHeader(CompressionType.HEADER_NAME).value())
+                    .satisfies(header -> assertThat(BlockCompression.hasBlocks(header)).isTrue());
+        }
+    }
+
+    @Test
+    void shouldCompressInline() {
+        final byte[] bytes = serialize("foo".repeat(100));
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .protocol(new HeaderLargeMessagePayloadProtocol())
+                .compressionType(CompressionType.GZIP)
+                .inlineCompressionEnabled(true)
+                .maxSize(bytes.length)
+                .build()) {
+            final Headers headers = new RecordHeaders();
+            final byte[] stored = storer.storeBytes(TOPIC, bytes, false, headers);
+            assertHasHeader(headers, IS_NOT_BACKED, false);
+            assertThat(headers.lastHeader(CompressionType.HEADER_NAME).value())
+                    .containsExactly(CompressionType.GZIP.getId());
+            assertThat(PayloadSize.fromHeaders(headers, false))
+                    .hasValue(new PayloadSize(bytes.length, stored.length));
+            assertThat(CompressionType.GZIP.decompress(stored)).isEqualTo(bytes);
+        }
+        verify(this.client, never()).putObject(any(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldStoreIfCompressedBytesExceedMaxSize() {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final byte[] compressedBytes = CompressionType.GZIP.compress(serialize("foo"));
+        when(this.idGenerator.generateId(compressedBytes)).thenReturn("key");
+        when(this.client.putObject(compressedBytes, bucket, "base/" + TOPIC + "/values/key"))
+                .thenReturn("uri");
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .protocol(new HeaderLargeMessagePayloadProtocol())
+                .compressionType(CompressionType.GZIP)
+                .inlineCompressionEnabled(true)
+                .maxSize(serialize("foo").length)
+                .build()) {
+            final Headers headers = new RecordHeaders();
+            assertThat(storer.storeBytes(TOPIC, serialize("foo"), false, headers))
+                    .isEqualTo(getUriBytes("uri"));
+            assertHasHeader(headers, IS_BACKED, false);
+        }
+    }
+
+    @Test
+    void shouldRecordMetrics() {
+        final String topic = "metrics";
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        when(this.idGenerator.generateId(serialize("foo"))).thenReturn("key");
+        when(this.client.putObject(serialize("foo"), bucket, "base/" + topic + "/values/key"))
+                .thenReturn("uri");
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .build()) {
+            storer.storeBytes(topic, serialize("foo"), false);
+        }
+        final Map<String, String> tags = Map.of(LargeMessageMetrics.TOPIC_TAG, topic,
+                LargeMessageMetrics.TYPE_TAG, "value");
+        assertThat(metricValue("backed-records-total", tags)).isEqualTo(1.0);
+        assertThat(metricValue("payload-size-max", tags)).isEqualTo((double) serialize("foo").length);
+        final Map<String, String> uploadTags = Map.of(LargeMessageMetrics.SCHEME_TAG, "foo",
+                LargeMessageMetrics.TOPIC_TAG, topic, LargeMessageMetrics.TYPE_TAG, "value");
+        assertThat(metricValue("upload-bytes-total", uploadTags)).isEqualTo((double) serialize("foo").length);
+    }
+
     @Test
     void shouldWriteBackedTextValueWithoutHeaders() {
         final String bucket = "bucket";
@@ -249,6 +413,117 @@ class LargeMessageStoringClientTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldStreamNonBackedText(final boolean isKey) throws IOException {
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .maxSize(10)
+                .build();
+                final LargeMessageOutputStream stream = storer.openStream(TOPIC, isKey)) {
+            stream.write(serialize("foo"));
+            assertThat(stream.finish())
+                    .isEqualTo(TestHelper.serialize(serialize("foo")));
+        }
+    }
+
+    @Test
+    void shouldStreamBackedText() throws IOException {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        when(this.client.putObjectStream(eq(bucket), startsWith("base/" + TOPIC + "/values/")))
+                .thenAnswer(invocation -> new BufferedBlobStorageOutputStream(this.client, bucket,
+                        invocation.getArgument(1)));
+        when(this.client.putObject(eq(serialize("foobar")), eq(bucket), anyString()))
+                .thenReturn("uri");
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(4)
+                .build();
+                final LargeMessageOutputStream stream = storer.openStream(TOPIC, false)) {
+            stream.write(serialize("foo"));
+            stream.write(serialize("bar"));
+            assertThat(stream.finish())
+                    .isEqualTo(serializeUri("uri"));
+        }
+    }
+
+    @Test
+    void shouldDiscardUnfinishedStream() throws IOException {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        when(this.client.putObjectStream(eq(bucket), anyString()))
+                .thenAnswer(invocation -> new BufferedBlobStorageOutputStream(this.client, bucket,
+                        invocation.getArgument(1)));
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .build();
+                final LargeMessageOutputStream stream = storer.openStream(TOPIC, false)) {
+            stream.write(serialize("foo"));
+        }
+        verify(this.client, never()).putObject(any(), anyString(), anyString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldWriteBackedTextAsync(final boolean isKey) {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final String prefix = isKey ? "keys" : "values";
+        when(this.idGenerator.generateId(serialize("foo"))).thenReturn("key");
+        when(this.client.putObjectAsync(serialize("foo"), bucket, "base/" + TOPIC + "/" + prefix + "/key"))
+                .thenReturn(CompletableFuture.completedFuture("uri"));
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .build()) {
+            final Headers headers = new RecordHeaders();
+            final byte[] uriBytes = getUriBytes("uri");
+            final byte[] returnBytes = {2};
+            when(this.protocol.serialize(new LargeMessagePayload(true, uriBytes), headers, isKey)).thenReturn(
+                    returnBytes);
+            assertThat(storer.storeBytesAsync(TOPIC, serialize("foo"), isKey, headers))
+                    .succeedsWithin(Duration.ofSeconds(1))
+                    .isEqualTo(returnBytes);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldWriteNonBackedTextAsync(final boolean isKey) {
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .maxSize(Integer.MAX_VALUE)
+                .build()) {
+            final byte[] fooBytes = serialize("foo");
+            assertThat(storer.storeBytesAsync(null, fooBytes, isKey))
+                    .succeedsWithin(Duration.ofSeconds(1))
+                    .isEqualTo(TestHelper.serialize(fooBytes));
+        }
+        verify(this.client, never()).putObjectAsync(any(), any(), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldCompleteExceptionallyOnAsyncError(final boolean isKey) {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        when(this.idGenerator.generateId(any())).thenReturn("key");
+        when(this.client.putObjectAsync(any(), eq(bucket), any()))
+                .thenReturn(CompletableFuture.failedFuture(new UncheckedIOException(new IOException())));
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .build()) {
+            final byte[] foo = serialize("foo");
+            final Headers headers = new RecordHeaders();
+            assertThat(storer.storeBytesAsync(TOPIC, foo, isKey, headers))
+                    .failsWithin(Duration.ofSeconds(1))
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(UncheckedIOException.class);
+        }
+        verify(this.protocol, never()).serialize(any(), any(), eq(isKey));
+    }
+
     @Test
     void shouldDeleteFiles() {
         final String bucket = "bucket";
@@ -262,6 +537,145 @@ class LargeMessageStoringClientTest {
         verify(this.client).deleteAllObjects(bucket, "base/" + TOPIC + "/");
     }
 
+    @Test
+    void shouldDeleteFilesBelowPrefixes() {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final String prefix = "base/" + TOPIC + "/";
+        when(this.client.listPrefixes(bucket, prefix)).thenReturn(List.of(prefix + "until=20200101T000000Z/",
+                prefix + "until=20200101T010000Z/", prefix + "values/"));
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .deleteParallelism(2)
+                .build()) {
+            storer.deleteAllFiles(TOPIC);
+        }
+        verify(this.client).deleteAllObjects(bucket, prefix + "until=20200101T000000Z/");
+        verify(this.client).deleteAllObjects(bucket, prefix + "until=20200101T010000Z/");
+        verify(this.client).deleteAllObjects(bucket, prefix + "values/");
+        verify(this.client, never()).deleteAllObjects(bucket, prefix);
+    }
+
+    @Test
+    void shouldWriteBackedTextToTimeBucket() {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        when(this.idGenerator.generateId(serialize("foo"))).thenReturn("key");
+        when(this.client.putObject(eq(serialize("foo")), eq(bucket),
+                matches("base/" + TOPIC + "/until=\\d{8}T\\d{6}Z/values/key"))).thenReturn("uri");
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .timeBucketSize(Duration.ofHours(1L))
+                .build()) {
+            assertThat(STRING_DESERIALIZER.deserialize(null, stripFlag(storer.storeBytes(TOPIC, serialize("foo"),
+                    false)))).isEqualTo("uri");
+        }
+    }
+
+    @Test
+    void shouldDeleteExpiredFiles() {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final String prefix = "base/" + TOPIC + "/";
+        when(this.client.listPrefixes(bucket, prefix)).thenReturn(List.of(prefix + "until=20200101T000000Z/",
+                prefix + "until=99991231T000000Z/", prefix + "dictionaries/", prefix + "values/"));
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .build()) {
+            storer.deleteExpiredFiles(TOPIC, Duration.ofDays(1L));
+        }
+        verify(this.client).deleteAllObjects(bucket, prefix + "until=20200101T000000Z/");
+        verify(this.client, never()).deleteAllObjects(bucket, prefix + "until=99991231T000000Z/");
+        verify(this.client, never()).deleteAllObjects(bucket, prefix + "dictionaries/");
+        verify(this.client, never()).deleteAllObjects(bucket, prefix + "values/");
+    }
+
+    @Test
+    void shouldThrowOnDeletingExpiredFilesWithoutListing() {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final String prefix = "base/" + TOPIC + "/";
+        when(this.client.listPrefixes(bucket, prefix)).thenThrow(UnsupportedOperationException.class);
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .build()) {
+            final Duration retention = Duration.ofDays(1L);
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> storer.deleteExpiredFiles(TOPIC, retention))
+                    .withMessageStartingWith("Cannot delete expired time buckets because listing is not supported");
+        }
+        verify(this.client, never()).deleteAllObjects(anyString(), anyString());
+    }
+
+    @Test
+    void shouldWriteBackedTextToContentStoreTimeBucket() {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        when(this.idGenerator.generateId(serialize("foo"))).thenReturn("key");
+        when(this.client.putObject(eq(serialize("foo")), eq(bucket),
+                matches("base/content/until=\\d{8}T\\d{6}Z/key"))).thenReturn("uri");
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .contentStoreEnabled(true)
+                .timeBucketSize(Duration.ofHours(1L))
+                .build()) {
+            assertThat(STRING_DESERIALIZER.deserialize(null, stripFlag(storer.storeBytes(TOPIC, serialize("foo"),
+                    false)))).isEqualTo("uri");
+        }
+    }
+
+    @Test
+    void shouldDeleteExpiredContent() {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final String prefix = "base/content/";
+        when(this.client.listPrefixes(bucket, prefix)).thenReturn(List.of(prefix + "until=20200101T000000Z/",
+                prefix + "until=99991231T000000Z/"));
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .contentStoreEnabled(true)
+                .build()) {
+            storer.deleteExpiredContent(Duration.ofDays(1L));
+        }
+        verify(this.client).deleteAllObjects(bucket, prefix + "until=20200101T000000Z/");
+        verify(this.client, never()).deleteAllObjects(bucket, prefix + "until=99991231T000000Z/");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TopicConfig.CLEANUP_POLICY_DELETE, TopicConfig.CLEANUP_POLICY_COMPACT})
+    void shouldDeleteExpiredFilesWithTopicRetention(final String cleanupPolicy) {
+        final String bucket = "bucket";
+        final String basePath = "foo://" + bucket + "/base/";
+        final String prefix = "base/" + TOPIC + "/";
+        final ConfigResource resource = new ConfigResource(ConfigResource.Type.TOPIC, TOPIC);
+        final Config config = new Config(List.of(
+                new ConfigEntry(TopicConfig.CLEANUP_POLICY_CONFIG, cleanupPolicy),
+                new ConfigEntry(TopicConfig.RETENTION_MS_CONFIG, "86400000"),
+                new ConfigEntry(TopicConfig.SEGMENT_MS_CONFIG, "3600000")
+        ));
+        final Admin admin = mock(Admin.class);
+        final DescribeConfigsResult result = mock(DescribeConfigsResult.class);
+        when(admin.describeConfigs(List.of(resource))).thenReturn(result);
+        when(result.all()).thenReturn(KafkaFuture.completedFuture(Map.of(resource, config)));
+        final boolean deleting = TopicConfig.CLEANUP_POLICY_DELETE.equals(cleanupPolicy);
+        if (deleting) {
+            when(this.client.listPrefixes(bucket, prefix)).thenReturn(List.of(prefix + "until=20200101T000000Z/"));
+        }
+        try (final LargeMessageStoringClient storer = this.createStorer()
+                .basePath(BlobStorageURI.create(basePath))
+                .maxSize(0)
+                .build()) {
+            storer.deleteExpiredFiles(TOPIC, admin);
+        }
+        verify(this.client, deleting ? times(1) : never()).deleteAllObjects(bucket, prefix + "until=20200101T000000Z/");
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     void shouldThrowExceptionOnError(final boolean isKey) {
@@ -24,8 +24,9 @@
 
 package com.bakdata.kafka;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 
@@ -44,7 +45,7 @@ public class TestBlobStorageConfig extends AbstractConfig implements BlobStorage
     }
 
     private static class TestBlobStorageClient implements BlobStorageClient {
-        private final Map<String, byte[]> data = new HashMap<>();
+        private final Map<String, byte[]> data = new ConcurrentHashMap<>();
 
         private static String asName(final String bucket, final String key) {
             return bucket + "/" + key;
@@ -55,6 +56,16 @@ public class TestBlobStorageConfig extends AbstractConfig implements BlobStorage
             this.data.keySet().removeIf(name -> name.startsWith(asName(bucket, prefix)));
         }
 
+        @Override
+        public List<String> listPrefixes(final String bucket, final String prefix) {
+            final String name = asName(bucket, prefix);
+            return this.data.keySet().stream()
+                    .filter(key -> key.startsWith(name) && key.indexOf('/', name.length()) >= 0)
+                    .map(key -> prefix + key.substring(name.length(), key.indexOf('/', name.length()) + 1))
+                    .distinct()
+                    .toList();
+        }
+
         @Override
         public String putObject(final byte[] bytes, final String bucket, final String key) {
             final String name = asName(bucket, key);
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Codec that masks every byte, so that tests can verify that it has been applied
+ */
+public class TestCompressionCodec implements CompressionCodec {
+    static final byte ID = 64;
+    static final String NAME = "test";
+    private static final int MASK = 0x55;
+
+    private static byte[] mask(final byte[] bytes) {
+        final byte[] masked = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            masked[i] = (byte) (bytes[i] ^ MASK);
+        }
+        return masked;
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] compress(final byte[] bytes, final CompressionOptions options) {
+        return mask(bytes);
+    }
+
+    @Override
+    public byte[] decompress(final byte[] bytes) {
+        return mask(bytes);
+    }
+
+    @Override
+    public OutputStream compress(final OutputStream outStream, final CompressionOptions options) {
+        return new FilterOutputStream(outStream) {
+            @Override
+            public void write(final int b) throws IOException {
+                this.out.write(b ^ MASK);
+            }
+        };
+    }
+
+    @Override
+    public InputStream decompress(final InputStream inStream) {
+        return new FilterInputStream(inStream) {
+            @Override
+            public int read() throws IOException {
+                final int b = this.in.read();
+                return b == -1 ? b : (b ^ MASK) & 0xFF;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                final int n = this.in.read(b, off, len);
+                for (int i = off; i < off + n; i++) {
+                    b[i] ^= MASK;
+                }
+                return n;
+            }
+        };
+    }
+}
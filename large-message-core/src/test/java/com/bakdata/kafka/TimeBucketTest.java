@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class TimeBucketTest {
+
+    @Test
+    void shouldCreateSegmentFromEndOfBucket() {
+        final long timestamp = Instant.parse("2025-01-01T12:34:56.789Z").toEpochMilli();
+        assertThat(TimeBucket.createSegment(timestamp, Duration.ofHours(1L))).isEqualTo("until=20250101T130000Z");
+        assertThat(TimeBucket.createSegment(timestamp, Duration.ofMillis(100L))).isEqualTo("until=20250101T123457Z");
+    }
+
+    @Test
+    void shouldGetEnd() {
+        assertThat(TimeBucket.getEnd("until=20250101T130000Z")).isEqualTo(Instant.parse("2025-01-01T13:00:00Z"));
+    }
+
+    @Test
+    void shouldRejectInvalidSegment() {
+        assertThat(TimeBucket.isSegment("values")).isFalse();
+        assertThatThrownBy(() -> TimeBucket.getEnd("values"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a time bucket: values");
+        assertThatThrownBy(() -> TimeBucket.getEnd("until=foo"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a time bucket: until=foo");
+    }
+}
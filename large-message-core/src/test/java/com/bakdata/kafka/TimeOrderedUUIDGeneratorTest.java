@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUUIDGeneratorTest {
+    private final IdGenerator generator = new TimeOrderedUUIDGenerator();
+
+    @Test
+    void shouldGenerateVersion7UUIDs() {
+        final UUID uuid = UUID.fromString(this.generator.generateId(new byte[0]));
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldGenerateLexicallyIncreasingIds() {
+        final List<String> ids = IntStream.range(0, 10_000)
+                .mapToObj(i -> this.generator.generateId(new byte[0]))
+                .toList();
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldGetTimestamp() {
+        final long before = System.currentTimeMillis();
+        final String id = this.generator.generateId(new byte[0]);
+        final long after = System.currentTimeMillis();
+        // the counter carries over into the timestamp if many ids have been generated in a millisecond
+        assertThat(TimeOrderedUUIDGenerator.getTimestamp(id).toEpochMilli()).isBetween(before, after + 1_000L);
+    }
+
+    @Test
+    void shouldCreateLowerBound() {
+        final Instant now = Instant.now();
+        final String id = this.generator.generateId(new byte[0]);
+        assertThat(TimeOrderedUUIDGenerator.createLowerBound(now)).isLessThanOrEqualTo(id);
+        assertThat(TimeOrderedUUIDGenerator.createLowerBound(now.plusSeconds(1L))).isGreaterThan(id);
+        assertThat(TimeOrderedUUIDGenerator.getTimestamp(TimeOrderedUUIDGenerator.createLowerBound(now)))
+                .isEqualTo(Instant.ofEpochMilli(now.toEpochMilli()));
+    }
+
+    @Test
+    void shouldNotGetTimestampOfRandomId() {
+        final String id = UUID.randomUUID().toString();
+        assertThatThrownBy(() -> TimeOrderedUUIDGenerator.getTimestamp(id))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a time-ordered id: " + id);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class UploadDeduplicatorTest {
+    private static final String TOPIC = "topic";
+    private static final String BUCKET = "bucket";
+
+    private static CompletableFuture<String> upload(final AtomicInteger uploads) {
+        uploads.incrementAndGet();
+        return CompletableFuture.completedFuture("uri");
+    }
+
+    @Test
+    void shouldSkipStoredObjects() {
+        final UploadDeduplicator deduplicator = new UploadDeduplicator(10L);
+        final AtomicInteger uploads = new AtomicInteger();
+        assertThat(deduplicator.upload(TOPIC, BUCKET, "key", () -> upload(uploads))).isCompletedWithValue("uri");
+        assertThat(deduplicator.upload(TOPIC, BUCKET, "key", () -> upload(uploads))).isCompletedWithValue("uri");
+        assertThat(deduplicator.upload(TOPIC, BUCKET, "other", () -> upload(uploads))).isCompletedWithValue("uri");
+        assertThat(uploads).hasValue(2);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentUploads() {
+        final UploadDeduplicator deduplicator = new UploadDeduplicator(10L);
+        final CompletableFuture<String> pending = new CompletableFuture<>();
+        final AtomicInteger uploads = new AtomicInteger();
+        final CompletableFuture<String> first = deduplicator.upload(TOPIC, BUCKET, "key", () -> {
+            uploads.incrementAndGet();
+            return pending;
+        });
+        final CompletableFuture<String> second = deduplicator.upload(TOPIC, BUCKET, "key", () -> upload(uploads));
+        assertThat(second).isNotDone();
+        pending.complete("uri");
+        assertThat(first).isCompletedWithValue("uri");
+        assertThat(second).isCompletedWithValue("uri");
+        assertThat(uploads).hasValue(1);
+    }
+
+    @Test
+    void shouldRetryFailedUploads() {
+        final UploadDeduplicator deduplicator = new UploadDeduplicator(10L);
+        final AtomicInteger uploads = new AtomicInteger();
+        assertThat(deduplicator.upload(TOPIC, BUCKET, "key", () -> {
+            throw new IllegalStateException("Failed");
+        })).isCompletedExceptionally();
+        assertThat(deduplicator.upload(TOPIC, BUCKET, "key", () -> upload(uploads))).isCompletedWithValue("uri");
+        assertThat(uploads).hasValue(1);
+    }
+
+    @Test
+    void shouldForgetInvalidatedObjects() {
+        final UploadDeduplicator deduplicator = new UploadDeduplicator(10L);
+        final AtomicInteger uploads = new AtomicInteger();
+        deduplicator.upload(TOPIC, BUCKET, "topic/values/key", () -> upload(uploads));
+        deduplicator.upload(TOPIC, BUCKET, "other/values/key", () -> upload(uploads));
+        deduplicator.invalidate(BUCKET, "topic/");
+        deduplicator.upload(TOPIC, BUCKET, "topic/values/key", () -> upload(uploads));
+        deduplicator.upload(TOPIC, BUCKET, "other/values/key", () -> upload(uploads));
+        assertThat(uploads).hasValue(3);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ZstdDictionaryTest {
+    private static final int DICTIONARY_SIZE = 16 * 1024;
+
+    static List<byte[]> createSamples(final int count) {
+        final Random random = new Random(0);
+        return IntStream.range(0, count)
+                .mapToObj(i -> createSample(random))
+                .collect(Collectors.toList());
+    }
+
+    static byte[] createSample(final Random random) {
+        final String json = "{\"id\":" + random.nextInt(100_000) + ",\"name\":\"customer-" + random.nextInt(1_000)
+                + "\",\"status\":\"" + (random.nextBoolean() ? "active" : "inactive")
+                + "\",\"address\":{\"street\":\"Main Street " + random.nextInt(100)
+                + "\",\"city\":\"Berlin\",\"country\":\"DE\"},\"tags\":[\"kafka\",\"large-message\"]}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldRoundtrip() {
+        final ZstdDictionary dictionary = ZstdDictionary.train(createSamples(2_000), DICTIONARY_SIZE);
+        final byte[] original = createSample(new Random(1));
+        final byte[] compressed = dictionary.compress(original, CompressionOptions.DEFAULT);
+        assertThat(dictionary.decompress(compressed)).isEqualTo(original);
+        assertThat(dictionary.decompress(compressed, original.length)).isEqualTo(original);
+    }
+
+    @Test
+    void shouldCompressBetterThanWithoutDictionary() {
+        final ZstdDictionary dictionary = ZstdDictionary.train(createSamples(2_000), DICTIONARY_SIZE);
+        final byte[] original = createSample(new Random(1));
+        assertThat(dictionary.compress(original, CompressionOptions.DEFAULT))
+                .hasSizeLessThan(CompressionType.ZSTD.compress(original).length);
+    }
+
+    @Test
+    void shouldRoundtripStream() throws IOException {
+        final ZstdDictionary dictionary = ZstdDictionary.train(createSamples(2_000), DICTIONARY_SIZE);
+        final byte[] original = createSample(new Random(1));
+        final CompressionOptions options = CompressionOptions.builder().level(19).windowLog(20).build();
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (final OutputStream stream = dictionary.compress(compressed, options)) {
+            stream.write(original);
+        }
+        try (final InputStream stream = dictionary.decompress(
+                new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThat(stream.readAllBytes()).isEqualTo(original);
+        }
+        assertThat(dictionary.decompress(dictionary.compress(original, options))).isEqualTo(original);
+    }
+
+    @Test
+    void shouldLoadFromBytes() {
+        final ZstdDictionary dictionary = ZstdDictionary.train(createSamples(2_000), DICTIONARY_SIZE);
+        final ZstdDictionary loaded = new ZstdDictionary(dictionary.getBytes());
+        assertThat(loaded.getDictionaryId()).isEqualTo(dictionary.getDictionaryId());
+        final byte[] original = createSample(new Random(1));
+        assertThat(loaded.decompress(dictionary.compress(original, CompressionOptions.DEFAULT))).isEqualTo(original);
+    }
+
+    @Test
+    void shouldCreateHeader() {
+        final ZstdDictionary dictionary = ZstdDictionary.train(createSamples(2_000), DICTIONARY_SIZE);
+        final byte[] header = dictionary.createHeader();
+        assertThat(header[0]).isEqualTo(CompressionType.ZSTD.getId());
+        assertThat(ZstdDictionary.hasDictionary(header)).isTrue();
+        assertThat(ZstdDictionary.getDictionaryId(header)).isEqualTo(dictionary.getDictionaryId());
+        assertThat(ZstdDictionary.hasDictionary(new byte[]{CompressionType.ZSTD.getId()})).isFalse();
+    }
+
+    @Test
+    void shouldCreateDictionaryUri() {
+        final BlobStorageURI payloadUri = BlobStorageURI.create("s3://bucket/base/topic/values/id");
+        assertThat(ZstdDictionary.createDictionaryUri(payloadUri, 42))
+                .hasToString("s3://bucket/base/topic/dictionaries/42");
+    }
+
+    @Test
+    void shouldCreateDictionaryUriForTimeBucket() {
+        final BlobStorageURI payloadUri =
+                BlobStorageURI.create("s3://bucket/base/topic/until=20250101T130000Z/values/id");
+        assertThat(ZstdDictionary.createDictionaryUri(payloadUri, 42))
+                .hasToString("s3://bucket/base/topic/dictionaries/42");
+    }
+
+    @Test
+    void shouldRejectInvalidDictionary() {
+        assertThatThrownBy(() -> new ZstdDictionary(new byte[]{1, 2, 3}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Bytes are not a zstd dictionary");
+    }
+}
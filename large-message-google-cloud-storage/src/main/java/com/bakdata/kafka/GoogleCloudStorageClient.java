@@ -29,29 +29,98 @@ import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.utils.ThreadUtils;
 
 
 /**
  * Implementation of {@link BlobStorageClient} for Google Cloud Storage.
+ * <p>
+ * The Google Cloud Storage client library does not offer a non-blocking API for reading and writing objects.
+ * Asynchronous operations are therefore executed on a dedicated, bounded thread pool of this client so that the calling
+ * thread is not blocked.
  */
-@RequiredArgsConstructor
 public class GoogleCloudStorageClient implements BlobStorageClient {
     static final String SCHEME = "gs";
+    // maximum number of calls in a batch request
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int PRECONDITION_FAILED = 412;
     private final @NonNull Storage storage;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    /**
+     * Create a new client
+     *
+     * @param storage Google Cloud Storage client
+     * @param parallelism maximum number of requests that are executed concurrently by asynchronous operations
+     */
+    public GoogleCloudStorageClient(final @NonNull Storage storage, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+        }
+        this.storage = storage;
+        this.parallelism = parallelism;
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                ThreadUtils.createThreadFactory("large-message-gcs-%d", true));
+    }
+
+    /**
+     * Create a new client with {@link GoogleCloudStorageConfig#GOOGLE_CLOUD_PARALLELISM_DEFAULT default parallelism}
+     *
+     * @param storage Google Cloud Storage client
+     */
+    public GoogleCloudStorageClient(final Storage storage) {
+        this(storage, GoogleCloudStorageConfig.GOOGLE_CLOUD_PARALLELISM_DEFAULT);
+    }
 
     private static String asURI(final String bucket, final String key) {
         return SCHEME + "://" + bucket + "/" + key;
     }
 
+    /**
+     * Delete all objects below a prefix. Objects are deleted using batch requests of up to {@value #MAX_BATCH_SIZE}
+     * objects, which are sent concurrently while listing.
+     *
+     * @param bucket the bucket to delete from
+     * @param prefix the prefix for which blobs should be deleted
+     */
     @Override
     public void deleteAllObjects(final String bucket, final String prefix) {
-        final Page<Blob> blobs = this.storage.list(bucket, Storage.BlobListOption.currentDirectory(),
-                Storage.BlobListOption.prefix(prefix));
+        final Page<Blob> blobs = this.storage.list(bucket, Storage.BlobListOption.prefix(prefix));
+        final ConcurrentDeletes deletes = new ConcurrentDeletes(SCHEME, this.parallelism);
+        final List<BlobId> batch = new ArrayList<>(MAX_BATCH_SIZE);
         for (final Blob blob : blobs.iterateAll()) {
-            this.storage.delete(blob.getBlobId());
+            batch.add(blob.getBlobId());
+            if (batch.size() == MAX_BATCH_SIZE) {
+                this.delete(deletes, List.copyOf(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            this.delete(deletes, List.copyOf(batch));
         }
+        deletes.await();
+    }
+
+    @Override
+    public List<String> listPrefixes(final String bucket, final String prefix) {
+        final Page<Blob> blobs = this.storage.list(bucket, Storage.BlobListOption.currentDirectory(),
+                Storage.BlobListOption.prefix(prefix));
+        return StreamSupport.stream(blobs.iterateAll().spliterator(), false)
+                .filter(Blob::isDirectory)
+                .map(Blob::getName)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -62,14 +131,86 @@ public class GoogleCloudStorageClient implements BlobStorageClient {
         return asURI(bucket, key);
     }
 
+    /**
+     * Store a payload unless an object with the same name already exists. Payloads are stored using conditional
+     * requests that only succeed if the object does not exist yet.
+     *
+     * @param bytes the payload
+     * @param bucket the bucket where the payload should be stored
+     * @param key the identifier for the payload within the bucket
+     * @return unique identifier to retrieve the payload
+     */
+    @Override
+    public String putObjectIfAbsent(final byte[] bytes, final String bucket, final String key) {
+        final BlobId blobId = BlobId.of(bucket, key);
+        final BlobInfo blobInfo = BlobInfo.newBuilder(blobId).build();
+        try {
+            this.storage.create(blobInfo, bytes, Storage.BlobTargetOption.doesNotExist());
+        } catch (final StorageException e) {
+            if (e.getCode() != PRECONDITION_FAILED) {
+                throw e;
+            }
+        }
+        return asURI(bucket, key);
+    }
+
     @Override
     public byte[] getObject(final String bucket, final String key) {
         final Blob blob = this.storage.get(BlobId.of(bucket, key));
         return blob.getContent();
     }
 
+    @Override
+    public InputStream getObjectStream(final String bucket, final String key) {
+        return Channels.newInputStream(this.storage.reader(BlobId.of(bucket, key)));
+    }
+
+    @Override
+    public BlobStorageOutputStream putObjectStream(final String bucket, final String key) {
+        final BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucket, key)).build();
+        // chunks are uploaded to a resumable upload session while writing, which is finalized on close
+        return new DelegatingBlobStorageOutputStream(Channels.newOutputStream(this.storage.writer(blobInfo)),
+                asURI(bucket, key));
+    }
+
+    @Override
+    public CompletableFuture<String> putObjectAsync(final byte[] bytes, final String bucket, final String key) {
+        return CompletableFuture.supplyAsync(() -> this.putObject(bytes, bucket, key), this.executor);
+    }
+
+    @Override
+    public CompletableFuture<String> putObjectIfAbsentAsync(final byte[] bytes, final String bucket,
+            final String key) {
+        return CompletableFuture.supplyAsync(() -> this.putObjectIfAbsent(bytes, bucket, key), this.executor);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getObjectAsync(final String bucket, final String key) {
+        return CompletableFuture.supplyAsync(() -> this.getObject(bucket, key), this.executor);
+    }
+
+    @Override
+    public void warmUp(final String bucket, final int connections) {
+        BlobStorageWarmUp.runConcurrently(connections, () -> this.storage.get(bucket));
+    }
+
+    private void delete(final ConcurrentDeletes deletes, final List<BlobId> blobIds) {
+        // deleting multiple objects uses a batch request
+        deletes.submit(() -> CompletableFuture.supplyAsync(() -> (int) this.storage.delete(blobIds).stream()
+                .filter(Boolean::booleanValue)
+                .count(), this.executor));
+    }
+
+    @Override
+    public boolean isPermanentFailure(final RuntimeException e) {
+        return BlobStorageErrors.findCause(e, StorageException.class)
+                .map(storageException -> BlobStorageErrors.isPermanentStatusCode(storageException.getCode()))
+                .orElse(false);
+    }
+
     @Override
     public void close() {
+        this.executor.shutdown();
         try {
             this.storage.close();
         } catch (final Exception e) {
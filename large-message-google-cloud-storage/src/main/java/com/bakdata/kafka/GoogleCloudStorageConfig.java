@@ -52,6 +52,7 @@ import org.apache.kafka.common.config.ConfigDef.Type;
  *     <li> Service account key JSON path
  *     <li> URL
  *     <li> Project
+ *     <li> Parallelism
  * </ul>
  */
 @Slf4j
@@ -67,6 +68,11 @@ public class GoogleCloudStorageConfig extends AbstractConfig implements BlobStor
     public static final String GOOGLE_CLOUD_PROJECT_CONFIG = GOOGLE_STORAGE_PREFIX + "project";
     public static final String GOOGLE_CLOUD_PROJECT_DOC = "Google Cloud project ID.";
     public static final String GOOGLE_CLOUD_PROJECT_DEFAULT = null;
+    public static final String GOOGLE_CLOUD_PARALLELISM_CONFIG = GOOGLE_STORAGE_PREFIX + "parallelism";
+    public static final String GOOGLE_CLOUD_PARALLELISM_DOC =
+            "Maximum number of requests to Google Cloud Storage that are executed concurrently by asynchronous "
+                    + "operations, including requests deleting batches of objects.";
+    public static final int GOOGLE_CLOUD_PARALLELISM_DEFAULT = 8;
     private static final String GOOGLE_CLOUD_OAUTH_SCOPE = "https://www.googleapis.com/auth/cloud-platform";
     private static final ConfigDef config = baseConfigDef();
 
@@ -87,6 +93,8 @@ public class GoogleCloudStorageConfig extends AbstractConfig implements BlobStor
                         GOOGLE_CLOUD_HOST_DOC)
                 .define(GOOGLE_CLOUD_PROJECT_CONFIG, Type.STRING, GOOGLE_CLOUD_PROJECT_DEFAULT, Importance.LOW,
                         GOOGLE_CLOUD_PROJECT_DOC)
+                .define(GOOGLE_CLOUD_PARALLELISM_CONFIG, Type.INT, GOOGLE_CLOUD_PARALLELISM_DEFAULT,
+                        ConfigDef.Range.atLeast(1), Importance.LOW, GOOGLE_CLOUD_PARALLELISM_DOC)
                 ;
     }
 
@@ -107,7 +115,7 @@ public class GoogleCloudStorageConfig extends AbstractConfig implements BlobStor
         this.getProject().ifPresent(builder::setProjectId);
         final StorageOptions options = builder.build();
         final Storage service = options.getService();
-        return new GoogleCloudStorageClient(service);
+        return new GoogleCloudStorageClient(service, this.getInt(GOOGLE_CLOUD_PARALLELISM_CONFIG));
     }
 
     private Optional<String> getUrl() {
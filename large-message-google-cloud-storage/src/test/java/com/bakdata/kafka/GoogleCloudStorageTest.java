@@ -30,6 +30,7 @@ import com.google.api.gax.paging.Page;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.contrib.nio.testing.LocalStorageHelper;
+import java.time.Duration;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.common.serialization.Serializer;
 import org.junit.jupiter.api.Test;
@@ -62,17 +63,31 @@ class GoogleCloudStorageTest {
         }
     }
 
+    @Test
+    void shouldReadAndWriteBackedTextAsync() {
+        try (final BlobStorageClient googleStorageClient = new GoogleCloudStorageClient(this.storage)) {
+            final String expected = String.format("%s://%s/%s", GoogleCloudStorageClient.SCHEME, BUCKET, KEY);
+            assertThat(googleStorageClient.putObjectAsync(serialize("foo"), BUCKET, KEY))
+                    .succeedsWithin(Duration.ofSeconds(10))
+                    .isEqualTo(expected);
+            assertThat(googleStorageClient.getObjectAsync(BUCKET, KEY))
+                    .succeedsWithin(Duration.ofSeconds(10))
+                    .isEqualTo(serialize("foo"));
+        }
+    }
+
     @Test
     void shouldDeleteFiles() {
         try (final BlobStorageClient googleStorageClient = new GoogleCloudStorageClient(this.storage)) {
 
             googleStorageClient.putObject(serialize("foo"), BUCKET, "base/foo/1");
             googleStorageClient.putObject(serialize("foo"), BUCKET, "base/foo/2");
+            googleStorageClient.putObject(serialize("foo"), BUCKET, "base/foo/values/3");
             googleStorageClient.putObject(serialize("bar"), BUCKET, "base/bar/1");
 
             final Page<Blob> blobs = this.storage.list(BUCKET, Storage.BlobListOption.prefix("base/"));
 
-            assertThat(blobs.iterateAll()).hasSize(3);
+            assertThat(blobs.iterateAll()).hasSize(4);
             googleStorageClient.deleteAllObjects(BUCKET, "base/foo/");
         }
 
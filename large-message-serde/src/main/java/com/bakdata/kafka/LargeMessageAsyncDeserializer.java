@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import lombok.NoArgsConstructor;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+
+/**
+ * Kafka {@code Deserializer} that deserializes messages serialized by {@link LargeMessageSerializer} asynchronously.
+ * <p>
+ * If a message is backed on blob storage, downloading it starts when the message is deserialized, i.e., when it is
+ * polled by a consumer, and the returned future completes once the message has been downloaded and deserialized by a
+ * proper deserializer of this message type. The payloads of a polled batch are therefore downloaded concurrently while
+ * records are processed one after another. Consumers can use this deserializer instead of a
+ * {@link LargeMessagePrefetchingInterceptor}, which only applies to records that are still serialized.
+ * <p>
+ * Errors are reported when the future is completed. The deserializer must not be closed before all futures have been
+ * completed.
+ * <p>
+ * For configuration options, see {@link LargeMessageSerdeConfig}.
+ *
+ * @param <T> type of records that can be deserialized by this instance
+ */
+@NoArgsConstructor
+public class LargeMessageAsyncDeserializer<T> implements Deserializer<CompletableFuture<T>> {
+    private LargeMessageRetrievingClient client;
+    private Deserializer<? extends T> deserializer;
+    private boolean isKey;
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+        final LargeMessageSerdeConfig serdeConfig = new LargeMessageSerdeConfig(configs);
+        final Serde<T> serde = isKey ? serdeConfig.getKeySerde() : serdeConfig.getValueSerde();
+        this.deserializer = serde.deserializer();
+        this.client = serdeConfig.getRetriever();
+        this.deserializer.configure(configs, isKey);
+        this.isKey = isKey;
+    }
+
+    @Override
+    public CompletableFuture<T> deserialize(final String topic, final byte[] data) {
+        Objects.requireNonNull(this.deserializer);
+        Objects.requireNonNull(this.client);
+        return this.client.retrieveBytesAsync(data, this.isKey)
+                .thenApply(bytes -> this.deserializer.deserialize(topic, bytes));
+    }
+
+    @Override
+    public CompletableFuture<T> deserialize(final String topic, final Headers headers, final byte[] data) {
+        Objects.requireNonNull(this.deserializer);
+        Objects.requireNonNull(this.client);
+        // large message headers are removed from the record before the payload has been downloaded
+        final Headers recordHeaders = new RecordHeaders(headers.toArray());
+        final CompletableFuture<T> deserialized = this.client.retrieveBytesAsync(data, recordHeaders, this.isKey)
+                .thenApply(bytes -> this.deserializer.deserialize(topic, recordHeaders, bytes));
+        LargeMessageRetrievingClient.removeHeaders(headers, this.isKey);
+        return deserialized;
+    }
+
+    @Override
+    public void close() {
+        this.deserializer.close();
+        this.client.close();
+    }
+}
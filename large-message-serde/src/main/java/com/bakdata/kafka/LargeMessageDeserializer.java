@@ -24,12 +24,13 @@
 
 package com.bakdata.kafka;
 
-import static com.bakdata.kafka.HeaderLargeMessagePayloadProtocol.getHeaderName;
-
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Objects;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
@@ -39,7 +40,8 @@ import org.apache.kafka.common.serialization.Serde;
  * <p>
  * A message that is deserialized by this deserializer flags if it contains the actual message or if the actual message
  * is backed on blob storage. If the message is backed on blob storage, the actual message is downloaded. In any case,
- * the deserialization is delegated to a proper deserializer of this message type.
+ * the deserialization is delegated to a proper deserializer of this message type. If this deserializer is a
+ * {@link StreamingDeserializer}, messages with headers are streamed from blob storage into it.
  * <p>
  * For configuration options, see {@link LargeMessageSerdeConfig}.
  *
@@ -62,7 +64,6 @@ public class LargeMessageDeserializer<T> implements Deserializer<T> {
         this.isKey = isKey;
     }
 
-
     @Override
     public T deserialize(final String topic, final byte[] data) {
         Objects.requireNonNull(this.deserializer);
@@ -75,15 +76,26 @@ public class LargeMessageDeserializer<T> implements Deserializer<T> {
     public T deserialize(final String topic, final Headers headers, final byte[] data) {
         Objects.requireNonNull(this.deserializer);
         Objects.requireNonNull(this.client);
-        final byte[] bytes = this.client.retrieveBytes(data, headers, this.isKey);
-        final T deserialized = this.deserializer.deserialize(topic, headers, bytes);
-        // remove all headers associated with large message because the record might be serialized with different flags
-        headers.remove(getHeaderName(this.isKey));
-        headers.remove(CompressionType.HEADER_NAME);
-        headers.remove(CompressionType.OLD_HEADER_NAME);
+        final T deserialized = this.deserializer instanceof StreamingDeserializer
+                ? this.deserializeStream(topic, headers, data)
+                : this.deserializer.deserialize(topic, headers, this.client.retrieveBytes(data, headers, this.isKey));
+        LargeMessageRetrievingClient.removeHeaders(headers, this.isKey);
         return deserialized;
     }
 
+    private T deserializeStream(final String topic, final Headers headers, final byte[] data) {
+        if (data == null) {
+            return this.deserializer.deserialize(topic, headers, (byte[]) null);
+        }
+        final StreamingDeserializer<? extends T> streamingDeserializer =
+                (StreamingDeserializer<? extends T>) this.deserializer;
+        try (final InputStream stream = this.client.retrieveStream(data, headers, this.isKey)) {
+            return streamingDeserializer.deserialize(topic, headers, stream);
+        } catch (final IOException e) {
+            throw new SerializationException("Error reading large message stream", e);
+        }
+    }
+
     @Override
     public void close() {
         this.deserializer.close();
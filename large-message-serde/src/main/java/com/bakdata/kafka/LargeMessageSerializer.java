@@ -24,10 +24,12 @@
 
 package com.bakdata.kafka;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serializer;
@@ -40,7 +42,8 @@ import org.apache.kafka.common.serialization.Serializer;
  * Each message is serialized by a proper serializer for the message type. If the message size exceeds a defined
  * threshold, the payload is uploaded to blob storage. The message forwarded to Kafka contains a flag if the message has
  * been backed or not. In case it was backed, the flag is followed by the URI of the blob storage object. If the message
- * was not backed, it contains the actual serialized message.
+ * was not backed, it contains the actual serialized message. If this serializer is a {@link StreamingSerializer},
+ * messages are uploaded to blob storage while serializing.
  * <p>
  * For configuration options, see {@link LargeMessageSerdeConfig}.
  *
@@ -75,10 +78,23 @@ public class LargeMessageSerializer<T> implements Serializer<T> {
     public byte[] serialize(final String topic, final Headers headers, final T data) {
         Objects.requireNonNull(this.serializer);
         Objects.requireNonNull(this.client);
+        if (data != null && this.serializer instanceof StreamingSerializer) {
+            return this.serializeStream(topic, headers, data);
+        }
         final byte[] bytes = this.serializer.serialize(topic, headers, data);
         return this.client.storeBytes(topic, bytes, this.isKey, headers);
     }
 
+    private byte[] serializeStream(final String topic, final Headers headers, final T data) {
+        final StreamingSerializer<? super T> streamingSerializer = (StreamingSerializer<? super T>) this.serializer;
+        try (final LargeMessageOutputStream stream = this.client.openStream(topic, this.isKey, headers)) {
+            streamingSerializer.serialize(topic, headers, data, stream);
+            return stream.finish();
+        } catch (final IOException e) {
+            throw new SerializationException("Error writing large message stream", e);
+        }
+    }
+
     @Override
     public void close() {
         this.serializer.close();
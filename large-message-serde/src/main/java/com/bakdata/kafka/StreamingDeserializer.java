@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.InputStream;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka {@code Deserializer} that can read messages from a stream. If {@link LargeMessageDeserializer} delegates to a
+ * {@code StreamingDeserializer}, payloads stored on blob storage are streamed into the deserializer instead of being
+ * downloaded completely first, so that they do not need to fit into memory.
+ *
+ * @param <T> type of records that can be deserialized by this instance
+ */
+public interface StreamingDeserializer<T> extends Deserializer<T> {
+
+    /**
+     * Deserialize a record value from a stream. The stream is closed by the caller after this method returns, so it
+     * must be consumed completely before returning.
+     *
+     * @param topic topic associated with the data
+     * @param headers headers associated with the record
+     * @param stream serialized data, never {@code null}
+     * @return deserialized typed data
+     */
+    T deserialize(String topic, Headers headers, InputStream stream);
+}
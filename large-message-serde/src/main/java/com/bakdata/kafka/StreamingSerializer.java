@@ -0,0 +1,51 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka {@code Serializer} that can write messages to a stream. If {@link LargeMessageSerializer} delegates to a
+ * {@code StreamingSerializer}, messages are written into a stream that switches to uploading to blob storage once the
+ * message exceeds the configured maximum size, so that the serialized message does not need to fit into memory.
+ *
+ * @param <T> type of records that can be serialized by this instance
+ */
+public interface StreamingSerializer<T> extends Serializer<T> {
+
+    /**
+     * Serialize a record value to a stream. The stream must not be closed.
+     *
+     * @param topic topic associated with data
+     * @param headers headers associated with the record
+     * @param data typed data, never {@code null}
+     * @param stream stream to write the serialized data to
+     * @throws IOException if writing to the stream fails
+     */
+    void serialize(String topic, Headers headers, T data, OutputStream stream) throws IOException;
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static com.bakdata.kafka.LargeMessagePayload.ofBytes;
+import static com.bakdata.kafka.LargeMessagePayload.ofUri;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serdes.IntegerSerde;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+class LargeMessageAsyncDeserializerTest extends AmazonS3IntegrationTest {
+
+    private static final LargeMessagePayloadProtocol HEADER_PROTOCOL = new HeaderLargeMessagePayloadProtocol();
+    private static final String BUCKET = "bucket";
+
+    private static byte[] serialize(final String text) {
+        return Serdes.String().serializer().serialize(null, text);
+    }
+
+    @Test
+    void shouldReadBackedTextValue() {
+        this.getS3Client().createBucket(CreateBucketRequest.builder().bucket(BUCKET).build());
+        this.store("key", "foo");
+        try (final Deserializer<CompletableFuture<String>> deserializer = this.createDeserializer(
+                Serdes.StringSerde.class)) {
+            final Headers headers = new RecordHeaders();
+            final byte[] value = HEADER_PROTOCOL.serialize(ofUri("s3://" + BUCKET + "/key"), headers, false);
+            final CompletableFuture<String> deserialized = deserializer.deserialize(null, headers, value);
+            assertThat(headers).isEmpty();
+            assertThat(deserialized.join()).isEqualTo("foo");
+        }
+    }
+
+    @Test
+    void shouldReadNonBackedTextValue() {
+        try (final Deserializer<CompletableFuture<String>> deserializer = this.createDeserializer(
+                Serdes.StringSerde.class)) {
+            final Headers headers = new RecordHeaders();
+            final byte[] value = HEADER_PROTOCOL.serialize(ofBytes(serialize("foo")), headers, false);
+            assertThat(deserializer.deserialize(null, headers, value).join()).isEqualTo("foo");
+            assertThat(headers).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldReadNullValue() {
+        try (final Deserializer<CompletableFuture<String>> deserializer = this.createDeserializer(
+                Serdes.StringSerde.class)) {
+            assertThat(deserializer.deserialize(null, new RecordHeaders(), null).join()).isNull();
+        }
+    }
+
+    @Test
+    void shouldCompleteExceptionallyOnSerializationException() {
+        try (final Deserializer<CompletableFuture<Integer>> deserializer = this.createDeserializer(
+                IntegerSerde.class)) {
+            final Headers headers = new RecordHeaders();
+            final byte[] value = HEADER_PROTOCOL.serialize(ofBytes(serialize("foo")), headers, false);
+            final CompletableFuture<Integer> deserialized = deserializer.deserialize(null, headers, value);
+            assertThatThrownBy(deserialized::join)
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(SerializationException.class);
+        }
+    }
+
+    private <T> Deserializer<CompletableFuture<T>> createDeserializer(final Class<?> serdeClass) {
+        final Deserializer<CompletableFuture<T>> deserializer = new LargeMessageAsyncDeserializer<>();
+        final Map<String, Object> config = new HashMap<>(this.getLargeMessageConfig());
+        config.put(LargeMessageSerdeConfig.VALUE_SERDE_CLASS_CONFIG, serdeClass);
+        deserializer.configure(config, false);
+        return deserializer;
+    }
+
+    private void store(final String key, final String s) {
+        final PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(BUCKET)
+                .key(key)
+                .build();
+        this.getS3Client().putObject(request, RequestBody.fromBytes(s.getBytes()));
+    }
+}
@@ -31,6 +31,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.bakdata.fluent_kafka_streams_tests.TestTopology;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +47,9 @@ import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.common.serialization.Serdes.IntegerSerde;
+import org.apache.kafka.common.serialization.Serdes.WrapperSerde;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.StreamsConfig;
 import org.apache.kafka.streams.Topology;
@@ -296,6 +303,23 @@ class LargeMessageDeserializerTest extends AmazonS3IntegrationTest {
                 });
     }
 
+    @Test
+    void shouldStreamBackedTextValue() {
+        final String bucket = "bucket";
+        this.getS3Client().createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        final String key = "key";
+        this.store(bucket, key, "foo");
+        try (final Deserializer<String> deserializer = new LargeMessageDeserializer<>()) {
+            final Map<String, Object> config = new HashMap<>(this.getLargeMessageConfig());
+            config.put(LargeMessageSerdeConfig.VALUE_SERDE_CLASS_CONFIG, StreamingStringSerde.class);
+            deserializer.configure(config, false);
+            final Headers headers = new RecordHeaders();
+            final byte[] value = createBackedText(bucket, key, headers, false);
+            assertThat(deserializer.deserialize(null, headers, value)).isEqualTo("streamed foo");
+            assertThat(headers).isEmpty();
+        }
+    }
+
     @Test
     void shouldReadBackedTextValueWithOldCompressionHeader() {
         final String bucket = "bucket";
@@ -478,6 +502,24 @@ class LargeMessageDeserializerTest extends AmazonS3IntegrationTest {
         this.topology.start();
     }
 
+    public static class StreamingStringSerde extends WrapperSerde<String> {
+        public StreamingStringSerde() {
+            super(new StringSerializer(), new StreamingStringDeserializer());
+        }
+    }
+
+    private static class StreamingStringDeserializer extends StringDeserializer
+            implements StreamingDeserializer<String> {
+        @Override
+        public String deserialize(final String topic, final Headers headers, final InputStream stream) {
+            try {
+                return "streamed " + new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     @FunctionalInterface
     private interface MessageFactory {
         byte[] apply(String content, Headers headers, boolean isKey);
@@ -32,15 +32,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.bakdata.fluent_kafka_streams_tests.TestTopology;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serdes.WrapperSerde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.StreamsConfig;
 import org.apache.kafka.streams.Topology;
@@ -342,6 +349,24 @@ class LargeMessageSerializerTest extends AmazonS3IntegrationTest {
                         producerRecord.headers(), false));
     }
 
+    @Test
+    void shouldStreamBackedTextValue() {
+        final String bucket = "bucket";
+        final String basePath = "s3://" + bucket + "/base/";
+        final Map<String, Object> properties = new HashMap<>(this.getLargeMessageConfig());
+        properties.put(AbstractLargeMessageConfig.MAX_BYTE_SIZE_CONFIG, 2);
+        properties.put(AbstractLargeMessageConfig.BASE_PATH_CONFIG, basePath);
+        properties.put(AbstractLargeMessageConfig.USE_HEADERS_CONFIG, true);
+        properties.put(LargeMessageSerdeConfig.VALUE_SERDE_CLASS_CONFIG, StreamingStringSerde.class);
+        this.getS3Client().createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        try (final Serializer<String> serializer = new LargeMessageSerializer<>()) {
+            serializer.configure(properties, false);
+            final Headers headers = new RecordHeaders();
+            final byte[] value = serializer.serialize(OUTPUT_TOPIC, headers, "foo");
+            this.expectBackedText(basePath, "foo", value, "values", headers, false);
+        }
+    }
+
     @Test
     void shouldWriteBackedNullValue() {
         final Map<String, Object> properties = new HashMap<>();
@@ -411,4 +436,21 @@ class LargeMessageSerializerTest extends AmazonS3IntegrationTest {
         this.topology.start();
     }
 
+    public static class StreamingStringSerde extends WrapperSerde<String> {
+        public StreamingStringSerde() {
+            super(new StreamingStringSerializer(), new StringDeserializer());
+        }
+    }
+
+    private static class StreamingStringSerializer extends StringSerializer implements StreamingSerializer<String> {
+        @Override
+        public void serialize(final String topic, final Headers headers, final String data,
+                final OutputStream stream) throws IOException {
+            // write byte by byte to exercise switching to blob storage in the middle of a payload
+            for (final byte b : data.getBytes(StandardCharsets.UTF_8)) {
+                stream.write(b);
+            }
+        }
+    }
+
 }
@@ -22,4 +22,5 @@ include(
     ":large-message-google-cloud-storage",
     ":large-message-azure-blob-storage",
     ":large-message-bom",
+    ":large-message-benchmarks",
 )